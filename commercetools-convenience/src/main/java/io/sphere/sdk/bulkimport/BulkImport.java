@@ -0,0 +1,357 @@
+package io.sphere.sdk.bulkimport;
+
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.CategoryDraft;
+import io.sphere.sdk.categories.commands.CategoryCreateCommand;
+import io.sphere.sdk.client.HashedWheelTimer;
+import io.sphere.sdk.client.SdkRuntime;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.customers.CustomerDraft;
+import io.sphere.sdk.customers.CustomerSignInResult;
+import io.sphere.sdk.customers.commands.CustomerCreateCommand;
+import io.sphere.sdk.inventory.InventoryEntry;
+import io.sphere.sdk.inventory.InventoryEntryDraft;
+import io.sphere.sdk.inventory.commands.InventoryEntryCreateCommand;
+import io.sphere.sdk.models.ResourceIdentifier;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductDraft;
+import io.sphere.sdk.products.commands.ProductCreateCommand;
+import io.sphere.sdk.producttypes.ProductType;
+import io.sphere.sdk.producttypes.ProductTypeDraft;
+import io.sphere.sdk.producttypes.commands.ProductTypeCreateCommand;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Creates resources from a large amount of drafts with a bounded amount of create commands in flight.
+ *
+ * <p>The drafts are read from the iterator as create commands complete, so the drafts do not need to be in memory at once.
+ * A draft can depend on other drafts of the same import, for example a category on its parent category.
+ * It is sent after the drafts it depends on have been imported, if they have been read before it.
+ * Drafts which depend on a failed draft are not sent and count as failed.
+ * Dependencies on other resource types, for example of products on product types, are resolved by running the imports
+ * one after another:</p>
+ *
+ * <pre>{@code
+ * BulkImport.ofProductTypes(client, config).run(productTypeDrafts)
+ *         .thenCompose(productTypesResult -> BulkImport.ofProducts(client, config).run(productDrafts));
+ * }</pre>
+ *
+ * <p>Failed create commands are handled according to {@link BulkImportConfig#getFailureHandling()}, by default
+ * commands which failed with 502, 503 or 504 are retried with a growing delay and drafts which have already been imported are skipped.
+ * The retries are sent from the {@link SdkRuntime#getCpuPool() CPU pool} of the {@link BulkImportConfig#getRuntime() runtime}.
+ * The result contains the failed drafts and statistics about the throughput and the latency of the create commands.</p>
+ *
+ * @param <D> type of the drafts
+ * @param <T> type of the result of the create commands
+ */
+public final class BulkImport<D, T> {
+    private final SphereClient client;
+    private final Function<? super D, ? extends SphereRequest<T>> commandFunction;
+    private final Function<? super D, String> keyFunction;
+    private final Function<? super D, ? extends Collection<String>> dependenciesFunction;
+    private final BulkImportConfig config;
+    private final HashedWheelTimer timer;
+    private final Executor executor;
+
+    BulkImport(final SphereClient client, final Function<? super D, ? extends SphereRequest<T>> commandFunction,
+               final Function<? super D, String> keyFunction, final Function<? super D, ? extends Collection<String>> dependenciesFunction,
+               final BulkImportConfig config) {
+        this.client = client;
+        this.commandFunction = commandFunction;
+        this.keyFunction = keyFunction;
+        this.dependenciesFunction = dependenciesFunction;
+        this.config = config;
+        this.timer = config.getRuntime().getTimer();
+        this.executor = config.getRuntime().getCpuPool();
+    }
+
+    /**
+     * Imports the drafts. The iterator is only used by one thread at a time.
+     *
+     * @param drafts the drafts to import
+     * @return stage which completes after all drafts have been processed, it fails if the iterator throws an exception
+     */
+    public CompletionStage<BulkImportResult<D>> run(final Iterator<? extends D> drafts) {
+        final Run run = new Run(drafts);
+        run.pump();
+        return run.result;
+    }
+
+    /**
+     * Imports the drafts.
+     *
+     * @param drafts the drafts to import
+     * @return stage which completes after all drafts have been processed
+     * @see #run(Iterator)
+     */
+    public CompletionStage<BulkImportResult<D>> run(final Stream<? extends D> drafts) {
+        return run(drafts.iterator()).whenComplete((result, throwable) -> drafts.close());
+    }
+
+    /**
+     * Creates an import for drafts without dependencies on each other.
+     *
+     * @param client the client to execute the create commands
+     * @param commandFunction creates the create command for a draft
+     * @param config configuration of the import
+     * @param <D> type of the drafts
+     * @param <T> type of the result of the create commands
+     * @return import
+     */
+    public static <D, T> BulkImport<D, T> of(final SphereClient client, final Function<? super D, ? extends SphereRequest<T>> commandFunction,
+                                             final BulkImportConfig config) {
+        return of(client, commandFunction, draft -> null, draft -> emptyList(), config);
+    }
+
+    /**
+     * Creates an import for drafts which can depend on other drafts of the import.
+     *
+     * @param client the client to execute the create commands
+     * @param commandFunction creates the create command for a draft
+     * @param keyFunction gets the key of a draft or null
+     * @param dependenciesFunction gets the keys of the drafts a draft depends on
+     * @param config configuration of the import
+     * @param <D> type of the drafts
+     * @param <T> type of the result of the create commands
+     * @return import
+     */
+    public static <D, T> BulkImport<D, T> of(final SphereClient client, final Function<? super D, ? extends SphereRequest<T>> commandFunction,
+                                             final Function<? super D, String> keyFunction,
+                                             final Function<? super D, ? extends Collection<String>> dependenciesFunction,
+                                             final BulkImportConfig config) {
+        return new BulkImport<>(client, commandFunction, keyFunction, dependenciesFunction, config);
+    }
+
+    /**
+     * Creates an import for categories which imports a category after its parent if the parent is referenced by key
+     * and has been read before the category.
+     *
+     * @param client the client to execute the create commands
+     * @param config configuration of the import
+     * @return import
+     */
+    public static BulkImport<CategoryDraft, Category> ofCategories(final SphereClient client, final BulkImportConfig config) {
+        return of(client, CategoryCreateCommand::of, CategoryDraft::getKey, draft -> keyOf(draft.getParent()), config);
+    }
+
+    public static BulkImport<ProductTypeDraft, ProductType> ofProductTypes(final SphereClient client, final BulkImportConfig config) {
+        return of(client, ProductTypeCreateCommand::of, config);
+    }
+
+    public static BulkImport<ProductDraft, Product> ofProducts(final SphereClient client, final BulkImportConfig config) {
+        return of(client, ProductCreateCommand::of, config);
+    }
+
+    public static BulkImport<InventoryEntryDraft, InventoryEntry> ofInventoryEntries(final SphereClient client, final BulkImportConfig config) {
+        return of(client, InventoryEntryCreateCommand::of, config);
+    }
+
+    public static BulkImport<CustomerDraft, CustomerSignInResult> ofCustomers(final SphereClient client, final BulkImportConfig config) {
+        return of(client, CustomerCreateCommand::of, config);
+    }
+
+    private static List<String> keyOf(@Nullable final ResourceIdentifier<?> resourceIdentifier) {
+        return resourceIdentifier != null && resourceIdentifier.getKey() != null ? singletonList(resourceIdentifier.getKey()) : emptyList();
+    }
+
+    private final class Run {
+        private final Iterator<? extends D> drafts;
+        private final CompletableFuture<BulkImportResult<D>> result = new CompletableFuture<>();
+        private final long startNanos = System.nanoTime();
+        private final Deque<D> ready = new ArrayDeque<>();
+        //keys of the drafts which are not processed yet and the drafts waiting for them
+        private final Map<String, List<D>> waitingDrafts = new HashMap<>();
+        private final List<BulkImportFailure<D>> failures = new ArrayList<>();
+        private final LongAdder created = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder latencySum = new LongAdder();
+        private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+        private final AtomicInteger pumpWip = new AtomicInteger();
+        private int executing;
+        private boolean exhausted;
+        private boolean finished;
+        @Nullable
+        private Throwable sourceFailure;
+
+        private Run(final Iterator<? extends D> drafts) {
+            this.drafts = drafts;
+        }
+
+        /**
+         * Starts drafts as long as commands may be sent. Only one thread pumps at a time, a thread arriving while
+         * another one pumps just marks that another round is needed, so synchronously completing commands do not recurse.
+         */
+        private void pump() {
+            if (pumpWip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                final List<D> toStart = new ArrayList<>();
+                final boolean finishing;
+                synchronized (this) {
+                    D draft;
+                    while (executing < config.getMaxConcurrency() && (draft = nextDraft()) != null) {
+                        executing++;
+                        toStart.add(draft);
+                    }
+                    finishing = exhausted && executing == 0 && ready.isEmpty() && !finished;
+                    finished |= finishing;
+                }
+                toStart.forEach(draft -> execute(draft, 0));
+                if (finishing) {
+                    finish();
+                }
+                missed = pumpWip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        @Nullable
+        private D nextDraft() {
+            while (true) {
+                D draft = ready.pollFirst();
+                if (draft == null) {
+                    if (exhausted) {
+                        return null;
+                    }
+                    try {
+                        if (!drafts.hasNext()) {
+                            exhausted = true;
+                            return null;
+                        }
+                        draft = drafts.next();
+                    } catch (final RuntimeException e) {
+                        sourceFailure = e;
+                        exhausted = true;
+                        return null;
+                    }
+                    final String key = keyFunction.apply(draft);
+                    if (key != null) {
+                        waitingDrafts.putIfAbsent(key, new ArrayList<>());
+                    }
+                }
+                if (!parkUntilDependenciesAreProcessed(draft)) {
+                    return draft;
+                }
+            }
+        }
+
+        private boolean parkUntilDependenciesAreProcessed(final D draft) {
+            final String key = keyFunction.apply(draft);
+            for (final String dependency : dependenciesFunction.apply(draft)) {
+                final List<D> waiting = dependency.equals(key) ? null : waitingDrafts.get(dependency);
+                if (waiting != null) {
+                    waiting.add(draft);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void execute(final D draft, final int attempt) {
+            requests.increment();
+            final long start = System.nanoTime();
+            CompletionStage<T> stage;
+            try {
+                stage = client.execute(commandFunction.apply(draft));
+            } catch (final Throwable throwable) {
+                final CompletableFuture<T> failed = new CompletableFuture<>();
+                failed.completeExceptionally(throwable);
+                stage = failed;
+            }
+            stage.whenComplete((resource, throwable) -> {
+                final long latency = System.nanoTime() - start;
+                latencySum.add(latency);
+                maxLatency.accumulate(latency);
+                if (throwable == null) {
+                    created.increment();
+                    processed(draft, null);
+                } else {
+                    final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                    final BulkImportFailureHandling handling = config.getFailureHandling().apply(cause);
+                    if (handling == BulkImportFailureHandling.RETRY && attempt < config.getMaxRetries()) {
+                        retries.increment();
+                        final long delay = config.getRetryDelay().toNanos() << Math.min(attempt, 20);
+                        timer.schedule(() -> executor.execute(() -> execute(draft, attempt + 1)), delay, TimeUnit.NANOSECONDS);
+                    } else if (handling == BulkImportFailureHandling.SKIP) {
+                        skipped.increment();
+                        processed(draft, null);
+                    } else {
+                        processed(draft, cause);
+                    }
+                }
+            });
+        }
+
+        private void processed(final D draft, @Nullable final Throwable failure) {
+            synchronized (this) {
+                executing--;
+                final List<D> dependents = removeKey(draft);
+                if (failure == null) {
+                    ready.addAll(dependents);
+                } else {
+                    failures.add(new BulkImportFailure<>(draft, failure));
+                    failDependents(keyFunction.apply(draft), dependents);
+                }
+            }
+            pump();
+        }
+
+        private void failDependents(final String failedKey, final List<D> dependents) {
+            final Deque<D> toFail = new ArrayDeque<>(dependents);
+            while (!toFail.isEmpty()) {
+                final D dependent = toFail.pollFirst();
+                failures.add(new BulkImportFailure<>(dependent, new IllegalStateException(String.format("draft %s depends on the failed draft %s", keyFunction.apply(dependent), failedKey))));
+                toFail.addAll(removeKey(dependent));
+            }
+        }
+
+        private List<D> removeKey(final D draft) {
+            final String key = keyFunction.apply(draft);
+            final List<D> dependents = key != null ? waitingDrafts.remove(key) : null;
+            return dependents != null ? dependents : Collections.emptyList();
+        }
+
+        private void finish() {
+            final BulkImportResult<D> importResult;
+            synchronized (this) {
+                if (sourceFailure != null) {
+                    result.completeExceptionally(sourceFailure);
+                    return;
+                }
+                final long requestCount = requests.sum();
+                importResult = new BulkImportResult<>(created.sum(), skipped.sum(), new ArrayList<>(failures), requestCount, retries.sum(),
+                        Duration.ofNanos(System.nanoTime() - startNanos),
+                        Duration.ofNanos(requestCount == 0 ? 0 : latencySum.sum() / requestCount), Duration.ofNanos(maxLatency.get()));
+            }
+            result.complete(importResult);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.sphere.sdk.bulkimport;
+
+import io.sphere.sdk.client.SdkRuntime;
+import io.sphere.sdk.models.Base;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Configuration for {@link BulkImport}.
+ *
+ * @see BulkImportConfigBuilder
+ */
+public final class BulkImportConfig extends Base {
+    private final int maxConcurrency;
+    private final int maxRetries;
+    private final Duration retryDelay;
+    private final Function<Throwable, BulkImportFailureHandling> failureHandling;
+    private final SdkRuntime runtime;
+
+    BulkImportConfig(final int maxConcurrency, final int maxRetries, final Duration retryDelay,
+                     final Function<Throwable, BulkImportFailureHandling> failureHandling, final SdkRuntime runtime) {
+        this.maxConcurrency = maxConcurrency;
+        this.maxRetries = maxRetries;
+        this.retryDelay = retryDelay;
+        this.failureHandling = failureHandling;
+        this.runtime = runtime;
+    }
+
+    /**
+     * Maximum amount of create commands in flight.
+     * @return amount of commands
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Maximum amount of retries of a draft whose create command failed with {@link BulkImportFailureHandling#RETRY}.
+     * @return amount of retries
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Delay before the first retry of a draft, the delay doubles with each further retry.
+     * @return duration
+     */
+    public Duration getRetryDelay() {
+        return retryDelay;
+    }
+
+    /**
+     * Classifies the failures of create commands, by default {@link BulkImportFailureHandling#of(Throwable)}.
+     * @return classification function
+     */
+    public Function<Throwable, BulkImportFailureHandling> getFailureHandling() {
+        return failureHandling;
+    }
+
+    /**
+     * The runtime whose timer delays the retries and whose CPU pool sends them.
+     * @return runtime
+     */
+    public SdkRuntime getRuntime() {
+        return runtime;
+    }
+
+    public static BulkImportConfig of() {
+        return BulkImportConfigBuilder.of().build();
+    }
+}
@@ -0,0 +1,100 @@
+package io.sphere.sdk.bulkimport;
+
+import io.sphere.sdk.client.SdkRuntime;
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Builder;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Builds {@link BulkImportConfig} instances using the Builder pattern.
+ */
+public final class BulkImportConfigBuilder extends Base implements Builder<BulkImportConfig> {
+    public static final int DEFAULT_MAX_CONCURRENCY = 10;
+    public static final int DEFAULT_MAX_RETRIES = 5;
+
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private Duration retryDelay = Duration.ofMillis(100);
+    private Function<Throwable, BulkImportFailureHandling> failureHandling = BulkImportFailureHandling::of;
+    private SdkRuntime runtime = SdkRuntime.shared();
+
+    private BulkImportConfigBuilder() {
+    }
+
+    /**
+     * Sets the maximum amount of create commands in flight.
+     *
+     * @param maxConcurrency positive amount, by default {@value #DEFAULT_MAX_CONCURRENCY}
+     * @return the builder instance
+     */
+    public BulkImportConfigBuilder maxConcurrency(final int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException(String.format("maxConcurrency needs to be positive but was %d", maxConcurrency));
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Sets how often a draft is sent again if its create command failed with {@link BulkImportFailureHandling#RETRY}.
+     *
+     * @param maxRetries zero or a positive amount, by default {@value #DEFAULT_MAX_RETRIES}
+     * @return the builder instance
+     */
+    public BulkImportConfigBuilder maxRetries(final int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException(String.format("maxRetries cannot be negative but was %d", maxRetries));
+        }
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * Sets the delay before the first retry of a draft, the delay doubles with each further retry.
+     *
+     * @param retryDelay positive duration, by default 100 milliseconds
+     * @return the builder instance
+     */
+    public BulkImportConfigBuilder retryDelay(final Duration retryDelay) {
+        Objects.requireNonNull(retryDelay, "retryDelay");
+        if (retryDelay.isNegative() || retryDelay.isZero()) {
+            throw new IllegalArgumentException(String.format("retryDelay needs to be positive but was %s", retryDelay));
+        }
+        this.retryDelay = retryDelay;
+        return this;
+    }
+
+    /**
+     * Sets the classification of failed create commands.
+     *
+     * @param failureHandling function which gets the failure without a wrapping {@link java.util.concurrent.CompletionException}
+     * @return the builder instance
+     */
+    public BulkImportConfigBuilder failureHandling(final Function<Throwable, BulkImportFailureHandling> failureHandling) {
+        this.failureHandling = Objects.requireNonNull(failureHandling, "failureHandling");
+        return this;
+    }
+
+    /**
+     * Sets the runtime whose CPU pool sends the retries.
+     *
+     * @param runtime the runtime, by default the {@link SdkRuntime#shared() shared runtime}
+     * @return the builder instance
+     */
+    public BulkImportConfigBuilder runtime(final SdkRuntime runtime) {
+        this.runtime = Objects.requireNonNull(runtime, "runtime");
+        return this;
+    }
+
+    public static BulkImportConfigBuilder of() {
+        return new BulkImportConfigBuilder();
+    }
+
+    @Override
+    public BulkImportConfig build() {
+        return new BulkImportConfig(maxConcurrency, maxRetries, retryDelay, failureHandling, runtime);
+    }
+}
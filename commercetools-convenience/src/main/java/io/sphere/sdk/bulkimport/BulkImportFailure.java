@@ -0,0 +1,31 @@
+package io.sphere.sdk.bulkimport;
+
+import io.sphere.sdk.models.Base;
+
+/**
+ * A draft which could not be imported.
+ *
+ * @param <D> type of the drafts
+ */
+public final class BulkImportFailure<D> extends Base {
+    private final D draft;
+    private final Throwable cause;
+
+    BulkImportFailure(final D draft, final Throwable cause) {
+        this.draft = draft;
+        this.cause = cause;
+    }
+
+    public D getDraft() {
+        return draft;
+    }
+
+    /**
+     * Gets the failure of the last create command or an {@link IllegalStateException} if a draft it depends on failed.
+     *
+     * @return the cause
+     */
+    public Throwable getCause() {
+        return cause;
+    }
+}
@@ -0,0 +1,43 @@
+package io.sphere.sdk.bulkimport;
+
+import io.sphere.sdk.client.BadGatewayException;
+import io.sphere.sdk.client.ErrorResponseException;
+import io.sphere.sdk.client.GatewayTimeoutException;
+import io.sphere.sdk.client.ServiceUnavailableException;
+import io.sphere.sdk.models.errors.DuplicateFieldError;
+
+/**
+ * Decides what {@link BulkImport} does with a draft whose create command failed.
+ */
+public enum BulkImportFailureHandling {
+    /**
+     * Sends the create command again after a delay, see {@link BulkImportConfig#getMaxRetries()}.
+     */
+    RETRY,
+    /**
+     * Counts the draft as skipped, for example because the resource has already been imported.
+     */
+    SKIP,
+    /**
+     * Counts the draft as failed, drafts which depend on it are not imported.
+     */
+    FAIL;
+
+    /**
+     * Default classification: retries on 502, 503 and 504, skips drafts which have already been imported
+     * ({@link DuplicateFieldError}) and fails otherwise.
+     *
+     * @param throwable the failure of the create command
+     * @return the handling
+     */
+    public static BulkImportFailureHandling of(final Throwable throwable) {
+        if (throwable instanceof BadGatewayException || throwable instanceof ServiceUnavailableException || throwable instanceof GatewayTimeoutException) {
+            return RETRY;
+        } else if (throwable instanceof ErrorResponseException
+                && ((ErrorResponseException) throwable).getErrors().stream().anyMatch(error -> DuplicateFieldError.CODE.equals(error.getCode()))) {
+            return SKIP;
+        } else {
+            return FAIL;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.sphere.sdk.bulkimport;
+
+import io.sphere.sdk.models.Base;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome and statistics of {@link BulkImport#run(java.util.Iterator)}.
+ *
+ * @param <D> type of the drafts
+ */
+public final class BulkImportResult<D> extends Base {
+    private final long createdCount;
+    private final long skippedCount;
+    private final List<BulkImportFailure<D>> failures;
+    private final long requestCount;
+    private final long retryCount;
+    private final Duration duration;
+    private final Duration averageLatency;
+    private final Duration maxLatency;
+
+    BulkImportResult(final long createdCount, final long skippedCount, final List<BulkImportFailure<D>> failures,
+                     final long requestCount, final long retryCount, final Duration duration,
+                     final Duration averageLatency, final Duration maxLatency) {
+        this.createdCount = createdCount;
+        this.skippedCount = skippedCount;
+        this.failures = failures;
+        this.requestCount = requestCount;
+        this.retryCount = retryCount;
+        this.duration = duration;
+        this.averageLatency = averageLatency;
+        this.maxLatency = maxLatency;
+    }
+
+    /**
+     * Gets the amount of drafts which have been created.
+     *
+     * @return amount of drafts
+     */
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * Gets the amount of drafts which have been skipped, by default the drafts which had already been imported.
+     *
+     * @return amount of drafts
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Gets the drafts which could not be imported.
+     *
+     * @return failures in the order of their occurrence
+     */
+    public List<BulkImportFailure<D>> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Gets the amount of processed drafts, created, skipped and failed ones.
+     *
+     * @return amount of drafts
+     */
+    public long getDraftCount() {
+        return createdCount + skippedCount + failures.size();
+    }
+
+    /**
+     * Gets the amount of create commands which have been sent, including retries.
+     *
+     * @return amount of commands
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public long getRetryCount() {
+        return retryCount;
+    }
+
+    /**
+     * Gets the time from the start of the import until the last draft has been processed.
+     *
+     * @return duration
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Gets the processed drafts per second.
+     *
+     * @return drafts per second
+     */
+    public double getThroughput() {
+        final long nanos = duration.toNanos();
+        return nanos == 0 ? 0 : getDraftCount() * 1_000_000_000.0 / nanos;
+    }
+
+    /**
+     * Gets the average response time of the create commands.
+     *
+     * @return duration
+     */
+    public Duration getAverageLatency() {
+        return averageLatency;
+    }
+
+    /**
+     * Gets the highest response time of the create commands.
+     *
+     * @return duration
+     */
+    public Duration getMaxLatency() {
+        return maxLatency;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Provides classes to create resources from a large amount of drafts, see {@link io.sphere.sdk.bulkimport.BulkImport}.
+ */
+package io.sphere.sdk.bulkimport;
@@ -0,0 +1,72 @@
+package io.sphere.sdk.client.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations with a fixed amount of buckets.
+ *
+ * <p>The durations are counted in microseconds. Durations below 64µs get their own bucket, above that each power
+ * of two is split into 32 buckets of the same width, so a value read from the histogram differs by at most about 3%
+ * from the recorded ones. Durations above {@link #MAX_MICROS} are counted in the last bucket.</p>
+ */
+final class LatencyHistogram {
+    private static final int PRECISION_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << PRECISION_BITS;
+    private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+    private static final int FIRST_LOG_MSB = PRECISION_BITS + 1;
+    private static final int MAX_MSB = 32;
+    static final long MAX_MICROS = (1L << (MAX_MSB + 1)) - 1;
+    static final int BUCKET_COUNT = LINEAR_BUCKETS + (MAX_MSB - FIRST_LOG_MSB + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sumMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    void record(final long durationInNanos) {
+        final long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(Math.max(durationInNanos, 0)), MAX_MICROS);
+        buckets.incrementAndGet(bucketIndex(micros));
+        sumMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    long[] copyBuckets() {
+        final long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = buckets.get(i);
+        }
+        return copy;
+    }
+
+    long getSumMicros() {
+        return sumMicros.sum();
+    }
+
+    long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    static int bucketIndex(final long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) micros;
+        }
+        final int msb = 63 - Long.numberOfLeadingZeros(micros);
+        final int mantissa = (int) (micros >>> (msb - PRECISION_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (msb - FIRST_LOG_MSB) * SUB_BUCKETS + mantissa;
+    }
+
+    /**
+     * The highest value in microseconds which is counted in a bucket.
+     */
+    static long bucketUpperBound(final int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        final int msb = FIRST_LOG_MSB + (index - LINEAR_BUCKETS) / SUB_BUCKETS;
+        final int mantissa = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        final int shift = msb - PRECISION_BITS;
+        return ((long) (SUB_BUCKETS + mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,167 @@
+package io.sphere.sdk.client.metrics;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.String.format;
+import static java.util.Comparator.comparing;
+
+/**
+ * Collects histograms of the durations measured by {@link SimpleMetricsSphereClient} per endpoint, http status class and {@link LatencyPhase}.
+ *
+ * <p>Recording does not lock, the histograms are updated with atomic operations.
+ * Each combination of endpoint and status class uses a fixed amount of memory of a few kilobytes per phase.
+ * To keep the memory bounded, combinations beyond the configured maximum are counted for the endpoint {@value #OTHER_ENDPOINT}.</p>
+ *
+ * <p>{@link #snapshot()} copies the current state for further processing and {@link #exportPrometheus()}
+ * renders it in the Prometheus text format.</p>
+ */
+public final class LatencyMetrics {
+    /**
+     * Endpoint used for all endpoints which exceed the maximum amount of series.
+     */
+    public static final String OTHER_ENDPOINT = "other";
+    /**
+     * Status class for executions which failed without a http response.
+     */
+    public static final String NO_STATUS = "none";
+    public static final int DEFAULT_MAX_SERIES = 100;
+    static final double[] EXPORTED_PERCENTILES = {50, 90, 99, 99.9};
+    private static final LatencyPhase[] PHASES = LatencyPhase.values();
+
+    private final int maxSeries;
+    private final ConcurrentMap<SeriesKey, LatencyHistogram[]> series = new ConcurrentHashMap<>();
+
+    private LatencyMetrics(final int maxSeries) {
+        this.maxSeries = maxSeries;
+    }
+
+    void record(final String endpoint, @Nullable final Integer statusCode, final long serializationNanos,
+                final long deserializationNanos, final long totalNanos) {
+        final LatencyHistogram[] histograms = histograms(endpoint, statusClassOf(statusCode));
+        histograms[LatencyPhase.SERIALIZATION.ordinal()].record(serializationNanos);
+        histograms[LatencyPhase.REMOTE.ordinal()].record(totalNanos - serializationNanos - deserializationNanos);
+        histograms[LatencyPhase.DESERIALIZATION.ordinal()].record(deserializationNanos);
+        histograms[LatencyPhase.TOTAL.ordinal()].record(totalNanos);
+    }
+
+    private LatencyHistogram[] histograms(final String endpoint, final String statusClass) {
+        final SeriesKey key = new SeriesKey(endpoint, statusClass);
+        final LatencyHistogram[] existing = series.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        final SeriesKey boundedKey = series.size() < maxSeries ? key : new SeriesKey(OTHER_ENDPOINT, statusClass);
+        return series.computeIfAbsent(boundedKey, k -> newHistograms());
+    }
+
+    private static LatencyHistogram[] newHistograms() {
+        final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    /**
+     * Copies the current state of all histograms. Recording continues during the copy,
+     * so the counts of a snapshot can be slightly ahead of its sums.
+     *
+     * @return snapshots sorted by endpoint, status class and phase
+     */
+    public List<LatencySnapshot> snapshot() {
+        final List<LatencySnapshot> snapshots = new ArrayList<>(series.size() * PHASES.length);
+        series.forEach((key, histograms) -> {
+            for (final LatencyPhase phase : PHASES) {
+                snapshots.add(new LatencySnapshot(key.endpoint, key.statusClass, phase, histograms[phase.ordinal()]));
+            }
+        });
+        final Comparator<LatencySnapshot> comparator = comparing(LatencySnapshot::getEndpoint)
+                .thenComparing(LatencySnapshot::getStatusClass)
+                .thenComparing(LatencySnapshot::getPhase);
+        snapshots.sort(comparator);
+        return snapshots;
+    }
+
+    /**
+     * Renders the current state as summaries in the Prometheus text format with the metric name
+     * {@code commercetools_client_latency_seconds} and the labels {@code endpoint}, {@code status} and {@code phase}.
+     *
+     * @return the metrics as text
+     */
+    public String exportPrometheus() {
+        final String name = "commercetools_client_latency_seconds";
+        final StringBuilder builder = new StringBuilder()
+                .append("# TYPE ").append(name).append(" summary\n");
+        for (final LatencySnapshot snapshot : snapshot()) {
+            final String labels = format("endpoint=\"%s\",status=\"%s\",phase=\"%s\"",
+                    snapshot.getEndpoint(), snapshot.getStatusClass(), snapshot.getPhase().name().toLowerCase(Locale.ENGLISH));
+            for (final double percentile : EXPORTED_PERCENTILES) {
+                builder.append(name).append('{').append(labels)
+                        .append(",quantile=\"").append(percentile / 100).append("\"} ")
+                        .append(seconds(snapshot.getValueAtPercentile(percentile).toNanos())).append('\n');
+            }
+            builder.append(name).append("_sum{").append(labels).append("} ").append(seconds(snapshot.getTotal().toNanos())).append('\n');
+            builder.append(name).append("_count{").append(labels).append("} ").append(snapshot.getCount()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static String seconds(final long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    static String statusClassOf(@Nullable final Integer statusCode) {
+        return statusCode != null ? (statusCode / 100) + "xx" : NO_STATUS;
+    }
+
+    /**
+     * Creates metrics which keep at most {@value #DEFAULT_MAX_SERIES} combinations of endpoint and status class.
+     *
+     * @return new metrics
+     */
+    public static LatencyMetrics of() {
+        return of(DEFAULT_MAX_SERIES);
+    }
+
+    /**
+     * Creates metrics with a custom maximum of combinations of endpoint and status class.
+     *
+     * @param maxSeries maximum amount of combinations of endpoint and status class with own histograms
+     * @return new metrics
+     */
+    public static LatencyMetrics of(final int maxSeries) {
+        if (maxSeries < 1) {
+            throw new IllegalArgumentException(format("maxSeries must be positive, but was %d", maxSeries));
+        }
+        return new LatencyMetrics(maxSeries);
+    }
+
+    private static final class SeriesKey {
+        private final String endpoint;
+        private final String statusClass;
+
+        private SeriesKey(final String endpoint, final String statusClass) {
+            this.endpoint = endpoint;
+            this.statusClass = statusClass;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SeriesKey)) return false;
+            final SeriesKey that = (SeriesKey) o;
+            return endpoint.equals(that.endpoint) && statusClass.equals(that.statusClass);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * endpoint.hashCode() + statusClass.hashCode();
+        }
+    }
+}
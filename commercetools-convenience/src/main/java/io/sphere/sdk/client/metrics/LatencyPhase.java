@@ -0,0 +1,27 @@
+package io.sphere.sdk.client.metrics;
+
+/**
+ * The parts of one execution of {@link SimpleMetricsSphereClient#execute(io.sphere.sdk.client.SphereRequest)} which are measured by {@link LatencyMetrics}.
+ */
+public enum LatencyPhase {
+    /**
+     * Transforming the Java request object into a {@link io.sphere.sdk.client.HttpRequestIntent}.
+     */
+    SERIALIZATION,
+
+    /**
+     * Everything between serialization and deserialization as seen by the client decorator: waiting for an access token,
+     * waiting in queues of decorators and the http client, the network roundtrip and decompressing the response.
+     */
+    REMOTE,
+
+    /**
+     * Transforming the http response body into a Java object.
+     */
+    DESERIALIZATION,
+
+    /**
+     * The whole execution until the {@link java.util.concurrent.CompletionStage} is completed.
+     */
+    TOTAL
+}
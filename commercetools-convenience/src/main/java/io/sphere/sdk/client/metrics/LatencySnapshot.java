@@ -0,0 +1,102 @@
+package io.sphere.sdk.client.metrics;
+
+import io.sphere.sdk.models.Base;
+
+import java.time.Duration;
+
+import static java.lang.String.format;
+
+/**
+ * Snapshot of the durations of one phase for one endpoint and status class, see {@link LatencyMetrics}.
+ * The values are cumulative since the creation of the {@link LatencyMetrics}.
+ */
+public final class LatencySnapshot extends Base {
+    private final String endpoint;
+    private final String statusClass;
+    private final LatencyPhase phase;
+    private final long[] buckets;
+    private final long count;
+    private final long sumMicros;
+    private final long maxMicros;
+
+    LatencySnapshot(final String endpoint, final String statusClass, final LatencyPhase phase, final LatencyHistogram histogram) {
+        this.endpoint = endpoint;
+        this.statusClass = statusClass;
+        this.phase = phase;
+        this.buckets = histogram.copyBuckets();
+        long count = 0;
+        for (final long bucket : buckets) {
+            count += bucket;
+        }
+        this.count = count;
+        this.sumMicros = histogram.getSumMicros();
+        this.maxMicros = histogram.getMaxMicros();
+    }
+
+    /**
+     * The endpoint as classified by {@link io.sphere.sdk.client.SphereRequestUtils#endpointOf(io.sphere.sdk.client.SphereRequest)}
+     * or {@link LatencyMetrics#OTHER_ENDPOINT} if there have been too many endpoints.
+     * @return endpoint name
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * The class of the http status code like "2xx" or "5xx", {@link LatencyMetrics#NO_STATUS} for executions without a http response.
+     * @return status class
+     */
+    public String getStatusClass() {
+        return statusClass;
+    }
+
+    public LatencyPhase getPhase() {
+        return phase;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Duration getTotal() {
+        return micros(sumMicros);
+    }
+
+    public Duration getMax() {
+        return micros(maxMicros);
+    }
+
+    /**
+     * Average duration.
+     * @return the duration, zero if nothing has been recorded
+     */
+    public Duration getMean() {
+        return count > 0 ? micros(sumMicros / count) : Duration.ZERO;
+    }
+
+    /**
+     * Gets the duration which is not exceeded by the given percentage of the recorded durations.
+     * The result is accurate to about 3% and never greater than {@link #getMax()}.
+     *
+     * @param percentile the percentage between 0 and 100, for example 99.9
+     * @return the duration, zero if nothing has been recorded
+     */
+    public Duration getValueAtPercentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException(format("percentile must be between 0 and 100, but was %s", percentile));
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return micros(Math.min(LatencyHistogram.bucketUpperBound(i), maxMicros));
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    private static Duration micros(final long micros) {
+        return Duration.ofNanos(micros * 1000);
+    }
+}
@@ -3,16 +3,24 @@ package io.sphere.sdk.client.metrics;
 import io.sphere.sdk.client.HttpRequestIntent;
 import io.sphere.sdk.client.SphereRequest;
 import io.sphere.sdk.client.SphereRequestDecorator;
+import io.sphere.sdk.client.SphereRequestUtils;
 import io.sphere.sdk.http.HttpResponse;
 
 import javax.annotation.Nullable;
 import java.util.Observable;
+import java.util.concurrent.TimeUnit;
 
 final class MetricSphereRequest<T> extends SphereRequestDecorator<T> {
     private final String id;
     private final Observable observable;
     @Nullable
-    private String correlationId = null;
+    private volatile String correlationId = null;
+    @Nullable
+    private volatile String endpoint = null;
+    @Nullable
+    private volatile Integer statusCode = null;
+    private volatile long serializationNanos = 0;
+    private volatile long deserializationNanos = 0;
 
     MetricSphereRequest(final SphereRequest<T> delegate, final String id, final Observable observable) {
         super(delegate);
@@ -22,23 +30,25 @@ final class MetricSphereRequest<T> extends SphereRequestDecorator<T> {
 
     @Override
     public HttpRequestIntent httpRequestIntent() {
-        final long startTimestamp = System.currentTimeMillis();
+        final long startNanos = System.nanoTime();
         final HttpRequestIntent result = super.httpRequestIntent();
-        final long stopTimestamp = System.currentTimeMillis();
-        final long duration = stopTimestamp - startTimestamp;
-        observable.notifyObservers(ObservedSerializationDuration.of(duration, id, delegate));
+        final long duration = System.nanoTime() - startNanos;
+        serializationNanos = duration;
+        endpoint = SphereRequestUtils.endpointOf(result);
+        observable.notifyObservers(ObservedSerializationDuration.of(TimeUnit.NANOSECONDS.toMillis(duration), id, delegate));
         return result;
     }
 
     @Nullable
     @Override
     public T deserialize(final HttpResponse httpResponse) {
-        final long startTimestamp = System.currentTimeMillis();
+        final long startNanos = System.nanoTime();
         final T result = super.deserialize(httpResponse);
-        final long stopTimestamp = System.currentTimeMillis();
-        final long duration = stopTimestamp - startTimestamp;
+        final long duration = System.nanoTime() - startNanos;
+        deserializationNanos = duration;
+        statusCode = httpResponse.getStatusCode();
         correlationId = httpResponse.getHeaders().findFlatHeader("X-Correlation-ID").orElse(null);
-        observable.notifyObservers(ObservedDeserializationDuration.of(duration, id, delegate, correlationId, httpResponse, result));
+        observable.notifyObservers(ObservedDeserializationDuration.of(TimeUnit.NANOSECONDS.toMillis(duration), id, delegate, correlationId, httpResponse, result));
         return result;
     }
 
@@ -46,4 +56,25 @@ final class MetricSphereRequest<T> extends SphereRequestDecorator<T> {
     String getCorrelationId() {
         return correlationId;
     }
+
+    /**
+     * The endpoint of the last created http request intent, null if none has been created.
+     */
+    @Nullable
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    @Nullable
+    Integer getStatusCode() {
+        return statusCode;
+    }
+
+    long getSerializationNanos() {
+        return serializationNanos;
+    }
+
+    long getDeserializationNanos() {
+        return deserializationNanos;
+    }
 }
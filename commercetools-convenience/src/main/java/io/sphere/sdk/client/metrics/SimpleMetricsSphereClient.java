@@ -3,9 +3,13 @@ package io.sphere.sdk.client.metrics;
 import io.sphere.sdk.client.SphereClient;
 import io.sphere.sdk.client.SphereClientDecorator;
 import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.client.SphereServiceException;
 
+import javax.annotation.Nullable;
 import java.util.Observable;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -13,33 +17,62 @@ import java.util.concurrent.atomic.AtomicLong;
  * as well as the time waiting for the response of the commercetools platform.
  *
  * {@include.example io.sphere.sdk.client.metrics.SimpleMetricsSphereClientDemo}
+ *
+ * <p>The durations are published to the observers of {@link #getMetricObservable()} for each execution and
+ * are also recorded in the histograms of {@link #getLatencyMetrics()} which provide percentiles per endpoint.</p>
  */
 public final class SimpleMetricsSphereClient extends SphereClientDecorator implements SphereClient {
     private final AtomicLong requestIdGenerator = new AtomicLong(0);
     private final Observable metricObservable = new MetricObservable();
+    private final LatencyMetrics latencyMetrics;
 
-    private SimpleMetricsSphereClient(final SphereClient delegate) {
+    private SimpleMetricsSphereClient(final SphereClient delegate, final LatencyMetrics latencyMetrics) {
         super(delegate);
+        this.latencyMetrics = latencyMetrics;
     }
 
     public static SimpleMetricsSphereClient of(final SphereClient delegate) {
-        return new SimpleMetricsSphereClient(delegate);
+        return of(delegate, LatencyMetrics.of());
+    }
+
+    /**
+     * Creates a metrics client which records the durations in the given histograms, for example to share them between clients.
+     *
+     * @param delegate the client to measure
+     * @param latencyMetrics the histograms to record the durations
+     * @return client
+     */
+    public static SimpleMetricsSphereClient of(final SphereClient delegate, final LatencyMetrics latencyMetrics) {
+        return new SimpleMetricsSphereClient(delegate, latencyMetrics);
     }
 
     @Override
     public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
         final String id = "" + requestIdGenerator.incrementAndGet();
-        final long startTimestamp = System.currentTimeMillis();
+        final long startNanos = System.nanoTime();
         final MetricSphereRequest<T> metricSphereRequest = new MetricSphereRequest<>(sphereRequest, id, metricObservable);
         final CompletionStage<T> completionStage = super.execute(metricSphereRequest);
         completionStage.whenComplete((nullableResult, nullableThrowable) -> {
-            final long stopTimestamp = System.currentTimeMillis();
-            final long duration = stopTimestamp - startTimestamp;
-            metricObservable.notifyObservers(ObservedTotalDuration.of(duration, id, sphereRequest, metricSphereRequest.getCorrelationId(), nullableResult, nullableThrowable));
+            final long duration = System.nanoTime() - startNanos;
+            recordLatency(metricSphereRequest, duration, nullableThrowable);
+            metricObservable.notifyObservers(ObservedTotalDuration.of(TimeUnit.NANOSECONDS.toMillis(duration), id, sphereRequest, metricSphereRequest.getCorrelationId(), nullableResult, nullableThrowable));
         });
         return completionStage;
     }
 
+    private void recordLatency(final MetricSphereRequest<?> metricSphereRequest, final long durationInNanos, @Nullable final Throwable throwable) {
+        final String endpoint = metricSphereRequest.getEndpoint();
+        final Integer statusCode = metricSphereRequest.getStatusCode() != null ? metricSphereRequest.getStatusCode() : statusCodeOf(throwable);
+        latencyMetrics.record(endpoint != null ? endpoint : LatencyMetrics.OTHER_ENDPOINT, statusCode,
+                metricSphereRequest.getSerializationNanos(), metricSphereRequest.getDeserializationNanos(), durationInNanos);
+    }
+
+    @Nullable
+    private static Integer statusCodeOf(@Nullable final Throwable throwable) {
+        final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        return cause instanceof SphereServiceException ? ((SphereServiceException) cause).getStatusCode() : null;
+    }
+
     /**
      * The observable where observers can be registered.
      * @return observable
@@ -47,4 +80,12 @@ public final class SimpleMetricsSphereClient extends SphereClientDecorator imple
     public Observable getMetricObservable() {
         return metricObservable;
     }
+
+    /**
+     * The histograms of the durations per endpoint, status class and phase.
+     * @return latency metrics
+     */
+    public LatencyMetrics getLatencyMetrics() {
+        return latencyMetrics;
+    }
 }
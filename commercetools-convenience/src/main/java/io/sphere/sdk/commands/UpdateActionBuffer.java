@@ -0,0 +1,331 @@
+package io.sphere.sdk.commands;
+
+import io.sphere.sdk.client.ConcurrentModificationException;
+import io.sphere.sdk.client.HashedWheelTimer;
+import io.sphere.sdk.client.SdkRuntime;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.models.ResourceView;
+import io.sphere.sdk.models.Versioned;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Collects update actions for resources of one type and sends the actions for the same resource with one update command,
+ * for example one {@code ProductUpdateCommand} for many small changes of an import instead of one command per change.
+ *
+ * <p>The first update actions for a resource start a time window, see {@link UpdateActionBufferConfig#getWindow()}.
+ * The actions are sent at the end of the window from the {@link SdkRuntime#getCpuPool() CPU pool} of the {@link UpdateActionBufferConfig#getRuntime() runtime}
+ * or as soon as {@link UpdateActionBufferConfig#getMaxUpdateActions()} actions are collected.
+ * Only one update command per resource is in flight, actions submitted in the meantime are sent after it completed,
+ * so the actions are applied in the order of the submissions and the commands do not conflict with each other.
+ * The update actions of one submission are never split into different commands.</p>
+ *
+ * <p>The version of a command is the highest version of the submissions or the version returned by the previous command for the resource.
+ * If a command fails with a {@link ConcurrentModificationException}, the same update actions are sent again with the current version,
+ * which is taken from the error or fetched, see {@link UpdateActionBufferConfig#getMaxConflictRetries()}.
+ * Submit only update actions which can be applied to a concurrently changed resource, for example setting values.</p>
+ *
+ * <pre>{@code
+ * final UpdateActionBuffer<Product> buffer = UpdateActionBuffer.of(client, ProductUpdateCommand::of, ProductByIdGet::of);
+ * final CompletionStage<Product> result = buffer.submit(product, singletonList(SetKey.of("shoe")));
+ * }</pre>
+ *
+ * @param <T> type of the resources
+ */
+public final class UpdateActionBuffer<T extends ResourceView<T, T>> implements AutoCloseable {
+    private final SphereClient client;
+    private final BiFunction<Versioned<T>, List<? extends UpdateAction<T>>, ? extends SphereRequest<T>> commandFunction;
+    private final Function<String, ? extends SphereRequest<T>> fetchFunction;
+    private final UpdateActionBufferConfig config;
+    private final HashedWheelTimer timer;
+    private final Executor executor;
+    private final Object lock = new Object();
+    private final Map<String, ResourceSlot<T>> slots = new HashMap<>();
+    private final LongAdder submissions = new LongAdder();
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    UpdateActionBuffer(final SphereClient client,
+                       final BiFunction<Versioned<T>, List<? extends UpdateAction<T>>, ? extends SphereRequest<T>> commandFunction,
+                       final Function<String, ? extends SphereRequest<T>> fetchFunction,
+                       final UpdateActionBufferConfig config) {
+        this.client = client;
+        this.commandFunction = commandFunction;
+        this.fetchFunction = fetchFunction;
+        this.config = config;
+        this.timer = config.getRuntime().getTimer();
+        this.executor = config.getRuntime().getCpuPool();
+    }
+
+    /**
+     * Buffers update actions for a resource.
+     *
+     * @param versioned the id and the known version of the resource
+     * @param updateActions the update actions, at least one
+     * @return stage which contains the updated resource after the command containing the update actions succeeded
+     */
+    public CompletionStage<T> submit(final Versioned<T> versioned, final List<? extends UpdateAction<T>> updateActions) {
+        Objects.requireNonNull(versioned.getId(), "id");
+        Objects.requireNonNull(versioned.getVersion(), "version");
+        if (updateActions.isEmpty()) {
+            throw new IllegalArgumentException("at least one update action is required");
+        }
+        submissions.increment();
+        final Submission<T> submission = new Submission<>(updateActions);
+        final String id = versioned.getId();
+        Batch<T> fullBatch = null;
+        synchronized (lock) {
+            final ResourceSlot<T> slot = slots.computeIfAbsent(id, key -> new ResourceSlot<>());
+            slot.updateVersion(versioned.getVersion());
+            slot.pending.add(submission);
+            slot.pendingUpdateActions += submission.updateActions.size();
+            if (!slot.inFlight) {
+                if (slot.pendingUpdateActions >= config.getMaxUpdateActions()) {
+                    fullBatch = takeBatch(id, slot);
+                } else if (slot.scheduledFlush == null) {
+                    //the command is built and sent in the pool to keep the timer thread free
+                    slot.scheduledFlush = timer.schedule(() -> executor.execute(() -> flush(id)), config.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+        if (fullBatch != null) {
+            send(fullBatch, 0);
+        }
+        return submission.future;
+    }
+
+    /**
+     * Sends the buffered update actions immediately without waiting for the end of the windows.
+     * Update actions for resources with a command in flight are sent after this command completed.
+     */
+    public void flush() {
+        final List<Batch<T>> batches = new ArrayList<>();
+        synchronized (lock) {
+            slots.forEach((id, slot) -> {
+                if (!slot.inFlight && !slot.pending.isEmpty()) {
+                    batches.add(takeBatch(id, slot));
+                }
+            });
+        }
+        batches.forEach(batch -> send(batch, 0));
+    }
+
+    /**
+     * Sends the buffered update actions. The underlying client is not closed.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Gets the amount of submissions.
+     *
+     * @return amount of calls of {@link #submit(Versioned, List)}
+     */
+    public long getSubmissionCount() {
+        return submissions.sum();
+    }
+
+    /**
+     * Gets the amount of update commands which have been sent, including the retries after conflicts.
+     *
+     * @return amount of update commands
+     */
+    public long getCommandCount() {
+        return commands.sum();
+    }
+
+    /**
+     * Gets the amount of update commands which failed with a {@link ConcurrentModificationException} and have been sent again.
+     *
+     * @return amount of conflicts
+     */
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    private void flush(final String id) {
+        final Batch<T> batch;
+        synchronized (lock) {
+            final ResourceSlot<T> slot = slots.get(id);
+            batch = slot != null && !slot.inFlight && !slot.pending.isEmpty() ? takeBatch(id, slot) : null;
+        }
+        if (batch != null) {
+            send(batch, 0);
+        }
+    }
+
+    private Batch<T> takeBatch(final String id, final ResourceSlot<T> slot) {
+        if (slot.scheduledFlush != null) {
+            slot.scheduledFlush.cancel();
+            slot.scheduledFlush = null;
+        }
+        final List<Submission<T>> taken = new ArrayList<>();
+        int updateActions = 0;
+        while (!slot.pending.isEmpty()) {
+            final int size = slot.pending.peekFirst().updateActions.size();
+            if (!taken.isEmpty() && updateActions + size > config.getMaxUpdateActions()) {
+                break;
+            }
+            taken.add(slot.pending.pollFirst());
+            updateActions += size;
+        }
+        slot.pendingUpdateActions -= updateActions;
+        slot.inFlight = true;
+        return new Batch<>(id, slot.version, taken);
+    }
+
+    private void send(final Batch<T> batch, final int retry) {
+        commands.increment();
+        final CompletionStage<T> result;
+        try {
+            result = client.execute(commandFunction.apply(Versioned.of(batch.id, batch.version), batch.updateActions()));
+        } catch (final Throwable throwable) {
+            complete(batch, null, throwable);
+            return;
+        }
+        result.whenComplete((resource, throwable) -> {
+            final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            if (cause instanceof ConcurrentModificationException && retry < config.getMaxConflictRetries()) {
+                conflicts.increment();
+                currentVersion(batch.id, (ConcurrentModificationException) cause).whenComplete((version, fetchError) -> {
+                    if (version != null) {
+                        send(batch.withVersion(version), retry + 1);
+                    } else {
+                        complete(batch, null, fetchError != null ? fetchError : throwable);
+                    }
+                });
+            } else {
+                complete(batch, resource, throwable);
+            }
+        });
+    }
+
+    private CompletionStage<Long> currentVersion(final String id, final ConcurrentModificationException exception) {
+        final Long currentVersion = exception.getCurrentVersion();
+        if (currentVersion != null) {
+            return CompletableFuture.completedFuture(currentVersion);
+        }
+        try {
+            return client.execute(fetchFunction.apply(id)).thenApply(resource -> resource != null ? resource.getVersion() : null);
+        } catch (final Throwable throwable) {
+            final CompletableFuture<Long> failed = new CompletableFuture<>();
+            failed.completeExceptionally(throwable);
+            return failed;
+        }
+    }
+
+    private void complete(final Batch<T> batch, @Nullable final T resource, @Nullable final Throwable throwable) {
+        final Batch<T> nextBatch;
+        synchronized (lock) {
+            final ResourceSlot<T> slot = slots.get(batch.id);
+            slot.inFlight = false;
+            if (resource != null) {
+                slot.updateVersion(resource.getVersion());
+            }
+            if (slot.pending.isEmpty()) {
+                slots.remove(batch.id);
+                nextBatch = null;
+            } else {
+                nextBatch = takeBatch(batch.id, slot);
+            }
+        }
+        batch.submissions.forEach(submission -> {
+            if (throwable != null) {
+                submission.future.completeExceptionally(throwable);
+            } else {
+                submission.future.complete(resource);
+            }
+        });
+        if (nextBatch != null) {
+            send(nextBatch, 0);
+        }
+    }
+
+    /**
+     * Creates a buffer which sends the update actions with update commands created by the given function.
+     *
+     * @param client the client to execute the commands
+     * @param commandFunction creates an update command, for example {@code ProductUpdateCommand::of}
+     * @param fetchFunction creates a request to fetch a resource by id to get its current version after a conflict, for example {@code ProductByIdGet::of}
+     * @param config configuration of the buffer
+     * @param <T> type of the resources
+     * @return buffer
+     */
+    public static <T extends ResourceView<T, T>> UpdateActionBuffer<T> of(final SphereClient client,
+                                                                           final BiFunction<Versioned<T>, List<? extends UpdateAction<T>>, ? extends SphereRequest<T>> commandFunction,
+                                                                           final Function<String, ? extends SphereRequest<T>> fetchFunction,
+                                                                           final UpdateActionBufferConfig config) {
+        return new UpdateActionBuffer<>(client, commandFunction, fetchFunction, config);
+    }
+
+    public static <T extends ResourceView<T, T>> UpdateActionBuffer<T> of(final SphereClient client,
+                                                                           final BiFunction<Versioned<T>, List<? extends UpdateAction<T>>, ? extends SphereRequest<T>> commandFunction,
+                                                                           final Function<String, ? extends SphereRequest<T>> fetchFunction) {
+        return of(client, commandFunction, fetchFunction, UpdateActionBufferConfig.of());
+    }
+
+    private static final class ResourceSlot<T> {
+        private final Deque<Submission<T>> pending = new ArrayDeque<>();
+        private int pendingUpdateActions;
+        private boolean inFlight;
+        @Nullable
+        private Long version;
+        @Nullable
+        private HashedWheelTimer.Timeout scheduledFlush;
+
+        private void updateVersion(@Nullable final Long version) {
+            if (version != null && (this.version == null || version > this.version)) {
+                this.version = version;
+            }
+        }
+    }
+
+    private static final class Submission<T> {
+        private final List<UpdateAction<T>> updateActions;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Submission(final List<? extends UpdateAction<T>> updateActions) {
+            this.updateActions = new ArrayList<>(updateActions);
+        }
+    }
+
+    private static final class Batch<T> {
+        private final String id;
+        private final Long version;
+        private final List<Submission<T>> submissions;
+
+        private Batch(final String id, final Long version, final List<Submission<T>> submissions) {
+            this.id = id;
+            this.version = version;
+            this.submissions = submissions;
+        }
+
+        private List<UpdateAction<T>> updateActions() {
+            return submissions.stream().flatMap(submission -> submission.updateActions.stream()).collect(toList());
+        }
+
+        private Batch<T> withVersion(final Long version) {
+            return new Batch<>(id, version, submissions);
+        }
+    }
+}
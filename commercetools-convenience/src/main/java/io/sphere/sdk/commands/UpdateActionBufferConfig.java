@@ -0,0 +1,61 @@
+package io.sphere.sdk.commands;
+
+import io.sphere.sdk.client.SdkRuntime;
+import io.sphere.sdk.models.Base;
+
+import java.time.Duration;
+
+/**
+ * Configuration for {@link UpdateActionBuffer}.
+ *
+ * @see UpdateActionBufferConfigBuilder
+ */
+public final class UpdateActionBufferConfig extends Base {
+    private final int maxUpdateActions;
+    private final Duration window;
+    private final int maxConflictRetries;
+    private final SdkRuntime runtime;
+
+    UpdateActionBufferConfig(final int maxUpdateActions, final Duration window, final int maxConflictRetries, final SdkRuntime runtime) {
+        this.maxUpdateActions = maxUpdateActions;
+        this.window = window;
+        this.maxConflictRetries = maxConflictRetries;
+        this.runtime = runtime;
+    }
+
+    /**
+     * Maximum amount of update actions in one update command, the buffered actions of a resource are sent immediately if this amount is reached.
+     * @return amount of update actions
+     */
+    public int getMaxUpdateActions() {
+        return maxUpdateActions;
+    }
+
+    /**
+     * Time span in which update actions for a resource are collected after the first buffered update action.
+     * @return duration
+     */
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * Maximum amount of retries of an update command which failed with a {@link io.sphere.sdk.client.ConcurrentModificationException}.
+     * @return amount of retries
+     */
+    public int getMaxConflictRetries() {
+        return maxConflictRetries;
+    }
+
+    /**
+     * The runtime whose timer ends the windows and whose CPU pool sends the update commands at the end of a window.
+     * @return runtime
+     */
+    public SdkRuntime getRuntime() {
+        return runtime;
+    }
+
+    public static UpdateActionBufferConfig of() {
+        return UpdateActionBufferConfigBuilder.of().build();
+    }
+}
@@ -0,0 +1,87 @@
+package io.sphere.sdk.commands;
+
+import io.sphere.sdk.client.SdkRuntime;
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Builder;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Builds {@link UpdateActionBufferConfig} instances using the Builder pattern.
+ */
+public final class UpdateActionBufferConfigBuilder extends Base implements Builder<UpdateActionBufferConfig> {
+    public static final int MAX_UPDATE_ACTIONS = 500;
+    public static final int DEFAULT_MAX_CONFLICT_RETRIES = 3;
+
+    private int maxUpdateActions = MAX_UPDATE_ACTIONS;
+    private Duration window = Duration.ofMillis(50);
+    private int maxConflictRetries = DEFAULT_MAX_CONFLICT_RETRIES;
+    private SdkRuntime runtime = SdkRuntime.shared();
+
+    private UpdateActionBufferConfigBuilder() {
+    }
+
+    /**
+     * Sets the maximum amount of update actions in one update command.
+     *
+     * @param maxUpdateActions value between 1 and {@value #MAX_UPDATE_ACTIONS}, by default {@value #MAX_UPDATE_ACTIONS}
+     * @return the builder instance
+     */
+    public UpdateActionBufferConfigBuilder maxUpdateActions(final int maxUpdateActions) {
+        if (maxUpdateActions < 1 || maxUpdateActions > MAX_UPDATE_ACTIONS) {
+            throw new IllegalArgumentException(String.format("maxUpdateActions needs to be between 1 and %d but was %d", MAX_UPDATE_ACTIONS, maxUpdateActions));
+        }
+        this.maxUpdateActions = maxUpdateActions;
+        return this;
+    }
+
+    /**
+     * Sets the time span in which update actions for a resource are collected. The shared timer has a resolution of about 10 milliseconds.
+     *
+     * @param window positive duration, by default 50 milliseconds
+     * @return the builder instance
+     */
+    public UpdateActionBufferConfigBuilder window(final Duration window) {
+        Objects.requireNonNull(window, "window");
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException(String.format("window needs to be positive but was %s", window));
+        }
+        this.window = window;
+        return this;
+    }
+
+    /**
+     * Sets how often an update command is sent again with the current version after a {@link io.sphere.sdk.client.ConcurrentModificationException}.
+     *
+     * @param maxConflictRetries zero or a positive amount, by default {@value #DEFAULT_MAX_CONFLICT_RETRIES}
+     * @return the builder instance
+     */
+    public UpdateActionBufferConfigBuilder maxConflictRetries(final int maxConflictRetries) {
+        if (maxConflictRetries < 0) {
+            throw new IllegalArgumentException(String.format("maxConflictRetries cannot be negative but was %d", maxConflictRetries));
+        }
+        this.maxConflictRetries = maxConflictRetries;
+        return this;
+    }
+
+    /**
+     * Sets the runtime whose CPU pool sends the update commands at the end of a window.
+     *
+     * @param runtime the runtime, by default the {@link SdkRuntime#shared() shared runtime}
+     * @return the builder instance
+     */
+    public UpdateActionBufferConfigBuilder runtime(final SdkRuntime runtime) {
+        this.runtime = Objects.requireNonNull(runtime, "runtime");
+        return this;
+    }
+
+    public static UpdateActionBufferConfigBuilder of() {
+        return new UpdateActionBufferConfigBuilder();
+    }
+
+    @Override
+    public UpdateActionBufferConfig build() {
+        return new UpdateActionBufferConfig(maxUpdateActions, window, maxConflictRetries, runtime);
+    }
+}
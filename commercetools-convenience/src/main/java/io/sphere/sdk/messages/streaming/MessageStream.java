@@ -0,0 +1,340 @@
+package io.sphere.sdk.messages.streaming;
+
+import io.sphere.sdk.client.HashedWheelTimer;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.messages.Message;
+import io.sphere.sdk.messages.queries.MessageQuery;
+import io.sphere.sdk.messages.queries.MessageQueryModel;
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.queries.QueryPredicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Consumes the messages of a project continuously and hands them to a handler.
+ *
+ * <p>Messages are fetched page by page in the order of {@code createdAt} and {@code id}.
+ * The messages of one page are grouped by their resource and the groups are handled in parallel,
+ * while the messages of one resource are always handled one after another in the order of their {@code sequenceNumber}.
+ * After a page has been handled completely the checkpoint advances to its last message and is written to the checkpoint file,
+ * so a new stream with the same file resumes after it.</p>
+ *
+ * <p>The delivery is at least once: if the handler throws an exception, the poll fails and the next poll fetches the page again.
+ * Messages of resources which have already been handled in a failed page are skipped by their sequence number.</p>
+ *
+ * <p>Polls are either triggered with {@link #poll()} or periodically after {@link #start()}.
+ * The handler runs in the CPU pool of the {@link MessageStreamConfig#getRuntime() configured runtime}, so the stream has no own threads.
+ * A handler which blocks, for example for I/O, should get a runtime with a separate pool.</p>
+ */
+public final class MessageStream extends Base implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(MessageStream.class);
+
+    private final SphereClient client;
+    private final MessageStreamConfig config;
+    private final Consumer<Message> handler;
+    private final Executor executor;
+    private final HashedWheelTimer timer;
+    private final Map<String, Long> resourceSequenceNumbers;
+    private final AtomicLong handledCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+    @Nullable
+    private volatile ZonedDateTime lastCreatedAt;
+    @Nullable
+    private volatile String lastMessageId;
+    @Nullable
+    private CompletableFuture<Integer> currentPoll;
+    private boolean started = false;
+    private volatile boolean closed = false;
+
+    private MessageStream(final SphereClient client, final MessageStreamConfig config, final Consumer<Message> handler) {
+        this.client = client;
+        this.config = config;
+        this.handler = handler;
+        this.executor = config.getRuntime().getCpuPool();
+        this.timer = config.getRuntime().getTimer();
+        final int maxTrackedResources = config.getMaxTrackedResources();
+        this.resourceSequenceNumbers = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+                return size() > maxTrackedResources;
+            }
+        };
+        final MessageStreamCheckpoint checkpoint = readCheckpoint(config.getCheckpointFile());
+        this.lastCreatedAt = checkpoint.getCreatedAt();
+        this.lastMessageId = checkpoint.getMessageId();
+        this.resourceSequenceNumbers.putAll(checkpoint.getResourceSequenceNumbers());
+    }
+
+    /**
+     * Fetches and handles all messages after the checkpoint. If a poll is already running, its result is returned instead.
+     *
+     * @return stage containing the number of handled messages
+     */
+    public synchronized CompletionStage<Integer> poll() {
+        if (closed) {
+            final CompletableFuture<Integer> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("The message stream has been closed."));
+            return failed;
+        }
+        if (currentPoll == null || currentPoll.isDone()) {
+            final CompletableFuture<Integer> poll = new CompletableFuture<>();
+            currentPoll = poll;
+            fetchAndHandle(firstPageQuery(), 0, poll);
+        }
+        return currentPoll;
+    }
+
+    /**
+     * Starts to poll periodically with the configured poll interval until the stream is closed.
+     * Failed polls are logged and retried after the poll interval.
+     */
+    public synchronized void start() {
+        if (!started && !closed) {
+            started = true;
+            scheduledPoll();
+        }
+    }
+
+    /**
+     * Stops the periodic polling. A running poll is not awaited, it hands no further resources to the handler and fails.
+     * The pool of the runtime is not affected.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+    }
+
+    /**
+     * Gets the position after the last completely handled page.
+     *
+     * @return checkpoint
+     */
+    public MessageStreamCheckpoint getCheckpoint() {
+        synchronized (resourceSequenceNumbers) {
+            return MessageStreamCheckpoint.of(lastCreatedAt, lastMessageId, resourceSequenceNumbers);
+        }
+    }
+
+    /**
+     * Gets the number of messages which have been handed to the handler successfully.
+     *
+     * @return handled messages
+     */
+    public long getHandledCount() {
+        return handledCount.get();
+    }
+
+    /**
+     * Gets the number of fetched messages which have been skipped as they have already been handled.
+     *
+     * @return skipped messages
+     */
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    private void scheduledPoll() {
+        poll().whenComplete((handled, error) -> {
+            if (error != null) {
+                logger.warn("Polling messages failed, retrying after " + config.getPollInterval(), error);
+            }
+            if (!closed) {
+                timer.schedule(this::scheduledPoll, config.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    private void fetchAndHandle(final MessageQuery query, final int handledBefore, final CompletableFuture<Integer> poll) {
+        client.execute(query)
+                .thenCompose(page -> handlePage(page.getResults()).thenApply(handledInPage -> {
+                    final List<Message> messages = page.getResults();
+                    if (messages.size() < config.getPageSize() || closed) {
+                        poll.complete(handledBefore + handledInPage);
+                    } else {
+                        fetchAndHandle(nextPageQuery(messages.get(messages.size() - 1)), handledBefore + handledInPage, poll);
+                    }
+                    return handledInPage;
+                }))
+                .whenComplete((handledInPage, error) -> {
+                    if (error != null) {
+                        poll.completeExceptionally(error);
+                    }
+                });
+    }
+
+    private CompletionStage<Integer> handlePage(final List<Message> messages) {
+        if (messages.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+        final Map<String, List<Message>> messagesByResource = new LinkedHashMap<>();
+        for (final Message message : messages) {
+            final String resourceId = message.getResource().getId();
+            if (isAlreadyHandled(resourceId, message.getSequenceNumber())) {
+                skippedCount.incrementAndGet();
+            } else {
+                messagesByResource.computeIfAbsent(resourceId, id -> new ArrayList<>()).add(message);
+            }
+        }
+        messagesByResource.values().forEach(resourceMessages ->
+                resourceMessages.sort(Comparator.comparing(Message::getSequenceNumber, Comparator.nullsFirst(Comparator.naturalOrder()))));
+        //at most parallelism workers take the resources one after another from the queue
+        final Queue<Map.Entry<String, List<Message>>> pendingResources = new ConcurrentLinkedQueue<>(messagesByResource.entrySet());
+        final AtomicInteger handledInPage = new AtomicInteger();
+        final AtomicReference<Throwable> firstError = new AtomicReference<>();
+        final CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(config.getParallelism(), messagesByResource.size())];
+        try {
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = CompletableFuture.runAsync(() -> handleResources(pendingResources, handledInPage, firstError), executor);
+            }
+        } catch (final RejectedExecutionException e) {
+            final CompletableFuture<Integer> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        final Message lastMessage = messages.get(messages.size() - 1);
+        //waits also for the other resources if one fails, so a retried page cannot overlap with them
+        return CompletableFuture.allOf(workers)
+                .thenApply(done -> {
+                    final Throwable error = firstError.get();
+                    if (error != null) {
+                        throw new CompletionException(error);
+                    }
+                    advanceCheckpoint(lastMessage);
+                    return handledInPage.get();
+                });
+    }
+
+    private void handleResources(final Queue<Map.Entry<String, List<Message>>> pendingResources, final AtomicInteger handledInPage,
+                                 final AtomicReference<Throwable> firstError) {
+        Map.Entry<String, List<Message>> resource;
+        while ((resource = pendingResources.poll()) != null) {
+            if (closed) {
+                firstError.compareAndSet(null, new IllegalStateException("The message stream has been closed."));
+                return;
+            }
+            try {
+                handledInPage.addAndGet(handleResource(resource.getKey(), resource.getValue()));
+            } catch (final Throwable t) {
+                firstError.compareAndSet(null, t);
+            }
+        }
+    }
+
+    private int handleResource(final String resourceId, final List<Message> resourceMessages) {
+        for (final Message message : resourceMessages) {
+            handler.accept(message);
+            handledCount.incrementAndGet();
+            if (message.getSequenceNumber() != null) {
+                synchronized (resourceSequenceNumbers) {
+                    resourceSequenceNumbers.put(resourceId, message.getSequenceNumber());
+                }
+            }
+        }
+        return resourceMessages.size();
+    }
+
+    private boolean isAlreadyHandled(final String resourceId, @Nullable final Long sequenceNumber) {
+        if (sequenceNumber == null) {
+            return false;
+        }
+        synchronized (resourceSequenceNumbers) {
+            final Long handledSequenceNumber = resourceSequenceNumbers.get(resourceId);
+            return handledSequenceNumber != null && sequenceNumber <= handledSequenceNumber;
+        }
+    }
+
+    private void advanceCheckpoint(final Message lastMessage) {
+        lastCreatedAt = lastMessage.getCreatedAt();
+        lastMessageId = lastMessage.getId();
+        final Path checkpointFile = config.getCheckpointFile();
+        if (checkpointFile != null) {
+            writeCheckpoint(checkpointFile, getCheckpoint());
+        }
+    }
+
+    private MessageQuery firstPageQuery() {
+        final ZonedDateTime checkpointCreatedAt = lastCreatedAt;
+        final String checkpointMessageId = lastMessageId;
+        if (checkpointCreatedAt == null) {
+            final ZonedDateTime startAt = config.getStartAt();
+            return startAt == null ? sortedQuery() : sortedQuery().plusPredicates(m -> m.createdAt().isGreaterThanOrEqualTo(startAt));
+        } else if (config.getOverlap().isZero() && checkpointMessageId != null) {
+            return sortedQuery().plusPredicates(m -> after(m, checkpointCreatedAt, checkpointMessageId));
+        } else {
+            final ZonedDateTime from = checkpointCreatedAt.minus(config.getOverlap());
+            return sortedQuery().plusPredicates(m -> m.createdAt().isGreaterThanOrEqualTo(from));
+        }
+    }
+
+    private MessageQuery nextPageQuery(final Message lastMessageOfPage) {
+        return sortedQuery().plusPredicates(m -> after(m, lastMessageOfPage.getCreatedAt(), lastMessageOfPage.getId()));
+    }
+
+    private static QueryPredicate<Message> after(final MessageQueryModel m, final ZonedDateTime createdAt, final String id) {
+        return m.createdAt().isGreaterThan(createdAt)
+                .or(m.createdAt().is(createdAt).and(m.id().isGreaterThan(id)));
+    }
+
+    private MessageQuery sortedQuery() {
+        return config.getBaseQuery()
+                .withSort(m -> m.createdAt().sort().asc())
+                .plusSort(m -> m.id().sort().asc())
+                .withOffset((Long) null)
+                .withLimit(config.getPageSize())
+                .withFetchTotal(false);
+    }
+
+    private static MessageStreamCheckpoint readCheckpoint(@Nullable final Path checkpointFile) {
+        if (checkpointFile == null || !Files.exists(checkpointFile)) {
+            return MessageStreamCheckpoint.ofEmpty();
+        }
+        try {
+            return SphereJsonUtils.readObject(new String(Files.readAllBytes(checkpointFile), StandardCharsets.UTF_8), MessageStreamCheckpoint.class);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCheckpoint(final Path checkpointFile, final MessageStreamCheckpoint checkpoint) {
+        try {
+            final Path directory = checkpointFile.toAbsolutePath().getParent();
+            final Path tempFile = Files.createTempFile(directory, checkpointFile.getFileName().toString(), ".tmp");
+            Files.write(tempFile, SphereJsonUtils.toJsonString(checkpoint).getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates a stream which uses the {@link HashedWheelTimer} of the configured runtime for periodic polls.
+     *
+     * @param client the client to fetch the messages with
+     * @param config the stream configuration
+     * @param handler the handler which is called for every message, concurrently only for messages of different resources
+     * @return message stream, which polls only after {@link #poll()} or {@link #start()}
+     */
+    public static MessageStream of(final SphereClient client, final MessageStreamConfig config, final Consumer<Message> handler) {
+        return new MessageStream(client, config, handler);
+    }
+
+    public static MessageStream of(final SphereClient client, final Consumer<Message> handler) {
+        return of(client, MessageStreamConfigBuilder.of().build(), handler);
+    }
+}
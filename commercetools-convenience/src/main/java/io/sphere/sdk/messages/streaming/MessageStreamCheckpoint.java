@@ -0,0 +1,67 @@
+package io.sphere.sdk.messages.streaming;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.sphere.sdk.models.Base;
+
+import javax.annotation.Nullable;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Position of a {@link MessageStream}: the last handled message in the order of {@code createdAt} and {@code id}
+ * and the last handled sequence number of recently changed resources.
+ */
+public final class MessageStreamCheckpoint extends Base {
+    @Nullable
+    private final ZonedDateTime createdAt;
+    @Nullable
+    private final String messageId;
+    private final Map<String, Long> resourceSequenceNumbers;
+
+    @JsonCreator
+    MessageStreamCheckpoint(@Nullable final ZonedDateTime createdAt, @Nullable final String messageId,
+                            @Nullable final Map<String, Long> resourceSequenceNumbers) {
+        this.createdAt = createdAt;
+        this.messageId = messageId;
+        this.resourceSequenceNumbers = resourceSequenceNumbers == null
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new LinkedHashMap<>(resourceSequenceNumbers));
+    }
+
+    /**
+     * Creation time of the last handled message.
+     * @return creation time or null if no message has been handled yet
+     */
+    @Nullable
+    public ZonedDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * ID of the last handled message.
+     * @return message id or null if no message has been handled yet
+     */
+    @Nullable
+    public String getMessageId() {
+        return messageId;
+    }
+
+    /**
+     * Last handled sequence number per resource id, ordered from the least to the most recently handled resource.
+     * @return unmodifiable map from resource id to sequence number
+     */
+    public Map<String, Long> getResourceSequenceNumbers() {
+        return resourceSequenceNumbers;
+    }
+
+    public static MessageStreamCheckpoint of(@Nullable final ZonedDateTime createdAt, @Nullable final String messageId,
+                                             final Map<String, Long> resourceSequenceNumbers) {
+        return new MessageStreamCheckpoint(createdAt, messageId, resourceSequenceNumbers);
+    }
+
+    public static MessageStreamCheckpoint ofEmpty() {
+        return new MessageStreamCheckpoint(null, null, null);
+    }
+}
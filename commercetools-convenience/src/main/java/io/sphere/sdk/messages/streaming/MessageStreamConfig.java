@@ -0,0 +1,119 @@
+package io.sphere.sdk.messages.streaming;
+
+import io.sphere.sdk.client.SdkRuntime;
+import io.sphere.sdk.messages.queries.MessageQuery;
+import io.sphere.sdk.models.Base;
+
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+/**
+ * Configuration for {@link MessageStream}.
+ *
+ * @see MessageStreamConfigBuilder
+ */
+public final class MessageStreamConfig extends Base {
+    private final MessageQuery baseQuery;
+    private final int pageSize;
+    private final int parallelism;
+    private final Duration pollInterval;
+    private final Duration overlap;
+    @Nullable
+    private final ZonedDateTime startAt;
+    @Nullable
+    private final Path checkpointFile;
+    private final int maxTrackedResources;
+    private final SdkRuntime runtime;
+
+    MessageStreamConfig(final MessageQuery baseQuery, final int pageSize, final int parallelism,
+                        final Duration pollInterval, final Duration overlap, @Nullable final ZonedDateTime startAt,
+                        @Nullable final Path checkpointFile, final int maxTrackedResources, final SdkRuntime runtime) {
+        this.baseQuery = baseQuery;
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+        this.pollInterval = pollInterval;
+        this.overlap = overlap;
+        this.startAt = startAt;
+        this.checkpointFile = checkpointFile;
+        this.maxTrackedResources = maxTrackedResources;
+        this.runtime = runtime;
+    }
+
+    /**
+     * The query which selects the messages to consume, for example restricted to certain message types.
+     * Sorting, limit and the time window are set by the stream.
+     * @return the base query
+     */
+    public MessageQuery getBaseQuery() {
+        return baseQuery;
+    }
+
+    /**
+     * Amount of messages fetched with one request.
+     * @return page size
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Maximum number of resources whose messages are handled at the same time.
+     * @return parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Delay between two polls of a started stream after all messages of a poll have been handled.
+     * @return poll interval
+     */
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    /**
+     * Time span before the checkpoint which is queried again on every poll to catch messages which became visible late.
+     * Messages which have already been handled are skipped by their sequence number.
+     * @return overlap
+     */
+    public Duration getOverlap() {
+        return overlap;
+    }
+
+    /**
+     * Creation time of the first message to consume if no checkpoint exists.
+     * @return start time or null to start with the oldest message
+     */
+    @Nullable
+    public ZonedDateTime getStartAt() {
+        return startAt;
+    }
+
+    /**
+     * File in which the checkpoint is persisted after each handled page.
+     * @return the file or null if the checkpoint is only kept in memory
+     */
+    @Nullable
+    public Path getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    /**
+     * Maximum number of resources whose last handled sequence number is remembered to skip duplicates.
+     * @return maximum number of tracked resources
+     */
+    public int getMaxTrackedResources() {
+        return maxTrackedResources;
+    }
+
+    /**
+     * The runtime whose CPU pool runs the handler and whose timer triggers the periodic polls.
+     * @return runtime
+     */
+    public SdkRuntime getRuntime() {
+        return runtime;
+    }
+}
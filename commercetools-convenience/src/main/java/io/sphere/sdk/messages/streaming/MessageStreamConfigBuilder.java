@@ -0,0 +1,158 @@
+package io.sphere.sdk.messages.streaming;
+
+import io.sphere.sdk.client.SdkRuntime;
+import io.sphere.sdk.messages.queries.MessageQuery;
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Builder;
+
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * Builds {@link MessageStreamConfig} instances using the Builder pattern.
+ */
+public final class MessageStreamConfigBuilder extends Base implements Builder<MessageStreamConfig> {
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    public static final int DEFAULT_MAX_TRACKED_RESOURCES = 10000;
+
+    private MessageQuery baseQuery = MessageQuery.of();
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private Duration pollInterval = Duration.ofSeconds(5);
+    private Duration overlap = Duration.ZERO;
+    @Nullable
+    private ZonedDateTime startAt;
+    @Nullable
+    private Path checkpointFile;
+    private int maxTrackedResources = DEFAULT_MAX_TRACKED_RESOURCES;
+    private SdkRuntime runtime = SdkRuntime.shared();
+
+    private MessageStreamConfigBuilder() {
+    }
+
+    /**
+     * Sets the query which selects the messages, by default all messages.
+     *
+     * @param baseQuery the query, for example with a predicate for the message type
+     * @return the builder instance
+     */
+    public MessageStreamConfigBuilder baseQuery(final MessageQuery baseQuery) {
+        this.baseQuery = Objects.requireNonNull(baseQuery, "baseQuery");
+        return this;
+    }
+
+    /**
+     * Sets the amount of messages fetched with one request.
+     *
+     * @param pageSize positive page size, by default {@value #DEFAULT_PAGE_SIZE}
+     * @return the builder instance
+     */
+    public MessageStreamConfigBuilder pageSize(final int pageSize) {
+        this.pageSize = requirePositive(pageSize, "pageSize");
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of resources whose messages are handled at the same time.
+     *
+     * @param parallelism positive parallelism, by default the number of available processors
+     * @return the builder instance
+     */
+    public MessageStreamConfigBuilder parallelism(final int parallelism) {
+        this.parallelism = requirePositive(parallelism, "parallelism");
+        return this;
+    }
+
+    /**
+     * Sets the delay between two polls of a started stream.
+     *
+     * @param pollInterval positive duration, by default 5 seconds
+     * @return the builder instance
+     */
+    public MessageStreamConfigBuilder pollInterval(final Duration pollInterval) {
+        Objects.requireNonNull(pollInterval, "pollInterval");
+        if (pollInterval.isNegative() || pollInterval.isZero()) {
+            throw new IllegalArgumentException(String.format("pollInterval needs to be positive but was %s", pollInterval));
+        }
+        this.pollInterval = pollInterval;
+        return this;
+    }
+
+    /**
+     * Sets the time span before the checkpoint which is queried again on every poll to catch messages which became visible late.
+     *
+     * @param overlap positive or zero duration, by default zero
+     * @return the builder instance
+     */
+    public MessageStreamConfigBuilder overlap(final Duration overlap) {
+        Objects.requireNonNull(overlap, "overlap");
+        if (overlap.isNegative()) {
+            throw new IllegalArgumentException(String.format("overlap must not be negative but was %s", overlap));
+        }
+        this.overlap = overlap;
+        return this;
+    }
+
+    /**
+     * Sets the creation time of the first message to consume if no checkpoint exists.
+     *
+     * @param startAt the start time or null to start with the oldest message
+     * @return the builder instance
+     */
+    public MessageStreamConfigBuilder startAt(@Nullable final ZonedDateTime startAt) {
+        this.startAt = startAt;
+        return this;
+    }
+
+    /**
+     * Sets the file to persist the checkpoint in, so a restarted stream resumes after the last handled message.
+     *
+     * @param checkpointFile the file or null to keep the checkpoint only in memory
+     * @return the builder instance
+     */
+    public MessageStreamConfigBuilder checkpointFile(@Nullable final Path checkpointFile) {
+        this.checkpointFile = checkpointFile;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of resources whose last handled sequence number is remembered to skip duplicates.
+     *
+     * @param maxTrackedResources positive number, by default {@value #DEFAULT_MAX_TRACKED_RESOURCES}
+     * @return the builder instance
+     */
+    public MessageStreamConfigBuilder maxTrackedResources(final int maxTrackedResources) {
+        this.maxTrackedResources = requirePositive(maxTrackedResources, "maxTrackedResources");
+        return this;
+    }
+
+    /**
+     * Sets the runtime whose CPU pool runs the handler, for example a runtime with a separate pool for a blocking handler.
+     *
+     * @param runtime the runtime, by default the {@link SdkRuntime#shared() shared runtime}
+     * @return the builder instance
+     */
+    public MessageStreamConfigBuilder runtime(final SdkRuntime runtime) {
+        this.runtime = Objects.requireNonNull(runtime, "runtime");
+        return this;
+    }
+
+    public static MessageStreamConfigBuilder of() {
+        return new MessageStreamConfigBuilder();
+    }
+
+    @Override
+    public MessageStreamConfig build() {
+        return new MessageStreamConfig(baseQuery, pageSize, parallelism, pollInterval, overlap, startAt, checkpointFile, maxTrackedResources, runtime);
+    }
+
+    private static int requirePositive(final int value, final String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(String.format("%s needs to be positive but was %d", name, value));
+        }
+        return value;
+    }
+}
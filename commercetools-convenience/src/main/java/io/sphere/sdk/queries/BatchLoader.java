@@ -0,0 +1,245 @@
+package io.sphere.sdk.queries;
+
+import io.sphere.sdk.client.HashedWheelTimer;
+import io.sphere.sdk.client.SdkRuntime;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.models.Identifiable;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Collects single lookups of resources by id or key and fetches them with one query, for example
+ * {@code id in ("id-1", "id-2", "id-3")} instead of three {@code ProductByIdGet} requests.
+ *
+ * <p>The first lookup of a batch starts a time window, see {@link BatchLoaderConfig#getWindow()}.
+ * The batch is sent at the end of the window from the {@link SdkRuntime#getCpuPool() CPU pool} of the
+ * {@link BatchLoaderConfig#getRuntime() runtime} or as soon as it contains {@link BatchLoaderConfig#getMaxBatchSize()} keys.
+ * Lookups of the same key in one batch share the query result.
+ * Like the {@code *ByIdGet} requests, the result of a lookup is null if no resource has the key.
+ * If the query fails, all lookups of the batch fail with the same exception.</p>
+ *
+ * <pre>{@code
+ * final BatchLoader<String, Product> products = BatchLoader.ofIds(client, ProductQuery.of());
+ * final CompletionStage<Product> product = products.load(lineItem.getProductId());
+ * }</pre>
+ *
+ * @param <K> type of the keys, for example String for ids
+ * @param <T> type of the resources
+ */
+public final class BatchLoader<K, T> implements AutoCloseable {
+    private final SphereClient client;
+    private final Function<List<K>, ? extends SphereRequest<PagedQueryResult<T>>> queryFunction;
+    private final Function<? super T, K> keyFunction;
+    private final BatchLoaderConfig config;
+    private final HashedWheelTimer timer;
+    private final Executor executor;
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<T>> pending = new LinkedHashMap<>();
+    @Nullable
+    private HashedWheelTimer.Timeout scheduledFlush;
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+
+    BatchLoader(final SphereClient client, final Function<List<K>, ? extends SphereRequest<PagedQueryResult<T>>> queryFunction,
+                final Function<? super T, K> keyFunction, final BatchLoaderConfig config) {
+        this.client = client;
+        this.queryFunction = queryFunction;
+        this.keyFunction = keyFunction;
+        this.config = config;
+        this.timer = config.getRuntime().getTimer();
+        this.executor = config.getRuntime().getCpuPool();
+    }
+
+    /**
+     * Looks up the resource with the given key as part of the next batch.
+     *
+     * @param key the key, for example the id of the resource
+     * @return stage which contains the resource or null if it does not exist
+     */
+    public CompletionStage<T> load(final K key) {
+        Objects.requireNonNull(key, "key");
+        loads.increment();
+        final CompletableFuture<T> result;
+        Map<K, CompletableFuture<T>> fullBatch = null;
+        synchronized (lock) {
+            final CompletableFuture<T> existing = pending.get(key);
+            if (existing != null) {
+                return dependentStage(existing);
+            }
+            result = new CompletableFuture<>();
+            pending.put(key, result);
+            if (pending.size() >= config.getMaxBatchSize()) {
+                fullBatch = takePending();
+            } else if (pending.size() == 1) {
+                //the query is built and sent in the pool to keep the timer thread free
+                scheduledFlush = timer.schedule(() -> executor.execute(this::flush), config.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (fullBatch != null) {
+            send(fullBatch);
+        }
+        return dependentStage(result);
+    }
+
+    /**
+     * Sends the collected lookups immediately without waiting for the end of the window.
+     */
+    public void flush() {
+        final Map<K, CompletableFuture<T>> batch;
+        synchronized (lock) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    /**
+     * Sends the collected lookups. The underlying client is not closed.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Gets the amount of lookups.
+     *
+     * @return amount of calls of {@link #load(Object)}
+     */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * Gets the amount of queries which have been sent.
+     *
+     * @return amount of queries
+     */
+    public long getQueryCount() {
+        return queries.sum();
+    }
+
+    //one stage per caller, so a caller cancelling its stage does not affect the other callers of the key
+    private static <T> CompletableFuture<T> dependentStage(final CompletableFuture<T> future) {
+        return future.thenApply(Function.identity());
+    }
+
+    private Map<K, CompletableFuture<T>> takePending() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel();
+            scheduledFlush = null;
+        }
+        final Map<K, CompletableFuture<T>> batch = pending;
+        pending = new LinkedHashMap<>();
+        return batch;
+    }
+
+    private void send(final Map<K, CompletableFuture<T>> batch) {
+        queries.increment();
+        final CompletionStage<PagedQueryResult<T>> queryResult;
+        try {
+            queryResult = client.execute(queryFunction.apply(new ArrayList<>(batch.keySet())));
+        } catch (final Throwable throwable) {
+            batch.values().forEach(future -> future.completeExceptionally(throwable));
+            return;
+        }
+        queryResult.whenComplete((pagedQueryResult, throwable) -> {
+            if (throwable != null) {
+                batch.values().forEach(future -> future.completeExceptionally(throwable));
+            } else {
+                try {
+                    pagedQueryResult.getResults().forEach(resource -> {
+                        final CompletableFuture<T> future = batch.get(keyFunction.apply(resource));
+                        if (future != null) {
+                            future.complete(resource);
+                        }
+                    });
+                    batch.values().forEach(future -> future.complete(null));
+                } catch (final Throwable e) {
+                    batch.values().forEach(future -> future.completeExceptionally(e));
+                }
+            }
+        });
+    }
+
+    /**
+     * Creates a loader which fetches resources with the given key query.
+     *
+     * @param client the client to execute the queries
+     * @param queryFunction creates the query for the keys of a batch, the query needs to return all resources for the keys in one page
+     * @param keyFunction extracts the key from a resource
+     * @param config configuration of the batches
+     * @param <K> type of the keys
+     * @param <T> type of the resources
+     * @return loader
+     */
+    public static <K, T> BatchLoader<K, T> of(final SphereClient client,
+                                              final Function<List<K>, ? extends SphereRequest<PagedQueryResult<T>>> queryFunction,
+                                              final Function<? super T, K> keyFunction, final BatchLoaderConfig config) {
+        return new BatchLoader<>(client, queryFunction, keyFunction, config);
+    }
+
+    /**
+     * Creates a loader which fetches resources by id with an {@code id in (...)} predicate added to the given query.
+     *
+     * @param client the client to execute the queries
+     * @param query the base query, for example with reference expansions
+     * @param config configuration of the batches
+     * @param <T> type of the resources
+     * @param <C> type of the query
+     * @param <Q> type of the query model
+     * @param <E> type of the expansion model
+     * @return loader
+     */
+    public static <T extends Identifiable<T>, C extends MetaModelQueryDsl<T, C, Q, E>, Q extends ResourceQueryModel<T>, E> BatchLoader<String, T>
+    ofIds(final SphereClient client, final MetaModelQueryDsl<T, C, Q, E> query, final BatchLoaderConfig config) {
+        return ofKeys(client, query, ResourceQueryModel::id, Identifiable::getId, config);
+    }
+
+    public static <T extends Identifiable<T>, C extends MetaModelQueryDsl<T, C, Q, E>, Q extends ResourceQueryModel<T>, E> BatchLoader<String, T>
+    ofIds(final SphereClient client, final MetaModelQueryDsl<T, C, Q, E> query) {
+        return ofIds(client, query, BatchLoaderConfig.of());
+    }
+
+    /**
+     * Creates a loader which fetches resources by a string attribute like the key with an {@code in (...)} predicate added to the given query.
+     *
+     * <pre>{@code
+     * final BatchLoader<String, Product> products = BatchLoader.ofKeys(client, ProductQuery.of(), ProductQueryModel::key, Product::getKey, config);
+     * }</pre>
+     *
+     * @param client the client to execute the queries
+     * @param query the base query, for example with reference expansions
+     * @param keyModel selects the query model of the key
+     * @param keyFunction extracts the key from a resource
+     * @param config configuration of the batches
+     * @param <T> type of the resources
+     * @param <C> type of the query
+     * @param <Q> type of the query model
+     * @param <E> type of the expansion model
+     * @return loader
+     */
+    public static <T, C extends MetaModelQueryDsl<T, C, Q, E>, Q, E> BatchLoader<String, T>
+    ofKeys(final SphereClient client, final MetaModelQueryDsl<T, C, Q, E> query, final Function<Q, ? extends StringQueryModel<T>> keyModel,
+           final Function<? super T, String> keyFunction, final BatchLoaderConfig config) {
+        final Function<List<String>, C> queryFunction = keys -> query
+                .plusPredicates(model -> keyModel.apply(model).isIn(keys))
+                .withLimit(keys.size())
+                .withOffset(0L)
+                .withFetchTotal(false);
+        return of(client, queryFunction, keyFunction, config);
+    }
+}
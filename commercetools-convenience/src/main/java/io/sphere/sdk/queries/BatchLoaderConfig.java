@@ -0,0 +1,51 @@
+package io.sphere.sdk.queries;
+
+import io.sphere.sdk.client.SdkRuntime;
+import io.sphere.sdk.models.Base;
+
+import java.time.Duration;
+
+/**
+ * Configuration for {@link BatchLoader}.
+ *
+ * @see BatchLoaderConfigBuilder
+ */
+public final class BatchLoaderConfig extends Base {
+    private final int maxBatchSize;
+    private final Duration window;
+    private final SdkRuntime runtime;
+
+    BatchLoaderConfig(final int maxBatchSize, final Duration window, final SdkRuntime runtime) {
+        this.maxBatchSize = maxBatchSize;
+        this.window = window;
+        this.runtime = runtime;
+    }
+
+    /**
+     * Maximum amount of keys fetched with one query, a batch is sent immediately if it is full.
+     * @return amount of keys
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Time span in which lookups are collected after the first lookup of a batch.
+     * @return duration
+     */
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * The runtime whose timer ends the windows and whose CPU pool sends the batches at the end of a window.
+     * @return runtime
+     */
+    public SdkRuntime getRuntime() {
+        return runtime;
+    }
+
+    public static BatchLoaderConfig of() {
+        return BatchLoaderConfigBuilder.of().build();
+    }
+}
@@ -0,0 +1,73 @@
+package io.sphere.sdk.queries;
+
+import io.sphere.sdk.client.SdkRuntime;
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Builder;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Builds {@link BatchLoaderConfig} instances using the Builder pattern.
+ */
+public final class BatchLoaderConfigBuilder extends Base implements Builder<BatchLoaderConfig> {
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private Duration window = Duration.ofMillis(10);
+    private SdkRuntime runtime = SdkRuntime.shared();
+
+    private BatchLoaderConfigBuilder() {
+    }
+
+    /**
+     * Sets the maximum amount of keys fetched with one query.
+     * Keep in mind that all keys are part of the URL of the query.
+     *
+     * @param maxBatchSize value between 1 and {@value #MAX_BATCH_SIZE}, by default {@value #DEFAULT_MAX_BATCH_SIZE}
+     * @return the builder instance
+     */
+    public BatchLoaderConfigBuilder maxBatchSize(final int maxBatchSize) {
+        if (maxBatchSize < 1 || maxBatchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(String.format("maxBatchSize needs to be between 1 and %d but was %d", MAX_BATCH_SIZE, maxBatchSize));
+        }
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * Sets the time span in which lookups are collected. The shared timer has a resolution of about 10 milliseconds.
+     *
+     * @param window positive duration, by default 10 milliseconds
+     * @return the builder instance
+     */
+    public BatchLoaderConfigBuilder window(final Duration window) {
+        Objects.requireNonNull(window, "window");
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException(String.format("window needs to be positive but was %s", window));
+        }
+        this.window = window;
+        return this;
+    }
+
+    /**
+     * Sets the runtime whose CPU pool sends the batches at the end of a window.
+     *
+     * @param runtime the runtime, by default the {@link SdkRuntime#shared() shared runtime}
+     * @return the builder instance
+     */
+    public BatchLoaderConfigBuilder runtime(final SdkRuntime runtime) {
+        this.runtime = Objects.requireNonNull(runtime, "runtime");
+        return this;
+    }
+
+    public static BatchLoaderConfigBuilder of() {
+        return new BatchLoaderConfigBuilder();
+    }
+
+    @Override
+    public BatchLoaderConfig build() {
+        return new BatchLoaderConfig(maxBatchSize, window, runtime);
+    }
+}
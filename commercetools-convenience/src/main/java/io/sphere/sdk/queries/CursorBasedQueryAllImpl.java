@@ -0,0 +1,182 @@
+package io.sphere.sdk.queries;
+
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.models.Identifiable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+
+/**
+ * Fetches all elements of a query page by page with a keyset pagination: the elements are sorted by id and every
+ * page is requested with a predicate {@code id > "lastIdOfThePreviousPage"} instead of an offset, so the costs per page
+ * stay the same independent of how deep the page is.
+ *
+ * <p>Only one request is in flight at any time: the next page is requested as soon as the current page arrived and
+ * is fetched while the current page is consumed.</p>
+ *
+ * @param <T> type of one query result element
+ * @param <C> type of the query
+ */
+final class CursorBasedQueryAllImpl<T extends Identifiable<?>, C extends QueryDsl<T, C>> {
+    private final QueryDsl<T, C> baseQuery;
+    private final long pageSize;
+
+    private CursorBasedQueryAllImpl(final QueryDsl<T, C> baseQuery, final long pageSize) {
+        this.baseQuery = baseQuery
+                .withSort(QuerySort.of("id asc"))
+                .withOffset((Long) null)
+                .withLimit(pageSize)
+                .withFetchTotal(false);
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Execute the {@link #baseQuery} on the {@code client} and return completion stage with all pages results
+     * aggregated to list.
+     * @param client the CTP client that the query is run on.
+     * @return {@link CompletionStage} with the {@link #baseQuery} results aggregated from all pages to list.
+     */
+    @Nonnull
+    CompletionStage<List<T>> run(final SphereClient client) {
+        return run(client, Function.identity());
+    }
+
+    /**
+     * Applies the {@code resultsMapper} on each item of the results and returns a future containing a list of the mapped items.
+     *
+     * @param client        the CTP client that the query is run on.
+     * @param resultsMapper the callback that gets called on each item of results.
+     * @param <S>           the type of the result mapped values of the callback on each requested {@code T} item.
+     * @return a future containing a list of results of the {@code resultsMapper} on each item.
+     */
+    @Nonnull
+    <S> CompletionStage<List<S>> run(final SphereClient client, final Function<T, S> resultsMapper) {
+        final List<S> mappedResults = new ArrayList<>();
+        return runPageWise(client, page -> page.forEach(element -> mappedResults.add(resultsMapper.apply(element))))
+                .thenApply(done -> mappedResults);
+    }
+
+    /**
+     * Applies the {@code resultsConsumer} on each item of the results.
+     *
+     * @param client          the CTP client that the query is run on.
+     * @param resultsConsumer the consumer that gets called on each item of results.
+     * @return an empty future which is completed after the {@code resultsConsumer} has been executed on every item
+     */
+    @Nonnull
+    CompletionStage<Void> run(final SphereClient client, final Consumer<T> resultsConsumer) {
+        return runPageWise(client, page -> page.forEach(resultsConsumer));
+    }
+
+    /**
+     * Applies the {@code pageConsumer} on every page of results in the order of the ids. The consumer is never called concurrently.
+     *
+     * @param client       the CTP client that the query is run on.
+     * @param pageConsumer the consumer that gets called with the results of each page.
+     * @return an empty future which is completed after the last page has been consumed
+     */
+    @Nonnull
+    CompletionStage<Void> runPageWise(final SphereClient client, final Consumer<List<T>> pageConsumer) {
+        final PageWiseRun run = new PageWiseRun(client, pageConsumer);
+        run.request(null);
+        return run.result;
+    }
+
+    /**
+     * Consumes the pages one after another. Only one thread consumes at a time, a page arriving while another one
+     * is consumed is picked up by the consuming thread afterwards, so synchronously completing pages do not recurse.
+     */
+    private final class PageWiseRun {
+        private final SphereClient client;
+        private final Consumer<List<T>> pageConsumer;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        @Nullable
+        private volatile PagedQueryResult<T> arrivedPage;
+
+        private PageWiseRun(final SphereClient client, final Consumer<List<T>> pageConsumer) {
+            this.client = client;
+            this.pageConsumer = pageConsumer;
+        }
+
+        private void request(@Nullable final String lastId) {
+            final CompletionStage<PagedQueryResult<T>> pageStage;
+            try {
+                pageStage = queryPage(client, lastId);
+            } catch (final RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            pageStage.whenComplete(this::onPageArrived);
+        }
+
+        private void onPageArrived(@Nullable final PagedQueryResult<T> page, @Nullable final Throwable throwable) {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+                return;
+            }
+            arrivedPage = page;
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                final PagedQueryResult<T> next = arrivedPage;
+                arrivedPage = null;
+                if (next != null) {
+                    consume(next);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void consume(final PagedQueryResult<T> page) {
+            if (result.isDone()) {
+                return;
+            }
+            final List<T> results = page.getResults();
+            final boolean isLastPage = results.size() < pageSize;
+            if (!isLastPage) {
+                request(results.get(results.size() - 1).getId());
+            }
+            try {
+                pageConsumer.accept(results);
+            } catch (final RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            if (isLastPage) {
+                result.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Gets the page which directly follows the element with the id {@code lastId}.
+     *
+     * @param client the CTP client that the query is run on.
+     * @param lastId the id of the last element of the previous page or null for the first page.
+     * @return a future containing the results of the requested page of applying the query.
+     */
+    @Nonnull
+    CompletionStage<PagedQueryResult<T>> queryPage(final SphereClient client, @Nullable final String lastId) {
+        final QueryDsl<T, C> query = lastId == null
+                ? baseQuery
+                : baseQuery.plusPredicates(QueryPredicate.of(format("id > \"%s\"", lastId)));
+        return client.execute(query);
+    }
+
+    @Nonnull
+    static <T extends Identifiable<?>, C extends QueryDsl<T, C>> CursorBasedQueryAllImpl<T, C> of(@Nonnull final QueryDsl<T, C> baseQuery, final int pageSize) {
+        return new CursorBasedQueryAllImpl<>(baseQuery, pageSize);
+    }
+}
@@ -0,0 +1,293 @@
+package io.sphere.sdk.queries;
+
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.models.Identifiable;
+import io.sphere.sdk.search.SearchDsl;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reactive Streams {@link Publisher} which emits all elements of a query or search page by page.
+ *
+ * <p>Pages are only fetched if the demand of the subscriber requires it: a new page is requested as long as the
+ * already fetched but not yet emitted elements and the pending pages cannot satisfy the requested amount of elements.
+ * At most {@code maxPagesInFlight} pages are fetched concurrently, the elements are emitted in the order of the pages.
+ * No thread is blocked while waiting for a page.</p>
+ *
+ * <p>Every subscription starts the query from the beginning.</p>
+ *
+ * {@include.example io.sphere.sdk.queries.PagedResultPublisherTest#publishesAllElementsOnDemand()}
+ *
+ * @param <T> type of one result element
+ */
+public final class PagedResultPublisher<T> implements Publisher<T> {
+    private final PageFetcher<T> pageFetcher;
+    private final int pageSize;
+    private final int maxPagesInFlight;
+    private final boolean sequential;
+
+    private PagedResultPublisher(final PageFetcher<T> pageFetcher, final int pageSize, final int maxPagesInFlight, final boolean sequential) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("The page size needs to be positive but was " + pageSize);
+        }
+        if (maxPagesInFlight < 1) {
+            throw new IllegalArgumentException("The maximal number of pages in flight needs to be positive but was " + maxPagesInFlight);
+        }
+        this.pageFetcher = pageFetcher;
+        this.pageSize = pageSize;
+        this.maxPagesInFlight = maxPagesInFlight;
+        this.sequential = sequential;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super T> subscriber) {
+        requireNonNull(subscriber);
+        final PagedResultSubscription subscription = new PagedResultSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Creates a publisher for all elements of a query using an offset based pagination.
+     * If the query has no sort, the elements are sorted by id to get a stable order across the pages.
+     *
+     * @param client           commercetools client
+     * @param query            query containing predicates and expansion paths
+     * @param pageSize         size of one page to fetch
+     * @param maxPagesInFlight the maximal number of pages which are fetched concurrently
+     * @param <T>              type of one query result element
+     * @param <C>              type of the query
+     * @return publisher
+     */
+    @Nonnull
+    public static <T, C extends QueryDsl<T, C>> Publisher<T> ofQuery(@Nonnull final SphereClient client, @Nonnull final QueryDsl<T, C> query,
+                                                                      final int pageSize, final int maxPagesInFlight) {
+        final QueryDsl<T, C> baseQuery = !query.sort().isEmpty() ? query : query.withSort(QuerySort.of("id asc"));
+        final PageFetcher<T> pageFetcher = (pageIndex, lastElement) -> client.execute(baseQuery
+                .withOffset(pageIndex * pageSize)
+                .withLimit(pageSize))
+                .thenApply(PagedResult::getResults);
+        return new PagedResultPublisher<>(pageFetcher, pageSize, maxPagesInFlight, false);
+    }
+
+    /**
+     * Creates a publisher for all elements of a query using a cursor based pagination like
+     * {@link QueryExecutionUtils#queryAllWithCursor(SphereClient, QueryDsl)}.
+     * Since every page depends on the last element of the previous page, only one page is fetched at a time,
+     * but the next page is already fetched while the current page is emitted.
+     *
+     * @param client   commercetools client
+     * @param query    query containing predicates and expansion paths
+     * @param pageSize size of one page to fetch
+     * @param <T>      type of one query result element
+     * @param <C>      type of the query
+     * @return publisher
+     */
+    @Nonnull
+    public static <T extends Identifiable<?>, C extends QueryDsl<T, C>> Publisher<T> ofQueryWithCursor(@Nonnull final SphereClient client,
+                                                                                                      @Nonnull final QueryDsl<T, C> query,
+                                                                                                      final int pageSize) {
+        final CursorBasedQueryAllImpl<T, C> queryAll = CursorBasedQueryAllImpl.of(query, pageSize);
+        final PageFetcher<T> pageFetcher = (pageIndex, lastElement) -> queryAll
+                .queryPage(client, lastElement != null ? lastElement.getId() : null)
+                .thenApply(PagedResult::getResults);
+        return new PagedResultPublisher<>(pageFetcher, pageSize, 1, true);
+    }
+
+    /**
+     * Creates a publisher for all elements of a search request using an offset based pagination.
+     *
+     * @param client           commercetools client
+     * @param search           search request
+     * @param pageSize         size of one page to fetch
+     * @param maxPagesInFlight the maximal number of pages which are fetched concurrently
+     * @param <T>              type of one search result element
+     * @param <C>              type of the search request
+     * @return publisher
+     */
+    @Nonnull
+    public static <T, C extends SearchDsl<T, C>> Publisher<T> ofSearch(@Nonnull final SphereClient client, @Nonnull final SearchDsl<T, C> search,
+                                                                        final int pageSize, final int maxPagesInFlight) {
+        final PageFetcher<T> pageFetcher = (pageIndex, lastElement) -> client.execute(search
+                .withOffset(pageIndex * pageSize)
+                .withLimit(pageSize))
+                .thenApply(PagedResult::getResults);
+        return new PagedResultPublisher<>(pageFetcher, pageSize, maxPagesInFlight, false);
+    }
+
+    @FunctionalInterface
+    interface PageFetcher<T> {
+        /**
+         * Fetches one page.
+         *
+         * @param pageIndex   the zero based index of the page
+         * @param lastElement the last element of the previous page, only provided for sequential fetchers
+         * @return the elements of the page
+         */
+        CompletionStage<List<T>> fetch(long pageIndex, @Nullable T lastElement);
+    }
+
+    private final class PagedResultSubscription implements Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicInteger pendingPages = new AtomicInteger();
+        private final AtomicLong bufferedElements = new AtomicLong();
+        private final AtomicLong lastPageIndex = new AtomicLong(Long.MAX_VALUE);
+        private final Map<Long, Object> arrivedPages = new ConcurrentHashMap<>();
+        private volatile boolean cancelled = false;
+        private volatile boolean failed = false;
+        @Nullable
+        private volatile Throwable invalidRequest;
+        @Nullable
+        private volatile T lastArrivedElement;
+        //only accessed in drain()
+        private Iterator<T> currentPage = Collections.emptyIterator();
+        private long nextPageToEmit = 0;
+        private long nextPageToFetch = 0;
+        private boolean terminated = false;
+
+        private PagedResultSubscription(final Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                //signalled by drain() to not call the subscriber concurrently (rule 3.9)
+                invalidRequest = new IllegalArgumentException("The number of requested elements needs to be positive but was " + n);
+                cancelled = true;
+                drain();
+                return;
+            }
+            requested.accumulateAndGet(n, (current, additional) -> current + additional < 0 ? Long.MAX_VALUE : current + additional);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void fetchPage(final long pageIndex) {
+            pendingPages.incrementAndGet();
+            final CompletionStage<List<T>> pageStage;
+            try {
+                pageStage = pageFetcher.fetch(pageIndex, sequential ? lastArrivedElement : null);
+            } catch (final Throwable t) {
+                onPageArrived(pageIndex, null, t);
+                return;
+            }
+            pageStage.whenComplete((results, throwable) -> onPageArrived(pageIndex, results, throwable));
+        }
+
+        private void onPageArrived(final long pageIndex, @Nullable final List<T> results, @Nullable final Throwable throwable) {
+            if (throwable != null || results == null) {
+                failed = true;
+                final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                arrivedPages.put(pageIndex, cause != null ? cause : new NullPointerException("The page " + pageIndex + " contains no results."));
+            } else {
+                if (results.size() < pageSize) {
+                    lastPageIndex.accumulateAndGet(pageIndex, Math::min);
+                }
+                if (!results.isEmpty()) {
+                    lastArrivedElement = results.get(results.size() - 1);
+                }
+                bufferedElements.addAndGet(results.size());
+                arrivedPages.put(pageIndex, results);
+            }
+            pendingPages.decrementAndGet();
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!terminated) {
+                    emit();
+                }
+                if (!terminated && !cancelled) {
+                    fetchPagesForDemand();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            final long demand = requested.get();
+            long emitted = 0;
+            while (true) {
+                if (cancelled) {
+                    terminate();
+                    final Throwable error = invalidRequest;
+                    if (error != null) {
+                        subscriber.onError(error);
+                    }
+                    return;
+                }
+                if (!currentPage.hasNext()) {
+                    if (nextPageToEmit > lastPageIndex.get()) {
+                        terminate();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    final Object page = arrivedPages.remove(nextPageToEmit);
+                    if (page == null) {
+                        break;
+                    } else if (page instanceof Throwable) {
+                        terminate();
+                        subscriber.onError((Throwable) page);
+                        return;
+                    }
+                    @SuppressWarnings("unchecked")
+                    final List<T> results = (List<T>) page;
+                    currentPage = results.iterator();
+                    nextPageToEmit++;
+                } else if (emitted == demand) {
+                    break;
+                } else {
+                    final T element = currentPage.next();
+                    bufferedElements.decrementAndGet();
+                    emitted++;
+                    subscriber.onNext(element);
+                }
+            }
+            if (emitted > 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+        }
+
+        private void fetchPagesForDemand() {
+            while (!failed
+                    && nextPageToFetch <= lastPageIndex.get()
+                    && pendingPages.get() < maxPagesInFlight
+                    && bufferedElements.get() + (long) pendingPages.get() * pageSize < requested.get()) {
+                fetchPage(nextPageToFetch++);
+            }
+        }
+
+        private void terminate() {
+            terminated = true;
+            arrivedPages.clear();
+            currentPage = Collections.emptyIterator();
+        }
+    }
+}
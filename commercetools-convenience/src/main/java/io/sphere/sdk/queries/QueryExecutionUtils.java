@@ -1,6 +1,8 @@
 package io.sphere.sdk.queries;
 
 import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.models.Identifiable;
+import org.reactivestreams.Publisher;
 
 import javax.annotation.Nonnull;
 import java.util.List;
@@ -121,4 +123,115 @@ public final class QueryExecutionUtils {
     queryAll(@Nonnull final SphereClient client, @Nonnull final QueryDsl<T, C> query, @Nonnull final Consumer<T> resultsConsumer, final int pageSize) {
         return QueryAllImpl.of(query, pageSize).run(client, resultsConsumer);
     }
+
+    /**
+     * Queries all elements matching a query by using a cursor based pagination with page size {@value DEFAULT_PAGE_SIZE}.
+     * In contrast to {@link #queryAll(SphereClient, QueryDsl)} the elements are fetched sorted by id with a predicate
+     * {@code id > "lastIdOfThePreviousPage"} instead of an offset and without calculating the total,
+     * so fetching deep pages is as fast as fetching the first one. Only one page is requested at a time,
+     * the next page is fetched while the current one is processed.
+     *
+     * <p>A sort and an offset of the {@code query} are ignored, the results are sorted ascending by id.</p>
+     *
+     * @param client commercetools client
+     * @param query  query containing predicates and expansion paths
+     * @param <T>    type of one query result element
+     * @param <C>    type of the query
+     * @return elements
+     */
+    @Nonnull
+    public static <T extends Identifiable<?>, C extends QueryDsl<T, C>> CompletionStage<List<T>>
+    queryAllWithCursor(@Nonnull final SphereClient client, @Nonnull final QueryDsl<T, C> query) {
+        return queryAllWithCursor(client, query, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Queries all elements matching a query by using a cursor based pagination.
+     *
+     * @param client   commercetools client
+     * @param query    query containing predicates and expansion paths
+     * @param pageSize size of one batch to fetch
+     * @param <T>      type of one query result element
+     * @param <C>      type of the query
+     * @return elements
+     * @see #queryAllWithCursor(SphereClient, QueryDsl)
+     */
+    @Nonnull
+    public static <T extends Identifiable<?>, C extends QueryDsl<T, C>> CompletionStage<List<T>>
+    queryAllWithCursor(@Nonnull final SphereClient client, @Nonnull final QueryDsl<T, C> query, final int pageSize) {
+        return CursorBasedQueryAllImpl.of(query, pageSize).run(client);
+    }
+
+    /**
+     * Queries all elements matching a query by using a cursor based pagination and applies {@code resultsMapper} on every element.
+     *
+     * @param client        commercetools client
+     * @param query         query containing predicates and expansion paths
+     * @param resultsMapper callback function that is called on every element queried.
+     * @param pageSize      the page size.
+     * @param <T>           type of one query result element
+     * @param <C>           type of the query
+     * @param <S>           type of the returned result of the callback function on every element.
+     * @return the mapped elements
+     * @see #queryAllWithCursor(SphereClient, QueryDsl)
+     */
+    @Nonnull
+    public static <T extends Identifiable<?>, C extends QueryDsl<T, C>, S> CompletionStage<List<S>>
+    queryAllWithCursor(@Nonnull final SphereClient client, @Nonnull final QueryDsl<T, C> query, @Nonnull final Function<T, S> resultsMapper, final int pageSize) {
+        return CursorBasedQueryAllImpl.of(query, pageSize).run(client, resultsMapper);
+    }
+
+    /**
+     * Queries all elements matching a query by using a cursor based pagination and applies {@code resultsConsumer} on every element.
+     * The consumer is called in the order of the ids and never concurrently, so the elements don't need to be kept in memory.
+     *
+     * @param client          commercetools client
+     * @param query           query containing predicates and expansion paths
+     * @param resultsConsumer that is applied on every element queried.
+     * @param pageSize        the page size.
+     * @param <T>             type of one query result element
+     * @param <C>             type of the query
+     * @return stage which is completed after all elements have been consumed
+     * @see #queryAllWithCursor(SphereClient, QueryDsl)
+     */
+    @Nonnull
+    public static <T extends Identifiable<?>, C extends QueryDsl<T, C>> CompletionStage<Void>
+    queryAllWithCursor(@Nonnull final SphereClient client, @Nonnull final QueryDsl<T, C> query, @Nonnull final Consumer<T> resultsConsumer, final int pageSize) {
+        return CursorBasedQueryAllImpl.of(query, pageSize).run(client, resultsConsumer);
+    }
+
+    /**
+     * Provides all elements matching a query as Reactive Streams {@link Publisher} which fetches the pages
+     * with page size {@value DEFAULT_PAGE_SIZE} only on demand of the subscriber, with at most one page in flight.
+     *
+     * @param client commercetools client
+     * @param query  query containing predicates and expansion paths
+     * @param <T>    type of one query result element
+     * @param <C>    type of the query
+     * @return publisher of the elements
+     * @see PagedResultPublisher#ofQuery(SphereClient, QueryDsl, int, int)
+     */
+    @Nonnull
+    public static <T, C extends QueryDsl<T, C>> Publisher<T> queryAllAsPublisher(@Nonnull final SphereClient client, @Nonnull final QueryDsl<T, C> query) {
+        return queryAllAsPublisher(client, query, DEFAULT_PAGE_SIZE, 1);
+    }
+
+    /**
+     * Provides all elements matching a query as Reactive Streams {@link Publisher} which fetches the pages
+     * only on demand of the subscriber using an offset based pagination.
+     *
+     * @param client           commercetools client
+     * @param query            query containing predicates and expansion paths
+     * @param pageSize         the page size
+     * @param maxPagesInFlight the maximal number of pages which are fetched concurrently
+     * @param <T>              type of one query result element
+     * @param <C>              type of the query
+     * @return publisher of the elements
+     * @see PagedResultPublisher#ofQuery(SphereClient, QueryDsl, int, int)
+     */
+    @Nonnull
+    public static <T, C extends QueryDsl<T, C>> Publisher<T> queryAllAsPublisher(@Nonnull final SphereClient client, @Nonnull final QueryDsl<T, C> query,
+                                                                                 final int pageSize, final int maxPagesInFlight) {
+        return PagedResultPublisher.ofQuery(client, query, pageSize, maxPagesInFlight);
+    }
 }
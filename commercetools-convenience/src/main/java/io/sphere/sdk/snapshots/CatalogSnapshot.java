@@ -0,0 +1,325 @@
+package io.sphere.sdk.snapshots;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.models.ResourceView;
+import io.sphere.sdk.queries.QueryDsl;
+import io.sphere.sdk.queries.QueryExecutionUtils;
+import io.sphere.sdk.queries.QueryPredicate;
+
+import javax.annotation.Nullable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Read-only view of a catalog snapshot file written by {@link CatalogSnapshotWriter}, for example to let a new
+ * instance of a shop serve requests without querying the whole catalog first.
+ *
+ * <p>The file is memory-mapped, so the resources stay outside of the Java heap and are shared by the operating system
+ * page cache. Only the index of ids, keys and slugs is read on {@link #open(Path, SnapshotFormat)}. A resource is
+ * deserialized each time it is looked up, so callers which access resources very often should keep them.</p>
+ *
+ * <p>The snapshot can be brought up to date with {@link #catchUp(SphereClient, QueryDsl)} which fetches the resources
+ * modified since {@link #getLastModifiedAt()}, and with {@link #update(ResourceView)} and {@link #remove(String)},
+ * for example from messages. Deletions can not be detected from the modification dates. Removed ids are kept with their
+ * version, so outdated updates which arrive after the removal are ignored.
+ * The updates are kept in memory, the file is never changed. The mapping is released when the snapshot is garbage collected.</p>
+ *
+ * {@include.example io.sphere.sdk.snapshots.CatalogSnapshotTest#writeAndRead()}
+ *
+ * @param <T> type of the resources
+ */
+public final class CatalogSnapshot<T extends ResourceView<T, ?>> {
+    static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    private final SnapshotFormat<T> format;
+    private final MappedByteBuffer[] segments;
+    private final long[] segmentStarts;
+    private final int[] recordSegments;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final String[] ids;
+    private final Map<String, Integer> idIndex;
+    private final Map<String, Integer> keyIndex;
+    private final Map<String, Integer> slugIndex;
+    private final Map<String, T> updates = new ConcurrentHashMap<>();
+    private final Map<String, String> updatedKeys = new ConcurrentHashMap<>();
+    private final Map<String, String> updatedSlugs = new ConcurrentHashMap<>();
+    private final Map<String, Long> removedVersions = new ConcurrentHashMap<>();
+    @Nullable
+    private volatile ZonedDateTime lastModifiedAt;
+
+    private CatalogSnapshot(final SnapshotFormat<T> format, final FileChannel channel, final long maxSegmentSize) throws IOException {
+        this.format = format;
+        final ByteBuffer header = ByteBuffer.allocate(CatalogSnapshotWriter.HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            //reads until the header is complete or the file ends
+        }
+        header.flip();
+        if (header.remaining() < CatalogSnapshotWriter.HEADER_SIZE || header.getInt() != CatalogSnapshotWriter.MAGIC) {
+            throw new IllegalArgumentException("the file is not a catalog snapshot");
+        }
+        final int formatVersion = header.getInt();
+        if (formatVersion != CatalogSnapshotWriter.FORMAT_VERSION) {
+            throw new IllegalArgumentException(String.format("unsupported catalog snapshot format version %d", formatVersion));
+        }
+        final long indexOffset = header.getLong();
+        final long lastModifiedAtMillis = header.getLong();
+        this.lastModifiedAt = lastModifiedAtMillis == Long.MIN_VALUE ? null : ZonedDateTime.ofInstant(Instant.ofEpochMilli(lastModifiedAtMillis), ZoneOffset.UTC);
+
+        final DataInputStream index = new DataInputStream(new ByteBufferBackedInputStream(
+                channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, channel.size() - indexOffset)));
+        final String resourceType = index.readUTF();
+        if (!resourceType.equals(format.getResourceType().getName())) {
+            throw new IllegalArgumentException(String.format("the snapshot contains %s and not %s", resourceType, format.getResourceType().getName()));
+        }
+        final int size = index.readInt();
+        this.offsets = new long[size];
+        this.lengths = new int[size];
+        this.ids = new String[size];
+        this.recordSegments = new int[size];
+        this.idIndex = new HashMap<>(size * 4 / 3 + 1);
+        this.keyIndex = new HashMap<>(size * 4 / 3 + 1);
+        this.slugIndex = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            offsets[i] = index.readLong();
+            lengths[i] = index.readInt();
+            ids[i] = index.readUTF();
+            idIndex.put(ids[i], i);
+            if (index.readBoolean()) {
+                keyIndex.putIfAbsent(index.readUTF(), i);
+            }
+            final int slugCount = index.readInt();
+            for (int j = 0; j < slugCount; j++) {
+                final String languageTag = index.readUTF();
+                slugIndex.putIfAbsent(slugKey(languageTag, index.readUTF()), i);
+            }
+        }
+
+        //records never span segments, so a segment can be sliced without copying
+        final List<MappedByteBuffer> mappedSegments = new ArrayList<>();
+        final List<Long> starts = new ArrayList<>();
+        long segmentStart = size > 0 ? offsets[0] : 0;
+        for (int i = 0; i < size; i++) {
+            if (offsets[i] + lengths[i] - segmentStart > maxSegmentSize) {
+                mappedSegments.add(channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, offsets[i] - segmentStart));
+                starts.add(segmentStart);
+                segmentStart = offsets[i];
+            }
+            recordSegments[i] = mappedSegments.size();
+        }
+        if (size > 0) {
+            mappedSegments.add(channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, offsets[size - 1] + lengths[size - 1] - segmentStart));
+            starts.add(segmentStart);
+        }
+        this.segments = mappedSegments.toArray(new MappedByteBuffer[mappedSegments.size()]);
+        this.segmentStarts = starts.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    public Optional<T> findById(final String id) {
+        final T updated = updates.get(id);
+        if (updated != null) {
+            return Optional.of(updated);
+        } else if (removedVersions.containsKey(id)) {
+            return Optional.empty();
+        }
+        final Integer index = idIndex.get(id);
+        return index != null ? Optional.of(read(index)) : Optional.empty();
+    }
+
+    public Optional<T> findByKey(final String key) {
+        final String updatedId = updatedKeys.get(key);
+        final Optional<T> resource = updatedId != null ? findById(updatedId) : findInSnapshot(keyIndex.get(key));
+        return resource.filter(candidate -> key.equals(format.keyOf(candidate)));
+    }
+
+    public Optional<T> findBySlug(final Locale locale, final String slug) {
+        final String slugKey = slugKey(locale.toLanguageTag(), slug);
+        final String updatedId = updatedSlugs.get(slugKey);
+        final Optional<T> resource = updatedId != null ? findById(updatedId) : findInSnapshot(slugIndex.get(slugKey));
+        return resource.filter(candidate -> {
+            final LocalizedString candidateSlug = format.slugOf(candidate);
+            return candidateSlug != null && slug.equals(candidateSlug.get(locale));
+        });
+    }
+
+    /**
+     * Gets the amount of resources including the updates.
+     *
+     * @return amount of resources
+     */
+    public int size() {
+        final long added = updates.keySet().stream().filter(id -> !idIndex.containsKey(id)).count();
+        final long removed = removedVersions.keySet().stream().filter(idIndex::containsKey).count();
+        return (int) (ids.length + added - removed);
+    }
+
+    /**
+     * Provides all resources including the updates, the resources of the file are deserialized as the stream is consumed.
+     *
+     * @return stream of resources
+     */
+    public Stream<T> stream() {
+        final Stream<T> fromSnapshot = IntStream.range(0, ids.length)
+                .mapToObj(i -> findById(ids[i]))
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+        final Stream<T> added = updates.values().stream().filter(resource -> !idIndex.containsKey(resource.getId()));
+        return Stream.concat(fromSnapshot, added);
+    }
+
+    /**
+     * Gets the latest modification date of all resources, starting point to fetch the changes after the snapshot has been written.
+     *
+     * @return the date or null if the snapshot is empty
+     */
+    @Nullable
+    public ZonedDateTime getLastModifiedAt() {
+        return lastModifiedAt;
+    }
+
+    /**
+     * Replaces a resource with a newer version or adds it.
+     *
+     * @param resource the current state of the resource
+     * @return true if the resource has been applied, false if the snapshot already contains this or a newer version
+     * or the resource has been removed in this or a newer version
+     */
+    public synchronized boolean update(final T resource) {
+        final Long removedVersion = removedVersions.get(resource.getId());
+        if (removedVersion != null && removedVersion >= resource.getVersion()) {
+            return false;
+        }
+        final Optional<T> current = findById(resource.getId());
+        if (current.isPresent() && current.get().getVersion() >= resource.getVersion()) {
+            return false;
+        }
+        updates.put(resource.getId(), resource);
+        removedVersions.remove(resource.getId());
+        final String key = format.keyOf(resource);
+        if (key != null) {
+            updatedKeys.put(key, resource.getId());
+        }
+        final LocalizedString slug = format.slugOf(resource);
+        if (slug != null) {
+            slug.stream().forEach(entry -> updatedSlugs.put(slugKey(entry.getLocale().toLanguageTag(), entry.getValue()), resource.getId()));
+        }
+        final ZonedDateTime resourceLastModifiedAt = resource.getLastModifiedAt();
+        if (resourceLastModifiedAt != null && (lastModifiedAt == null || resourceLastModifiedAt.isAfter(lastModifiedAt))) {
+            lastModifiedAt = resourceLastModifiedAt;
+        }
+        return true;
+    }
+
+    /**
+     * Removes a resource, later updates of the resource are ignored since the version of the deletion is unknown.
+     *
+     * @param id the id of the resource
+     */
+    public void remove(final String id) {
+        remove(id, Long.MAX_VALUE);
+    }
+
+    /**
+     * Removes a resource, for example after a deletion message. Updates which arrive later are only applied if they
+     * are newer than the removed version.
+     *
+     * @param id the id of the resource
+     * @param version the version of the resource when it was deleted
+     */
+    public synchronized void remove(final String id, final long version) {
+        updates.remove(id);
+        removedVersions.merge(id, version, Math::max);
+    }
+
+    /**
+     * Fetches the resources modified since {@link #getLastModifiedAt()} and applies them with {@link #update(ResourceView)}.
+     * Resources modified at the same millisecond as the latest resource of the snapshot are fetched again to not miss
+     * concurrent modifications.
+     *
+     * @param client commercetools client
+     * @param query the query for the resources of the snapshot, for example {@code ProductProjectionQuery.ofCurrent()}
+     * @param <C> type of the query
+     * @return stage of the amount of updated resources
+     */
+    public <C extends QueryDsl<T, C>> CompletionStage<Integer> catchUp(final SphereClient client, final QueryDsl<T, C> query) {
+        final ZonedDateTime since = lastModifiedAt;
+        final C changesQuery = since == null
+                ? query.plusPredicates(Collections.emptyList())
+                : query.plusPredicates(QueryPredicate.of(String.format("lastModifiedAt >= \"%s\"", since.toInstant())));
+        final AtomicInteger updated = new AtomicInteger();
+        return QueryExecutionUtils.queryAllWithCursor(client, changesQuery, resource -> {
+            if (update(resource)) {
+                updated.incrementAndGet();
+            }
+        }, QueryExecutionUtils.DEFAULT_PAGE_SIZE).thenApply(nothing -> updated.get());
+    }
+
+    private Optional<T> findInSnapshot(@Nullable final Integer index) {
+        return index == null ? Optional.empty() : findById(ids[index]);
+    }
+
+    private T read(final int index) {
+        final int segment = recordSegments[index];
+        final ByteBuffer buffer = segments[segment].duplicate();
+        final int position = (int) (offsets[index] - segmentStarts[segment]);
+        buffer.position(position);
+        buffer.limit(position + lengths[index]);
+        try {
+            return SnapshotFormat.CBOR_MAPPER.readValue(new ByteBufferBackedInputStream(buffer), format.getResourceType());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String slugKey(final String languageTag, final String slug) {
+        return languageTag + "/" + slug;
+    }
+
+    /**
+     * Maps a snapshot file and reads its index. The file can be replaced by a writer afterwards without affecting the snapshot.
+     *
+     * @param path the file written by {@link CatalogSnapshotWriter}
+     * @param format the format of the resources
+     * @param <T> type of the resources
+     * @return snapshot
+     * @throws UncheckedIOException if the file could not be read
+     * @throws IllegalArgumentException if the file is not a snapshot of the resources of the format
+     */
+    public static <T extends ResourceView<T, ?>> CatalogSnapshot<T> open(final Path path, final SnapshotFormat<T> format) {
+        return open(path, format, MAX_SEGMENT_SIZE);
+    }
+
+    static <T extends ResourceView<T, ?>> CatalogSnapshot<T> open(final Path path, final SnapshotFormat<T> format, final long maxSegmentSize) {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(format, "format");
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new CatalogSnapshot<>(format, channel, maxSegmentSize);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
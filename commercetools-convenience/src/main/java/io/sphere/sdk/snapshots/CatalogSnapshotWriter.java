@@ -0,0 +1,262 @@
+package io.sphere.sdk.snapshots;
+
+import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.models.LocalizedStringEntry;
+import io.sphere.sdk.models.ResourceView;
+
+import javax.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Writes resources into a {@link CatalogSnapshot} file.
+ *
+ * <p>The resources are written one by one as they are accepted, so a writer can be used as consumer of
+ * {@link io.sphere.sdk.queries.QueryExecutionUtils#queryAllWithCursor(io.sphere.sdk.client.SphereClient, io.sphere.sdk.queries.QueryDsl, Consumer, int)}
+ * without keeping the catalog in memory:</p>
+ *
+ * <pre>{@code
+ * final CatalogSnapshotWriter<Category> writer = CatalogSnapshotWriter.of(path, SnapshotFormat.ofCategories());
+ * QueryExecutionUtils.queryAllWithCursor(client, CategoryQuery.of(), writer, 500)
+ *         .whenComplete((nothing, throwable) -> {
+ *             if (throwable == null) {
+ *                 writer.close();
+ *             } else {
+ *                 writer.abort();
+ *             }
+ *         });
+ * }</pre>
+ *
+ * <p>The data is written to a temporary file next to the target which replaces the target when the writer is closed,
+ * so readers never see a partially written snapshot. The index is only kept in memory until then.
+ * A writer is not thread-safe.</p>
+ *
+ * @param <T> type of the resources
+ */
+public final class CatalogSnapshotWriter<T extends ResourceView<T, ?>> implements Consumer<T>, AutoCloseable {
+    static final int MAGIC = 0x43545331;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    private final Path target;
+    private final Path temporaryFile;
+    private final SnapshotFormat<T> format;
+    private final FileChannel channel;
+    private final BufferedOutputStream bufferedOutput;
+    private final CountingOutputStream output;
+    private final List<IndexEntry> index = new ArrayList<>();
+    @Nullable
+    private ZonedDateTime lastModifiedAt = null;
+    private boolean closed = false;
+
+    private CatalogSnapshotWriter(final Path target, final SnapshotFormat<T> format) throws IOException {
+        this.target = target;
+        this.temporaryFile = target.resolveSibling(target.getFileName() + ".tmp");
+        this.format = format;
+        this.channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        channel.position(HEADER_SIZE);
+        this.bufferedOutput = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+        this.output = new CountingOutputStream(bufferedOutput, HEADER_SIZE);
+    }
+
+    /**
+     * Appends a resource to the snapshot.
+     *
+     * @param resource the resource to write
+     * @throws UncheckedIOException if the resource could not be written
+     */
+    @Override
+    public void accept(final T resource) {
+        if (closed) {
+            throw new IllegalStateException("the snapshot writer is already closed");
+        }
+        final long offset = output.count;
+        try {
+            SnapshotFormat.CBOR_MAPPER.writeValue(output, resource);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final long length = output.count - offset;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("resource %s is too large to be stored", resource.getId()));
+        }
+        index.add(new IndexEntry(resource.getId(), format.keyOf(resource), format.slugOf(resource), offset, (int) length));
+        final ZonedDateTime resourceLastModifiedAt = resource.getLastModifiedAt();
+        if (resourceLastModifiedAt != null && (lastModifiedAt == null || resourceLastModifiedAt.isAfter(lastModifiedAt))) {
+            lastModifiedAt = resourceLastModifiedAt;
+        }
+    }
+
+    /**
+     * Gets the amount of resources written so far.
+     *
+     * @return amount of resources
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Writes the index and replaces the target file with the written snapshot, see {@link #abort()} to discard it.
+     *
+     * @throws UncheckedIOException if the snapshot could not be completed
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            final long indexOffset = output.count;
+            final DataOutputStream dataOutput = new DataOutputStream(output);
+            dataOutput.writeUTF(format.getResourceType().getName());
+            dataOutput.writeInt(index.size());
+            for (final IndexEntry entry : index) {
+                entry.writeTo(dataOutput);
+            }
+            bufferedOutput.flush();
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(indexOffset)
+                    .putLong(lastModifiedAt != null ? lastModifiedAt.toInstant().toEpochMilli() : Long.MIN_VALUE)
+                    .putInt(index.size());
+            header.rewind();
+            channel.write(header, 0);
+            channel.force(true);
+            channel.close();
+            Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            try {
+                deleteTemporaryFile();
+            } catch (final UncheckedIOException deleteFailure) {
+                e.addSuppressed(deleteFailure);
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Discards the written resources and keeps the existing target file, for example if the query for the resources failed.
+     */
+    public void abort() {
+        if (!closed) {
+            closed = true;
+            deleteTemporaryFile();
+        }
+    }
+
+    private void deleteTemporaryFile() {
+        try {
+            channel.close();
+            Files.deleteIfExists(temporaryFile);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates a writer which replaces the file at the given path when it is closed.
+     *
+     * @param path the target file
+     * @param format the format of the resources
+     * @param <T> type of the resources
+     * @return writer
+     * @throws UncheckedIOException if the temporary file could not be created
+     */
+    public static <T extends ResourceView<T, ?>> CatalogSnapshotWriter<T> of(final Path path, final SnapshotFormat<T> format) {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(format, "format");
+        try {
+            return new CatalogSnapshotWriter<>(path, format);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class IndexEntry {
+        private final String id;
+        @Nullable
+        private final String key;
+        @Nullable
+        private final LocalizedString slug;
+        private final long offset;
+        private final int length;
+
+        private IndexEntry(final String id, @Nullable final String key, @Nullable final LocalizedString slug,
+                           final long offset, final int length) {
+            this.id = id;
+            this.key = key;
+            this.slug = slug;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        private void writeTo(final DataOutputStream output) throws IOException {
+            output.writeLong(offset);
+            output.writeInt(length);
+            output.writeUTF(id);
+            output.writeBoolean(key != null);
+            if (key != null) {
+                output.writeUTF(key);
+            }
+            final List<LocalizedStringEntry> slugs = slug != null ? slug.stream().collect(toList()) : new ArrayList<>();
+            output.writeInt(slugs.size());
+            for (final LocalizedStringEntry entry : slugs) {
+                output.writeUTF(entry.getLocale().toLanguageTag());
+                output.writeUTF(entry.getValue());
+            }
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+        private long count;
+
+        private CountingOutputStream(final OutputStream delegate, final long initialCount) {
+            this.delegate = delegate;
+            this.count = initialCount;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        /**
+         * Jackson flushes and closes the target after each value, the buffer is only flushed when the snapshot is completed.
+         */
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
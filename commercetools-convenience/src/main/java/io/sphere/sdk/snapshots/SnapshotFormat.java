@@ -0,0 +1,80 @@
+package io.sphere.sdk.snapshots;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.models.ResourceView;
+import io.sphere.sdk.products.ProductProjection;
+import io.sphere.sdk.producttypes.ProductType;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Describes how resources of one type are stored in a {@link CatalogSnapshot}: the Java type used for the
+ * deserialization and the attributes which are indexed besides the id.
+ *
+ * <p>The resources are encoded as CBOR with the same configuration as {@link SphereJsonUtils#newObjectMapper()},
+ * so every resource which can be read from the API can be stored.</p>
+ *
+ * @param <T> type of the resources
+ */
+public final class SnapshotFormat<T extends ResourceView<T, ?>> {
+    static final ObjectMapper CBOR_MAPPER = SphereJsonUtils.configureObjectMapper(new ObjectMapper(new CBORFactory()));
+
+    private final Class<T> resourceType;
+    private final Function<? super T, String> keyFunction;
+    private final Function<? super T, LocalizedString> slugFunction;
+
+    private SnapshotFormat(final Class<T> resourceType, final Function<? super T, String> keyFunction,
+                           final Function<? super T, LocalizedString> slugFunction) {
+        this.resourceType = resourceType;
+        this.keyFunction = keyFunction;
+        this.slugFunction = slugFunction;
+    }
+
+    public Class<T> getResourceType() {
+        return resourceType;
+    }
+
+    @Nullable
+    String keyOf(final T resource) {
+        return keyFunction.apply(resource);
+    }
+
+    @Nullable
+    LocalizedString slugOf(final T resource) {
+        return slugFunction.apply(resource);
+    }
+
+    /**
+     * Creates a format for a custom resource type.
+     *
+     * @param resourceType the class used to deserialize the resources
+     * @param keyFunction function to get the key of a resource or null if it has none
+     * @param slugFunction function to get the slug of a resource or null if it has none
+     * @param <T> type of the resources
+     * @return format
+     */
+    public static <T extends ResourceView<T, ?>> SnapshotFormat<T> of(final Class<T> resourceType,
+                                                                      final Function<? super T, String> keyFunction,
+                                                                      final Function<? super T, LocalizedString> slugFunction) {
+        return new SnapshotFormat<>(Objects.requireNonNull(resourceType, "resourceType"),
+                Objects.requireNonNull(keyFunction, "keyFunction"), Objects.requireNonNull(slugFunction, "slugFunction"));
+    }
+
+    public static SnapshotFormat<ProductProjection> ofProductProjections() {
+        return of(ProductProjection.class, ProductProjection::getKey, ProductProjection::getSlug);
+    }
+
+    public static SnapshotFormat<Category> ofCategories() {
+        return of(Category.class, Category::getKey, Category::getSlug);
+    }
+
+    public static SnapshotFormat<ProductType> ofProductTypes() {
+        return of(ProductType.class, ProductType::getKey, productType -> null);
+    }
+}
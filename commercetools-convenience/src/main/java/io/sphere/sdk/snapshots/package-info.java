@@ -0,0 +1,4 @@
+/**
+ * Provides classes to store the catalog in a memory-mapped file for a fast start, see {@link io.sphere.sdk.snapshots.CatalogSnapshot}.
+ */
+package io.sphere.sdk.snapshots;
@@ -0,0 +1,53 @@
+package io.sphere.sdk.sync;
+
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.CategoryDraft;
+import io.sphere.sdk.categories.commands.updateactions.ChangeName;
+import io.sphere.sdk.categories.commands.updateactions.ChangeOrderHint;
+import io.sphere.sdk.categories.commands.updateactions.ChangeParent;
+import io.sphere.sdk.categories.commands.updateactions.ChangeSlug;
+import io.sphere.sdk.categories.commands.updateactions.SetDescription;
+import io.sphere.sdk.categories.commands.updateactions.SetExternalId;
+import io.sphere.sdk.categories.commands.updateactions.SetKey;
+import io.sphere.sdk.categories.commands.updateactions.SetMetaDescription;
+import io.sphere.sdk.categories.commands.updateactions.SetMetaKeywords;
+import io.sphere.sdk.categories.commands.updateactions.SetMetaTitle;
+import io.sphere.sdk.commands.UpdateAction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static io.sphere.sdk.sync.DiffRules.field;
+import static io.sphere.sdk.sync.DiffRules.matches;
+import static io.sphere.sdk.sync.DiffRules.requiredField;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+final class CategoryDiffRules {
+    private CategoryDiffRules() {
+    }
+
+    static List<BiFunction<CategoryDraft, Category, List<? extends UpdateAction<Category>>>> rules(final KeyResolver keyResolver) {
+        final List<BiFunction<CategoryDraft, Category, List<? extends UpdateAction<Category>>>> rules = new ArrayList<>();
+        rules.add(requiredField(CategoryDraft::getName, Category::getName, ChangeName::of));
+        rules.add(requiredField(CategoryDraft::getSlug, Category::getSlug, ChangeSlug::of));
+        rules.add(field(CategoryDraft::getDescription, Category::getDescription, SetDescription::of));
+        rules.add((draft, category) -> parent(draft, category, keyResolver));
+        rules.add(requiredField(CategoryDraft::getOrderHint, Category::getOrderHint, ChangeOrderHint::of));
+        rules.add(field(CategoryDraft::getExternalId, Category::getExternalId, SetExternalId::of));
+        rules.add(field(CategoryDraft::getMetaTitle, Category::getMetaTitle, SetMetaTitle::of));
+        rules.add(field(CategoryDraft::getMetaDescription, Category::getMetaDescription, SetMetaDescription::of));
+        rules.add(field(CategoryDraft::getMetaKeywords, Category::getMetaKeywords, SetMetaKeywords::of));
+        rules.add(field(CategoryDraft::getKey, Category::getKey, SetKey::of));
+        return rules;
+    }
+
+    //the parent can be changed but not removed
+    private static List<? extends UpdateAction<Category>> parent(final CategoryDraft draft, final Category category,
+                                                                  final KeyResolver keyResolver) {
+        return draft.getParent() == null || matches(draft.getParent(), category.getParent(), keyResolver)
+                ? emptyList()
+                : singletonList(ChangeParent.of(draft.getParent()));
+    }
+}
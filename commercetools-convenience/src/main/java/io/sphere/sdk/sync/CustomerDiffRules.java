@@ -0,0 +1,57 @@
+package io.sphere.sdk.sync;
+
+import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.customers.Customer;
+import io.sphere.sdk.customers.CustomerDraft;
+import io.sphere.sdk.customers.commands.updateactions.ChangeEmail;
+import io.sphere.sdk.customers.commands.updateactions.SetCompanyName;
+import io.sphere.sdk.customers.commands.updateactions.SetCustomerNumber;
+import io.sphere.sdk.customers.commands.updateactions.SetDateOfBirth;
+import io.sphere.sdk.customers.commands.updateactions.SetExternalId;
+import io.sphere.sdk.customers.commands.updateactions.SetFirstName;
+import io.sphere.sdk.customers.commands.updateactions.SetKey;
+import io.sphere.sdk.customers.commands.updateactions.SetLastName;
+import io.sphere.sdk.customers.commands.updateactions.SetLocale;
+import io.sphere.sdk.customers.commands.updateactions.SetMiddleName;
+import io.sphere.sdk.customers.commands.updateactions.SetSalutation;
+import io.sphere.sdk.customers.commands.updateactions.SetTitle;
+import io.sphere.sdk.customers.commands.updateactions.SetVatId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static io.sphere.sdk.sync.DiffRules.field;
+import static io.sphere.sdk.sync.DiffRules.requiredField;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+final class CustomerDiffRules {
+    private CustomerDiffRules() {
+    }
+
+    static List<BiFunction<CustomerDraft, Customer, List<? extends UpdateAction<Customer>>>> rules() {
+        final List<BiFunction<CustomerDraft, Customer, List<? extends UpdateAction<Customer>>>> rules = new ArrayList<>();
+        rules.add(requiredField(CustomerDraft::getEmail, Customer::getEmail, ChangeEmail::of));
+        rules.add(field(CustomerDraft::getSalutation, Customer::getSalutation, SetSalutation::of));
+        rules.add(field(CustomerDraft::getTitle, Customer::getTitle, SetTitle::of));
+        rules.add(field(CustomerDraft::getFirstName, Customer::getFirstName, SetFirstName::of));
+        rules.add(field(CustomerDraft::getMiddleName, Customer::getMiddleName, SetMiddleName::of));
+        rules.add(field(CustomerDraft::getLastName, Customer::getLastName, SetLastName::of));
+        rules.add(field(CustomerDraft::getDateOfBirth, Customer::getDateOfBirth, SetDateOfBirth::of));
+        rules.add(field(CustomerDraft::getCompanyName, Customer::getCompanyName, SetCompanyName::of));
+        rules.add(field(CustomerDraft::getVatId, Customer::getVatId, SetVatId::of));
+        rules.add(field(CustomerDraft::getExternalId, Customer::getExternalId, SetExternalId::of));
+        rules.add(field(CustomerDraft::getLocale, Customer::getLocale, SetLocale::of));
+        rules.add(field(CustomerDraft::getKey, Customer::getKey, SetKey::of));
+        rules.add(CustomerDiffRules::customerNumber);
+        return rules;
+    }
+
+    //the customer number can only be set once
+    private static List<? extends UpdateAction<Customer>> customerNumber(final CustomerDraft draft, final Customer customer) {
+        return draft.getCustomerNumber() != null && customer.getCustomerNumber() == null
+                ? singletonList(SetCustomerNumber.of(draft.getCustomerNumber()))
+                : emptyList();
+    }
+}
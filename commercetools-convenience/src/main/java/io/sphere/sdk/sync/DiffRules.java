@@ -0,0 +1,88 @@
+package io.sphere.sdk.sync;
+
+import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.models.Reference;
+import io.sphere.sdk.models.ResourceIdentifier;
+import io.sphere.sdk.models.WithKey;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Building blocks for the rules of {@link UpdateActionDiffer}.
+ */
+final class DiffRules {
+    private DiffRules() {
+    }
+
+    /**
+     * Rule for a field which can be set to any value including null.
+     */
+    static <D, T, V> BiFunction<D, T, List<? extends UpdateAction<T>>> field(final Function<? super D, V> draftValue,
+                                                                          final Function<? super T, V> resourceValue,
+                                                                          final Function<V, ? extends UpdateAction<T>> action) {
+        return (draft, resource) -> {
+            final V value = draftValue.apply(draft);
+            return Objects.equals(value, resourceValue.apply(resource)) ? emptyList() : singletonList(action.apply(value));
+        };
+    }
+
+    /**
+     * Rule for a field which can only be changed, a draft without a value keeps the value of the resource.
+     */
+    static <D, T, V> BiFunction<D, T, List<? extends UpdateAction<T>>> requiredField(final Function<? super D, V> draftValue,
+                                                                                  final Function<? super T, V> resourceValue,
+                                                                                  final Function<V, ? extends UpdateAction<T>> action) {
+        return (draft, resource) -> {
+            final V value = draftValue.apply(draft);
+            return value == null || value.equals(resourceValue.apply(resource)) ? emptyList() : singletonList(action.apply(value));
+        };
+    }
+
+    static <D, T, R> BiFunction<D, T, List<? extends UpdateAction<T>>> reference(final Function<? super D, ResourceIdentifier<R>> draftValue,
+                                                                              final Function<? super T, Reference<R>> resourceValue,
+                                                                              final Function<ResourceIdentifier<R>, ? extends UpdateAction<T>> action,
+                                                                              final KeyResolver keyResolver) {
+        return (draft, resource) -> {
+            final ResourceIdentifier<R> value = draftValue.apply(draft);
+            return matches(value, resourceValue.apply(resource), keyResolver) ? emptyList() : singletonList(action.apply(value));
+        };
+    }
+
+    /**
+     * Compares a reference of a draft with the reference of a resource. References by key are compared with the key
+     * of expanded references, otherwise the id of the key is found with the key resolver.
+     */
+    static boolean matches(@Nullable final ResourceIdentifier<?> draftReference, @Nullable final Reference<?> resourceReference,
+                           final KeyResolver keyResolver) {
+        if (draftReference == null || resourceReference == null) {
+            return draftReference == null && resourceReference == null;
+        } else if (draftReference.getId() != null) {
+            return draftReference.getId().equals(resourceReference.getId());
+        } else if (draftReference.getKey() == null) {
+            return false;
+        } else if (resourceReference.getObj() instanceof WithKey) {
+            return draftReference.getKey().equals(((WithKey) resourceReference.getObj()).getKey());
+        } else {
+            return keyResolver.findId(resourceReference.getTypeId(), draftReference.getKey())
+                    .map(id -> id.equals(resourceReference.getId()))
+                    .orElse(false);
+        }
+    }
+
+    /**
+     * Key resolver for differs created without one, references by key can then only be compared with expanded references.
+     */
+    static KeyResolver expandedReferencesOnly() {
+        return (typeId, key) -> {
+            throw new IllegalArgumentException(String.format("The reference to the %s with the key %s can only be compared with an "
+                    + "expanded reference, expand the reference or create the differ with a KeyResolver.", typeId, key));
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package io.sphere.sdk.sync;
+
+import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.inventory.InventoryEntry;
+import io.sphere.sdk.inventory.InventoryEntryDraft;
+import io.sphere.sdk.inventory.commands.updateactions.ChangeQuantity;
+import io.sphere.sdk.inventory.commands.updateactions.SetExpectedDelivery;
+import io.sphere.sdk.inventory.commands.updateactions.SetRestockableInDays;
+import io.sphere.sdk.inventory.commands.updateactions.SetSupplyChannel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static io.sphere.sdk.sync.DiffRules.field;
+import static io.sphere.sdk.sync.DiffRules.reference;
+import static io.sphere.sdk.sync.DiffRules.requiredField;
+
+final class InventoryEntryDiffRules {
+    private InventoryEntryDiffRules() {
+    }
+
+    static List<BiFunction<InventoryEntryDraft, InventoryEntry, List<? extends UpdateAction<InventoryEntry>>>> rules(final KeyResolver keyResolver) {
+        final List<BiFunction<InventoryEntryDraft, InventoryEntry, List<? extends UpdateAction<InventoryEntry>>>> rules = new ArrayList<>();
+        rules.add(requiredField(InventoryEntryDraft::getQuantityOnStock, InventoryEntry::getQuantityOnStock, ChangeQuantity::of));
+        rules.add(field(InventoryEntryDraft::getRestockableInDays, InventoryEntry::getRestockableInDays, SetRestockableInDays::of));
+        rules.add(field(InventoryEntryDraft::getExpectedDelivery, InventoryEntry::getExpectedDelivery, SetExpectedDelivery::of));
+        rules.add(reference(InventoryEntryDraft::getSupplyChannel, InventoryEntry::getSupplyChannel, SetSupplyChannel::of, keyResolver));
+        return rules;
+    }
+}
@@ -0,0 +1,26 @@
+package io.sphere.sdk.sync;
+
+import java.util.Optional;
+
+/**
+ * Finds the ids of resources by their keys, so {@link UpdateActionDiffer} can compare references by key of drafts
+ * with unexpanded references of resources.
+ *
+ * <pre>{@code
+ * final KeyResolver keyResolver = (typeId, key) -> Category.referenceTypeId().equals(typeId)
+ *         ? categoryTree.findByKey(key).map(Category::getId)
+ *         : Optional.empty();
+ * final UpdateActionDiffer<ProductDraft, Product> differ = UpdateActionDiffer.ofProducts(keyResolver);
+ * }</pre>
+ */
+@FunctionalInterface
+public interface KeyResolver {
+    /**
+     * Finds the id of a resource by its key.
+     *
+     * @param typeId the type of the referenced resource, for example "category"
+     * @param key the key of the resource
+     * @return the id or empty if no resource of the type has the key
+     */
+    Optional<String> findId(String typeId, String key);
+}
@@ -0,0 +1,146 @@
+package io.sphere.sdk.sync;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.models.Reference;
+import io.sphere.sdk.models.ResourceIdentifier;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductData;
+import io.sphere.sdk.products.ProductDraft;
+import io.sphere.sdk.products.ProductVariant;
+import io.sphere.sdk.products.ProductVariantDraft;
+import io.sphere.sdk.products.attributes.Attribute;
+import io.sphere.sdk.products.commands.updateactions.AddToCategory;
+import io.sphere.sdk.products.commands.updateactions.AddVariant;
+import io.sphere.sdk.products.commands.updateactions.ChangeName;
+import io.sphere.sdk.products.commands.updateactions.ChangeSlug;
+import io.sphere.sdk.products.commands.updateactions.RemoveFromCategory;
+import io.sphere.sdk.products.commands.updateactions.RemoveVariant;
+import io.sphere.sdk.products.commands.updateactions.SetAttribute;
+import io.sphere.sdk.products.commands.updateactions.SetDescription;
+import io.sphere.sdk.products.commands.updateactions.SetKey;
+import io.sphere.sdk.products.commands.updateactions.SetMetaDescription;
+import io.sphere.sdk.products.commands.updateactions.SetMetaKeywords;
+import io.sphere.sdk.products.commands.updateactions.SetMetaTitle;
+import io.sphere.sdk.products.commands.updateactions.SetSearchKeywords;
+import io.sphere.sdk.products.commands.updateactions.SetTaxCategory;
+import io.sphere.sdk.search.SearchKeywords;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import static io.sphere.sdk.sync.DiffRules.field;
+import static io.sphere.sdk.sync.DiffRules.matches;
+import static io.sphere.sdk.sync.DiffRules.reference;
+import static io.sphere.sdk.sync.DiffRules.requiredField;
+import static java.util.Collections.emptyList;
+
+/**
+ * Compares product drafts with the staged data of products, variants are matched by SKU.
+ */
+final class ProductDiffRules {
+    private ProductDiffRules() {
+    }
+
+    static List<BiFunction<ProductDraft, Product, List<? extends UpdateAction<Product>>>> rules(final KeyResolver keyResolver) {
+        final List<BiFunction<ProductDraft, Product, List<? extends UpdateAction<Product>>>> rules = new ArrayList<>();
+        rules.add(requiredField(ProductDraft::getName, product -> staged(product).getName(), ChangeName::of));
+        rules.add(requiredField(ProductDraft::getSlug, product -> staged(product).getSlug(), ChangeSlug::of));
+        rules.add(field(ProductDraft::getDescription, product -> staged(product).getDescription(), SetDescription::of));
+        rules.add(field(ProductDraft::getMetaTitle, product -> staged(product).getMetaTitle(), SetMetaTitle::of));
+        rules.add(field(ProductDraft::getMetaDescription, product -> staged(product).getMetaDescription(), SetMetaDescription::of));
+        rules.add(field(ProductDraft::getMetaKeywords, product -> staged(product).getMetaKeywords(), SetMetaKeywords::of));
+        rules.add(field(draft -> searchKeywords(draft.getSearchKeywords()), product -> searchKeywords(staged(product).getSearchKeywords()), SetSearchKeywords::of));
+        rules.add(field(ProductDraft::getKey, Product::getKey, SetKey::of));
+        rules.add(reference(ProductDraft::getTaxCategory, Product::getTaxCategory, SetTaxCategory::of, keyResolver));
+        rules.add((draft, product) -> categories(draft, product, keyResolver));
+        rules.add(ProductDiffRules::variants);
+        return rules;
+    }
+
+    private static ProductData staged(final Product product) {
+        return product.getMasterData().getStaged();
+    }
+
+    private static SearchKeywords searchKeywords(@Nullable final SearchKeywords searchKeywords) {
+        return searchKeywords != null ? searchKeywords : SearchKeywords.of();
+    }
+
+    private static List<UpdateAction<Product>> categories(final ProductDraft draft, final Product product, final KeyResolver keyResolver) {
+        final Collection<ResourceIdentifier<Category>> draftCategories = draft.getCategories() != null ? draft.getCategories() : emptyList();
+        final Set<Reference<Category>> categories = staged(product).getCategories();
+        final List<UpdateAction<Product>> actions = new ArrayList<>();
+        draftCategories.stream()
+                .filter(draftCategory -> categories.stream().noneMatch(category -> matches(draftCategory, category, keyResolver)))
+                .forEach(draftCategory -> actions.add(AddToCategory.of(draftCategory)));
+        categories.stream()
+                .filter(category -> draftCategories.stream().noneMatch(draftCategory -> matches(draftCategory, category, keyResolver)))
+                .forEach(category -> actions.add(RemoveFromCategory.of(ResourceIdentifier.<Category>ofId(category.getId()))));
+        return actions;
+    }
+
+    private static List<UpdateAction<Product>> variants(final ProductDraft draft, final Product product) {
+        final ProductData staged = staged(product);
+        final Map<String, ProductVariant> variantsBySku = new HashMap<>();
+        staged.getAllVariants().stream()
+                .filter(variant -> variant.getSku() != null)
+                .forEach(variant -> variantsBySku.put(variant.getSku(), variant));
+        final List<ProductVariantDraft> draftVariants = new ArrayList<>();
+        if (draft.getMasterVariant() != null) {
+            draftVariants.add(draft.getMasterVariant());
+        }
+        if (draft.getVariants() != null) {
+            draftVariants.addAll(draft.getVariants());
+        }
+        final List<UpdateAction<Product>> actions = new ArrayList<>();
+        final Set<String> draftSkus = new HashSet<>();
+        for (final ProductVariantDraft draftVariant : draftVariants) {
+            final String sku = draftVariant.getSku();
+            if (sku != null) {
+                draftSkus.add(sku);
+                final ProductVariant variant = variantsBySku.get(sku);
+                if (variant == null) {
+                    actions.add(AddVariant.of(nullToEmpty(draftVariant.getAttributes()), nullToEmpty(draftVariant.getPrices()), sku));
+                } else {
+                    attributes(sku, draftVariant, variant, actions);
+                }
+            }
+        }
+        //the master variant cannot be removed
+        staged.getVariants().stream()
+                .filter(variant -> variant.getSku() != null && !draftSkus.contains(variant.getSku()))
+                .forEach(variant -> actions.add(RemoveVariant.ofSku(variant.getSku())));
+        return actions;
+    }
+
+    private static void attributes(final String sku, final ProductVariantDraft draftVariant, final ProductVariant variant,
+                                   final List<UpdateAction<Product>> actions) {
+        final Map<String, JsonNode> draftAttributes = new LinkedHashMap<>();
+        nullToEmpty(draftVariant.getAttributes()).forEach(attribute -> draftAttributes.put(attribute.getName(), attribute.getValue()));
+        final Map<String, JsonNode> attributes = new HashMap<>();
+        for (final Attribute attribute : variant.getAttributes()) {
+            attributes.put(attribute.getName(), attribute.getValueAsJsonNode());
+        }
+        draftAttributes.forEach((name, value) -> {
+            if (!value.equals(attributes.get(name))) {
+                actions.add(SetAttribute.ofSku(sku, name, value));
+            }
+        });
+        attributes.keySet().stream()
+                .filter(name -> !draftAttributes.containsKey(name))
+                .forEach(name -> actions.add(SetAttribute.ofSku(sku, name, (JsonNode) null)));
+    }
+
+    private static <T> List<T> nullToEmpty(@Nullable final List<T> list) {
+        return list != null ? list : emptyList();
+    }
+}
@@ -0,0 +1,176 @@
+package io.sphere.sdk.sync;
+
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.CategoryDraft;
+import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.customers.Customer;
+import io.sphere.sdk.customers.CustomerDraft;
+import io.sphere.sdk.inventory.InventoryEntry;
+import io.sphere.sdk.inventory.InventoryEntryDraft;
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductDraft;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Computes the update actions which are necessary to bring a resource into the state described by a draft.
+ *
+ * <p>Each field is compared by a rule which creates the update actions for this field, so the update command only
+ * contains actions for the fields which actually differ. If nothing differs, the resulting list is empty and no
+ * update command needs to be sent at all. Fields which cannot be removed, like the name of a category, are only
+ * changed if the draft contains a value.</p>
+ *
+ * <pre>{@code
+ * final List<UpdateAction<Category>> updateActions = UpdateActionDiffer.ofCategories().diff(draft, category);
+ * if (!updateActions.isEmpty()) {
+ *     client.execute(CategoryUpdateCommand.of(category, updateActions));
+ * }
+ * }</pre>
+ *
+ * <p>For large synchronizations {@link #fingerprint(Object)} can be stored for each imported draft, a draft with an
+ * unchanged fingerprint does not need to be fetched and compared again.</p>
+ *
+ * <p>References by key of drafts, for example {@code ResourceIdentifier.ofKey("shoes")} as category of a product draft,
+ * are compared with the key of expanded references of the resource. For unexpanded references a {@link KeyResolver}
+ * is required, otherwise the comparison fails with an {@link IllegalArgumentException}.
+ * References by id can always be compared.</p>
+ *
+ * <p>Instances are immutable and can be shared between threads.</p>
+ *
+ * @param <D> type of the drafts
+ * @param <T> type of the resources
+ */
+public final class UpdateActionDiffer<D, T> {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final List<BiFunction<D, T, List<? extends UpdateAction<T>>>> rules;
+
+    private UpdateActionDiffer(final List<BiFunction<D, T, List<? extends UpdateAction<T>>>> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Computes the update actions to bring the resource into the state of the draft.
+     *
+     * @param draft the desired state
+     * @param resource the current state
+     * @return the update actions, empty if the resource already matches the draft
+     */
+    public List<UpdateAction<T>> diff(final D draft, final T resource) {
+        List<UpdateAction<T>> updateActions = null;
+        for (final BiFunction<D, T, List<? extends UpdateAction<T>>> rule : rules) {
+            final List<? extends UpdateAction<T>> ruleActions = rule.apply(draft, resource);
+            if (!ruleActions.isEmpty()) {
+                if (updateActions == null) {
+                    updateActions = new ArrayList<>();
+                }
+                updateActions.addAll(ruleActions);
+            }
+        }
+        return updateActions != null ? updateActions : emptyList();
+    }
+
+    /**
+     * Creates a copy of this differ with an additional rule, for example for fields which are not covered by the default rules.
+     *
+     * @param rule computes the update actions for the draft and the resource, returns an empty list if nothing differs
+     * @return new differ
+     */
+    public UpdateActionDiffer<D, T> plusRule(final BiFunction<D, T, List<? extends UpdateAction<T>>> rule) {
+        final List<BiFunction<D, T, List<? extends UpdateAction<T>>>> newRules = new ArrayList<>(rules);
+        newRules.add(rule);
+        return new UpdateActionDiffer<>(newRules);
+    }
+
+    /**
+     * Computes a 64 bit FNV-1a hash of the JSON representation of a draft.
+     * Equal drafts have equal fingerprints, so an unchanged draft can be detected without fetching the resource.
+     *
+     * @param draft the draft
+     * @return fingerprint of the draft
+     */
+    public static long fingerprint(final Object draft) {
+        final byte[] bytes = SphereJsonUtils.toJsonString(draft).getBytes(StandardCharsets.UTF_8);
+        long hash = FNV_OFFSET_BASIS;
+        for (final byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Creates a differ for categories, the parent of a category is only changed if the draft contains one.
+     *
+     * @return differ
+     */
+    public static UpdateActionDiffer<CategoryDraft, Category> ofCategories() {
+        return ofCategories(DiffRules.expandedReferencesOnly());
+    }
+
+    /**
+     * Creates a differ for categories which compares references by key with unexpanded references of the resources.
+     *
+     * @param keyResolver finds the ids of the referenced resources by key
+     * @return differ
+     */
+    public static UpdateActionDiffer<CategoryDraft, Category> ofCategories(final KeyResolver keyResolver) {
+        return new UpdateActionDiffer<>(CategoryDiffRules.rules(keyResolver));
+    }
+
+    /**
+     * Creates a differ for products which compares the drafts with the staged data.
+     * Variants are matched by SKU, variants are added and removed and their attributes are updated.
+     * Prices and images are not compared.
+     *
+     * @return differ
+     */
+    public static UpdateActionDiffer<ProductDraft, Product> ofProducts() {
+        return ofProducts(DiffRules.expandedReferencesOnly());
+    }
+
+    /**
+     * Creates a differ for products which compares references by key with unexpanded references of the resources.
+     *
+     * @param keyResolver finds the ids of the referenced resources by key
+     * @return differ
+     */
+    public static UpdateActionDiffer<ProductDraft, Product> ofProducts(final KeyResolver keyResolver) {
+        return new UpdateActionDiffer<>(ProductDiffRules.rules(keyResolver));
+    }
+
+    /**
+     * Creates a differ for customers, the password and the addresses are not compared.
+     *
+     * @return differ
+     */
+    public static UpdateActionDiffer<CustomerDraft, Customer> ofCustomers() {
+        return new UpdateActionDiffer<>(CustomerDiffRules.rules());
+    }
+
+    /**
+     * Creates a differ for inventory entries.
+     *
+     * @return differ
+     */
+    public static UpdateActionDiffer<InventoryEntryDraft, InventoryEntry> ofInventoryEntries() {
+        return ofInventoryEntries(DiffRules.expandedReferencesOnly());
+    }
+
+    /**
+     * Creates a differ for inventory entries which compares references by key with unexpanded references of the resources.
+     *
+     * @param keyResolver finds the ids of the referenced resources by key
+     * @return differ
+     */
+    public static UpdateActionDiffer<InventoryEntryDraft, InventoryEntry> ofInventoryEntries(final KeyResolver keyResolver) {
+        return new UpdateActionDiffer<>(InventoryEntryDiffRules.rules(keyResolver));
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Provides classes to synchronize resources with drafts, see {@link io.sphere.sdk.sync.UpdateActionDiffer}.
+ */
+package io.sphere.sdk.sync;
@@ -0,0 +1,205 @@
+package io.sphere.sdk.bulkimport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.CategoryDraft;
+import io.sphere.sdk.categories.CategoryDraftBuilder;
+import io.sphere.sdk.client.SphereAccessTokenSupplier;
+import io.sphere.sdk.client.SphereApiConfig;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.http.HttpClient;
+import io.sphere.sdk.http.HttpRequest;
+import io.sphere.sdk.http.HttpResponse;
+import io.sphere.sdk.http.StringHttpRequestBody;
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.models.ResourceIdentifier;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.Locale.ENGLISH;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BulkImportTest {
+    private final CategoriesHttpClient httpClient = new CategoriesHttpClient();
+    private final SphereClient client = SphereClient.of(SphereApiConfig.of("test"), httpClient, SphereAccessTokenSupplier.ofConstantToken("token"));
+    private final BulkImportConfig config = BulkImportConfigBuilder.of().maxConcurrency(4).retryDelay(Duration.ofMillis(10)).build();
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+    }
+
+    @Test
+    public void importsAllDraftsWithBoundedConcurrency() throws Exception {
+        final List<CategoryDraft> drafts = IntStream.range(0, 50).mapToObj(i -> draft("category-" + i, null)).collect(Collectors.toList());
+
+        final BulkImportResult<CategoryDraft> result = run(BulkImport.ofCategories(client, config), drafts.stream());
+
+        assertThat(result.getCreatedCount()).isEqualTo(50);
+        assertThat(result.getFailures()).isEmpty();
+        assertThat(result.getRequestCount()).isEqualTo(50);
+        assertThat(httpClient.createdKeys).hasSize(50);
+        assertThat(httpClient.maxInFlight.get()).isLessThanOrEqualTo(4);
+        assertThat(result.getThroughput()).isPositive();
+        assertThat(result.getMaxLatency()).isGreaterThanOrEqualTo(result.getAverageLatency());
+    }
+
+    @Test
+    public void categoriesAreImportedAfterTheirParents() throws Exception {
+        final List<CategoryDraft> drafts = Arrays.asList(
+                draft("root", null),
+                draft("child-1", "root"),
+                draft("child-2", "root"),
+                draft("grandchild", "child-1"),
+                draft("other", null));
+
+        final BulkImportResult<CategoryDraft> result = run(BulkImport.ofCategories(client, config), drafts.stream());
+
+        assertThat(result.getCreatedCount()).isEqualTo(5);
+        assertThat(httpClient.createdKeys.indexOf("root")).isLessThan(httpClient.requestedKeys.indexOf("child-1"));
+        assertThat(httpClient.createdKeys.indexOf("root")).isLessThan(httpClient.requestedKeys.indexOf("child-2"));
+        assertThat(httpClient.createdKeys.indexOf("child-1")).isLessThan(httpClient.requestedKeys.indexOf("grandchild"));
+    }
+
+    @Test
+    public void unavailableServiceIsRetried() throws Exception {
+        httpClient.failures.put("flaky", 503);
+
+        final BulkImportResult<CategoryDraft> result = run(BulkImport.ofCategories(client, config), Stream.of(draft("flaky", null)));
+
+        assertThat(result.getCreatedCount()).isEqualTo(1);
+        assertThat(result.getRetryCount()).isEqualTo(1);
+        assertThat(result.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void duplicatesAreSkipped() throws Exception {
+        httpClient.createdKeys.add("existing");
+
+        final BulkImportResult<CategoryDraft> result = run(BulkImport.ofCategories(client, config), Stream.of(draft("existing", null), draft("new", null)));
+
+        assertThat(result.getCreatedCount()).isEqualTo(1);
+        assertThat(result.getSkippedCount()).isEqualTo(1);
+        assertThat(result.getFailures()).isEmpty();
+    }
+
+    @Test
+    public void failedDraftsFailTheirDependents() throws Exception {
+        httpClient.failures.put("invalid", 400);
+
+        final BulkImportResult<CategoryDraft> result = run(BulkImport.ofCategories(client, config),
+                Stream.of(draft("invalid", null), draft("child", "invalid"), draft("grandchild", "child"), draft("valid", null)));
+
+        assertThat(result.getCreatedCount()).isEqualTo(1);
+        assertThat(result.getFailures()).extracting(failure -> failure.getDraft().getKey()).containsExactly("invalid", "child", "grandchild");
+        assertThat(result.getFailures().get(1).getCause()).isInstanceOf(IllegalStateException.class);
+        assertThat(httpClient.requestedKeys).containsOnly("invalid", "valid");
+    }
+
+    @Test
+    public void failingIteratorFailsTheImport() throws Exception {
+        final Stream<CategoryDraft> drafts = Stream.of("a", "b").map(key -> {
+            if (key.equals("b")) {
+                throw new IllegalStateException("cannot read draft");
+            }
+            return draft(key, null);
+        });
+
+        final CompletableFuture<BulkImportResult<CategoryDraft>> result = BulkImport.ofCategories(client, config).run(drafts).toCompletableFuture();
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void synchronouslyCompletingCommandsDoNotRecurse() throws Exception {
+        final SphereClient synchronousClient = new SphereClient() {
+            @Override
+            public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public SphereApiConfig getConfig() {
+                return null;
+            }
+        };
+        final BulkImport<Integer, Object> bulkImport = BulkImport.of(synchronousClient, draft -> null, config);
+
+        final BulkImportResult<Integer> result = bulkImport.run(IntStream.range(0, 200_000).boxed()).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        assertThat(result.getCreatedCount()).isEqualTo(200_000);
+    }
+
+    private static BulkImportResult<CategoryDraft> run(final BulkImport<CategoryDraft, Category> bulkImport, final Stream<CategoryDraft> drafts) throws Exception {
+        return bulkImport.run(drafts).toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    private static CategoryDraft draft(final String key, @Nullable final String parentKey) {
+        final ResourceIdentifier<Category> parent = parentKey != null ? ResourceIdentifier.ofKey(parentKey) : null;
+        return CategoryDraftBuilder.of(LocalizedString.of(ENGLISH, key), LocalizedString.of(ENGLISH, key))
+                .key(key)
+                .parent(parent)
+                .build();
+    }
+
+    /**
+     * Creates categories in memory. Keys in {@link #failures} fail once with the given status.
+     */
+    private static class CategoriesHttpClient implements HttpClient {
+        private final List<String> requestedKeys = new CopyOnWriteArrayList<>();
+        private final List<String> createdKeys = new CopyOnWriteArrayList<>();
+        private final Map<String, Integer> failures = new ConcurrentHashMap<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public CompletionStage<HttpResponse> execute(final HttpRequest httpRequest) {
+            final JsonNode draft = SphereJsonUtils.parse(((StringHttpRequestBody) httpRequest.getBody()).getString());
+            final String key = draft.get("key").asText();
+            requestedKeys.add(key);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    Thread.sleep(2);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                final Integer failure = failures.remove(key);
+                if (failure != null) {
+                    return HttpResponse.of(failure, String.format("{\"statusCode\":%d,\"message\":\"failed\",\"errors\":[{\"code\":\"InvalidInput\",\"message\":\"failed\"}]}", failure), httpRequest);
+                } else if (createdKeys.contains(key)) {
+                    return HttpResponse.of(400, "{\"statusCode\":400,\"message\":\"duplicate\",\"errors\":[{\"code\":\"DuplicateField\",\"message\":\"duplicate\",\"field\":\"key\",\"duplicateValue\":\"" + key + "\"}]}", httpRequest);
+                }
+                createdKeys.add(key);
+                return HttpResponse.of(201, String.format("{\"id\":\"id-%s\",\"version\":1,\"key\":\"%s\"}", key, key), httpRequest);
+            });
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
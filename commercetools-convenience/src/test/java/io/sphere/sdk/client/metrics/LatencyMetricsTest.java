@@ -0,0 +1,97 @@
+package io.sphere.sdk.client.metrics;
+
+import io.sphere.sdk.categories.queries.CategoryByIdGet;
+import io.sphere.sdk.client.BlockingSphereClient;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.TestDoubleSphereClientFactory;
+import io.sphere.sdk.http.HttpResponse;
+import io.sphere.sdk.projects.queries.ProjectGet;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+public class LatencyMetricsTest {
+
+    @Test
+    public void bucketsCoverAllValuesWithBoundedError() throws Exception {
+        for (long micros = 0; micros < 1_000_000; micros += 7) {
+            final int index = LatencyHistogram.bucketIndex(micros);
+            final long upperBound = LatencyHistogram.bucketUpperBound(index);
+            assertThat(upperBound).isGreaterThanOrEqualTo(micros);
+            assertThat(upperBound - micros).isLessThanOrEqualTo(Math.max(micros / 32, 0));
+            if (index > 0) {
+                assertThat(LatencyHistogram.bucketUpperBound(index - 1)).isLessThan(micros);
+            }
+        }
+        assertThat(LatencyHistogram.bucketIndex(LatencyHistogram.MAX_MICROS)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    public void percentiles() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        final LatencySnapshot snapshot = new LatencySnapshot("products", "2xx", LatencyPhase.TOTAL, histogram);
+
+        assertThat(snapshot.getCount()).isEqualTo(100);
+        assertThat(snapshot.getMax()).isEqualTo(Duration.ofMillis(100));
+        assertThat(snapshot.getMean()).isEqualTo(Duration.ofMillis(50).plusNanos(500_000));
+        assertThat(snapshot.getValueAtPercentile(50).toMillis()).isBetween(50L, 51L);
+        assertThat(snapshot.getValueAtPercentile(99).toMillis()).isBetween(99L, 100L);
+        assertThat(snapshot.getValueAtPercentile(100)).isEqualTo(Duration.ofMillis(100));
+        assertThatThrownBy(() -> snapshot.getValueAtPercentile(101)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void recordsPerEndpointAndStatusClass() throws Exception {
+        final SphereClient httpClient = TestDoubleSphereClientFactory.createHttpTestDouble(intent ->
+                intent.getPath().startsWith("/categories") ? HttpResponse.of(503, "{}") : HttpResponse.of(200, "{}"));
+        final SimpleMetricsSphereClient client = SimpleMetricsSphereClient.of(httpClient);
+        final BlockingSphereClient blockingClient = BlockingSphereClient.of(client, 10, TimeUnit.SECONDS);
+
+        blockingClient.executeBlocking(ProjectGet.of());
+        blockingClient.executeBlocking(ProjectGet.of());
+        assertThatThrownBy(() -> client.execute(CategoryByIdGet.of("id")).toCompletableFuture().get())
+                .isInstanceOf(ExecutionException.class);
+
+        final List<LatencySnapshot> snapshots = client.getLatencyMetrics().snapshot();
+        assertThat(snapshots).extracting(LatencySnapshot::getEndpoint).containsOnly("", "categories");
+        assertThat(snapshots.stream().filter(snapshot -> snapshot.getPhase() == LatencyPhase.TOTAL).collect(toList()))
+                .extracting(LatencySnapshot::getEndpoint, LatencySnapshot::getStatusClass, LatencySnapshot::getCount)
+                .containsExactly(
+                        tuple("", "2xx", 2L),
+                        tuple("categories", "5xx", 1L));
+        assertThat(client.getLatencyMetrics().exportPrometheus())
+                .contains("commercetools_client_latency_seconds_count{endpoint=\"\",status=\"2xx\",phase=\"total\"} 2")
+                .contains("commercetools_client_latency_seconds{endpoint=\"categories\",status=\"5xx\",phase=\"remote\",quantile=\"0.99\"}");
+    }
+
+    @Test
+    public void boundedAmountOfSeries() throws Exception {
+        final LatencyMetrics metrics = LatencyMetrics.of(2);
+
+        metrics.record("products", 200, 1000, 1000, 5000);
+        metrics.record("carts", 200, 1000, 1000, 5000);
+        metrics.record("orders", 200, 1000, 1000, 5000);
+        metrics.record("customers", 200, 1000, 1000, 5000);
+        metrics.record("products", 200, 1000, 1000, 5000);
+
+        assertThat(metrics.snapshot().stream().filter(snapshot -> snapshot.getPhase() == LatencyPhase.TOTAL).collect(toList()))
+                .extracting(LatencySnapshot::getEndpoint, LatencySnapshot::getCount)
+                .containsExactly(
+                        tuple("carts", 1L),
+                        tuple(LatencyMetrics.OTHER_ENDPOINT, 2L),
+                        tuple("products", 2L));
+        assertThatThrownBy(() -> LatencyMetrics.of(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
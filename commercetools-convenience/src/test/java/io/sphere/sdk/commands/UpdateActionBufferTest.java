@@ -0,0 +1,192 @@
+package io.sphere.sdk.commands;
+
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.commands.CategoryUpdateCommand;
+import io.sphere.sdk.categories.commands.updateactions.SetExternalId;
+import io.sphere.sdk.categories.queries.CategoryByIdGet;
+import io.sphere.sdk.client.ConcurrentModificationException;
+import io.sphere.sdk.client.SdkRuntime;
+import io.sphere.sdk.client.SdkRuntimeBuilder;
+import io.sphere.sdk.client.SphereApiConfig;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.models.Versioned;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class UpdateActionBufferTest {
+    private static final Versioned<Category> CATEGORY = Versioned.of("category-id", 3L);
+    private static final UpdateActionBufferConfig NO_WINDOW = UpdateActionBufferConfigBuilder.of().window(Duration.ofHours(1)).build();
+
+    @Test
+    public void submissionsWithinTheWindowAreSentWithOneCommand() throws Exception {
+        final CategoriesClient client = new CategoriesClient();
+        final UpdateActionBuffer<Category> buffer = UpdateActionBuffer.of(client, CategoryUpdateCommand::of, CategoryByIdGet::of);
+
+        final List<CompletableFuture<Category>> results = IntStream.range(0, 5)
+                .mapToObj(i -> buffer.submit(CATEGORY, singletonList(SetExternalId.of("external-" + i))).toCompletableFuture())
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        assertThat(client.commands).hasSize(1);
+        assertThat(client.commands.get(0).getUpdateActions()).hasSize(5);
+        assertThat(version(client.commands.get(0))).isEqualTo(3L);
+        assertThat(results).extracting(result -> result.join().getVersion()).containsOnly(4L);
+        assertThat(buffer.getSubmissionCount()).isEqualTo(5);
+        assertThat(buffer.getCommandCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void fullCommandsAreSentImmediatelyAndOneAfterAnother() throws Exception {
+        final CategoriesClient client = new CategoriesClient();
+        final UpdateActionBufferConfig config = UpdateActionBufferConfigBuilder.of().maxUpdateActions(2).window(Duration.ofHours(1)).build();
+        final UpdateActionBuffer<Category> buffer = UpdateActionBuffer.of(client, CategoryUpdateCommand::of, CategoryByIdGet::of, config);
+        client.pause();
+
+        final List<CompletableFuture<Category>> results = IntStream.range(0, 5)
+                .mapToObj(i -> buffer.submit(CATEGORY, singletonList(SetExternalId.of("external-" + i))).toCompletableFuture())
+                .collect(Collectors.toList());
+        assertThat(client.commands).hasSize(1);
+        client.resume();
+        buffer.flush();
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        assertThat(client.commands).extracting(command -> command.getUpdateActions().size()).containsExactly(2, 2, 1);
+        assertThat(client.commands).extracting(UpdateActionBufferTest::version).containsExactly(3L, 4L, 5L);
+        assertThat(results).extracting(result -> result.join().getVersion()).containsExactly(4L, 4L, 5L, 5L, 6L);
+    }
+
+    @Test
+    public void conflictsAreRetriedWithTheCurrentVersion() throws Exception {
+        final CategoriesClient client = new CategoriesClient();
+        client.currentVersion = 10L;
+        final UpdateActionBuffer<Category> buffer = UpdateActionBuffer.of(client, CategoryUpdateCommand::of, CategoryByIdGet::of, NO_WINDOW);
+
+        final CompletableFuture<Category> result = buffer.submit(CATEGORY, singletonList(SetExternalId.of("external"))).toCompletableFuture();
+        buffer.flush();
+
+        assertThat(result.get(5, TimeUnit.SECONDS).getVersion()).isEqualTo(11L);
+        assertThat(client.commands).extracting(UpdateActionBufferTest::version).containsExactly(3L, 10L);
+        assertThat(buffer.getConflictCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void conflictsAreRetriedOnlyUpToTheLimit() throws Exception {
+        final CategoriesClient client = new CategoriesClient();
+        client.currentVersion = 10L;
+        client.alwaysConflict = true;
+        final UpdateActionBuffer<Category> buffer = UpdateActionBuffer.of(client, CategoryUpdateCommand::of, CategoryByIdGet::of, NO_WINDOW);
+
+        final CompletableFuture<Category> result = buffer.submit(CATEGORY, singletonList(SetExternalId.of("external"))).toCompletableFuture();
+        buffer.flush();
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ConcurrentModificationException.class);
+        assertThat(client.commands).hasSize(1 + UpdateActionBufferConfigBuilder.DEFAULT_MAX_CONFLICT_RETRIES);
+    }
+
+    @Test
+    public void resourcesAreUpdatedIndependently() throws Exception {
+        final CategoriesClient client = new CategoriesClient();
+        final UpdateActionBuffer<Category> buffer = UpdateActionBuffer.of(client, CategoryUpdateCommand::of, CategoryByIdGet::of, NO_WINDOW);
+
+        final CompletableFuture<Category> first = buffer.submit(CATEGORY, singletonList(SetExternalId.of("a"))).toCompletableFuture();
+        final CompletableFuture<Category> second = buffer.submit(Versioned.of("other-id", 7L), singletonList(SetExternalId.of("b"))).toCompletableFuture();
+        buffer.close();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getId()).isEqualTo("category-id");
+        assertThat(second.get(5, TimeUnit.SECONDS).getId()).isEqualTo("other-id");
+        assertThat(client.commands).hasSize(2);
+    }
+
+    @Test
+    public void commandsAtTheEndOfTheWindowAreSentFromTheCpuPool() throws Exception {
+        final CategoriesClient client = new CategoriesClient();
+        try (final SdkRuntime runtime = SdkRuntimeBuilder.of().parallelism(1).build()) {
+            final UpdateActionBufferConfig config = UpdateActionBufferConfigBuilder.of().runtime(runtime).build();
+            final UpdateActionBuffer<Category> buffer = UpdateActionBuffer.of(client, CategoryUpdateCommand::of, CategoryByIdGet::of, config);
+
+            buffer.submit(CATEGORY, singletonList(SetExternalId.of("a"))).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(client.sendingThreads).hasSize(1);
+        assertThat(client.sendingThreads.get(0)).startsWith("commercetools-sdk-").contains("-worker-");
+    }
+
+    private static Long version(final CategoryUpdateCommand command) {
+        return ((MetaModelUpdateCommandDslImpl<?, ?, ?>) command).getVersioned().getVersion();
+    }
+
+    /**
+     * Answers update commands with the category in the next version. If a current version is set, commands with another version conflict.
+     */
+    private static class CategoriesClient implements SphereClient {
+        private final List<CategoryUpdateCommand> commands = new CopyOnWriteArrayList<>();
+        private final List<String> sendingThreads = new CopyOnWriteArrayList<>();
+        private final List<Runnable> paused = new CopyOnWriteArrayList<>();
+        private volatile boolean pause;
+        private volatile Long currentVersion;
+        private volatile boolean alwaysConflict;
+
+        private void pause() {
+            pause = true;
+        }
+
+        private void resume() {
+            pause = false;
+            paused.forEach(Runnable::run);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> CompletionStage<T> execute(final SphereRequest<T> request) {
+            final CompletableFuture<T> result = new CompletableFuture<>();
+            if (request instanceof CategoryByIdGet) {
+                result.complete((T) category(request.httpRequestIntent().getPath().replace("/categories/", ""), currentVersion));
+                return result;
+            }
+            final CategoryUpdateCommand command = (CategoryUpdateCommand) request;
+            commands.add(command);
+            sendingThreads.add(Thread.currentThread().getName());
+            final Runnable answer = () -> {
+                final Long version = version(command);
+                if (alwaysConflict || (currentVersion != null && !currentVersion.equals(version))) {
+                    result.completeExceptionally(new ConcurrentModificationException());
+                } else {
+                    result.complete((T) category(((MetaModelUpdateCommandDslImpl<?, ?, ?>) command).getVersioned().getId(), version + 1));
+                }
+            };
+            if (pause) {
+                paused.add(answer);
+            } else {
+                CompletableFuture.runAsync(answer);
+            }
+            return result;
+        }
+
+        private static Category category(final String id, final Long version) {
+            return SphereJsonUtils.readObject(String.format("{ \"id\" : \"%s\", \"version\" : %d }", id, version), Category.class);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public SphereApiConfig getConfig() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package io.sphere.sdk.messages.streaming;
+
+import io.sphere.sdk.client.SdkRuntime;
+import io.sphere.sdk.client.SdkRuntimeBuilder;
+import io.sphere.sdk.client.SphereApiConfig;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.messages.Message;
+import io.sphere.sdk.messages.queries.MessageQuery;
+import io.sphere.sdk.queries.QueryPredicate;
+import io.sphere.sdk.queries.QuerySort;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MessageStreamTest {
+    private static final ZonedDateTime START = ZonedDateTime.parse("2017-04-10T12:00:00.000Z");
+    private static final int RESOURCES = 3;
+    private static final int PAGE_SIZE = 5;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void handlesMessagesInSequenceOrderPerResource() {
+        final RecordedMessagesClient client = new RecordedMessagesClient(30);
+        final Map<String, List<Long>> handledSequenceNumbers = new ConcurrentHashMap<>();
+        final Map<String, AtomicInteger> activeHandlers = new ConcurrentHashMap<>();
+        final AtomicBoolean concurrentHandlingOfResource = new AtomicBoolean(false);
+
+        try (final MessageStream stream = MessageStream.of(client, config().build(), message -> {
+            final String resourceId = message.getResource().getId();
+            final AtomicInteger active = activeHandlers.computeIfAbsent(resourceId, id -> new AtomicInteger());
+            if (active.incrementAndGet() > 1) {
+                concurrentHandlingOfResource.set(true);
+            }
+            handledSequenceNumbers.computeIfAbsent(resourceId, id -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(message.getSequenceNumber());
+            active.decrementAndGet();
+        })) {
+            assertThat(stream.poll().toCompletableFuture().join()).isEqualTo(30);
+
+            assertThat(concurrentHandlingOfResource).isFalse();
+            assertThat(handledSequenceNumbers).hasSize(RESOURCES);
+            handledSequenceNumbers.values().forEach(sequenceNumbers ->
+                    assertThat(sequenceNumbers).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L));
+            assertThat(stream.getCheckpoint().getMessageId()).isEqualTo(messageId(29));
+            assertThat(stream.getCheckpoint().getCreatedAt()).isEqualTo(createdAt(29));
+            assertThat(stream.poll().toCompletableFuture().join()).isEqualTo(0);
+        }
+        assertThat(client.executedQueries).allSatisfy(query -> {
+            assertThat(query.sort()).extracting(QuerySort::toSphereSort).containsExactly("createdAt asc", "id asc");
+            assertThat(query.limit()).isEqualTo(PAGE_SIZE);
+            assertThat(query.fetchTotal()).isFalse();
+        });
+        assertThat(client.executedQueries.get(0).predicates()).isEmpty();
+    }
+
+    @Test
+    public void resumesFromCheckpointFile() throws Exception {
+        final Path checkpointFile = temporaryFolder.getRoot().toPath().resolve("checkpoint.json");
+        final RecordedMessagesClient client = new RecordedMessagesClient(12);
+        final List<String> handled = Collections.synchronizedList(new ArrayList<>());
+
+        try (final MessageStream stream = MessageStream.of(client, config().checkpointFile(checkpointFile).build(), message -> handled.add(message.getId()))) {
+            assertThat(stream.poll().toCompletableFuture().join()).isEqualTo(12);
+        }
+        client.record(20);
+        try (final MessageStream stream = MessageStream.of(client, config().checkpointFile(checkpointFile).build(), message -> handled.add(message.getId()))) {
+            assertThat(stream.getCheckpoint().getMessageId()).isEqualTo(messageId(11));
+            assertThat(stream.poll().toCompletableFuture().join()).isEqualTo(8);
+        }
+
+        assertThat(handled).hasSize(20).doesNotHaveDuplicates();
+        final MessageStreamCheckpoint persisted = SphereJsonUtils.readObject(new String(java.nio.file.Files.readAllBytes(checkpointFile), "UTF-8"), MessageStreamCheckpoint.class);
+        assertThat(persisted.getMessageId()).isEqualTo(messageId(19));
+        assertThat(persisted.getResourceSequenceNumbers()).hasSize(RESOURCES);
+    }
+
+    @Test
+    public void failedPageIsRetriedWithoutHandlingMessagesTwice() {
+        final RecordedMessagesClient client = new RecordedMessagesClient(15);
+        final List<String> handled = Collections.synchronizedList(new ArrayList<>());
+        final AtomicBoolean failOnce = new AtomicBoolean(true);
+
+        try (final MessageStream stream = MessageStream.of(client, config().build(), message -> {
+            if (message.getId().equals(messageId(7)) && failOnce.getAndSet(false)) {
+                throw new IllegalStateException("downstream not available");
+            }
+            handled.add(message.getId());
+        })) {
+            assertThatThrownBy(() -> stream.poll().toCompletableFuture().join()).hasRootCauseInstanceOf(IllegalStateException.class);
+            assertThat(stream.getCheckpoint().getMessageId()).isEqualTo(messageId(4));
+
+            stream.poll().toCompletableFuture().join();
+
+            assertThat(stream.getSkippedCount()).isEqualTo(4);
+        }
+        assertThat(handled).hasSize(15).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void overlapQueriesAgainAndSkipsHandledMessages() {
+        final RecordedMessagesClient client = new RecordedMessagesClient(10);
+        final List<String> handled = Collections.synchronizedList(new ArrayList<>());
+
+        try (final MessageStream stream = MessageStream.of(client, config().overlap(java.time.Duration.ofSeconds(3)).build(), message -> handled.add(message.getId()))) {
+            stream.poll().toCompletableFuture().join();
+            client.record(12);
+            assertThat(stream.poll().toCompletableFuture().join()).isEqualTo(2);
+            assertThat(stream.getSkippedCount()).isEqualTo(4);
+        }
+        assertThat(handled).hasSize(12).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void startedStreamPollsPeriodically() throws Exception {
+        final RecordedMessagesClient client = new RecordedMessagesClient(3);
+        final CountDownLatch latch = new CountDownLatch(5);
+
+        try (final MessageStream stream = MessageStream.of(client, config().pollInterval(java.time.Duration.ofMillis(20)).build(), message -> latch.countDown())) {
+            stream.start();
+            client.record(5);
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    public void handlesLargeBacklog() {
+        final RecordedMessagesClient client = new RecordedMessagesClient(5000);
+        final AtomicInteger handled = new AtomicInteger();
+
+        try (final MessageStream stream = MessageStream.of(client, config().pageSize(500).build(), message -> handled.incrementAndGet())) {
+            assertThat(stream.poll().toCompletableFuture().join()).isEqualTo(5000);
+            assertThat(stream.getHandledCount()).isEqualTo(5000);
+        }
+        assertThat(handled).hasValue(5000);
+        assertThat(client.executedQueries).hasSize(11);
+    }
+
+    @Test
+    public void handlerRunsInThePoolOfTheRuntimeWithLimitedParallelism() {
+        final RecordedMessagesClient client = new RecordedMessagesClient(30);
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+
+        try (final SdkRuntime runtime = SdkRuntimeBuilder.of().parallelism(4).build();
+             final MessageStream stream = MessageStream.of(client, config().parallelism(2).runtime(runtime).build(), message -> {
+                 maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                 threadNames.add(Thread.currentThread().getName());
+                 active.decrementAndGet();
+             })) {
+            assertThat(stream.poll().toCompletableFuture().join()).isEqualTo(30);
+        }
+        assertThat(threadNames).allSatisfy(name -> assertThat(name).startsWith("commercetools-sdk-").contains("-worker-"));
+        assertThat(maxActive.get()).isLessThanOrEqualTo(2);
+    }
+
+    private static MessageStreamConfigBuilder config() {
+        return MessageStreamConfigBuilder.of()
+                .pageSize(PAGE_SIZE)
+                .parallelism(4);
+    }
+
+    private static String messageId(final int index) {
+        return String.format("message-%05d", index);
+    }
+
+    private static ZonedDateTime createdAt(final int index) {
+        return START.plusSeconds(index);
+    }
+
+    /**
+     * Serves pages of recorded message JSON in the order of createdAt and id, following the keyset predicates of the stream.
+     */
+    private static final class RecordedMessagesClient implements SphereClient {
+        private static final Pattern AFTER_ID = Pattern.compile("id>\"([^\"]+)\"");
+        private static final Pattern FROM_CREATED_AT = Pattern.compile("createdAt>=\"([^\"]+)\"");
+        private final List<String> recordedMessages = new CopyOnWriteArrayList<>();
+        private final List<MessageQuery> executedQueries = new CopyOnWriteArrayList<>();
+
+        private RecordedMessagesClient(final int count) {
+            record(count);
+        }
+
+        private void record(final int count) {
+            for (int i = recordedMessages.size(); i < count; i++) {
+                final String resourceId = "order-" + (i % RESOURCES);
+                final int sequenceNumber = i / RESOURCES + 1;
+                recordedMessages.add(String.format("{\"id\":\"%s\",\"version\":1,\"createdAt\":\"%s\",\"lastModifiedAt\":\"%s\","
+                                + "\"sequenceNumber\":%d,\"resource\":{\"typeId\":\"order\",\"id\":\"%s\"},\"resourceVersion\":%d,\"type\":\"OrderStateChanged\"}",
+                        messageId(i), createdAt(i), createdAt(i), sequenceNumber, resourceId, sequenceNumber));
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> CompletionStage<T> execute(final SphereRequest<T> request) {
+            final MessageQuery query = (MessageQuery) request;
+            executedQueries.add(query);
+            final String predicates = query.predicates().stream().map(QueryPredicate::toSphereQuery).collect(Collectors.joining(" and "));
+            final int from = startIndex(predicates);
+            final List<String> page = recordedMessages.subList(Math.min(from, recordedMessages.size()), Math.min(from + query.limit().intValue(), recordedMessages.size()));
+            final String json = "{\"offset\":0,\"count\":" + page.size() + ",\"results\":[" + String.join(",", page) + "]}";
+            return CompletableFuture.supplyAsync(() -> (T) SphereJsonUtils.readObject(json, MessageQuery.resultTypeReference()));
+        }
+
+        private int startIndex(final String predicates) {
+            final Matcher afterId = AFTER_ID.matcher(predicates);
+            if (afterId.find()) {
+                return Integer.parseInt(afterId.group(1).substring("message-".length())) + 1;
+            }
+            final Matcher fromCreatedAt = FROM_CREATED_AT.matcher(predicates);
+            if (fromCreatedAt.find()) {
+                final ZonedDateTime from = ZonedDateTime.parse(fromCreatedAt.group(1));
+                return (int) Math.max(0, java.time.Duration.between(START, from).getSeconds());
+            }
+            return 0;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public SphereApiConfig getConfig() {
+            return null;
+        }
+    }
+}
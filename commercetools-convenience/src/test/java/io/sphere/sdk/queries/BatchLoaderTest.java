@@ -0,0 +1,180 @@
+package io.sphere.sdk.queries;
+
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.queries.CategoryQuery;
+import io.sphere.sdk.client.SdkRuntime;
+import io.sphere.sdk.client.SdkRuntimeBuilder;
+import io.sphere.sdk.client.SphereApiConfig;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.json.SphereJsonUtils;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BatchLoaderTest {
+
+    @Test
+    public void lookupsWithinTheWindowAreFetchedWithOneQuery() throws Exception {
+        final CategoriesClient client = new CategoriesClient();
+        final BatchLoader<String, Category> loader = BatchLoader.ofIds(client, CategoryQuery.of());
+
+        final List<CompletableFuture<Category>> results = IntStream.range(0, 50)
+                .mapToObj(i -> loader.load("id-" + i % 10).toCompletableFuture())
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        assertThat(client.executedQueries).hasSize(1);
+        assertThat(client.executedQueries.get(0).predicates()).extracting(QueryPredicate::toSphereQuery)
+                .containsExactly(IntStream.range(0, 10).mapToObj(i -> "\"id-" + i + "\"").collect(Collectors.joining(", ", "id in (", ")")));
+        assertThat(client.executedQueries.get(0).limit()).isEqualTo(10);
+        assertThat(client.executedQueries.get(0).fetchTotal()).isFalse();
+        assertThat(results.get(13).join().getId()).isEqualTo("id-3");
+        assertThat(loader.getLoadCount()).isEqualTo(50);
+        assertThat(loader.getQueryCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void fullBatchesAreSentImmediately() throws Exception {
+        final CategoriesClient client = new CategoriesClient();
+        final BatchLoaderConfig config = BatchLoaderConfigBuilder.of().maxBatchSize(4).window(Duration.ofHours(1)).build();
+        final BatchLoader<String, Category> loader = BatchLoader.ofIds(client, CategoryQuery.of(), config);
+
+        final List<CompletableFuture<Category>> results = IntStream.range(0, 10)
+                .mapToObj(i -> loader.load("id-" + i).toCompletableFuture())
+                .collect(Collectors.toList());
+
+        assertThat(client.executedQueries).hasSize(2);
+        loader.close();
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertThat(client.executedQueries).hasSize(3);
+        assertThat(results).extracting(result -> result.join().getId())
+                .containsExactlyElementsOf(IntStream.range(0, 10).mapToObj(i -> "id-" + i).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void missingResourcesAreNull() throws Exception {
+        final CategoriesClient client = new CategoriesClient();
+        final BatchLoader<String, Category> loader = BatchLoader.ofIds(client, CategoryQuery.of());
+
+        final CompletableFuture<Category> missing = loader.load("missing-1").toCompletableFuture();
+        final CompletableFuture<Category> existing = loader.load("id-1").toCompletableFuture();
+
+        assertThat(existing.get(5, TimeUnit.SECONDS).getId()).isEqualTo("id-1");
+        assertThat(missing.get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    public void failedQueryFailsAllLookupsOfTheBatch() throws Exception {
+        final CategoriesClient client = new CategoriesClient();
+        final BatchLoader<String, Category> loader = BatchLoader.ofIds(client, CategoryQuery.of());
+
+        final CompletableFuture<Category> first = loader.load("id-1").toCompletableFuture();
+        final CompletableFuture<Category> second = loader.load("fail").toCompletableFuture();
+        loader.flush();
+
+        assertThatThrownBy(first::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(second::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void cancellingTheFirstLookupDoesNotAffectLaterLookupsOfTheKey() throws Exception {
+        final CategoriesClient client = new CategoriesClient();
+        final BatchLoader<String, Category> loader = BatchLoader.ofIds(client, CategoryQuery.of());
+
+        final CompletableFuture<Category> first = loader.load("id-1").toCompletableFuture();
+        first.cancel(true);
+        final CompletableFuture<Category> second = loader.load("id-1").toCompletableFuture();
+        loader.flush();
+
+        assertThat(second.get(5, TimeUnit.SECONDS).getId()).isEqualTo("id-1");
+        assertThat(first).isCancelled();
+        assertThat(client.executedQueries).hasSize(1);
+    }
+
+    @Test
+    public void lookupsByKey() throws Exception {
+        final CategoriesClient client = new CategoriesClient();
+        final BatchLoader<String, Category> loader = BatchLoader.ofKeys(client, CategoryQuery.of(), model -> model.externalId(),
+                Category::getExternalId, BatchLoaderConfig.of());
+
+        final CompletableFuture<Category> result = loader.load("external-2").toCompletableFuture();
+        loader.flush();
+
+        assertThat(result.get(5, TimeUnit.SECONDS).getExternalId()).isEqualTo("external-2");
+        assertThat(client.executedQueries.get(0).predicates()).extracting(QueryPredicate::toSphereQuery)
+                .containsExactly("externalId in (\"external-2\")");
+    }
+
+    @Test
+    public void batchesAtTheEndOfTheWindowAreSentFromTheCpuPool() throws Exception {
+        final CategoriesClient client = new CategoriesClient();
+        try (final SdkRuntime runtime = SdkRuntimeBuilder.of().parallelism(1).build()) {
+            final BatchLoader<String, Category> loader = BatchLoader.ofIds(client, CategoryQuery.of(), BatchLoaderConfigBuilder.of().runtime(runtime).build());
+
+            loader.load("id-1").toCompletableFuture().get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(client.sendingThreads).hasSize(1);
+        assertThat(client.sendingThreads.get(0)).startsWith("commercetools-sdk-").contains("-worker-");
+    }
+
+    /**
+     * Answers queries with categories for all requested values except the ones starting with "missing" and fails if a value is "fail".
+     */
+    private static class CategoriesClient implements SphereClient {
+        private static final Pattern QUOTED = Pattern.compile("\"([^\"]+)\"");
+        private final List<CategoryQuery> executedQueries = new CopyOnWriteArrayList<>();
+        private final List<String> sendingThreads = new CopyOnWriteArrayList<>();
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> CompletionStage<T> execute(final SphereRequest<T> request) {
+            final CategoryQuery query = (CategoryQuery) request;
+            executedQueries.add(query);
+            sendingThreads.add(Thread.currentThread().getName());
+            final String predicate = query.predicates().get(0).toSphereQuery();
+            final boolean byExternalId = predicate.startsWith("externalId");
+            final List<String> values = new ArrayList<>();
+            final Matcher matcher = QUOTED.matcher(predicate);
+            while (matcher.find()) {
+                values.add(matcher.group(1));
+            }
+            return CompletableFuture.supplyAsync(() -> {
+                if (values.contains("fail")) {
+                    throw new IllegalStateException("query failed");
+                }
+                final List<Category> results = values.stream()
+                        .filter(value -> !value.startsWith("missing"))
+                        .map(value -> byExternalId
+                                ? String.format("{ \"id\" : \"id-%s\", \"externalId\" : \"%s\" }", value, value)
+                                : String.format("{ \"id\" : \"%s\" }", value))
+                        .map(json -> SphereJsonUtils.readObject(json, Category.class))
+                        .collect(Collectors.toList());
+                return (T) PagedQueryResult.of(0L, query.limit(), null, results);
+            });
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public SphereApiConfig getConfig() {
+            return null;
+        }
+    }
+}
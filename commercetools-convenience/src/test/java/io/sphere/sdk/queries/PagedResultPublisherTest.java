@@ -0,0 +1,221 @@
+package io.sphere.sdk.queries;
+
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.queries.CategoryQuery;
+import io.sphere.sdk.client.SphereApiConfig;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.SphereRequest;
+import io.sphere.sdk.json.SphereJsonUtils;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PagedResultPublisherTest {
+    private static final int PAGE_SIZE = 5;
+
+    @Test
+    public void publishesAllElementsOnDemand() throws Exception {
+        final List<CategoryQuery> executedQueries = Collections.synchronizedList(new ArrayList<>());
+        final SphereClient client = client(16, executedQueries, CompletableFuture::completedFuture);
+        final Publisher<Category> publisher = QueryExecutionUtils.queryAllAsPublisher(client, CategoryQuery.of(), PAGE_SIZE, 2);
+        final RecordingSubscriber<Category> subscriber = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber);
+
+        assertThat(executedQueries).isEmpty();
+
+        subscriber.request(3);
+        assertThat(subscriber.elements).hasSize(3);
+        assertThat(executedQueries).hasSize(1);
+
+        subscriber.request(3);
+        assertThat(subscriber.elements).hasSize(6);
+        assertThat(executedQueries).hasSize(2);
+
+        subscriber.request(Long.MAX_VALUE);
+        assertThat(subscriber.awaitTermination()).isTrue();
+        assertThat(subscriber.error).isNull();
+        assertThat(subscriber.elements).extracting(Category::getId)
+                .containsExactlyElementsOf(ids(16));
+        assertThat(executedQueries).extracting(query -> query.offset()).containsExactly(0L, 5L, 10L, 15L);
+    }
+
+    @Test
+    public void limitsPagesInFlight() throws Exception {
+        final List<CategoryQuery> executedQueries = Collections.synchronizedList(new ArrayList<>());
+        final SphereClient client = client(100, executedQueries, result -> new CompletableFuture<>());
+        final RecordingSubscriber<Category> subscriber = new RecordingSubscriber<>();
+        QueryExecutionUtils.queryAllAsPublisher(client, CategoryQuery.of(), PAGE_SIZE, 3).subscribe(subscriber);
+
+        subscriber.request(Long.MAX_VALUE);
+
+        assertThat(executedQueries).hasSize(3);
+        assertThat(subscriber.elements).isEmpty();
+    }
+
+    @Test
+    public void emitsInPageOrderWithConcurrentPages() throws Exception {
+        final SphereClient client = client(23, Collections.synchronizedList(new ArrayList<>()),
+                result -> CompletableFuture.supplyAsync(() -> {
+                    sleep(result.getOffset() == 0 ? 50 : 0);
+                    return result;
+                }));
+        final RecordingSubscriber<Category> subscriber = new RecordingSubscriber<>();
+        QueryExecutionUtils.queryAllAsPublisher(client, CategoryQuery.of(), PAGE_SIZE, 4).subscribe(subscriber);
+
+        subscriber.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.awaitTermination()).isTrue();
+        assertThat(subscriber.elements).extracting(Category::getId).containsExactlyElementsOf(ids(23));
+    }
+
+    @Test
+    public void publishesWithCursor() throws Exception {
+        final List<CategoryQuery> executedQueries = Collections.synchronizedList(new ArrayList<>());
+        final SphereClient client = client(10, executedQueries, CompletableFuture::completedFuture);
+        final RecordingSubscriber<Category> subscriber = new RecordingSubscriber<>();
+        PagedResultPublisher.ofQueryWithCursor(client, CategoryQuery.of(), PAGE_SIZE).subscribe(subscriber);
+
+        subscriber.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.awaitTermination()).isTrue();
+        assertThat(subscriber.elements).extracting(Category::getId).containsExactlyElementsOf(ids(10));
+        assertThat(executedQueries).hasSize(3);
+        assertThat(executedQueries.get(2).predicates()).extracting(QueryPredicate::toSphereQuery).containsExactly("id > \"id-0009\"");
+    }
+
+    @Test
+    public void propagatesErrors() throws Exception {
+        final RuntimeException exception = new RuntimeException("failed page");
+        final SphereClient client = client(16, Collections.synchronizedList(new ArrayList<>()), result -> {
+            final CompletableFuture<PagedQueryResult<Category>> future = new CompletableFuture<>();
+            if (result.getOffset() == 0) {
+                future.complete(result);
+            } else {
+                future.completeExceptionally(exception);
+            }
+            return future;
+        });
+        final RecordingSubscriber<Category> subscriber = new RecordingSubscriber<>();
+        QueryExecutionUtils.queryAllAsPublisher(client, CategoryQuery.of(), PAGE_SIZE, 1).subscribe(subscriber);
+
+        subscriber.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.awaitTermination()).isTrue();
+        assertThat(subscriber.elements).hasSize(PAGE_SIZE);
+        assertThat(subscriber.error).isSameAs(exception);
+    }
+
+    @Test
+    public void signalsInvalidRequestAsError() throws Exception {
+        final List<CategoryQuery> executedQueries = Collections.synchronizedList(new ArrayList<>());
+        final SphereClient client = client(16, executedQueries, CompletableFuture::completedFuture);
+        final RecordingSubscriber<Category> subscriber = new RecordingSubscriber<>();
+        QueryExecutionUtils.queryAllAsPublisher(client, CategoryQuery.of(), PAGE_SIZE, 1).subscribe(subscriber);
+
+        subscriber.request(0);
+        subscriber.request(1);
+
+        assertThat(subscriber.awaitTermination()).isTrue();
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(subscriber.elements).isEmpty();
+        assertThat(executedQueries).isEmpty();
+    }
+
+    private static List<String> ids(final int count) {
+        return IntStream.range(0, count).mapToObj(i -> String.format("id-%04d", i)).collect(toList());
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static SphereClient client(final int totalResults, final List<CategoryQuery> executedQueries,
+                                       final Function<PagedQueryResult<Category>, CompletionStage<PagedQueryResult<Category>>> delivery) {
+        return new SphereClient() {
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> CompletionStage<T> execute(final SphereRequest<T> request) {
+                final CategoryQuery query = (CategoryQuery) request;
+                executedQueries.add(query);
+                final long offset = query.offset() != null ? query.offset() : 0;
+                final String lastId = query.predicates().stream()
+                        .map(predicate -> predicate.toSphereQuery().replaceAll("id > \"(.*)\"", "$1"))
+                        .findFirst()
+                        .orElse("");
+                final List<Category> results = ids(totalResults).stream()
+                        .filter(id -> id.compareTo(lastId) > 0)
+                        .skip(offset)
+                        .limit(query.limit())
+                        .map(id -> SphereJsonUtils.readObject(String.format("{ \"id\" : \"%s\" }", id), Category.class))
+                        .collect(toList());
+                final PagedQueryResult<Category> pagedQueryResult = PagedQueryResult.of(offset, query.limit(), (long) totalResults, results);
+                return (CompletionStage<T>) delivery.apply(pagedQueryResult);
+            }
+
+            @Override
+            public void close() {
+
+            }
+
+            @Override
+            public SphereApiConfig getConfig() {
+                return null;
+            }
+        };
+    }
+
+    private static final class RecordingSubscriber<T> implements Subscriber<T> {
+        private final List<T> elements = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private volatile Subscription subscription;
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final T element) {
+            elements.add(element);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+
+        void request(final long n) {
+            subscription.request(n);
+        }
+
+        boolean awaitTermination() throws InterruptedException {
+            return terminated.await(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -8,12 +8,16 @@ import io.sphere.sdk.client.SphereRequest;
 import io.sphere.sdk.json.SphereJsonUtils;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
 import static java.lang.Math.max;
@@ -95,6 +99,100 @@ public class QueryExecutionUtilsTest {
 
     }
 
+    @Test
+    public void withCursorOnEmptyResult() throws Exception {
+        assertThat(withCursor(cursorClient(0, new ArrayList<>()))).isEmpty();
+    }
+
+    @Test
+    public void withCursorOnMultiplePagesResult() throws Exception {
+        final List<CategoryQuery> executedQueries = new ArrayList<>();
+        final List<Category> categories = withCursor(cursorClient(16, executedQueries));
+
+        assertThat(categories).isSortedAccordingTo(Comparator.comparing(Category::getId)).hasSize(16);
+        assertThat(categories.stream().map(Category::getId).distinct().count()).isEqualTo(16);
+        assertThat(executedQueries).hasSize(4);
+        assertThat(executedQueries).allSatisfy(query -> {
+            assertThat(query.offset()).isNull();
+            assertThat(query.fetchTotal()).isFalse();
+            assertThat(query.sort()).extracting(QuerySort::toSphereSort).containsExactly("id asc");
+        });
+        assertThat(executedQueries.get(0).predicates()).isEmpty();
+        assertThat(executedQueries.get(1).predicates()).extracting(QueryPredicate::toSphereQuery).containsExactly("id > \"id-00004\"");
+    }
+
+    @Test
+    public void withCursorOnExactlyFullPages() throws Exception {
+        final List<CategoryQuery> executedQueries = new ArrayList<>();
+        final List<String> ids = QueryExecutionUtils.queryAllWithCursor(cursorClient(10, executedQueries), CategoryQuery.of(), Category::getId, PAGE_SIZE)
+                .toCompletableFuture().join();
+
+        assertThat(ids).hasSize(10).isSorted();
+        assertThat(executedQueries).hasSize(3);
+    }
+
+    @Test
+    public void withCursorConsumer() throws Exception {
+        final List<Category> consumed = new ArrayList<>();
+        QueryExecutionUtils.queryAllWithCursor(cursorClient(12, new ArrayList<>()), CategoryQuery.of(), (Consumer<Category>) consumed::add, PAGE_SIZE)
+                .toCompletableFuture().join();
+
+        assertThat(consumed).isSortedAccordingTo(Comparator.comparing(Category::getId)).hasSize(12);
+    }
+
+    private List<Category> withCursor(final SphereClient client) {
+        return QueryExecutionUtils.queryAllWithCursor(client, CategoryQuery.of(), PAGE_SIZE)
+                .toCompletableFuture().join();
+    }
+
+    @Test
+    public void withCursorOnSynchronouslyCompletingPages() throws Exception {
+        final List<String> ids = QueryExecutionUtils.queryAllWithCursor(cursorClient(20_000, new ArrayList<>(), true), CategoryQuery.of(), Category::getId, 1)
+                .toCompletableFuture().join();
+
+        assertThat(ids).hasSize(20_000).isSorted();
+    }
+
+    private SphereClient cursorClient(final int totalResults, final List<CategoryQuery> executedQueries) {
+        return cursorClient(totalResults, executedQueries, false);
+    }
+
+    private SphereClient cursorClient(final int totalResults, final List<CategoryQuery> executedQueries, final boolean synchronous) {
+        return new SphereClient() {
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> CompletionStage<T> execute(final SphereRequest<T> request) {
+                final CategoryQuery query = (CategoryQuery) request;
+                executedQueries.add(query);
+                final String lastId = query.predicates().stream()
+                        .map(predicate -> predicate.toSphereQuery().replaceAll("id > \"(.*)\"", "$1"))
+                        .findFirst()
+                        .orElse("");
+                final int firstIndex = lastId.isEmpty() ? 0 : Integer.parseInt(lastId.substring("id-".length())) + 1;
+                final Supplier<T> page = () -> {
+                    final List<Category> results = IntStream.range(firstIndex, totalResults)
+                            .limit(query.limit())
+                            .mapToObj(i -> String.format("id-%05d", i))
+                            .map(id -> SphereJsonUtils.readObject(String.format("{ \"id\" : \"%s\" }", id), Category.class))
+                            .collect(toList());
+                    return (T) PagedQueryResult.of(0L, query.limit(), null, results);
+                };
+                return synchronous ? CompletableFuture.completedFuture(page.get()) : CompletableFuture.supplyAsync(page);
+            }
+
+            @Override
+            public void close() {
+
+            }
+
+            @Override
+            public SphereApiConfig getConfig() {
+                return null;
+            }
+        };
+    }
+
     private List<Category> withClientWithoutFunction(final SphereClient client) {
         return QueryExecutionUtils.queryAll(client, CategoryQuery.of(), PAGE_SIZE)
                 .toCompletableFuture().join();
@@ -0,0 +1,190 @@
+package io.sphere.sdk.snapshots;
+
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.queries.CategoryQuery;
+import io.sphere.sdk.client.SphereClient;
+import io.sphere.sdk.client.TestDoubleSphereClientFactory;
+import io.sphere.sdk.http.HttpResponse;
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.producttypes.ProductType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CatalogSnapshotTest {
+    private static final String CATEGORY_JSON = "{\"id\":\"%s\",\"version\":%d,\"key\":\"%s\"," +
+            "\"name\":{\"en\":\"%s\"},\"slug\":{\"en\":\"%s\",\"de\":\"%s-de\"},\"ancestors\":[]," +
+            "\"createdAt\":\"2019-01-01T00:00:00.000Z\",\"lastModifiedAt\":\"%s\"}";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void writeAndRead() throws Exception {
+        final Path path = temporaryFolder.getRoot().toPath().resolve("categories.snapshot");
+        try (final CatalogSnapshotWriter<Category> writer = CatalogSnapshotWriter.of(path, SnapshotFormat.ofCategories())) {
+            writer.accept(category("id-1", 1, "shoes", "2019-03-01T10:00:00.000Z"));
+            writer.accept(category("id-2", 4, "shirts", "2019-05-01T10:00:00.000Z"));
+            writer.accept(category("id-3", 2, "socks", "2019-04-01T10:00:00.000Z"));
+        }
+
+        final CatalogSnapshot<Category> snapshot = CatalogSnapshot.open(path, SnapshotFormat.ofCategories());
+
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.findById("id-2").map(Category::getName)).contains(LocalizedString.ofEnglish("shirts"));
+        assertThat(snapshot.findByKey("socks").map(Category::getId)).contains("id-3");
+        assertThat(snapshot.findBySlug(Locale.GERMAN, "shoes-de").map(Category::getId)).contains("id-1");
+        assertThat(snapshot.findBySlug(Locale.ENGLISH, "shoes-de")).isEmpty();
+        assertThat(snapshot.findById("unknown")).isEmpty();
+        assertThat(snapshot.getLastModifiedAt()).isEqualTo(ZonedDateTime.parse("2019-05-01T10:00:00.000Z"));
+        assertThat(snapshot.stream().map(Category::getKey).collect(toList())).containsExactly("shoes", "shirts", "socks");
+        assertThat(Files.exists(path.resolveSibling("categories.snapshot.tmp"))).isFalse();
+    }
+
+    @Test
+    public void largeFilesAreMappedInSegments() throws Exception {
+        final Path path = temporaryFolder.getRoot().toPath().resolve("categories.snapshot");
+        try (final CatalogSnapshotWriter<Category> writer = CatalogSnapshotWriter.of(path, SnapshotFormat.ofCategories())) {
+            for (int i = 0; i < 100; i++) {
+                writer.accept(category("id-" + i, 1, "category-" + i, "2019-03-01T10:00:00.000Z"));
+            }
+        }
+
+        final CatalogSnapshot<Category> snapshot = CatalogSnapshot.open(path, SnapshotFormat.ofCategories(), 1000);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(snapshot.findByKey("category-" + i).map(Category::getId)).contains("id-" + i);
+        }
+    }
+
+    @Test
+    public void updatesAreAppliedInMemory() throws Exception {
+        final Path path = temporaryFolder.getRoot().toPath().resolve("categories.snapshot");
+        try (final CatalogSnapshotWriter<Category> writer = CatalogSnapshotWriter.of(path, SnapshotFormat.ofCategories())) {
+            writer.accept(category("id-1", 2, "shoes", "2019-03-01T10:00:00.000Z"));
+            writer.accept(category("id-2", 1, "shirts", "2019-03-01T10:00:00.000Z"));
+        }
+        final CatalogSnapshot<Category> snapshot = CatalogSnapshot.open(path, SnapshotFormat.ofCategories());
+
+        assertThat(snapshot.update(category("id-1", 1, "outdated", "2019-01-01T10:00:00.000Z"))).isFalse();
+        assertThat(snapshot.update(category("id-1", 3, "boots", "2019-06-01T10:00:00.000Z"))).isTrue();
+        assertThat(snapshot.update(category("id-3", 1, "socks", "2019-06-01T10:00:00.000Z"))).isTrue();
+        snapshot.remove("id-2");
+
+        assertThat(snapshot.findByKey("shoes")).isEmpty();
+        assertThat(snapshot.findByKey("boots").map(Category::getVersion)).contains(3L);
+        assertThat(snapshot.findBySlug(Locale.ENGLISH, "socks").map(Category::getId)).contains("id-3");
+        assertThat(snapshot.findById("id-2")).isEmpty();
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.stream().map(Category::getKey).collect(toList())).containsExactlyInAnyOrder("boots", "socks");
+        assertThat(snapshot.getLastModifiedAt()).isEqualTo(ZonedDateTime.parse("2019-06-01T10:00:00.000Z"));
+    }
+
+    @Test
+    public void outdatedUpdatesAfterARemovalAreIgnored() throws Exception {
+        final Path path = temporaryFolder.getRoot().toPath().resolve("categories.snapshot");
+        try (final CatalogSnapshotWriter<Category> writer = CatalogSnapshotWriter.of(path, SnapshotFormat.ofCategories())) {
+            writer.accept(category("id-1", 1, "shoes", "2019-03-01T10:00:00.000Z"));
+            writer.accept(category("id-2", 1, "shirts", "2019-03-01T10:00:00.000Z"));
+        }
+        final CatalogSnapshot<Category> snapshot = CatalogSnapshot.open(path, SnapshotFormat.ofCategories());
+
+        snapshot.remove("id-1");
+        snapshot.remove("id-2", 3);
+
+        assertThat(snapshot.update(category("id-1", 2, "boots", "2019-06-01T10:00:00.000Z"))).isFalse();
+        assertThat(snapshot.update(category("id-2", 3, "shirts", "2019-06-01T10:00:00.000Z"))).isFalse();
+        assertThat(snapshot.findById("id-1")).isEmpty();
+        assertThat(snapshot.findById("id-2")).isEmpty();
+        assertThat(snapshot.size()).isZero();
+        assertThat(snapshot.update(category("id-2", 4, "t-shirts", "2019-06-01T10:00:00.000Z"))).isTrue();
+        assertThat(snapshot.findByKey("t-shirts").map(Category::getVersion)).contains(4L);
+    }
+
+    @Test
+    public void catchUpFetchesModifiedResources() throws Exception {
+        final Path path = temporaryFolder.getRoot().toPath().resolve("categories.snapshot");
+        try (final CatalogSnapshotWriter<Category> writer = CatalogSnapshotWriter.of(path, SnapshotFormat.ofCategories())) {
+            writer.accept(category("id-1", 2, "shoes", "2019-03-01T10:00:00.000Z"));
+        }
+        final CatalogSnapshot<Category> snapshot = CatalogSnapshot.open(path, SnapshotFormat.ofCategories());
+        final List<String> paths = new CopyOnWriteArrayList<>();
+        final String results = String.join(",", asList(
+                String.format(CATEGORY_JSON, "id-1", 2, "shoes", "shoes", "shoes", "shoes", "2019-03-01T10:00:00.000Z"),
+                String.format(CATEGORY_JSON, "id-2", 1, "shirts", "shirts", "shirts", "shirts", "2019-03-02T10:00:00.000Z")));
+        final SphereClient client = TestDoubleSphereClientFactory.createHttpTestDouble(intent -> {
+            paths.add(intent.getPath());
+            return HttpResponse.of(200, "{\"offset\":0,\"count\":2,\"total\":2,\"results\":[" + results + "]}");
+        });
+
+        final int updated = snapshot.catchUp(client, CategoryQuery.of()).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(paths).hasSize(1);
+        assertThat(paths.get(0)).contains("lastModifiedAt");
+        assertThat(snapshot.findByKey("shirts").map(Category::getId)).contains("id-2");
+        assertThat(snapshot.getLastModifiedAt()).isEqualTo(ZonedDateTime.parse("2019-03-02T10:00:00.000Z"));
+    }
+
+    @Test
+    public void abortedSnapshotKeepsTheExistingFile() throws Exception {
+        final Path path = temporaryFolder.getRoot().toPath().resolve("categories.snapshot");
+        try (final CatalogSnapshotWriter<Category> writer = CatalogSnapshotWriter.of(path, SnapshotFormat.ofCategories())) {
+            writer.accept(category("id-1", 1, "shoes", "2019-03-01T10:00:00.000Z"));
+        }
+        final CatalogSnapshotWriter<Category> abortedWriter = CatalogSnapshotWriter.of(path, SnapshotFormat.ofCategories());
+        abortedWriter.accept(category("id-2", 1, "shirts", "2019-03-01T10:00:00.000Z"));
+        abortedWriter.abort();
+
+        final CatalogSnapshot<Category> snapshot = CatalogSnapshot.open(path, SnapshotFormat.ofCategories());
+        assertThat(snapshot.stream().map(Category::getId).collect(toList())).containsExactly("id-1");
+        assertThat(Files.exists(path.resolveSibling("categories.snapshot.tmp"))).isFalse();
+    }
+
+    @Test
+    public void rejectsOtherFiles() throws Exception {
+        final Path path = temporaryFolder.getRoot().toPath().resolve("categories.snapshot");
+        try (final CatalogSnapshotWriter<Category> writer = CatalogSnapshotWriter.of(path, SnapshotFormat.ofCategories())) {
+            writer.accept(category("id-1", 1, "shoes", "2019-03-01T10:00:00.000Z"));
+        }
+        final Path otherFile = temporaryFolder.newFile("other.json").toPath();
+        Files.write(otherFile, "{\"id\":\"not a snapshot\"}".getBytes("UTF-8"));
+
+        assertThatThrownBy(() -> CatalogSnapshot.open(path, SnapshotFormat.ofProductTypes()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(ProductType.class.getName());
+        assertThatThrownBy(() -> CatalogSnapshot.open(otherFile, SnapshotFormat.ofCategories()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void emptySnapshot() throws Exception {
+        final Path path = temporaryFolder.getRoot().toPath().resolve("empty.snapshot");
+        CatalogSnapshotWriter.of(path, SnapshotFormat.ofCategories()).close();
+
+        final CatalogSnapshot<Category> snapshot = CatalogSnapshot.open(path, SnapshotFormat.ofCategories());
+
+        assertThat(snapshot.size()).isZero();
+        assertThat(snapshot.getLastModifiedAt()).isNull();
+        assertThat(snapshot.findById("id-1")).isEqualTo(Optional.empty());
+    }
+
+    private static Category category(final String id, final long version, final String key, final String lastModifiedAt) {
+        return SphereJsonUtils.readObject(String.format(CATEGORY_JSON, id, version, key, key, key, key, lastModifiedAt), Category.class);
+    }
+}
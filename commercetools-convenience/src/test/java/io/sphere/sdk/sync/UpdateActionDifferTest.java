@@ -0,0 +1,188 @@
+package io.sphere.sdk.sync;
+
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.sphere.sdk.categories.Category;
+import io.sphere.sdk.categories.CategoryDraft;
+import io.sphere.sdk.categories.CategoryDraftBuilder;
+import io.sphere.sdk.categories.commands.updateactions.SetKey;
+import io.sphere.sdk.channels.Channel;
+import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.customers.Customer;
+import io.sphere.sdk.customers.CustomerDraft;
+import io.sphere.sdk.customers.CustomerDraftBuilder;
+import io.sphere.sdk.inventory.InventoryEntry;
+import io.sphere.sdk.inventory.InventoryEntryDraft;
+import io.sphere.sdk.inventory.InventoryEntryDraftBuilder;
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.models.ResourceIdentifier;
+import io.sphere.sdk.products.Product;
+import io.sphere.sdk.products.ProductDraft;
+import io.sphere.sdk.products.ProductDraftBuilder;
+import io.sphere.sdk.products.ProductVariantDraftBuilder;
+import io.sphere.sdk.products.attributes.AttributeDraft;
+import io.sphere.sdk.products.commands.updateactions.AddToCategory;
+import io.sphere.sdk.products.commands.updateactions.AddVariant;
+import io.sphere.sdk.products.commands.updateactions.RemoveFromCategory;
+import io.sphere.sdk.products.commands.updateactions.RemoveVariant;
+import io.sphere.sdk.products.commands.updateactions.SetAttribute;
+import io.sphere.sdk.producttypes.ProductType;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Collections.singletonList;
+import static java.util.Locale.ENGLISH;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+public class UpdateActionDifferTest {
+    private static final String CATEGORY_JSON = "{\"id\":\"category-id\",\"version\":1,\"key\":\"shoes\"," +
+            "\"name\":{\"en\":\"Shoes\"},\"slug\":{\"en\":\"shoes\"},\"orderHint\":\"0.5\"," +
+            "\"parent\":{\"typeId\":\"category\",\"id\":\"parent-id\"}}";
+
+    private static final String PRODUCT_JSON = "{\"id\":\"product-id\",\"version\":1," +
+            "\"productType\":{\"typeId\":\"product-type\",\"id\":\"product-type-id\"}," +
+            "\"masterData\":{\"published\":false,\"hasStagedChanges\":false," +
+            "\"current\":%1$s,\"staged\":%1$s}}";
+
+    private static final String PRODUCT_DATA_JSON = "{\"name\":{\"en\":\"Shirt\"},\"slug\":{\"en\":\"shirt\"}," +
+            "\"categories\":[{\"typeId\":\"category\",\"id\":\"category-1\"},{\"typeId\":\"category\",\"id\":\"category-2\"}]," +
+            "\"searchKeywords\":{}," +
+            "\"masterVariant\":{\"id\":1,\"sku\":\"shirt-s\",\"prices\":[],\"images\":[]," +
+            "\"attributes\":[{\"name\":\"color\",\"value\":\"red\"},{\"name\":\"size\",\"value\":\"S\"}]}," +
+            "\"variants\":[{\"id\":2,\"sku\":\"shirt-m\",\"prices\":[],\"images\":[],\"attributes\":[]}]}";
+
+    @Test
+    public void unchangedCategoryHasNoUpdateActions() throws Exception {
+        final Category category = category();
+        final CategoryDraft draft = categoryDraft().build();
+
+        assertThat(UpdateActionDiffer.ofCategories().diff(draft, category)).isEmpty();
+    }
+
+    @Test
+    public void onlyChangedCategoryFieldsAreUpdated() throws Exception {
+        final Category category = category();
+        final CategoryDraft draft = categoryDraft()
+                .name(LocalizedString.of(ENGLISH, "Sneakers"))
+                .externalId("external-shoes")
+                .build();
+
+        final List<UpdateAction<Category>> updateActions = UpdateActionDiffer.ofCategories().diff(draft, category);
+
+        assertThat(updateActions).extracting(UpdateAction::getAction).containsExactly("changeName", "setExternalId");
+    }
+
+    @Test
+    public void categoryParentIsComparedById() throws Exception {
+        final Category category = category();
+        final ResourceIdentifier<Category> otherParent = ResourceIdentifier.ofId("other-parent-id");
+        final CategoryDraft draft = categoryDraft().parent(otherParent).build();
+
+        assertThat(UpdateActionDiffer.ofCategories().diff(draft, category))
+                .extracting(UpdateAction::getAction).containsExactly("changeParent");
+    }
+
+    @Test
+    public void productCategoriesAndVariantsAreDiffed() throws Exception {
+        final Product product = SphereJsonUtils.readObject(String.format(PRODUCT_JSON, PRODUCT_DATA_JSON), Product.class);
+        final ProductDraft draft = ProductDraftBuilder.of(ResourceIdentifier.<ProductType>ofId("product-type-id"),
+                LocalizedString.of(ENGLISH, "Shirt"), LocalizedString.of(ENGLISH, "shirt"),
+                ProductVariantDraftBuilder.of().sku("shirt-s").attributes(AttributeDraft.of("color", "blue")).build())
+                .plusVariants(ProductVariantDraftBuilder.of().sku("shirt-l").build())
+                .plusCategories(ResourceIdentifier.<Category>ofId("category-1"))
+                .plusCategories(ResourceIdentifier.<Category>ofId("category-3"))
+                .build();
+
+        final List<UpdateAction<Product>> updateActions = UpdateActionDiffer.ofProducts().diff(draft, product);
+
+        assertThat(updateActions).hasSize(6);
+        assertThat(updateActions).filteredOn(action -> action instanceof AddToCategory)
+                .extracting(action -> ((AddToCategory) action).getCategory().getId()).containsExactly("category-3");
+        assertThat(updateActions).filteredOn(action -> action instanceof RemoveFromCategory)
+                .extracting(action -> ((RemoveFromCategory) action).getCategory().getId()).containsExactly("category-2");
+        assertThat(updateActions).filteredOn(action -> action instanceof SetAttribute)
+                .extracting(action -> ((SetAttribute) action).getName(), action -> ((SetAttribute) action).getValue())
+                .containsExactlyInAnyOrder(
+                        tuple("color", new TextNode("blue")),
+                        tuple("size", null));
+        assertThat(updateActions).filteredOn(action -> action instanceof AddVariant)
+                .extracting(action -> ((AddVariant) action).getSku()).containsExactly("shirt-l");
+        assertThat(updateActions).filteredOn(action -> action instanceof RemoveVariant)
+                .extracting(action -> ((RemoveVariant) action).getSku()).containsExactly("shirt-m");
+    }
+
+    @Test
+    public void productCategoriesByKeyAreComparedWithUnexpandedReferences() throws Exception {
+        final Product product = SphereJsonUtils.readObject(String.format(PRODUCT_JSON, PRODUCT_DATA_JSON), Product.class);
+        final ProductDraft draft = ProductDraftBuilder.of(ResourceIdentifier.<ProductType>ofId("product-type-id"),
+                LocalizedString.of(ENGLISH, "Shirt"), LocalizedString.of(ENGLISH, "shirt"),
+                ProductVariantDraftBuilder.of().sku("shirt-s").attributes(AttributeDraft.of("color", "red"), AttributeDraft.of("size", "S")).build())
+                .plusVariants(ProductVariantDraftBuilder.of().sku("shirt-m").build())
+                .plusCategories(ResourceIdentifier.<Category>ofKey("shirts"))
+                .plusCategories(ResourceIdentifier.<Category>ofKey("sale"))
+                .build();
+        final KeyResolver keyResolver = (typeId, key) -> Category.referenceTypeId().equals(typeId)
+                ? Optional.ofNullable(key.equals("shirts") ? "category-1" : key.equals("sale") ? "category-2" : null)
+                : Optional.empty();
+
+        assertThat(UpdateActionDiffer.ofProducts(keyResolver).diff(draft, product)).isEmpty();
+        assertThatThrownBy(() -> UpdateActionDiffer.ofProducts().diff(draft, product))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("can only be compared with an expanded reference");
+    }
+
+    @Test
+    public void inventoryEntryAndCustomer() throws Exception {
+        final InventoryEntry inventoryEntry = SphereJsonUtils.readObject("{\"id\":\"inventory-id\",\"version\":1,\"sku\":\"shirt-s\"," +
+                "\"quantityOnStock\":10,\"availableQuantity\":10,\"supplyChannel\":{\"typeId\":\"channel\",\"id\":\"channel-id\"}}", InventoryEntry.class);
+        final InventoryEntryDraft inventoryEntryDraft = InventoryEntryDraftBuilder.of("shirt-s", 12L, null, 3,
+                ResourceIdentifier.<Channel>ofId("channel-id")).build();
+
+        assertThat(UpdateActionDiffer.ofInventoryEntries().diff(inventoryEntryDraft, inventoryEntry))
+                .extracting(UpdateAction::getAction).containsExactly("changeQuantity", "setRestockableInDays");
+
+        final Customer customer = SphereJsonUtils.readObject("{\"id\":\"customer-id\",\"version\":1,\"email\":\"jane@example.com\"," +
+                "\"firstName\":\"Jane\",\"customerNumber\":\"1\",\"addresses\":[],\"isEmailVerified\":false}", Customer.class);
+        final CustomerDraft customerDraft = CustomerDraftBuilder.of("jane@example.com", "secret")
+                .firstName("Jane")
+                .lastName("Doe")
+                .customerNumber("2")
+                .build();
+
+        assertThat(UpdateActionDiffer.ofCustomers().diff(customerDraft, customer))
+                .extracting(UpdateAction::getAction).containsExactly("setLastName");
+    }
+
+    @Test
+    public void plusRule() throws Exception {
+        final UpdateActionDiffer<CategoryDraft, Category> differ = UpdateActionDiffer.ofCategories()
+                .plusRule((draft, category) -> singletonList(SetKey.of("custom")));
+
+        assertThat(differ.diff(categoryDraft().build(), category())).extracting(UpdateAction::getAction).containsExactly("setKey");
+        assertThat(UpdateActionDiffer.ofCategories().diff(categoryDraft().build(), category())).isEmpty();
+    }
+
+    @Test
+    public void fingerprint() throws Exception {
+        final long fingerprint = UpdateActionDiffer.fingerprint(categoryDraft().build());
+
+        assertThat(UpdateActionDiffer.fingerprint(categoryDraft().build())).isEqualTo(fingerprint);
+        assertThat(UpdateActionDiffer.fingerprint(categoryDraft().orderHint("0.6").build())).isNotEqualTo(fingerprint);
+    }
+
+    private static Category category() {
+        return SphereJsonUtils.readObject(CATEGORY_JSON, Category.class);
+    }
+
+    private static CategoryDraftBuilder categoryDraft() {
+        final ResourceIdentifier<Category> parent = ResourceIdentifier.ofId("parent-id");
+        return CategoryDraftBuilder.of(LocalizedString.of(ENGLISH, "Shoes"), LocalizedString.of(ENGLISH, "shoes"))
+                .key("shoes")
+                .orderHint("0.5")
+                .parent(parent);
+    }
+}
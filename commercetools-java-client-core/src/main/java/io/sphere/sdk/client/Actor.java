@@ -1,30 +1,84 @@
 package io.sphere.sdk.client;
 
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import io.sphere.sdk.utils.SphereInternalLogger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
+/**
+ * Processes its messages one after another in the CPU pool of a {@link SdkRuntime}, so an actor does not need an own thread.
+ */
 abstract class Actor extends AutoCloseableService {
-    private final ScheduledThreadPoolExecutor executor = createExecutor();//kind of mailbox
+    private static final int MAX_MESSAGES_PER_RUN = 64;
+
+    private final SdkRuntime runtime;
+    private final Queue<Object> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopped = false;
+
+    protected Actor() {
+        this(SdkRuntime.shared());
+    }
 
-    private ScheduledThreadPoolExecutor createExecutor() {
-        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
-        executor.setMaximumPoolSize(1);
-        return executor;
+    protected Actor(final SdkRuntime runtime) {
+        this.runtime = runtime;
     }
 
     public final void tell(final Object message) {
-        executor.execute(() -> receive(message));
+        if (!stopped) {
+            mailbox.add(message);
+            scheduleRun();
+        }
     }
 
     protected final void schedule(final Object message, final long delay, final TimeUnit unit) {
-        executor.schedule(() -> tell(message), delay, unit);
+        runtime.getTimer().schedule(() -> tell(message), delay, unit);
+    }
+
+    private void scheduleRun() {
+        if (!mailbox.isEmpty() && running.compareAndSet(false, true)) {
+            try {
+                runtime.getCpuPool().execute(this::run);
+            } catch (final RejectedExecutionException e) {
+                running.set(false);
+                SphereInternalLogger.getLogger(getClass()).error(() -> "Can't process the messages of the actor.", e);
+            }
+        }
+    }
+
+    /**
+     * Processes a batch of messages and gives the thread back, the flag makes sure that only one run is active at a time.
+     */
+    private void run() {
+        try {
+            for (int i = 0; i < MAX_MESSAGES_PER_RUN && !stopped; i++) {
+                final Object message = mailbox.poll();
+                if (message == null) {
+                    break;
+                }
+                try {
+                    receive(message);
+                } catch (final RuntimeException e) {
+                    SphereInternalLogger.getLogger(getClass()).error(() -> "Error while processing " + message, e);
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+        if (!stopped) {
+            scheduleRun();
+        }
     }
 
     @Override
     protected void internalClose() {
         closeThisActor();
-        executor.shutdownNow();
+        stopped = true;
+        mailbox.clear();
     }
 
     protected final ReceiveBuilder receiveBuilder(final Object message) {
@@ -0,0 +1,56 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+
+/**
+ * Configuration for {@link AdaptiveConcurrencySphereClientDecorator}.
+ *
+ * @see AdaptiveConcurrencyConfigBuilder
+ */
+public final class AdaptiveConcurrencyConfig extends Base {
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final int queueCapacity;
+
+    AdaptiveConcurrencyConfig(final int initialLimit, final int minLimit, final int maxLimit, final double backoffRatio, final int queueCapacity) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Factor the limit is multiplied with if the platform signals overload.
+     * @return ratio between 0 and 1
+     */
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    /**
+     * Maximum amount of requests waiting for a permit, further requests are rejected.
+     * @return the capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public static AdaptiveConcurrencyConfig of() {
+        return AdaptiveConcurrencyConfigBuilder.of().build();
+    }
+}
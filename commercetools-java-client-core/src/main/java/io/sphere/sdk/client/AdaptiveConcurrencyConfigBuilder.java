@@ -0,0 +1,101 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Builder;
+
+/**
+ * Builds {@link AdaptiveConcurrencyConfig} instances using the Builder pattern.
+ */
+public final class AdaptiveConcurrencyConfigBuilder extends Base implements Builder<AdaptiveConcurrencyConfig> {
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 1000;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    private int initialLimit = DEFAULT_INITIAL_LIMIT;
+    private int minLimit = DEFAULT_MIN_LIMIT;
+    private int maxLimit = DEFAULT_MAX_LIMIT;
+    private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+    private int queueCapacity = ConcurrencyLimitConfigBuilder.DEFAULT_QUEUE_CAPACITY;
+
+    AdaptiveConcurrencyConfigBuilder() {
+    }
+
+    /**
+     * Sets the limit used before the first responses arrived.
+     *
+     * @param initialLimit positive limit, by default {@value DEFAULT_INITIAL_LIMIT}
+     * @return the builder instance
+     */
+    public AdaptiveConcurrencyConfigBuilder initialLimit(final int initialLimit) {
+        this.initialLimit = requirePositive(initialLimit, "initialLimit");
+        return this;
+    }
+
+    /**
+     * Sets the lower bound of the limit.
+     *
+     * @param minLimit positive limit, by default {@value DEFAULT_MIN_LIMIT}
+     * @return the builder instance
+     */
+    public AdaptiveConcurrencyConfigBuilder minLimit(final int minLimit) {
+        this.minLimit = requirePositive(minLimit, "minLimit");
+        return this;
+    }
+
+    /**
+     * Sets the upper bound of the limit.
+     *
+     * @param maxLimit positive limit, by default {@value DEFAULT_MAX_LIMIT}
+     * @return the builder instance
+     */
+    public AdaptiveConcurrencyConfigBuilder maxLimit(final int maxLimit) {
+        this.maxLimit = requirePositive(maxLimit, "maxLimit");
+        return this;
+    }
+
+    /**
+     * Sets the factor the limit is multiplied with if the platform responds with 502, 503 or 504 or the request times out.
+     *
+     * @param backoffRatio ratio greater than 0 and lower than 1, by default {@value DEFAULT_BACKOFF_RATIO}
+     * @return the builder instance
+     */
+    public AdaptiveConcurrencyConfigBuilder backoffRatio(final double backoffRatio) {
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException(String.format("backoffRatio needs to be between 0 and 1 but was %s", backoffRatio));
+        }
+        this.backoffRatio = backoffRatio;
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of requests which wait for a permit.
+     *
+     * @param queueCapacity positive capacity, by default {@value ConcurrencyLimitConfigBuilder#DEFAULT_QUEUE_CAPACITY}
+     * @return the builder instance
+     */
+    public AdaptiveConcurrencyConfigBuilder queueCapacity(final int queueCapacity) {
+        this.queueCapacity = requirePositive(queueCapacity, "queueCapacity");
+        return this;
+    }
+
+    public static AdaptiveConcurrencyConfigBuilder of() {
+        return new AdaptiveConcurrencyConfigBuilder();
+    }
+
+    @Override
+    public AdaptiveConcurrencyConfig build() {
+        if (minLimit > maxLimit) {
+            throw new IllegalArgumentException(String.format("minLimit %d is greater than maxLimit %d", minLimit, maxLimit));
+        }
+        final int boundedInitialLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        return new AdaptiveConcurrencyConfig(boundedInitialLimit, minLimit, maxLimit, backoffRatio, queueCapacity);
+    }
+
+    private static int requirePositive(final int value, final String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(String.format("%s needs to be positive but was %d", name, value));
+        }
+        return value;
+    }
+}
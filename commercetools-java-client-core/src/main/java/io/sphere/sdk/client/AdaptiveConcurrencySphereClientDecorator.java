@@ -0,0 +1,93 @@
+package io.sphere.sdk.client;
+
+import javax.annotation.Nullable;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorates a {@link SphereClient} to limit the amount of parallel requests with a limit which adapts at runtime.
+ *
+ * <p>A static limit like in {@link ConcurrencyLimitingSphereClientDecorator} is either too low and wastes throughput
+ * or too high and overloads the platform. This decorator measures the round trip time of each request and raises the limit
+ * as long as the latency does not indicate queueing, in the style of TCP Vegas.
+ * Responses with {@link BadGatewayException}, {@link ServiceUnavailableException}, {@link GatewayTimeoutException}
+ * or a {@link SphereTimeoutException} reduce the limit multiplicative.</p>
+ *
+ * <p>Requests over the limit wait in a bounded queue, requests exceeding its capacity fail with a {@link java.util.concurrent.RejectedExecutionException}.
+ * The current limit is available with {@link #getLimit()} and as part of {@link #getMetrics()}.</p>
+ *
+ * @see AdaptiveConcurrencyConfigBuilder
+ */
+public final class AdaptiveConcurrencySphereClientDecorator extends SphereClientDecorator implements SphereClient {
+    private final boolean closeUnderlyingClient;
+    private final VegasConcurrencyLimit limitAlgorithm;
+    private final ConcurrencyLimiter limiter;
+
+    AdaptiveConcurrencySphereClientDecorator(final SphereClient delegate, final AdaptiveConcurrencyConfig config,
+                                             final boolean closeUnderlyingClient, final LongSupplier nanoClock, final Random random) {
+        super(delegate);
+        this.closeUnderlyingClient = closeUnderlyingClient;
+        this.limitAlgorithm = new VegasConcurrencyLimit(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit(), config.getBackoffRatio(), random);
+        this.limiter = new ConcurrencyLimiter(ConcurrencyLimitingSphereClientDecorator.DEFAULT_BUDGET, config.getInitialLimit(),
+                config.getQueueCapacity(), QueueOverflowPolicy.REJECT, 0, null, nanoClock, this::onComplete);
+    }
+
+    private void onComplete(final long roundTripNanos, final int inFlight, @Nullable final Throwable failure) {
+        final int newLimit = limitAlgorithm.onSample(roundTripNanos, inFlight, isOverload(failure));
+        if (newLimit != limiter.getLimit()) {
+            limiter.setLimit(newLimit);
+        }
+    }
+
+    private static boolean isOverload(@Nullable final Throwable failure) {
+        final Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof ServiceUnavailableException
+                || cause instanceof BadGatewayException
+                || cause instanceof GatewayTimeoutException
+                || cause instanceof SphereTimeoutException;
+    }
+
+    @Override
+    public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+        return limiter.submit(() -> super.execute(sphereRequest));
+    }
+
+    /**
+     * The current limit of parallel requests.
+     *
+     * @return the limit
+     */
+    public int getLimit() {
+        return limiter.getLimit();
+    }
+
+    /**
+     * Creates a snapshot of the limit, queue and wait time metrics.
+     *
+     * @return metrics
+     */
+    public ConcurrencyLimitMetrics getMetrics() {
+        return limiter.metrics();
+    }
+
+    @Override
+    public void close() {
+        if (closeUnderlyingClient) {
+            super.close();
+        }
+    }
+
+    public static AdaptiveConcurrencySphereClientDecorator of(final SphereClient delegate, final AdaptiveConcurrencyConfig config, final boolean closeUnderlyingClient) {
+        return new AdaptiveConcurrencySphereClientDecorator(delegate, config, closeUnderlyingClient, System::nanoTime, new Random());
+    }
+
+    public static AdaptiveConcurrencySphereClientDecorator of(final SphereClient delegate, final AdaptiveConcurrencyConfig config) {
+        return of(delegate, config, true);
+    }
+
+    public static AdaptiveConcurrencySphereClientDecorator of(final SphereClient delegate) {
+        return of(delegate, AdaptiveConcurrencyConfig.of());
+    }
+}
@@ -29,6 +29,15 @@ final class AuthActor extends Actor {
                      final Function<Supplier<CompletionStage<Tokens>>, CompletionStage<Tokens>> supervisedTokenSupplier,
                      final Consumer<Tokens> requestUpdateTokens,
                      final Consumer<Throwable> requestUpdateFailedStatus) {
+        this(internalTokensSupplier, supervisedTokenSupplier, requestUpdateTokens, requestUpdateFailedStatus, SdkRuntime.shared());
+    }
+
+    public AuthActor(final TokensSupplier internalTokensSupplier,
+                     final Function<Supplier<CompletionStage<Tokens>>, CompletionStage<Tokens>> supervisedTokenSupplier,
+                     final Consumer<Tokens> requestUpdateTokens,
+                     final Consumer<Throwable> requestUpdateFailedStatus,
+                     final SdkRuntime runtime) {
+        super(runtime);
         this.internalTokensSupplier = internalTokensSupplier;
         this.supervisedTokenSupplier = supervisedTokenSupplier;
         this.requestUpdateTokens = requestUpdateTokens;
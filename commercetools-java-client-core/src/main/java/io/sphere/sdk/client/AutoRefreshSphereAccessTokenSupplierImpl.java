@@ -27,11 +27,14 @@ final class AutoRefreshSphereAccessTokenSupplierImpl extends AutoCloseableServic
     private volatile Optional<Tokens> currentTokensOption = Optional.empty();
     private final Actor authActor;
     private final List<RetryRule> retryRules = createRules();
-    private final AsyncRetrySupervisor supervisor = AsyncRetrySupervisor.of(retryRules);
-
-    private AutoRefreshSphereAccessTokenSupplierImpl(final SphereAuthConfig config, final HttpClient httpClient, final boolean closeHttpClient) {
-        tokensSupplier = TokensSupplierImpl.of(config, httpClient, closeHttpClient);
-        authActor = new AuthActor(tokensSupplier, this::supervisedTokenSupplier, this::requestUpdateTokens, this::requestUpdateFailedStatus);
+    private final AsyncRetrySupervisor supervisor;
+    private final SdkRuntime runtime;
+
+    private AutoRefreshSphereAccessTokenSupplierImpl(final TokensSupplier tokensSupplier, final SdkRuntime runtime) {
+        this.tokensSupplier = tokensSupplier;
+        this.runtime = runtime;
+        supervisor = AsyncRetrySupervisor.of(retryRules, runtime);
+        authActor = new AuthActor(tokensSupplier, this::supervisedTokenSupplier, this::requestUpdateTokens, this::requestUpdateFailedStatus, runtime);
         authActor.tell(new AuthActorProtocol.FetchTokenFromSphereMessage());
     }
 
@@ -59,6 +62,13 @@ final class AutoRefreshSphereAccessTokenSupplierImpl extends AutoCloseableServic
 
     @Override
     public CompletionStage<String> getNewToken() {
+        if (tokensSupplier instanceof CachingTokensSupplier) {
+            //other clients may use the same cached token, so it is replaced in the cache before the actor fetches it
+            final String rejectedAccessToken = currentTokensOption.map(Tokens::getAccessToken).orElse(null);
+            final CompletionStage<Tokens> refreshed = ((CachingTokensSupplier) tokensSupplier).refresh(rejectedAccessToken);
+            refreshed.whenComplete((tokens, throwable) -> authActor.tell(new AuthActorProtocol.FetchTokenFromSphereMessage()));
+            return refreshed.thenApplyAsync(tokens -> tokens.getAccessToken(), runtime.getContinuationExecutor());
+        }
         authActor.tell(new AuthActorProtocol.FetchTokenFromSphereMessage());
         /*
         Two times a token will be fetched, once to update the cached token
@@ -66,7 +76,7 @@ final class AutoRefreshSphereAccessTokenSupplierImpl extends AutoCloseableServic
         This way it minimizes the possibility of race conditions but is less effective.
         But this should be okay since it should be a rare case that his happens.
          */
-        return tokensSupplier.get().thenApplyAsync(tokens -> tokens.getAccessToken());
+        return tokensSupplier.get().thenApplyAsync(tokens -> tokens.getAccessToken(), runtime.getContinuationExecutor());
     }
 
     @Override
@@ -76,7 +86,20 @@ final class AutoRefreshSphereAccessTokenSupplierImpl extends AutoCloseableServic
     }
 
     public static SphereAccessTokenSupplier createAndBeginRefreshInBackground(final SphereAuthConfig config, final HttpClient httpClient, final boolean closeHttpClient) {
-        return new AutoRefreshSphereAccessTokenSupplierImpl(config, httpClient, closeHttpClient);
+        return createAndBeginRefreshInBackground(TokensSupplierImpl.of(config, httpClient, closeHttpClient));
+    }
+
+    public static SphereAccessTokenSupplier createAndBeginRefreshInBackground(final SphereAuthConfig config, final HttpClient httpClient,
+                                                                              final boolean closeHttpClient, final SdkRuntime runtime) {
+        return createAndBeginRefreshInBackground(TokensSupplierImpl.of(config, httpClient, closeHttpClient), runtime);
+    }
+
+    public static SphereAccessTokenSupplier createAndBeginRefreshInBackground(final TokensSupplier tokensSupplier) {
+        return createAndBeginRefreshInBackground(tokensSupplier, SdkRuntime.shared());
+    }
+
+    public static SphereAccessTokenSupplier createAndBeginRefreshInBackground(final TokensSupplier tokensSupplier, final SdkRuntime runtime) {
+        return new AutoRefreshSphereAccessTokenSupplierImpl(tokensSupplier, runtime);
     }
 
     private void requestUpdateTokens(final Tokens tokens) {
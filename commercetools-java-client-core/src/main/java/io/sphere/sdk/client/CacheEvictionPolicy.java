@@ -0,0 +1,18 @@
+package io.sphere.sdk.client;
+
+/**
+ * Decides which entry {@link CachingSphereClientDecorator} removes if the cache is full.
+ */
+public enum CacheEvictionPolicy {
+    /**
+     * Removes the least recently used entry.
+     */
+    LRU,
+
+    /**
+     * Keeps new entries in a small window and only moves them to the main area if they are used more often than
+     * the entry they would replace, see <a href="https://arxiv.org/abs/1512.00727">TinyLFU</a>.
+     * This protects frequently used entries from being pushed out by a burst of entries which are used only once.
+     */
+    W_TINY_LFU
+}
@@ -0,0 +1,74 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+
+/**
+ * Snapshot of the counters of {@link CachingSphereClientDecorator}.
+ * The counters are cumulative since the creation of the decorator.
+ */
+public final class CacheMetrics extends Base {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long invalidationCount;
+    private final int size;
+
+    CacheMetrics(final long hitCount, final long missCount, final long evictionCount,
+                 final long invalidationCount, final int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.invalidationCount = invalidationCount;
+        this.size = size;
+    }
+
+    /**
+     * Requests which have been answered from the cache.
+     * @return amount of hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Cacheable requests which have been sent to the platform because there was no valid entry.
+     * @return amount of misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Entries which have been removed because the cache was full.
+     * @return amount of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Entries which have been removed because the resource has changed or has been invalidated explicitly.
+     * @return amount of invalidated entries
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    /**
+     * The current amount of entries, including expired ones which have not been accessed yet.
+     * @return amount of entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the ratio of cacheable requests answered from the cache.
+     *
+     * @return ratio between 0 and 1, 0 if there were no requests
+     */
+    public double getHitRatio() {
+        final long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+}
@@ -0,0 +1,79 @@
+package io.sphere.sdk.client;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.sphere.sdk.models.Base;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+/**
+ * Tokens stored in a {@link TokenCache}. In contrast to {@link Tokens} the expiration is an absolute point in time,
+ * so the tokens can be used by other clients and after a restart.
+ */
+public final class CachedTokens extends Base {
+    /**
+     * Tokens which expire within this duration are not used anymore, so that a request does not fail because the
+     * token expires while it is in flight.
+     */
+    public static final Duration MIN_REMAINING_VALIDITY = Duration.ofMinutes(1);
+
+    private final String accessToken;
+    @Nullable
+    private final String refreshToken;
+    @Nullable
+    private final ZonedDateTime expiresAt;
+
+    @JsonCreator
+    CachedTokens(@JsonProperty("accessToken") final String accessToken,
+                 @JsonProperty("refreshToken") @Nullable final String refreshToken,
+                 @JsonProperty("expiresAt") @Nullable final ZonedDateTime expiresAt) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    @Nullable
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    /**
+     * The time the access token expires.
+     * @return the time or null if the authorization server did not provide it
+     */
+    @Nullable
+    public ZonedDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Checks if the tokens are valid for at least {@link #MIN_REMAINING_VALIDITY}.
+     * Tokens without expiration time are always usable until they are rejected.
+     *
+     * @return true if the tokens can be used
+     */
+    @JsonIgnore
+    public boolean isUsable() {
+        return expiresAt == null || expiresAt.isAfter(ZonedDateTime.now().plus(MIN_REMAINING_VALIDITY));
+    }
+
+    Tokens toTokens() {
+        final Long expiresIn = expiresAt != null ? Math.max(0, Duration.between(ZonedDateTime.now(), expiresAt).getSeconds()) : null;
+        return Tokens.of(accessToken, refreshToken, expiresIn);
+    }
+
+    public static CachedTokens of(final Tokens tokens) {
+        return new CachedTokens(tokens.getAccessToken(), tokens.getRefreshToken(), tokens.getExpiresZonedDateTime());
+    }
+
+    public static CachedTokens of(final String accessToken, @Nullable final ZonedDateTime expiresAt) {
+        return new CachedTokens(accessToken, null, expiresAt);
+    }
+}
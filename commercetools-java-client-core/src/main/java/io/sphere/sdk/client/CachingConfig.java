@@ -0,0 +1,80 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuration for {@link CachingSphereClientDecorator}.
+ *
+ * @see CachingConfigBuilder
+ */
+public final class CachingConfig extends Base {
+    private final int maxEntries;
+    private final CacheEvictionPolicy evictionPolicy;
+    private final Duration defaultTimeToLive;
+    private final Map<String, Duration> timeToLives;
+    private final Set<String> endpoints;
+
+    CachingConfig(final int maxEntries, final CacheEvictionPolicy evictionPolicy, final Duration defaultTimeToLive,
+                  final Map<String, Duration> timeToLives, final Set<String> endpoints) {
+        this.maxEntries = maxEntries;
+        this.evictionPolicy = evictionPolicy;
+        this.defaultTimeToLive = defaultTimeToLive;
+        this.timeToLives = timeToLives;
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * The maximum amount of cached resources, if it is reached entries are evicted according to {@link #getEvictionPolicy()}.
+     * @return positive amount
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public CacheEvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    /**
+     * The time a resource is cached if there is no time to live for its endpoint in {@link #getTimeToLives()}.
+     * @return positive duration
+     */
+    public Duration getDefaultTimeToLive() {
+        return defaultTimeToLive;
+    }
+
+    /**
+     * The times to live per endpoint, for example {@code product-types}.
+     * @return unmodifiable map
+     */
+    public Map<String, Duration> getTimeToLives() {
+        return timeToLives;
+    }
+
+    /**
+     * The endpoints whose resources are cached.
+     * @return unmodifiable set of endpoint names
+     * @see SphereRequestUtils#endpointOf(SphereRequest)
+     */
+    public Set<String> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Gets the time to live for the resources of an endpoint.
+     *
+     * @param endpoint the endpoint name
+     * @return positive duration
+     */
+    public Duration getTimeToLive(final String endpoint) {
+        return timeToLives.getOrDefault(endpoint, defaultTimeToLive);
+    }
+
+    public static CachingConfig of() {
+        return CachingConfigBuilder.of().build();
+    }
+}
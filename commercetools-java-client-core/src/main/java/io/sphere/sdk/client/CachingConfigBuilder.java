@@ -0,0 +1,130 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Builder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Builds {@link CachingConfig} instances using the Builder pattern.
+ *
+ * {@include.example io.sphere.sdk.client.CachingSphereClientDecoratorTest#timeToLivePerEndpoint()}
+ */
+public final class CachingConfigBuilder extends Base implements Builder<CachingConfig> {
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+    /**
+     * The endpoints of the reference data which rarely changes and is cached by default.
+     */
+    public static final List<String> DEFAULT_ENDPOINTS = Collections.unmodifiableList(Arrays.asList(
+            "product-types", "tax-categories", "channels", "zones", "shipping-methods", "customer-groups", "types"));
+
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+    private CacheEvictionPolicy evictionPolicy = CacheEvictionPolicy.W_TINY_LFU;
+    private Duration defaultTimeToLive = Duration.ofMinutes(5);
+    private final Map<String, Duration> timeToLives = new HashMap<>();
+    private final Set<String> endpoints = new LinkedHashSet<>(DEFAULT_ENDPOINTS);
+
+    CachingConfigBuilder() {
+    }
+
+    /**
+     * Sets the maximum amount of cached resources.
+     *
+     * @param maxEntries positive amount, by default it is {@value DEFAULT_MAX_ENTRIES}
+     * @return the builder instance
+     */
+    public CachingConfigBuilder maxEntries(final int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException(String.format("maxEntries needs to be positive but was %d", maxEntries));
+        }
+        this.maxEntries = maxEntries;
+        return this;
+    }
+
+    /**
+     * Sets which entry is removed if the cache is full, by default {@link CacheEvictionPolicy#W_TINY_LFU}.
+     *
+     * @param evictionPolicy the policy
+     * @return the builder instance
+     */
+    public CachingConfigBuilder evictionPolicy(final CacheEvictionPolicy evictionPolicy) {
+        this.evictionPolicy = Objects.requireNonNull(evictionPolicy, "evictionPolicy");
+        return this;
+    }
+
+    /**
+     * Sets how long resources are cached if there is no time to live for their endpoint, by default 5 minutes.
+     *
+     * @param timeToLive positive duration
+     * @return the builder instance
+     */
+    public CachingConfigBuilder defaultTimeToLive(final Duration timeToLive) {
+        this.defaultTimeToLive = requirePositive(timeToLive, "timeToLive");
+        return this;
+    }
+
+    /**
+     * Sets how long the resources of an endpoint are cached and adds the endpoint to the cached endpoints.
+     *
+     * @param endpoint the endpoint name, for example {@code product-types}
+     * @param timeToLive positive duration
+     * @return the builder instance
+     * @see SphereRequestUtils#endpointOf(SphereRequest)
+     */
+    public CachingConfigBuilder timeToLive(final String endpoint, final Duration timeToLive) {
+        Objects.requireNonNull(endpoint, "endpoint");
+        timeToLives.put(endpoint, requirePositive(timeToLive, "timeToLive"));
+        endpoints.add(endpoint);
+        return this;
+    }
+
+    /**
+     * Caches additionally the resources of an endpoint, for example {@code categories}.
+     *
+     * @param endpoint the endpoint name
+     * @return the builder instance
+     */
+    public CachingConfigBuilder include(final String endpoint) {
+        endpoints.add(Objects.requireNonNull(endpoint, "endpoint"));
+        return this;
+    }
+
+    /**
+     * Stops caching the resources of an endpoint.
+     *
+     * @param endpoint the endpoint name
+     * @return the builder instance
+     */
+    public CachingConfigBuilder exclude(final String endpoint) {
+        endpoints.remove(Objects.requireNonNull(endpoint, "endpoint"));
+        timeToLives.remove(endpoint);
+        return this;
+    }
+
+    public static CachingConfigBuilder of() {
+        return new CachingConfigBuilder();
+    }
+
+    @Override
+    public CachingConfig build() {
+        return new CachingConfig(maxEntries, evictionPolicy, defaultTimeToLive,
+                Collections.unmodifiableMap(new HashMap<>(timeToLives)),
+                Collections.unmodifiableSet(new LinkedHashSet<>(endpoints)));
+    }
+
+    private static Duration requirePositive(final Duration value, final String name) {
+        Objects.requireNonNull(value, name);
+        if (value.isNegative() || value.isZero()) {
+            throw new IllegalArgumentException(String.format("%s needs to be positive but was %s", name, value));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,229 @@
+package io.sphere.sdk.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.models.Versioned;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static io.sphere.sdk.client.SphereRequestUtils.urlEncode;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Decorates a {@link SphereClient} to cache reference data which rarely changes, like product types, tax categories or channels.
+ *
+ * <p>Only GET requests for a single resource of the endpoints in {@link CachingConfig#getEndpoints()} are cached,
+ * for example {@code ProductTypeByIdGet} or {@code ProductTypeByKeyGet}. Requests are identical if they have the same
+ * type and path including the query parameters, so a request with reference expansion has its own entry.
+ * All callers receive the same object, so the results must not be mutated.</p>
+ *
+ * <p>An entry is valid for the time to live of its endpoint. Changes made through this client invalidate the changed
+ * resource immediately. Changes made by other clients can be applied with {@link #invalidate(String, long)} from the
+ * message stream, or detected with {@link #revalidate()} which compares the versions of all cached resources in a few
+ * batched queries and extends the lifetime of the unchanged ones.</p>
+ *
+ * <p>If the cache is full, entries are evicted according to {@link CachingConfig#getEvictionPolicy()}.
+ * {@link #getMetrics()} provides the hit, miss and eviction counters to size the cache.</p>
+ *
+ * {@include.example io.sphere.sdk.client.CachingSphereClientDecoratorTest#repeatedReadsAreAnsweredFromTheCache()}
+ *
+ * @see CachingConfigBuilder
+ */
+public final class CachingSphereClientDecorator extends SphereClientDecorator implements SphereClient {
+    static final int REVALIDATION_BATCH_SIZE = 100;
+
+    private final CachingConfig config;
+    private final LongSupplier nanoClock;
+    private final ResourceCache cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    CachingSphereClientDecorator(final SphereClient delegate, final CachingConfig config, final LongSupplier nanoClock) {
+        super(delegate);
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.cache = new ResourceCache(config.getMaxEntries(), config.getEvictionPolicy());
+    }
+
+    @Override
+    public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+        final HttpRequestIntent intent = sphereRequest.httpRequestIntent();
+        final String endpoint = SphereRequestUtils.endpointOf(intent);
+        if (!config.getEndpoints().contains(endpoint)) {
+            return super.execute(sphereRequest);
+        }
+        final String pathSegment = resourcePathSegment(intent.getPath());
+        if (intent.getHttpMethod() != HttpMethod.GET) {
+            return executeCommand(sphereRequest, pathSegment);
+        } else if (pathSegment == null) {
+            return super.execute(sphereRequest);
+        }
+        final String key = sphereRequest.getClass().getName() + " " + intent.getPath();
+        final ResourceCache.Entry entry = cache.get(key, nanoClock.getAsLong());
+        if (entry != null) {
+            hits.increment();
+            @SuppressWarnings("unchecked")
+            final T value = (T) entry.getValue();
+            return CompletableFuture.completedFuture(value);
+        }
+        misses.increment();
+        final long generation = cache.generation();
+        final CompletionStage<T> result = super.execute(sphereRequest);
+        result.thenAccept(value -> {
+            if (value != null) {
+                final String id = value instanceof Versioned ? ((Versioned<?>) value).getId() : idOf(pathSegment);
+                final Long version = value instanceof Versioned ? ((Versioned<?>) value).getVersion() : null;
+                final long expiresAt = nanoClock.getAsLong() + config.getTimeToLive(endpoint).toNanos();
+                evictions.add(cache.put(new ResourceCache.Entry(key, endpoint, value, id, version, expiresAt), generation));
+            }
+        });
+        return result;
+    }
+
+    private <T> CompletionStage<T> executeCommand(final SphereRequest<T> sphereRequest, @Nullable final String pathSegment) {
+        final String id = pathSegment != null ? idOf(pathSegment) : null;
+        if (id != null) {
+            invalidate(id);
+        }
+        final CompletionStage<T> result = super.execute(sphereRequest);
+        result.whenComplete((value, throwable) -> {
+            if (id != null) {
+                invalidate(id);
+            }
+            if (value instanceof Versioned) {
+                invalidate(((Versioned<?>) value).getId());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Removes all entries of a resource, for example after it has been deleted.
+     *
+     * @param id the id of the resource
+     */
+    public void invalidate(final String id) {
+        invalidations.add(cache.invalidate(id, null));
+    }
+
+    /**
+     * Removes the entries of a resource which are older than the given version, for example for a message
+     * with {@code message.getResource().getId()} and {@code message.getResourceVersion()}.
+     *
+     * @param id the id of the resource
+     * @param version the current version of the resource
+     */
+    public void invalidate(final String id, final long version) {
+        invalidations.add(cache.invalidate(id, version));
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void invalidateAll() {
+        invalidations.add(cache.invalidateAll());
+    }
+
+    /**
+     * Compares the versions of all cached resources with the platform. Entries of changed or deleted resources are
+     * removed and the time to live of the unchanged ones starts again. The versions are fetched with one query per
+     * endpoint and {@value REVALIDATION_BATCH_SIZE} resources, so it is cheap to call this periodically
+     * with an interval shorter than the time to live.
+     *
+     * @return stage of the amount of removed entries
+     */
+    public CompletionStage<Integer> revalidate() {
+        final Map<String, List<ResourceCache.Entry>> entriesByEndpoint = cache.entries().stream()
+                .filter(entry -> entry.getId() != null && entry.getVersion() != null)
+                .collect(groupingBy(ResourceCache.Entry::getEndpoint));
+        final List<CompletableFuture<Integer>> batches = new ArrayList<>();
+        entriesByEndpoint.forEach((endpoint, entries) -> {
+            final List<String> ids = entries.stream().map(ResourceCache.Entry::getId).distinct().collect(toList());
+            for (int from = 0; from < ids.size(); from += REVALIDATION_BATCH_SIZE) {
+                final List<String> batch = ids.subList(from, Math.min(ids.size(), from + REVALIDATION_BATCH_SIZE));
+                batches.add(revalidate(endpoint, batch, entries).toCompletableFuture());
+            }
+        });
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[batches.size()]))
+                .thenApply(nothing -> batches.stream().mapToInt(CompletableFuture::join).sum());
+    }
+
+    private CompletionStage<Integer> revalidate(final String endpoint, final List<String> ids, final List<ResourceCache.Entry> entries) {
+        final String predicate = ids.stream().map(id -> "\"" + id + "\"").collect(joining(", ", "id in (", ")"));
+        final String path = "/" + endpoint + "?where=" + urlEncode(predicate) + "&limit=" + ids.size();
+        return super.execute(JsonNodeSphereRequest.of(HttpMethod.GET, path)).thenApply(jsonNode -> {
+            final Map<String, Long> currentVersions = new HashMap<>();
+            if (jsonNode != null) {
+                for (final JsonNode result : jsonNode.path("results")) {
+                    currentVersions.put(result.path("id").asText(), result.path("version").asLong());
+                }
+            }
+            final long expiresAt = nanoClock.getAsLong() + config.getTimeToLive(endpoint).toNanos();
+            final Set<String> batchIds = new HashSet<>(ids);
+            int removed = 0;
+            for (final ResourceCache.Entry entry : entries) {
+                if (!batchIds.contains(entry.getId())) {
+                    continue;
+                }
+                final Long currentVersion = currentVersions.get(entry.getId());
+                if (currentVersion == null) {
+                    removed += cache.invalidate(entry.getId(), null);
+                } else if (currentVersion.equals(entry.getVersion())) {
+                    cache.renew(entry.getKey(), currentVersion, expiresAt);
+                } else {
+                    removed += cache.invalidate(entry.getId(), currentVersion);
+                }
+            }
+            invalidations.add(removed);
+            return removed;
+        });
+    }
+
+    public CacheMetrics getMetrics() {
+        return new CacheMetrics(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), cache.size());
+    }
+
+    /**
+     * Finds the segment after the endpoint in paths like {@code /product-types/<id>} or {@code /product-types/key=<key>}.
+     *
+     * @return the segment or null if the path does not address a single resource
+     */
+    @Nullable
+    private static String resourcePathSegment(final String fullPath) {
+        final int queryStart = fullPath.indexOf('?');
+        final String path = queryStart < 0 ? fullPath : fullPath.substring(0, queryStart);
+        final int start = path.startsWith("/") ? 1 : 0;
+        final int firstEnd = path.indexOf('/', start);
+        if (firstEnd < 0 || firstEnd == path.length() - 1 || path.indexOf('/', firstEnd + 1) >= 0) {
+            return null;
+        }
+        return path.substring(firstEnd + 1);
+    }
+
+    @Nullable
+    private static String idOf(final String pathSegment) {
+        return pathSegment.startsWith("key=") ? null : pathSegment;
+    }
+
+    public static CachingSphereClientDecorator of(final SphereClient delegate, final CachingConfig config) {
+        return new CachingSphereClientDecorator(delegate, config, System::nanoTime);
+    }
+
+    public static CachingSphereClientDecorator of(final SphereClient delegate) {
+        return of(delegate, CachingConfig.of());
+    }
+}
@@ -0,0 +1,143 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.http.HttpClient;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.sphere.sdk.client.SphereAuth.AUTH_LOGGER;
+
+/**
+ * {@link TokensSupplier} which uses the tokens of a {@link TokenCache} as long as they are usable and fetches new tokens
+ * from the authorization server only if there are none.
+ * This lets many clients with the same credentials start without waiting for the authorization server:
+ *
+ * <pre>{@code
+ * final CachingTokensSupplier tokensSupplier = CachingTokensSupplier.of(authConfig, httpClient, true, TokenCache.ofDirectory(directory));
+ * final SphereAccessTokenSupplier accessTokenSupplier = SphereAccessTokenSupplier.ofAutoRefresh(tokensSupplier);
+ * }</pre>
+ *
+ * <p>{@link #getTimeToFirstToken()} tells how long the client had to wait until it was able to send its first request.</p>
+ */
+public final class CachingTokensSupplier extends AutoCloseableService implements TokensSupplier {
+    private final TokensSupplier delegate;
+    private final TokenCache cache;
+    private final String key;
+    private final long createdAtNanos = System.nanoTime();
+    private final AtomicLong firstTokenNanos = new AtomicLong(-1);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    private CachingTokensSupplier(final TokensSupplier delegate, final TokenCache cache, final String key) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.key = key;
+    }
+
+    /**
+     * Provides the cached tokens if they are usable, otherwise refreshes them.
+     *
+     * @return stage of usable tokens
+     */
+    @Override
+    public CompletionStage<Tokens> get() {
+        rejectExcutionIfClosed("Token supplier is already closed.");
+        final Optional<CachedTokens> cached = cache.get(key);
+        if (cached.isPresent() && cached.get().isUsable()) {
+            hits.increment();
+            recordFirstToken(true);
+            return CompletableFuture.completedFuture(cached.get().toTokens());
+        }
+        return refresh(cached.map(CachedTokens::getAccessToken).orElse(null));
+    }
+
+    /**
+     * Replaces tokens which have been rejected by the API, unless another client has already replaced them.
+     *
+     * @param rejectedAccessToken the access token which is not accepted anymore, null if none is known
+     * @return stage of the new tokens
+     */
+    public CompletionStage<Tokens> refresh(@Nullable final String rejectedAccessToken) {
+        rejectExcutionIfClosed("Token supplier is already closed.");
+        refreshes.increment();
+        return cache.refresh(key, rejectedAccessToken, () -> delegate.get().thenApply(CachedTokens::of))
+                .thenApply(tokens -> {
+                    recordFirstToken(false);
+                    return tokens.toTokens();
+                });
+    }
+
+    private void recordFirstToken(final boolean fromCache) {
+        final long elapsed = System.nanoTime() - createdAtNanos;
+        if (firstTokenNanos.compareAndSet(-1, elapsed)) {
+            AUTH_LOGGER.debug(() -> String.format("First token available after %d ms%s.", Duration.ofNanos(elapsed).toMillis(),
+                    fromCache ? " from the token cache" : ""));
+        }
+    }
+
+    /**
+     * Gets the time from the creation of this supplier until the first tokens were available.
+     *
+     * @return the duration or empty if there were no tokens yet
+     */
+    public Optional<Duration> getTimeToFirstToken() {
+        final long nanos = firstTokenNanos.get();
+        return nanos < 0 ? Optional.empty() : Optional.of(Duration.ofNanos(nanos));
+    }
+
+    /**
+     * Gets the amount of requests for tokens which have been answered by usable cached tokens.
+     *
+     * @return amount of cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the amount of refreshes, including those which received tokens refreshed by another client.
+     *
+     * @return amount of refreshes
+     */
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    @Override
+    protected void internalClose() {
+        closeQuietly(delegate);
+    }
+
+    /**
+     * Creates a supplier which caches the tokens of another supplier.
+     *
+     * @param delegate the supplier to fetch new tokens, closed with this supplier
+     * @param cache the cache for the tokens
+     * @param key the cache key, the same key must only be used for tokens with the same permissions
+     * @return tokens supplier
+     */
+    public static CachingTokensSupplier of(final TokensSupplier delegate, final TokenCache cache, final String key) {
+        return new CachingTokensSupplier(Objects.requireNonNull(delegate, "delegate"), Objects.requireNonNull(cache, "cache"),
+                Objects.requireNonNull(key, "key"));
+    }
+
+    /**
+     * Creates a supplier for client credentials flow tokens with the cache key {@link TokenCache#keyOf(SphereAuthConfig)}.
+     *
+     * @param config the configuration to fetch tokens
+     * @param httpClient the http client to fetch tokens
+     * @param closeHttpClient set to true, if the httpClient should be closed with the created supplier
+     * @param cache the cache for the tokens
+     * @return tokens supplier
+     */
+    public static CachingTokensSupplier of(final SphereAuthConfig config, final HttpClient httpClient,
+                                           final boolean closeHttpClient, final TokenCache cache) {
+        return of(TokensSupplier.of(config, httpClient, closeHttpClient), cache, TokenCache.keyOf(config));
+    }
+}
@@ -0,0 +1,30 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+
+import java.util.function.Predicate;
+
+/**
+ * Configuration for {@link CoalescingSphereClientDecorator}.
+ *
+ * @see CoalescingConfigBuilder
+ */
+public final class CoalescingConfig extends Base {
+    private final Predicate<SphereRequest<?>> coalescable;
+
+    CoalescingConfig(final Predicate<SphereRequest<?>> coalescable) {
+        this.coalescable = coalescable;
+    }
+
+    /**
+     * Decides if a request may share the response of an identical request which is already in flight.
+     * @return predicate
+     */
+    public Predicate<SphereRequest<?>> getCoalescable() {
+        return coalescable;
+    }
+
+    public static CoalescingConfig of() {
+        return CoalescingConfigBuilder.of().build();
+    }
+}
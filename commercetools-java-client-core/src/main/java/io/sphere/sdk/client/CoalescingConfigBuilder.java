@@ -0,0 +1,63 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Builder;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Builds {@link CoalescingConfig} instances using the Builder pattern.
+ */
+public final class CoalescingConfigBuilder extends Base implements Builder<CoalescingConfig> {
+    private Predicate<SphereRequest<?>> coalescable = request -> request.httpRequestIntent().getHttpMethod() == HttpMethod.GET;
+
+    CoalescingConfigBuilder() {
+    }
+
+    /**
+     * Sets which requests may share the response of an identical request in flight, by default all GET requests.
+     * Commands which change data like creating or updating a resource must not be coalesced.
+     *
+     * @param coalescable the predicate
+     * @return the builder instance
+     */
+    public CoalescingConfigBuilder coalescable(final Predicate<SphereRequest<?>> coalescable) {
+        this.coalescable = Objects.requireNonNull(coalescable, "coalescable");
+        return this;
+    }
+
+    /**
+     * Coalesces additionally the requests of the given type, for example {@code ProductProjectionSearch}.
+     *
+     * @param requestType the class of the requests
+     * @return the builder instance
+     */
+    public CoalescingConfigBuilder include(final Class<?> requestType) {
+        Objects.requireNonNull(requestType, "requestType");
+        this.coalescable = coalescable.or(requestType::isInstance);
+        return this;
+    }
+
+    /**
+     * Excludes the requests of the given type from coalescing, for example if the caller needs the latest data.
+     *
+     * @param requestType the class of the requests
+     * @return the builder instance
+     */
+    public CoalescingConfigBuilder exclude(final Class<?> requestType) {
+        Objects.requireNonNull(requestType, "requestType");
+        this.coalescable = coalescable.and(request -> !requestType.isInstance(request));
+        return this;
+    }
+
+    public static CoalescingConfigBuilder of() {
+        return new CoalescingConfigBuilder();
+    }
+
+    @Override
+    public CoalescingConfig build() {
+        return new CoalescingConfig(coalescable);
+    }
+}
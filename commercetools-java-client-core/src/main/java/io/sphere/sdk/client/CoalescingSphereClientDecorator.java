@@ -0,0 +1,223 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.http.HttpHeaders;
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.http.HttpRequestBody;
+import io.sphere.sdk.models.Base;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorates a {@link SphereClient} to send identical read requests which are in flight at the same time only once.
+ * This saves round trips if many callers ask for the same data at once, for example for the categories on a busy product page.
+ *
+ * <p>Requests are identical if they have the same type, HTTP method, path including the query parameters, headers and body.
+ * All callers receive the same response object, so the results must not be mutated.
+ * A request which is sent after the shared request has completed is sent again, so there is no caching.</p>
+ *
+ * <p>Only requests matching {@link CoalescingConfig#getCoalescable()} are coalesced, by default GET requests.
+ * Each caller gets its own future, so a caller which cancels its future or times out does not affect the others.
+ * The shared request is cancelled when all of its callers have given up.
+ * The shared request is sent without the {@link Deadline} of a single caller.</p>
+ *
+ * @see CoalescingConfigBuilder
+ */
+public final class CoalescingSphereClientDecorator extends SphereClientDecorator implements SphereClient {
+    private final CoalescingConfig config;
+    private final ConcurrentMap<RequestKey, InFlightRequest<?>> inFlightRequests = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder coalescedRequests = new LongAdder();
+
+    private CoalescingSphereClientDecorator(final SphereClient delegate, final CoalescingConfig config) {
+        super(delegate);
+        this.config = config;
+    }
+
+    @Override
+    public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+        if (!config.getCoalescable().test(sphereRequest)) {
+            return super.execute(sphereRequest);
+        }
+        requests.increment();
+        final RequestKey key = RequestKey.of(sphereRequest);
+        while (true) {
+            final InFlightRequest<?> existing = inFlightRequests.get(key);
+            if (existing == null) {
+                final InFlightRequest<T> inFlightRequest = new InFlightRequest<>();
+                //joined before publishing, so the request cannot be cancelled by other callers before it is sent
+                final CompletableFuture<T> result = inFlightRequest.join();
+                if (inFlightRequests.putIfAbsent(key, inFlightRequest) == null) {
+                    inFlightRequest.send(key, sphereRequest);
+                    return result;
+                }
+            } else {
+                @SuppressWarnings("unchecked")
+                final CompletableFuture<T> result = ((InFlightRequest<T>) existing).join();
+                if (result != null) {
+                    coalescedRequests.increment();
+                    return result;
+                }
+                //all callers of the request in flight gave up, it is about to be removed
+                inFlightRequests.remove(key, existing);
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of requests which have been checked for coalescing.
+     *
+     * @return amount of coalescable requests
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Gets the amount of requests which have been answered by a request which was already in flight.
+     *
+     * @return amount of requests which have not been sent
+     */
+    public long getCoalescedRequestCount() {
+        return coalescedRequests.sum();
+    }
+
+    /**
+     * Gets the ratio of requests which have been answered by a request already in flight, for example 0.9 if
+     * only every tenth request has been sent.
+     *
+     * @return ratio between 0 and 1, 0 if there were no requests
+     */
+    public double getCollapseRatio() {
+        final long requestCount = getRequestCount();
+        return requestCount == 0 ? 0 : (double) getCoalescedRequestCount() / requestCount;
+    }
+
+    private final class InFlightRequest<T> {
+        private final CompletableFuture<T> sharedResult = new CompletableFuture<>();
+        private final AtomicInteger waitingCallers = new AtomicInteger();
+
+        /**
+         * Registers a caller.
+         *
+         * @return the future of the caller or null if all previous callers gave up and the request is cancelled
+         */
+        @Nullable
+        private CompletableFuture<T> join() {
+            int current;
+            do {
+                current = waitingCallers.get();
+                if (current < 0) {
+                    return null;
+                }
+            } while (!waitingCallers.compareAndSet(current, current + 1));
+            final CompletableFuture<T> result = new CompletableFuture<>();
+            sharedResult.whenComplete((value, throwable) -> {
+                if (throwable == null) {
+                    result.complete(value);
+                } else {
+                    result.completeExceptionally(throwable);
+                }
+            });
+            result.whenComplete((value, throwable) -> {
+                if (!sharedResult.isDone()) {
+                    leave();
+                }
+            });
+            return result;
+        }
+
+        private void leave() {
+            if (waitingCallers.decrementAndGet() == 0 && waitingCallers.compareAndSet(0, -1)) {
+                sharedResult.cancel(true);
+            }
+        }
+
+        private void send(final RequestKey key, final SphereRequest<T> sphereRequest) {
+            final CompletionStage<T> attempt;
+            try {
+                attempt = Deadline.callWithoutDeadline(() -> CoalescingSphereClientDecorator.super.execute(sphereRequest));
+            } catch (final Throwable throwable) {
+                inFlightRequests.remove(key, this);
+                sharedResult.completeExceptionally(throwable);
+                return;
+            }
+            sharedResult.whenComplete((value, throwable) -> {
+                if (sharedResult.isCancelled()) {
+                    inFlightRequests.remove(key, this);
+                    attempt.toCompletableFuture().cancel(true);
+                }
+            });
+            attempt.whenComplete((value, throwable) -> {
+                //removed before the callers are notified so a caller reacting to the result sends a fresh request
+                inFlightRequests.remove(key, this);
+                if (throwable == null) {
+                    sharedResult.complete(value);
+                } else {
+                    sharedResult.completeExceptionally(throwable);
+                }
+            });
+        }
+    }
+
+    private static final class RequestKey extends Base {
+        private final Class<?> requestType;
+        private final HttpMethod httpMethod;
+        private final String path;
+        private final HttpHeaders headers;
+        @Nullable
+        private final HttpRequestBody body;
+        private final int hash;
+
+        private RequestKey(final Class<?> requestType, final HttpRequestIntent intent) {
+            this.requestType = requestType;
+            this.httpMethod = intent.getHttpMethod();
+            this.path = intent.getPath();
+            this.headers = intent.getHeaders();
+            this.body = intent.getBody();
+            int result = requestType.hashCode();
+            result = 31 * result + httpMethod.hashCode();
+            result = 31 * result + path.hashCode();
+            this.hash = result;
+        }
+
+        private static RequestKey of(final SphereRequest<?> sphereRequest) {
+            return new RequestKey(sphereRequest.getClass(), sphereRequest.httpRequestIntent());
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RequestKey)) {
+                return false;
+            }
+            final RequestKey that = (RequestKey) o;
+            return hash == that.hash
+                    && requestType.equals(that.requestType)
+                    && httpMethod == that.httpMethod
+                    && path.equals(that.path)
+                    && headers.equals(that.headers)
+                    && (body == null ? that.body == null : body.equals(that.body));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    public static CoalescingSphereClientDecorator of(final SphereClient delegate, final CoalescingConfig config) {
+        return new CoalescingSphereClientDecorator(delegate, config);
+    }
+
+    public static CoalescingSphereClientDecorator of(final SphereClient delegate) {
+        return of(delegate, CoalescingConfig.of());
+    }
+}
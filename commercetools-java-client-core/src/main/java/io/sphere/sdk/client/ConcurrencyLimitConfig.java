@@ -0,0 +1,80 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Configuration for {@link ConcurrencyLimitingSphereClientDecorator}.
+ *
+ * @see ConcurrencyLimitConfigBuilder
+ */
+public final class ConcurrencyLimitConfig extends Base {
+    private final int maxParallelRequests;
+    private final int queueCapacity;
+    private final QueueOverflowPolicy overflowPolicy;
+    private final Duration maxQueueWaitTime;
+    private final Map<String, Integer> endpointLimits;
+    private final Function<SphereRequest<?>, String> endpointClassifier;
+
+    ConcurrencyLimitConfig(final int maxParallelRequests, final int queueCapacity, final QueueOverflowPolicy overflowPolicy,
+                           final Duration maxQueueWaitTime, final Map<String, Integer> endpointLimits,
+                           final Function<SphereRequest<?>, String> endpointClassifier) {
+        this.maxParallelRequests = maxParallelRequests;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.maxQueueWaitTime = maxQueueWaitTime;
+        this.endpointLimits = endpointLimits;
+        this.endpointClassifier = endpointClassifier;
+    }
+
+    /**
+     * Maximum amount of parallel requests for all endpoints which have no separate limit.
+     * @return the limit
+     */
+    public int getMaxParallelRequests() {
+        return maxParallelRequests;
+    }
+
+    /**
+     * Maximum amount of requests waiting for a permit, applies to each endpoint budget separately.
+     * @return the capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public QueueOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Maximum time a request waits in the queue, only used with {@link QueueOverflowPolicy#TIMEOUT}.
+     * @return the duration
+     */
+    public Duration getMaxQueueWaitTime() {
+        return maxQueueWaitTime;
+    }
+
+    /**
+     * Endpoints with an own budget, mapped to their maximum amount of parallel requests.
+     * @return unmodifiable map
+     */
+    public Map<String, Integer> getEndpointLimits() {
+        return endpointLimits;
+    }
+
+    /**
+     * Maps a request to the endpoint name used to look up {@link #getEndpointLimits()}.
+     * @return the classifier
+     */
+    public Function<SphereRequest<?>, String> getEndpointClassifier() {
+        return endpointClassifier;
+    }
+
+    public static ConcurrencyLimitConfig of(final int maxParallelRequests) {
+        return ConcurrencyLimitConfigBuilder.of(maxParallelRequests).build();
+    }
+}
@@ -0,0 +1,110 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Builder;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Builds {@link ConcurrencyLimitConfig} instances using the Builder pattern.
+ *
+ * {@include.example io.sphere.sdk.client.ConcurrencyLimitingSphereClientDecoratorTest#endpointsHaveSeparateBudgets()}
+ */
+public final class ConcurrencyLimitConfigBuilder extends Base implements Builder<ConcurrencyLimitConfig> {
+    public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
+    private final int maxParallelRequests;
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    private QueueOverflowPolicy overflowPolicy = QueueOverflowPolicy.REJECT;
+    private Duration maxQueueWaitTime = Duration.ofSeconds(30);
+    private final Map<String, Integer> endpointLimits = new HashMap<>();
+    private Function<SphereRequest<?>, String> endpointClassifier = SphereRequestUtils::endpointOf;
+
+    ConcurrencyLimitConfigBuilder(final int maxParallelRequests) {
+        this.maxParallelRequests = requirePositive(maxParallelRequests, "maxParallelRequests");
+    }
+
+    /**
+     * Sets the maximum amount of requests which wait for a permit, per endpoint budget.
+     *
+     * @param queueCapacity positive capacity, by default it is {@value DEFAULT_QUEUE_CAPACITY}
+     * @return the builder instance
+     */
+    public ConcurrencyLimitConfigBuilder queueCapacity(final int queueCapacity) {
+        this.queueCapacity = requirePositive(queueCapacity, "queueCapacity");
+        return this;
+    }
+
+    /**
+     * Sets what happens to requests if the queue is full, by default they are rejected.
+     *
+     * @param overflowPolicy the policy
+     * @return the builder instance
+     */
+    public ConcurrencyLimitConfigBuilder overflowPolicy(final QueueOverflowPolicy overflowPolicy) {
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
+        return this;
+    }
+
+    /**
+     * Sets the maximum time a request may wait in the queue and activates {@link QueueOverflowPolicy#TIMEOUT}.
+     *
+     * @param maxQueueWaitTime positive duration, by default 30 seconds
+     * @return the builder instance
+     */
+    public ConcurrencyLimitConfigBuilder maxQueueWaitTime(final Duration maxQueueWaitTime) {
+        Objects.requireNonNull(maxQueueWaitTime, "maxQueueWaitTime");
+        if (maxQueueWaitTime.isNegative() || maxQueueWaitTime.isZero()) {
+            throw new IllegalArgumentException(String.format("maxQueueWaitTime needs to be positive but was %s", maxQueueWaitTime));
+        }
+        this.maxQueueWaitTime = maxQueueWaitTime;
+        this.overflowPolicy = QueueOverflowPolicy.TIMEOUT;
+        return this;
+    }
+
+    /**
+     * Gives an endpoint its own budget of parallel requests which is not shared with the other endpoints.
+     *
+     * @param endpoint the endpoint name as produced by the endpoint classifier, for example {@code product-projections/search} or {@code carts}
+     * @param maxParallelRequests positive limit for this endpoint
+     * @return the builder instance
+     * @see SphereRequestUtils#endpointOf(SphereRequest)
+     */
+    public ConcurrencyLimitConfigBuilder endpointLimit(final String endpoint, final int maxParallelRequests) {
+        endpointLimits.put(Objects.requireNonNull(endpoint, "endpoint"), requirePositive(maxParallelRequests, "maxParallelRequests"));
+        return this;
+    }
+
+    /**
+     * Sets the function to map a request to the endpoint name, by default {@link SphereRequestUtils#endpointOf(SphereRequest)}.
+     *
+     * @param endpointClassifier the classifier
+     * @return the builder instance
+     */
+    public ConcurrencyLimitConfigBuilder endpointClassifier(final Function<SphereRequest<?>, String> endpointClassifier) {
+        this.endpointClassifier = Objects.requireNonNull(endpointClassifier, "endpointClassifier");
+        return this;
+    }
+
+    public static ConcurrencyLimitConfigBuilder of(final int maxParallelRequests) {
+        return new ConcurrencyLimitConfigBuilder(maxParallelRequests);
+    }
+
+    @Override
+    public ConcurrencyLimitConfig build() {
+        return new ConcurrencyLimitConfig(maxParallelRequests, queueCapacity, overflowPolicy, maxQueueWaitTime,
+                Collections.unmodifiableMap(new HashMap<>(endpointLimits)), endpointClassifier);
+    }
+
+    private static int requirePositive(final int value, final String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(String.format("%s needs to be positive but was %d", name, value));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,96 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the state and counters of one budget of {@link ConcurrencyLimitingSphereClientDecorator}.
+ * The counters are cumulative since the creation of the decorator.
+ */
+public final class ConcurrencyLimitMetrics extends Base {
+    private final String endpoint;
+    private final int limit;
+    private final int inFlight;
+    private final int queueDepth;
+    private final long queuedTotal;
+    private final long rejectedTotal;
+    private final long timedOutTotal;
+    private final long queueWaitNanosTotal;
+    private final long maxQueueWaitNanos;
+
+    ConcurrencyLimitMetrics(final String endpoint, final int limit, final int inFlight, final int queueDepth,
+                            final long queuedTotal, final long rejectedTotal, final long timedOutTotal,
+                            final long queueWaitNanosTotal, final long maxQueueWaitNanos) {
+        this.endpoint = endpoint;
+        this.limit = limit;
+        this.inFlight = inFlight;
+        this.queueDepth = queueDepth;
+        this.queuedTotal = queuedTotal;
+        this.rejectedTotal = rejectedTotal;
+        this.timedOutTotal = timedOutTotal;
+        this.queueWaitNanosTotal = queueWaitNanosTotal;
+        this.maxQueueWaitNanos = maxQueueWaitNanos;
+    }
+
+    /**
+     * The endpoint of the budget or {@link ConcurrencyLimitingSphereClientDecorator#DEFAULT_BUDGET} for the shared one.
+     * @return endpoint name
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Requests which have been started and are not completed yet.
+     * @return current amount
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Requests which are waiting for a permit.
+     * @return current amount
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public long getQueuedTotal() {
+        return queuedTotal;
+    }
+
+    public long getRejectedTotal() {
+        return rejectedTotal;
+    }
+
+    public long getTimedOutTotal() {
+        return timedOutTotal;
+    }
+
+    /**
+     * Sum of the time all requests which left the queue have been waiting in it.
+     * @return the duration
+     */
+    public Duration getTotalQueueWaitTime() {
+        return Duration.ofNanos(queueWaitNanosTotal);
+    }
+
+    public Duration getMaxQueueWaitTime() {
+        return Duration.ofNanos(maxQueueWaitNanos);
+    }
+
+    /**
+     * Average time requests which left the queue have been waiting in it.
+     * @return the duration, zero if no request has been queued
+     */
+    public Duration getAverageQueueWaitTime() {
+        final long left = queuedTotal - queueDepth;
+        return left > 0 ? Duration.ofNanos(queueWaitNanosTotal / left) : Duration.ZERO;
+    }
+}
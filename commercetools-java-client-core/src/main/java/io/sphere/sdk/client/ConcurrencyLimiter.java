@@ -0,0 +1,232 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.utils.CompletableFutureUtils;
+
+import javax.annotation.Nullable;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Limits the parallel executions of one budget with an atomic permit counter and a lock-free waiting queue.
+ * Completions release their permit and start queued requests in the completing thread, there is no dispatcher thread.
+ */
+final class ConcurrencyLimiter {
+    private final String name;
+    private volatile int limit;
+    private final int queueCapacity;
+    private final QueueOverflowPolicy overflowPolicy;
+    private final long maxQueueWaitNanos;
+    @Nullable
+    private final SdkRuntime runtime;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger drainWip = new AtomicInteger();
+    private final Queue<PendingRequest<?>> queue = new ConcurrentLinkedQueue<>();
+    private final LongAdder queuedTotal = new LongAdder();
+    private final LongAdder rejectedTotal = new LongAdder();
+    private final LongAdder timedOutTotal = new LongAdder();
+    private final LongAdder queueWaitNanosTotal = new LongAdder();
+    private final AtomicLong maxQueueWaitNanosSeen = new AtomicLong();
+    private final LongSupplier nanoClock;
+    @Nullable
+    private final CompletionListener completionListener;
+
+    ConcurrencyLimiter(final String name, final int limit, final int queueCapacity, final QueueOverflowPolicy overflowPolicy,
+                       final long maxQueueWaitNanos, @Nullable final SdkRuntime runtime) {
+        this(name, limit, queueCapacity, overflowPolicy, maxQueueWaitNanos, runtime, System::nanoTime, null);
+    }
+
+    ConcurrencyLimiter(final String name, final int limit, final int queueCapacity, final QueueOverflowPolicy overflowPolicy,
+                       final long maxQueueWaitNanos, @Nullable final SdkRuntime runtime,
+                       final LongSupplier nanoClock, @Nullable final CompletionListener completionListener) {
+        this.name = name;
+        this.limit = limit;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.maxQueueWaitNanos = maxQueueWaitNanos;
+        this.runtime = runtime;
+        this.nanoClock = nanoClock;
+        this.completionListener = completionListener;
+    }
+
+    <T> CompletionStage<T> submit(final Supplier<CompletionStage<T>> execution) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        if (queue.isEmpty() && tryAcquire()) {
+            execute(execution, result);
+        } else if (tryReserveQueueSlot()) {
+            enqueue(new PendingRequest<>(execution, result));
+        } else if (overflowPolicy == QueueOverflowPolicy.CALLER_RUNS) {
+            inFlight.incrementAndGet();
+            execute(execution, result);
+        } else {
+            rejectedTotal.increment();
+            result.completeExceptionally(new RejectedExecutionException(
+                    String.format("The queue of the concurrency limit %s is full (capacity %d).", name, queueCapacity)));
+        }
+        return result;
+    }
+
+    void setLimit(final int limit) {
+        this.limit = limit;
+        drain();
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    ConcurrencyLimitMetrics metrics() {
+        return new ConcurrencyLimitMetrics(name, limit, inFlight.get(), queueDepth.get(), queuedTotal.sum(),
+                rejectedTotal.sum(), timedOutTotal.sum(), queueWaitNanosTotal.sum(), maxQueueWaitNanosSeen.get());
+    }
+
+    private void enqueue(final PendingRequest<?> pending) {
+        queuedTotal.increment();
+        queue.offer(pending);
+        if (overflowPolicy == QueueOverflowPolicy.TIMEOUT && runtime != null) {
+            //the timer thread only hands the timeout over, the callbacks of the result run in the CPU pool
+            pending.timeoutTask = runtime.getTimer().schedule(() -> runtime.getCpuPool().execute(() -> timeout(pending)),
+                    maxQueueWaitNanos, TimeUnit.NANOSECONDS);
+            if (pending.isClaimed()) {
+                pending.timeoutTask.cancel();
+            }
+        }
+        drain();
+    }
+
+    private void timeout(final PendingRequest<?> pending) {
+        if (pending.claim()) {
+            queue.remove(pending);
+            queueDepth.decrementAndGet();
+            timedOutTotal.increment();
+            recordQueueWait(pending);
+            pending.result.completeExceptionally(new SphereTimeoutException(new TimeoutException(
+                    String.format("The request waited longer than %d ms for a permit of the concurrency limit %s.",
+                            TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos), name))));
+        }
+    }
+
+    /**
+     * Starts queued requests as long as there are permits. Only one thread drains at a time, a thread arriving while
+     * another one drains just marks that another round is needed, so synchronously completing requests do not recurse.
+     */
+    private void drain() {
+        if (drainWip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (!queue.isEmpty() && tryAcquire()) {
+                final PendingRequest<?> next = queue.poll();
+                if (next != null && next.claim()) {
+                    queueDepth.decrementAndGet();
+                    if (next.timeoutTask != null) {
+                        next.timeoutTask.cancel();
+                    }
+                    recordQueueWait(next);
+                    next.start();
+                } else {
+                    inFlight.decrementAndGet();
+                }
+            }
+            missed = drainWip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private <T> void execute(final Supplier<CompletionStage<T>> execution, final CompletableFuture<T> result) {
+        final long startedAt = nanoClock.getAsLong();
+        final int inFlightAtStart = inFlight.get();
+        CompletionStage<T> stage;
+        try {
+            stage = execution.get();
+        } catch (final RuntimeException e) {
+            stage = CompletableFutureUtils.failed(e);
+        }
+        stage.whenComplete((value, throwable) -> {
+            if (completionListener != null) {
+                completionListener.onComplete(nanoClock.getAsLong() - startedAt, inFlightAtStart, throwable);
+            }
+            release();
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean tryReserveQueueSlot() {
+        while (true) {
+            final int current = queueDepth.get();
+            if (current >= queueCapacity) {
+                return false;
+            }
+            if (queueDepth.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void recordQueueWait(final PendingRequest<?> pending) {
+        final long waited = nanoClock.getAsLong() - pending.enqueuedAt;
+        queueWaitNanosTotal.add(waited);
+        maxQueueWaitNanosSeen.accumulateAndGet(waited, Math::max);
+    }
+
+    /**
+     * Gets informed about every completed execution before its permit is released, for example to adapt the limit.
+     */
+    @FunctionalInterface
+    interface CompletionListener {
+        void onComplete(long roundTripNanos, int inFlight, @Nullable Throwable failure);
+    }
+
+    private final class PendingRequest<T> {
+        private final Supplier<CompletionStage<T>> execution;
+        private final CompletableFuture<T> result;
+        private final long enqueuedAt = nanoClock.getAsLong();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        @Nullable
+        private volatile HashedWheelTimer.Timeout timeoutTask;
+
+        private PendingRequest(final Supplier<CompletionStage<T>> execution, final CompletableFuture<T> result) {
+            this.execution = execution;
+            this.result = result;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private boolean isClaimed() {
+            return claimed.get();
+        }
+
+        private void start() {
+            execute(execution, result);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.sphere.sdk.client;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Decorates a {@link SphereClient} to limit the amount of parallel requests which await an answer.
+ *
+ * <p>In contrast to {@link QueueSphereClientDecorator} there is no dispatcher thread: permits are taken with an atomic counter
+ * and waiting requests are kept in a lock-free queue which is drained by the threads completing requests.
+ * The queue is bounded and the {@link QueueOverflowPolicy} decides what happens if it is full.
+ * Endpoints can get their own budget, for example to prevent that a burst of product searches blocks cart updates.</p>
+ *
+ * {@include.example io.sphere.sdk.client.ConcurrencyLimitingSphereClientDecoratorTest#endpointsHaveSeparateBudgets()}
+ *
+ * @see ConcurrencyLimitConfigBuilder
+ */
+public final class ConcurrencyLimitingSphereClientDecorator extends SphereClientDecorator implements SphereClient {
+    /**
+     * Name of the budget shared by all endpoints without an own limit.
+     */
+    public static final String DEFAULT_BUDGET = "*";
+
+    private final ConcurrencyLimitConfig config;
+    private final boolean closeUnderlyingClient;
+    private final SdkRuntime runtime;
+    private final ConcurrencyLimiter defaultLimiter;
+    private final Map<String, ConcurrencyLimiter> endpointLimiters;
+
+    private ConcurrencyLimitingSphereClientDecorator(final SphereClient delegate, final ConcurrencyLimitConfig config, final boolean closeUnderlyingClient,
+                                                     final SdkRuntime runtime) {
+        super(delegate);
+        this.config = config;
+        this.closeUnderlyingClient = closeUnderlyingClient;
+        this.runtime = runtime;
+        this.defaultLimiter = createLimiter(DEFAULT_BUDGET, config.getMaxParallelRequests());
+        final Map<String, ConcurrencyLimiter> limiters = new HashMap<>();
+        config.getEndpointLimits().forEach((endpoint, limit) -> limiters.put(endpoint, createLimiter(endpoint, limit)));
+        this.endpointLimiters = limiters;
+    }
+
+    private ConcurrencyLimiter createLimiter(final String name, final int limit) {
+        return new ConcurrencyLimiter(name, limit, config.getQueueCapacity(), config.getOverflowPolicy(),
+                config.getMaxQueueWaitTime().toNanos(), runtime);
+    }
+
+    @Override
+    public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+        return limiterFor(sphereRequest).submit(() -> super.execute(sphereRequest));
+    }
+
+    private ConcurrencyLimiter limiterFor(final SphereRequest<?> sphereRequest) {
+        if (endpointLimiters.isEmpty()) {
+            return defaultLimiter;
+        }
+        final ConcurrencyLimiter limiter = endpointLimiters.get(config.getEndpointClassifier().apply(sphereRequest));
+        return limiter != null ? limiter : defaultLimiter;
+    }
+
+    /**
+     * Creates a snapshot of the metrics of all budgets.
+     *
+     * @return map from endpoint name to metrics, the shared budget has the key {@value DEFAULT_BUDGET}
+     */
+    public Map<String, ConcurrencyLimitMetrics> getMetrics() {
+        final Map<String, ConcurrencyLimitMetrics> metrics = new LinkedHashMap<>();
+        metrics.put(DEFAULT_BUDGET, defaultLimiter.metrics());
+        endpointLimiters.forEach((endpoint, limiter) -> metrics.put(endpoint, limiter.metrics()));
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    @Override
+    public void close() {
+        if (closeUnderlyingClient) {
+            super.close();
+        }
+    }
+
+    public static ConcurrencyLimitingSphereClientDecorator of(final SphereClient delegate, final ConcurrencyLimitConfig config, final boolean closeUnderlyingClient) {
+        return of(delegate, config, closeUnderlyingClient, SdkRuntime.shared());
+    }
+
+    public static ConcurrencyLimitingSphereClientDecorator of(final SphereClient delegate, final ConcurrencyLimitConfig config, final boolean closeUnderlyingClient,
+                                                              final SdkRuntime runtime) {
+        return new ConcurrencyLimitingSphereClientDecorator(delegate, config, closeUnderlyingClient, runtime);
+    }
+
+    public static ConcurrencyLimitingSphereClientDecorator of(final SphereClient delegate, final ConcurrencyLimitConfig config) {
+        return of(delegate, config, true);
+    }
+
+    public static ConcurrencyLimitingSphereClientDecorator of(final SphereClient delegate, final int maxParallelRequests) {
+        return of(delegate, ConcurrencyLimitConfig.of(maxParallelRequests));
+    }
+}
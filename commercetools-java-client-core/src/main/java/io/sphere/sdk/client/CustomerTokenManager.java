@@ -0,0 +1,330 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.http.HttpClient;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static io.sphere.sdk.client.SphereAuth.AUTH_LOGGER;
+
+/**
+ * Provides the access tokens of many customers which use the password flow, for example the logged in customers of a shop.
+ *
+ * <p>In contrast to an {@link SphereAccessTokenSupplier#ofAutoRefresh(SphereAuthConfig, HttpClient, boolean) auto refreshing supplier}
+ * per customer the manager starts no threads. A token is fetched on demand if a customer sends a request, a token which is
+ * about to expire is replaced in the background while it is still used and retries are scheduled on the
+ * {@link HashedWheelTimer#shared() shared timer}. So the amount of threads does not depend on the amount of customers.</p>
+ *
+ * <p>The tokens are cached up to {@link CustomerTokenManagerConfig#getMaxCustomers()} customers, the tokens of the least
+ * recently active customers and of customers which have been idle for {@link CustomerTokenManagerConfig#getExpireAfterAccess()}
+ * are dropped. All sessions of a customer share one token, a session with another password only replaces it
+ * after the password has been accepted.</p>
+ *
+ * <pre>{@code
+ * final CustomerTokenManager tokenManager = CustomerTokenManager.of(authConfig, httpClient, false);
+ * //per session
+ * final SphereClient customerClient = SphereClient.of(apiConfig, httpClient, tokenManager.accessTokenSupplierOf(email, password));
+ * }</pre>
+ */
+public final class CustomerTokenManager extends AutoCloseableService {
+    private final SphereAuthConfig authConfig;
+    private final HttpClient httpClient;
+    private final boolean closeHttpClient;
+    private final int maxCustomers;
+    private final long expireAfterAccessNanos;
+    private final long refreshBeforeExpiryNanos;
+    private final long minRemainingValidityNanos = CachedTokens.MIN_REMAINING_VALIDITY.toNanos();
+    private final int maxRetries;
+    private final HashedWheelTimer timer;
+    private final LongSupplier nanoClock;
+    private final byte[] salt = new byte[16];
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);//guarded by itself, in access order
+
+    CustomerTokenManager(final SphereAuthConfig authConfig, final HttpClient httpClient, final boolean closeHttpClient,
+                         final CustomerTokenManagerConfig config, final HashedWheelTimer timer, final LongSupplier nanoClock) {
+        this.authConfig = authConfig;
+        this.httpClient = httpClient;
+        this.closeHttpClient = closeHttpClient;
+        this.maxCustomers = config.getMaxCustomers();
+        this.expireAfterAccessNanos = config.getExpireAfterAccess().toNanos();
+        this.refreshBeforeExpiryNanos = config.getRefreshBeforeExpiry().toNanos();
+        this.maxRetries = config.getMaxRetries();
+        this.timer = timer;
+        this.nanoClock = nanoClock;
+        new SecureRandom().nextBytes(salt);
+    }
+
+    /**
+     * Creates a token supplier for a customer. The supplier is lightweight and can be created per session,
+     * closing it does not affect other sessions of the customer.
+     *
+     * @param email the email of the customer
+     * @param password the password of the customer
+     * @return token supplier which can be used to create a {@link SphereClient} for the customer
+     */
+    public SphereAccessTokenSupplier accessTokenSupplierOf(final String email, final String password) {
+        rejectExcutionIfClosed("Token manager is already closed.");
+        Objects.requireNonNull(email, "email");
+        Objects.requireNonNull(password, "password");
+        final TokensSupplier tokensSupplier = TokensSupplier.ofCustomerPasswordFlowTokens(authConfig, email, password, httpClient, false);
+        return new CustomerAccessTokenSupplier(this, email, digest(password), tokensSupplier);
+    }
+
+    /**
+     * Drops the token of a customer, for example after the customer logged out or changed the password.
+     *
+     * @param email the email of the customer
+     */
+    public void invalidate(final String email) {
+        synchronized (entries) {
+            entries.remove(email);
+        }
+    }
+
+    /**
+     * Drops the tokens of all customers.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Gets the amount of customers whose tokens are cached, including the customers whose token is being fetched.
+     *
+     * @return amount of customers
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    protected void internalClose() {
+        invalidateAll();
+        if (closeHttpClient) {
+            closeQuietly(httpClient);
+        }
+    }
+
+    private CompletionStage<String> accessTokenOf(final CustomerAccessTokenSupplier customer, final boolean rejectCurrentToken) {
+        rejectExcutionIfClosed("Token manager is already closed.");
+        final CompletableFuture<Tokens> tokens;
+        synchronized (entries) {
+            final long now = nanoClock.getAsLong();
+            dropIdleEntries(now);
+            Entry entry = entries.get(customer.email);
+            if (entry == null) {
+                entry = new Entry(customer.passwordDigest, null);
+                entries.put(customer.email, entry);
+                dropLeastRecentlyUsedEntries();
+            } else if (!entry.passwordDigest.equals(customer.passwordDigest)) {
+                return replacementTokenOf(customer, entry, now).thenApply(Tokens::getAccessToken);
+            }
+            entry.lastAccessNanos = now;
+            if (rejectCurrentToken && entry.refresh == null) {
+                entry.tokens = null;
+            }
+            if (entry.tokens != null && now < entry.expiresAtNanos - minRemainingValidityNanos) {
+                if (entry.refresh == null && now >= entry.expiresAtNanos - refreshBeforeExpiryNanos) {
+                    fetch(customer, entry);
+                }
+                tokens = entry.tokens;
+            } else {
+                tokens = entry.refresh != null ? entry.refresh : fetch(customer, entry);
+            }
+        }
+        return tokens.thenApply(Tokens::getAccessToken);
+    }
+
+    /**
+     * Fetches a token for other credentials than the ones of the cached entry, for example after a password change.
+     * The cached entry is only replaced if the new credentials are accepted, so a wrong password does not drop the token
+     * of the logged in customer.
+     */
+    private CompletableFuture<Tokens> replacementTokenOf(final CustomerAccessTokenSupplier customer, final Entry entry, final long now) {
+        final Entry replacement = entry.replacement;
+        if (replacement != null && replacement.passwordDigest.equals(customer.passwordDigest) && replacement.refresh != null) {
+            return replacement.refresh;
+        }
+        final Entry newReplacement = new Entry(customer.passwordDigest, entry);
+        newReplacement.lastAccessNanos = now;
+        entry.replacement = newReplacement;
+        return fetch(customer, newReplacement);
+    }
+
+    private void dropIdleEntries(final long now) {
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && now - iterator.next().lastAccessNanos >= expireAfterAccessNanos) {
+            iterator.remove();
+        }
+    }
+
+    private void dropLeastRecentlyUsedEntries() {
+        final Iterator<Entry> iterator = entries.values().iterator();
+        for (int excess = entries.size() - maxCustomers; excess > 0; excess--) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private CompletableFuture<Tokens> fetch(final CustomerAccessTokenSupplier customer, final Entry entry) {
+        final CompletableFuture<Tokens> result = new CompletableFuture<>();
+        entry.refresh = result;
+        fetchWithRetries(customer, 0, result);
+        result.whenComplete((tokens, throwable) -> {
+            synchronized (entries) {
+                entry.refresh = null;
+                final Entry replaced = entry.replaced;
+                entry.replaced = null;
+                if (tokens != null) {
+                    entry.tokens = result;
+                    entry.expiresAtNanos = tokens.getExpiresIn() != null
+                            ? nanoClock.getAsLong() + TimeUnit.SECONDS.toNanos(tokens.getExpiresIn())
+                            : Long.MAX_VALUE;
+                    if (replaced != null && replaced.replacement == entry && entries.get(customer.email) == replaced) {
+                        entries.put(customer.email, entry);
+                    }
+                } else if (replaced != null) {
+                    if (replaced.replacement == entry) {
+                        replaced.replacement = null;
+                    }
+                } else if (entry.tokens == null && entries.get(customer.email) == entry) {
+                    entries.remove(customer.email);
+                }
+            }
+        });
+        return result;
+    }
+
+    private void fetchWithRetries(final CustomerAccessTokenSupplier customer, final int attempt, final CompletableFuture<Tokens> result) {
+        customer.tokensSupplier.get().whenComplete((tokens, throwable) -> {
+            if (tokens != null) {
+                result.complete(tokens);
+            } else if (attempt < maxRetries && !isFatal(throwable) && !isClosed()) {
+                final long delayMillis = (attempt + 1) * (attempt + 1) * 50L;
+                AUTH_LOGGER.debug(() -> String.format("Retrying to fetch customer token in %d ms after: %s", delayMillis, throwable));
+                timer.schedule(() -> fetchWithRetries(customer, attempt + 1, result), delayMillis, TimeUnit.MILLISECONDS);
+            } else {
+                result.completeExceptionally(throwable);
+            }
+        });
+    }
+
+    private static boolean isFatal(final Throwable throwable) {
+        final Throwable cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+        return cause instanceof UnauthorizedException;
+    }
+
+    private String digest(final String password) {
+        try {
+            final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(salt);
+            return Base64.getEncoder().encodeToString(messageDigest.digest(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates a manager with the default configuration.
+     *
+     * @param authConfig the configuration of the API client which fetches the customer tokens, for example built with {@link MySphereAuthConfigBuilder}
+     * @param httpClient the http client to fetch tokens, it is shared by all customers
+     * @param closeHttpClient set to true, if the httpClient should be closed with the created manager
+     * @return token manager
+     */
+    public static CustomerTokenManager of(final SphereAuthConfig authConfig, final HttpClient httpClient, final boolean closeHttpClient) {
+        return of(authConfig, httpClient, closeHttpClient, CustomerTokenManagerConfig.of());
+    }
+
+    /**
+     * Creates a manager.
+     *
+     * @param authConfig the configuration of the API client which fetches the customer tokens
+     * @param httpClient the http client to fetch tokens, it is shared by all customers
+     * @param closeHttpClient set to true, if the httpClient should be closed with the created manager
+     * @param config the cache configuration
+     * @return token manager
+     */
+    public static CustomerTokenManager of(final SphereAuthConfig authConfig, final HttpClient httpClient, final boolean closeHttpClient,
+                                          final CustomerTokenManagerConfig config) {
+        return new CustomerTokenManager(authConfig, httpClient, closeHttpClient, config, HashedWheelTimer.shared(), System::nanoTime);
+    }
+
+    private static final class Entry {
+        private final String passwordDigest;
+        @Nullable
+        private CompletableFuture<Tokens> tokens;
+        private long expiresAtNanos;
+        @Nullable
+        private CompletableFuture<Tokens> refresh;
+        private long lastAccessNanos;
+        @Nullable
+        private Entry replacement;//pending entry for other credentials
+        @Nullable
+        private Entry replaced;//entry which is replaced if the fetch succeeds
+
+        private Entry(final String passwordDigest, @Nullable final Entry replaced) {
+            this.passwordDigest = passwordDigest;
+            this.replaced = replaced;
+        }
+    }
+
+    private static final class CustomerAccessTokenSupplier implements RefreshableSphereAccessTokenSupplier {
+        private final CustomerTokenManager manager;
+        private final String email;
+        private final String passwordDigest;
+        private final TokensSupplier tokensSupplier;
+        private volatile boolean closed = false;
+
+        private CustomerAccessTokenSupplier(final CustomerTokenManager manager, final String email, final String passwordDigest,
+                                            final TokensSupplier tokensSupplier) {
+            this.manager = manager;
+            this.email = email;
+            this.passwordDigest = passwordDigest;
+            this.tokensSupplier = tokensSupplier;
+        }
+
+        @Override
+        public CompletionStage<String> get() {
+            rejectIfClosed();
+            return manager.accessTokenOf(this, false);
+        }
+
+        @Override
+        public CompletionStage<String> getNewToken() {
+            rejectIfClosed();
+            return manager.accessTokenOf(this, true);
+        }
+
+        private void rejectIfClosed() {
+            if (closed) {
+                throw new IllegalStateException("Token supplier is already closed.");
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public String toString() {
+            return "CustomerAccessTokenSupplier[email=" + email + "]";
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+
+import java.time.Duration;
+
+/**
+ * Configuration for {@link CustomerTokenManager}.
+ *
+ * @see CustomerTokenManagerConfigBuilder
+ */
+public final class CustomerTokenManagerConfig extends Base {
+    private final int maxCustomers;
+    private final Duration expireAfterAccess;
+    private final Duration refreshBeforeExpiry;
+    private final int maxRetries;
+
+    CustomerTokenManagerConfig(final int maxCustomers, final Duration expireAfterAccess, final Duration refreshBeforeExpiry,
+                               final int maxRetries) {
+        this.maxCustomers = maxCustomers;
+        this.expireAfterAccess = expireAfterAccess;
+        this.refreshBeforeExpiry = refreshBeforeExpiry;
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * The maximum amount of customers whose tokens are cached, if it is reached the tokens of the least recently active customer are dropped.
+     * @return positive amount
+     */
+    public int getMaxCustomers() {
+        return maxCustomers;
+    }
+
+    /**
+     * The time after which the tokens of a customer are dropped if they have not been used.
+     * @return positive duration
+     */
+    public Duration getExpireAfterAccess() {
+        return expireAfterAccess;
+    }
+
+    /**
+     * The remaining validity of a token below which a new token is fetched in the background while the old one is still used.
+     * @return positive duration
+     */
+    public Duration getRefreshBeforeExpiry() {
+        return refreshBeforeExpiry;
+    }
+
+    /**
+     * The amount of retries if fetching a token fails for other reasons than invalid credentials.
+     * @return non-negative amount
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public static CustomerTokenManagerConfig of() {
+        return CustomerTokenManagerConfigBuilder.of().build();
+    }
+}
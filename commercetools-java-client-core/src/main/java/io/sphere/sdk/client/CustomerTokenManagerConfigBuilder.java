@@ -0,0 +1,90 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Builder;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Builds {@link CustomerTokenManagerConfig} instances using the Builder pattern.
+ */
+public final class CustomerTokenManagerConfigBuilder extends Base implements Builder<CustomerTokenManagerConfig> {
+    public static final int DEFAULT_MAX_CUSTOMERS = 10000;
+    public static final int DEFAULT_MAX_RETRIES = 2;
+
+    private int maxCustomers = DEFAULT_MAX_CUSTOMERS;
+    private Duration expireAfterAccess = Duration.ofMinutes(30);
+    private Duration refreshBeforeExpiry = Duration.ofMinutes(5);
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+
+    CustomerTokenManagerConfigBuilder() {
+    }
+
+    /**
+     * Sets the maximum amount of customers whose tokens are cached.
+     *
+     * @param maxCustomers positive amount, by default it is {@value DEFAULT_MAX_CUSTOMERS}
+     * @return the builder instance
+     */
+    public CustomerTokenManagerConfigBuilder maxCustomers(final int maxCustomers) {
+        if (maxCustomers < 1) {
+            throw new IllegalArgumentException(String.format("maxCustomers needs to be positive but was %d", maxCustomers));
+        }
+        this.maxCustomers = maxCustomers;
+        return this;
+    }
+
+    /**
+     * Sets after which idle time the tokens of a customer are dropped, by default 30 minutes.
+     *
+     * @param expireAfterAccess positive duration
+     * @return the builder instance
+     */
+    public CustomerTokenManagerConfigBuilder expireAfterAccess(final Duration expireAfterAccess) {
+        this.expireAfterAccess = requirePositive(expireAfterAccess, "expireAfterAccess");
+        return this;
+    }
+
+    /**
+     * Sets how long before the expiry of a token a new one is fetched in the background, by default 5 minutes.
+     *
+     * @param refreshBeforeExpiry positive duration
+     * @return the builder instance
+     */
+    public CustomerTokenManagerConfigBuilder refreshBeforeExpiry(final Duration refreshBeforeExpiry) {
+        this.refreshBeforeExpiry = requirePositive(refreshBeforeExpiry, "refreshBeforeExpiry");
+        return this;
+    }
+
+    /**
+     * Sets how often fetching a token is retried, by default {@value DEFAULT_MAX_RETRIES} times.
+     *
+     * @param maxRetries non-negative amount
+     * @return the builder instance
+     */
+    public CustomerTokenManagerConfigBuilder maxRetries(final int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException(String.format("maxRetries needs to be non-negative but was %d", maxRetries));
+        }
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    public static CustomerTokenManagerConfigBuilder of() {
+        return new CustomerTokenManagerConfigBuilder();
+    }
+
+    @Override
+    public CustomerTokenManagerConfig build() {
+        return new CustomerTokenManagerConfig(maxCustomers, expireAfterAccess, refreshBeforeExpiry, maxRetries);
+    }
+
+    private static Duration requirePositive(final Duration value, final String name) {
+        Objects.requireNonNull(value, name);
+        if (value.isNegative() || value.isZero()) {
+            throw new IllegalArgumentException(String.format("%s needs to be positive but was %s", name, value));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,222 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.json.SphereJsonUtils;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static io.sphere.sdk.client.SphereAuth.AUTH_LOGGER;
+import static java.nio.file.attribute.PosixFilePermission.*;
+
+/**
+ * {@link TokenCache} which stores the tokens of each key in a JSON file.
+ *
+ * <p>Within the JVM the tokens are kept in memory and concurrent refreshes share one fetch like in {@link InMemoryTokenCache}.
+ * Across processes a lock file per key ensures that only one process fetches new tokens, the others wait for the lock
+ * and read the new tokens from the file. Waiting for the lock blocks no thread, the lock is polled on the
+ * {@link SdkRuntime#shared() shared runtime} for up to 30 seconds.
+ * If the files can not be accessed or the lock is not acquired in time the tokens are fetched without coordination.</p>
+ *
+ * <p>The directory and the token files are only accessible by the owner on file systems with POSIX permissions.</p>
+ */
+final class FileTokenCache implements TokenCache {
+    private static final ConcurrentMap<Path, FileTokenCache> INSTANCES = new ConcurrentHashMap<>();
+    private static final long LOCK_TIMEOUT_MILLIS = 30_000;
+    private static final long LOCK_RETRY_MILLIS = 20;
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = EnumSet.of(OWNER_READ, OWNER_WRITE);
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = EnumSet.of(OWNER_READ, OWNER_WRITE, OWNER_EXECUTE);
+
+    private final Path directory;
+    private final InMemoryTokenCache memory = new InMemoryTokenCache();
+
+    FileTokenCache(final Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public Optional<CachedTokens> get(final String key) {
+        final Optional<CachedTokens> inMemory = memory.get(key);
+        if (inMemory.isPresent() && inMemory.get().isUsable()) {
+            return inMemory;
+        }
+        final CachedTokens stored = read(fileOf(key, ".json"));
+        if (stored != null) {
+            memory.put(key, stored);
+            return Optional.of(stored);
+        }
+        return inMemory;
+    }
+
+    @Override
+    public CompletionStage<CachedTokens> refresh(final String key, @Nullable final String rejectedAccessToken,
+                                                 final Supplier<CompletionStage<CachedTokens>> fetcher) {
+        return memory.refresh(key, rejectedAccessToken, () -> refreshFile(key, rejectedAccessToken, fetcher));
+    }
+
+    private CompletionStage<CachedTokens> refreshFile(final String key, @Nullable final String rejectedAccessToken,
+                                                      final Supplier<CompletionStage<CachedTokens>> fetcher) {
+        final Path file = fileOf(key, ".json");
+        return lock(fileOf(key, ".lock")).thenCompose(lock -> {
+            final CompletionStage<CachedTokens> result;
+            try {
+                final CachedTokens stored = read(file);
+                result = InMemoryTokenCache.isRefreshedByOthers(stored, rejectedAccessToken)
+                        ? CompletableFuture.completedFuture(stored)
+                        : fetcher.get().thenApply(tokens -> {
+                            write(file, tokens);
+                            return tokens;
+                        });
+            } catch (final RuntimeException e) {
+                release(lock);
+                throw e;
+            }
+            result.whenComplete((tokens, throwable) -> release(lock));
+            return result;
+        });
+    }
+
+    /**
+     * Acquires the lock without blocking a thread, the result contains null if the tokens should be fetched without coordination.
+     */
+    private static CompletionStage<FileChannel> lock(final Path lockFile) {
+        final CompletableFuture<FileChannel> result = new CompletableFuture<>();
+        final FileChannel channel;
+        try {
+            channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (final IOException e) {
+            AUTH_LOGGER.warn(() -> "Can't lock " + lockFile + ", fetching tokens without coordination: " + e);
+            result.complete(null);
+            return result;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(LOCK_TIMEOUT_MILLIS);
+        SdkRuntime.shared().getCpuPool().execute(() -> tryLock(lockFile, channel, deadline, result));
+        return result;
+    }
+
+    private static void tryLock(final Path lockFile, final FileChannel channel, final long deadline, final CompletableFuture<FileChannel> result) {
+        try {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (final OverlappingFileLockException e) {
+                //held by another cache instance of this JVM
+                lock = null;
+            }
+            if (lock != null) {
+                result.complete(channel);
+            } else if (System.nanoTime() - deadline >= 0) {
+                AUTH_LOGGER.warn(() -> "Can't lock " + lockFile + " within " + LOCK_TIMEOUT_MILLIS + " ms, fetching tokens without coordination.");
+                release(channel);
+                result.complete(null);
+            } else {
+                final SdkRuntime runtime = SdkRuntime.shared();
+                runtime.getTimer().schedule(() -> runtime.getCpuPool().execute(() -> tryLock(lockFile, channel, deadline, result)),
+                        LOCK_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (final IOException | RuntimeException e) {
+            AUTH_LOGGER.warn(() -> "Can't lock " + lockFile + ", fetching tokens without coordination: " + e);
+            release(channel);
+            result.complete(null);
+        }
+    }
+
+    private static void release(@Nullable final FileChannel lock) {
+        if (lock != null) {
+            try {
+                lock.close();
+            } catch (final IOException e) {
+                AUTH_LOGGER.warn(() -> "Can't release token lock: " + e);
+            }
+        }
+    }
+
+    @Nullable
+    private static CachedTokens read(final Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return SphereJsonUtils.readObject(Files.readAllBytes(file), SphereJsonUtils.convertToJavaType(CachedTokens.class));
+        } catch (final IOException | RuntimeException e) {
+            AUTH_LOGGER.warn(() -> "Can't read tokens from " + file + ": " + e);
+            return null;
+        }
+    }
+
+    private void write(final Path file, final CachedTokens tokens) {
+        final Path temporaryFile = directory.resolve(UUID.randomUUID() + ".tmp");
+        try {
+            //restricted before the tokens are written
+            Files.createFile(temporaryFile, ownerOnly(temporaryFile, OWNER_ONLY_FILE));
+            Files.write(temporaryFile, SphereJsonUtils.toJsonString(tokens).getBytes(StandardCharsets.UTF_8));
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            AUTH_LOGGER.warn(() -> "Can't store tokens in " + file + ": " + e);
+            try {
+                Files.deleteIfExists(temporaryFile);
+            } catch (final IOException deleteFailure) {
+                //already logged
+            }
+        }
+    }
+
+    /**
+     * Gets the attributes to create a file which only the owner can access, on file systems without POSIX permissions
+     * there are none and the access control of the file system applies.
+     */
+    private static FileAttribute<?>[] ownerOnly(final Path path, final Set<PosixFilePermission> permissions) {
+        return path.getFileSystem().supportedFileAttributeViews().contains("posix")
+                ? new FileAttribute<?>[]{PosixFilePermissions.asFileAttribute(permissions)}
+                : new FileAttribute<?>[0];
+    }
+
+    private Path fileOf(final String key, final String suffix) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder fileName = new StringBuilder("tokens-");
+            for (final byte b : digest) {
+                fileName.append(String.format("%02x", b));
+            }
+            return directory.resolve(fileName.append(suffix).toString());
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the cache of a directory, there is one instance per directory since file locks are held by the whole JVM.
+     */
+    static FileTokenCache of(final Path directory) {
+        final Path normalizedDirectory = directory.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(normalizedDirectory, ownerOnly(normalizedDirectory, OWNER_ONLY_DIRECTORY));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return INSTANCES.computeIfAbsent(normalizedDirectory, FileTokenCache::new);
+    }
+}
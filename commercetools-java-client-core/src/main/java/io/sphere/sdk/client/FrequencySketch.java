@@ -0,0 +1,77 @@
+package io.sphere.sdk.client;
+
+/**
+ * Approximate access frequencies of keys for the TinyLFU admission of {@link ResourceCache}.
+ *
+ * <p>A count-min sketch with four 4-bit counters per key which saturate at 15. Sixteen counters are packed into one long,
+ * the table has about one long per cache entry. After a number of increments proportional to the capacity all counters
+ * are halved, so keys which were popular long ago lose their advantage.
+ * Not thread-safe, the cache synchronizes the access.</p>
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int increments = 0;
+
+    FrequencySketch(final int capacity) {
+        final int length = Integer.highestOneBit(Math.max(16, capacity) * 2 - 1);
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = 10 * Math.max(16, capacity);
+    }
+
+    void increment(final Object key) {
+        final int hash = spread(key.hashCode());
+        final int start = (hash & 3) << 2;
+        boolean incremented = false;
+        for (int i = 0; i < 4; i++) {
+            incremented |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (incremented && ++increments >= sampleSize) {
+            age();
+        }
+    }
+
+    int frequency(final Object key) {
+        final int hash = spread(key.hashCode());
+        final int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            final int count = (int) ((table[indexOf(hash, i)] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    private boolean incrementAt(final int index, final int counter) {
+        final int offset = counter << 2;
+        final long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private void age() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        increments /= 2;
+    }
+
+    private int indexOf(final int hash, final int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return ((int) h) & tableMask;
+    }
+
+    private static int spread(final int hashCode) {
+        final int h = hashCode * 0x9e3779b9;
+        return h ^ (h >>> 15);
+    }
+}
@@ -0,0 +1,72 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * Configuration for {@link HedgingSphereClientDecorator}.
+ *
+ * @see HedgingConfigBuilder
+ */
+public final class HedgingConfig extends Base {
+    private final double percentile;
+    private final double maxExtraLoadRatio;
+    private final Duration minDelay;
+    private final int sampleSize;
+    private final Predicate<SphereRequest<?>> hedgeable;
+
+    HedgingConfig(final double percentile, final double maxExtraLoadRatio, final Duration minDelay, final int sampleSize,
+                  final Predicate<SphereRequest<?>> hedgeable) {
+        this.percentile = percentile;
+        this.maxExtraLoadRatio = maxExtraLoadRatio;
+        this.minDelay = minDelay;
+        this.sampleSize = sampleSize;
+        this.hedgeable = hedgeable;
+    }
+
+    /**
+     * The percentile of the recently observed latencies after which the second request is sent, for example 0.95.
+     * @return percentile between 0 and 1
+     */
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * Maximum ratio of additional requests, for example 0.05 for at most 5% more requests.
+     * @return ratio
+     */
+    public double getMaxExtraLoadRatio() {
+        return maxExtraLoadRatio;
+    }
+
+    /**
+     * Lower bound for the delay of the second request.
+     * @return duration
+     */
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    /**
+     * Amount of recent latencies the percentile is calculated from, no request is hedged before the first sample window is filled.
+     * @return amount of samples
+     */
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * Decides if a request may be sent twice.
+     * @return predicate
+     */
+    public Predicate<SphereRequest<?>> getHedgeable() {
+        return hedgeable;
+    }
+
+    public static HedgingConfig of() {
+        return HedgingConfigBuilder.of().build();
+    }
+}
@@ -0,0 +1,104 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Builder;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Builds {@link HedgingConfig} instances using the Builder pattern.
+ */
+public final class HedgingConfigBuilder extends Base implements Builder<HedgingConfig> {
+    public static final double DEFAULT_PERCENTILE = 0.95;
+    public static final double DEFAULT_MAX_EXTRA_LOAD_RATIO = 0.05;
+    public static final int DEFAULT_SAMPLE_SIZE = 1000;
+
+    private double percentile = DEFAULT_PERCENTILE;
+    private double maxExtraLoadRatio = DEFAULT_MAX_EXTRA_LOAD_RATIO;
+    private Duration minDelay = Duration.ofMillis(10);
+    private int sampleSize = DEFAULT_SAMPLE_SIZE;
+    private Predicate<SphereRequest<?>> hedgeable = SphereRequestUtils::isIdempotentRead;
+
+    HedgingConfigBuilder() {
+    }
+
+    /**
+     * Sets the percentile of the recent latencies after which a second request is sent.
+     *
+     * @param percentile value greater than 0 and lower than 1, by default {@value DEFAULT_PERCENTILE}
+     * @return the builder instance
+     */
+    public HedgingConfigBuilder percentile(final double percentile) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException(String.format("percentile needs to be between 0 and 1 but was %s", percentile));
+        }
+        this.percentile = percentile;
+        return this;
+    }
+
+    /**
+     * Sets the maximum ratio of additional requests caused by hedging.
+     *
+     * @param maxExtraLoadRatio value greater than 0 and at most 1, by default {@value DEFAULT_MAX_EXTRA_LOAD_RATIO}
+     * @return the builder instance
+     */
+    public HedgingConfigBuilder maxExtraLoadRatio(final double maxExtraLoadRatio) {
+        if (maxExtraLoadRatio <= 0 || maxExtraLoadRatio > 1) {
+            throw new IllegalArgumentException(String.format("maxExtraLoadRatio needs to be between 0 and 1 but was %s", maxExtraLoadRatio));
+        }
+        this.maxExtraLoadRatio = maxExtraLoadRatio;
+        return this;
+    }
+
+    /**
+     * Sets the lower bound for the delay of the second request.
+     *
+     * @param minDelay duration, by default 10 milliseconds
+     * @return the builder instance
+     */
+    public HedgingConfigBuilder minDelay(final Duration minDelay) {
+        Objects.requireNonNull(minDelay, "minDelay");
+        if (minDelay.isNegative()) {
+            throw new IllegalArgumentException(String.format("minDelay must not be negative but was %s", minDelay));
+        }
+        this.minDelay = minDelay;
+        return this;
+    }
+
+    /**
+     * Sets the amount of recent latencies the percentile is calculated from.
+     *
+     * @param sampleSize positive amount, by default {@value DEFAULT_SAMPLE_SIZE}
+     * @return the builder instance
+     */
+    public HedgingConfigBuilder sampleSize(final int sampleSize) {
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException(String.format("sampleSize needs to be positive but was %d", sampleSize));
+        }
+        this.sampleSize = sampleSize;
+        return this;
+    }
+
+    /**
+     * Sets which requests may be sent twice, by default {@link SphereRequestUtils#isIdempotentRead(SphereRequest)}.
+     * Commands which change data like creating or updating a resource must not be hedged.
+     *
+     * @param hedgeable the predicate
+     * @return the builder instance
+     */
+    public HedgingConfigBuilder hedgeable(final Predicate<SphereRequest<?>> hedgeable) {
+        this.hedgeable = Objects.requireNonNull(hedgeable, "hedgeable");
+        return this;
+    }
+
+    public static HedgingConfigBuilder of() {
+        return new HedgingConfigBuilder();
+    }
+
+    @Override
+    public HedgingConfig build() {
+        return new HedgingConfig(percentile, maxExtraLoadRatio, minDelay, sampleSize, hedgeable);
+    }
+}
@@ -0,0 +1,177 @@
+package io.sphere.sdk.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorates a {@link SphereClient} to send a second copy of a slow read request and use whichever response arrives first.
+ * This cuts the latency of the few requests which hit a slow backend, for example for product projection searches.
+ *
+ * <p>The second request is sent after the configured percentile of the recently observed latencies, so only the slowest requests are hedged.
+ * The first successful response completes the result and the other request is cancelled. If one request fails the result waits for the other one.
+ * A budget caps the additional requests to a ratio of all requests, so hedging cannot multiply the load if the platform is slow in general.
+ * If the result is cancelled or completed exceptionally by the caller, for example by a timeout, both requests are cancelled.</p>
+ *
+ * <p>Only requests matching {@link HedgingConfig#getHedgeable()} are hedged, by default GET requests and searches.
+ * Commands like creating or updating a resource are never sent twice.</p>
+ *
+ * @see HedgingConfigBuilder
+ */
+public final class HedgingSphereClientDecorator extends SphereClientDecorator implements SphereClient {
+    private static final long BUDGET_PER_HEDGE = 1000;
+    private static final long MAX_BUDGET = 10 * BUDGET_PER_HEDGE;
+
+    private final HedgingConfig config;
+    private final HashedWheelTimer timer;
+    private final Executor executor;
+    private final LatencyTracker latencies;
+    private final long budgetPerRequest;
+    private final AtomicLong budget = new AtomicLong();
+    private final LongAdder hedgedRequests = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    HedgingSphereClientDecorator(final SphereClient delegate, final HedgingConfig config, final SdkRuntime runtime) {
+        super(delegate);
+        this.config = config;
+        this.timer = runtime.getTimer();
+        this.executor = runtime.getCpuPool();
+        this.latencies = new LatencyTracker(config.getSampleSize(), config.getPercentile());
+        this.budgetPerRequest = Math.round(config.getMaxExtraLoadRatio() * BUDGET_PER_HEDGE);
+    }
+
+    @Override
+    public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+        if (!config.getHedgeable().test(sphereRequest)) {
+            return super.execute(sphereRequest);
+        }
+        budget.accumulateAndGet(budgetPerRequest, (current, increment) -> Math.min(MAX_BUDGET, current + increment));
+        final long percentileNanos = latencies.getPercentileNanos();
+        final HedgedExecution<T> execution = new HedgedExecution<>(sphereRequest);
+        final CompletableFuture<T> primary = execution.send(false);
+        if (percentileNanos < 0) {
+            return primary;
+        }
+        final long delay = Math.max(percentileNanos, config.getMinDelay().toNanos());
+        final HashedWheelTimer.Timeout hedgeTimeout = timer.schedule(() -> executor.execute(execution::hedge), delay, TimeUnit.NANOSECONDS);
+        execution.result.whenComplete((value, throwable) -> {
+            hedgeTimeout.cancel();
+            if (throwable != null) {
+                execution.cancelAttempts();
+            }
+        });
+        return execution.result;
+    }
+
+    /**
+     * Gets the amount of requests which have been sent a second time.
+     *
+     * @return amount of hedged requests
+     */
+    public long getHedgedRequestCount() {
+        return hedgedRequests.sum();
+    }
+
+    /**
+     * Gets the amount of hedged requests for which the second request delivered the response.
+     *
+     * @return amount of requests
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    private boolean tryConsumeBudget() {
+        while (true) {
+            final long current = budget.get();
+            if (current < BUDGET_PER_HEDGE) {
+                return false;
+            }
+            if (budget.compareAndSet(current, current - BUDGET_PER_HEDGE)) {
+                return true;
+            }
+        }
+    }
+
+    private final class HedgedExecution<T> {
+        private final SphereRequest<T> sphereRequest;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicBoolean answered = new AtomicBoolean();
+        private volatile CompletableFuture<T> primary;
+        private volatile CompletableFuture<T> secondary;
+
+        private HedgedExecution(final SphereRequest<T> sphereRequest) {
+            this.sphereRequest = sphereRequest;
+        }
+
+        private CompletableFuture<T> send(final boolean hedge) {
+            outstanding.incrementAndGet();
+            final long startedAt = System.nanoTime();
+            final CompletableFuture<T> attempt = HedgingSphereClientDecorator.super.execute(sphereRequest).toCompletableFuture();
+            if (hedge) {
+                secondary = attempt;
+                //the primary may have won while the hedge was sent, then cancelOther() has not seen it
+                if (answered.get() || result.isDone()) {
+                    attempt.cancel(false);
+                }
+            } else {
+                primary = attempt;
+            }
+            attempt.whenComplete((value, throwable) -> {
+                if (throwable == null) {
+                    latencies.record(System.nanoTime() - startedAt);
+                    if (answered.compareAndSet(false, true)) {
+                        if (hedge) {
+                            hedgeWins.increment();
+                        }
+                        cancelOther(hedge);
+                        result.complete(value);
+                    }
+                } else if (outstanding.decrementAndGet() == 0) {
+                    result.completeExceptionally(throwable);
+                }
+            });
+            return attempt;
+        }
+
+        private void hedge() {
+            if (!result.isDone() && tryConsumeBudget()) {
+                hedgedRequests.increment();
+                send(true);
+            }
+        }
+
+        private void cancelOther(final boolean hedgeWon) {
+            cancel(hedgeWon ? primary : secondary);
+        }
+
+        private void cancelAttempts() {
+            cancel(primary);
+            cancel(secondary);
+        }
+
+        private void cancel(final CompletableFuture<T> attempt) {
+            if (attempt != null) {
+                attempt.cancel(false);
+            }
+        }
+    }
+
+    public static HedgingSphereClientDecorator of(final SphereClient delegate, final HedgingConfig config) {
+        return of(delegate, config, SdkRuntime.shared());
+    }
+
+    public static HedgingSphereClientDecorator of(final SphereClient delegate, final HedgingConfig config, final SdkRuntime runtime) {
+        return new HedgingSphereClientDecorator(delegate, config, runtime);
+    }
+
+    public static HedgingSphereClientDecorator of(final SphereClient delegate) {
+        return of(delegate, HedgingConfig.of());
+    }
+}
@@ -0,0 +1,67 @@
+package io.sphere.sdk.client;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * {@link TokenCache} which keeps the tokens in memory. Concurrent refreshes of the same key share one fetch.
+ */
+final class InMemoryTokenCache implements TokenCache {
+    static final InMemoryTokenCache SHARED = new InMemoryTokenCache();
+
+    private final ConcurrentMap<String, CachedTokens> tokensByKey = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<CachedTokens>> refreshes = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<CachedTokens> get(final String key) {
+        return Optional.ofNullable(tokensByKey.get(key));
+    }
+
+    @Override
+    public CompletionStage<CachedTokens> refresh(final String key, @Nullable final String rejectedAccessToken,
+                                                 final Supplier<CompletionStage<CachedTokens>> fetcher) {
+        final CachedTokens current = tokensByKey.get(key);
+        if (isRefreshedByOthers(current, rejectedAccessToken)) {
+            return CompletableFuture.completedFuture(current);
+        }
+        final CompletableFuture<CachedTokens> refresh = new CompletableFuture<>();
+        final CompletableFuture<CachedTokens> runningRefresh = refreshes.putIfAbsent(key, refresh);
+        if (runningRefresh != null) {
+            return runningRefresh;
+        }
+        final CompletionStage<CachedTokens> fetched;
+        try {
+            fetched = fetcher.get();
+        } catch (final RuntimeException e) {
+            refreshes.remove(key, refresh);
+            refresh.completeExceptionally(e);
+            return refresh;
+        }
+        fetched.whenComplete((tokens, throwable) -> {
+            if (tokens != null) {
+                tokensByKey.put(key, tokens);
+            }
+            //removed before the callers are notified so a caller rejecting the new tokens starts a new refresh
+            refreshes.remove(key, refresh);
+            if (throwable != null) {
+                refresh.completeExceptionally(throwable);
+            } else {
+                refresh.complete(tokens);
+            }
+        });
+        return refresh;
+    }
+
+    void put(final String key, final CachedTokens tokens) {
+        tokensByKey.put(key, tokens);
+    }
+
+    static boolean isRefreshedByOthers(@Nullable final CachedTokens current, @Nullable final String rejectedAccessToken) {
+        return current != null && current.isUsable() && !current.getAccessToken().equals(rejectedAccessToken);
+    }
+}
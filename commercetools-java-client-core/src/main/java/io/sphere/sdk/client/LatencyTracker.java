@@ -0,0 +1,54 @@
+package io.sphere.sdk.client;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the latest latencies in a ring buffer and provides a percentile of them.
+ * Recording is lock-free, the percentile is recalculated only every {@code recalculationInterval} recordings.
+ */
+final class LatencyTracker {
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final double percentile;
+    private final int recalculationInterval;
+    private volatile long cachedPercentileNanos = -1;
+
+    LatencyTracker(final int size, final double percentile) {
+        this.samples = new AtomicLongArray(size);
+        this.percentile = percentile;
+        this.recalculationInterval = Math.max(1, size / 8);
+    }
+
+    void record(final long latencyNanos) {
+        final long index = count.getAndIncrement();
+        samples.set((int) (index % samples.length()), latencyNanos);
+        if ((index + 1) % recalculationInterval == 0) {
+            cachedPercentileNanos = calculatePercentile();
+        }
+    }
+
+    long getCount() {
+        return count.get();
+    }
+
+    /**
+     * The percentile of the recent latencies.
+     *
+     * @return latency in nanoseconds or -1 if there are not enough samples yet
+     */
+    long getPercentileNanos() {
+        return cachedPercentileNanos;
+    }
+
+    private long calculatePercentile() {
+        final int size = (int) Math.min(count.get(), samples.length());
+        final long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        return copy[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+    }
+}
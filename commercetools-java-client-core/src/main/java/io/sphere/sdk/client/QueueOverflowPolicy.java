@@ -0,0 +1,27 @@
+package io.sphere.sdk.client;
+
+/**
+ * Defines what {@link ConcurrencyLimitingSphereClientDecorator} does with a request
+ * if all permits of its endpoint are in use and the waiting queue is full.
+ *
+ * @see ConcurrencyLimitConfigBuilder#overflowPolicy(QueueOverflowPolicy)
+ */
+public enum QueueOverflowPolicy {
+    /**
+     * The request is not executed and the resulting {@link java.util.concurrent.CompletionStage}
+     * is completed exceptionally with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    REJECT,
+
+    /**
+     * The request is executed immediately by the calling thread, exceeding the concurrency limit of the endpoint.
+     * This keeps no request back but slows down the producer since it needs to prepare the HTTP call itself.
+     */
+    CALLER_RUNS,
+
+    /**
+     * Like {@link #REJECT} for a full queue, but additionally every queued request which could not be started within
+     * {@link ConcurrencyLimitConfig#getMaxQueueWaitTime()} is completed exceptionally with a {@link SphereTimeoutException}.
+     */
+    TIMEOUT
+}
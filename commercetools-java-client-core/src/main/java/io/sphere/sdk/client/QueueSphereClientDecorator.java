@@ -16,10 +16,11 @@ public final class QueueSphereClientDecorator extends SphereClientDecorator impl
     private final Actor actor;
     private final boolean closeUnderlyingClient;
 
-    private QueueSphereClientDecorator(final SphereClient delegate, final int maxParallelRequests, final boolean closeUnderlyingClient) {
+    private QueueSphereClientDecorator(final SphereClient delegate, final int maxParallelRequests, final boolean closeUnderlyingClient,
+                                       final SdkRuntime runtime) {
         super(delegate);
         this.closeUnderlyingClient = closeUnderlyingClient;
-        this.actor = new QueueSphereClientDecoratorActor(maxParallelRequests);
+        this.actor = new QueueSphereClientDecoratorActor(maxParallelRequests, runtime);
     }
 
 
@@ -46,7 +47,12 @@ public final class QueueSphereClientDecorator extends SphereClientDecorator impl
     }
 
     public static SphereClient of(final SphereClient delegate, final int maxParallelRequests, final boolean closeUnderlyingClient) {
-        return new QueueSphereClientDecorator(delegate, maxParallelRequests, closeUnderlyingClient);
+        return of(delegate, maxParallelRequests, closeUnderlyingClient, SdkRuntime.shared());
+    }
+
+    public static SphereClient of(final SphereClient delegate, final int maxParallelRequests, final boolean closeUnderlyingClient,
+                                  final SdkRuntime runtime) {
+        return new QueueSphereClientDecorator(delegate, maxParallelRequests, closeUnderlyingClient, runtime);
     }
 
     public static SphereClient of(final SphereClient delegate, final int maxParallelRequests) {
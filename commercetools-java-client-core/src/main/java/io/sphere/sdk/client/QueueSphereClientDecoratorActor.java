@@ -12,6 +12,11 @@ final class QueueSphereClientDecoratorActor extends Actor {
     private final Queue<AsyncTask> queuedTasks = new LinkedList<>();
 
     public QueueSphereClientDecoratorActor(final int maxParallelRequests) {
+        this(maxParallelRequests, SdkRuntime.shared());
+    }
+
+    public QueueSphereClientDecoratorActor(final int maxParallelRequests, final SdkRuntime runtime) {
+        super(runtime);
         this.maxParallelRequests = maxParallelRequests;
     }
 
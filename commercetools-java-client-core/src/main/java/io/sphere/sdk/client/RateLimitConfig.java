@@ -0,0 +1,80 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Configuration for {@link RateLimitingSphereClientDecorator}.
+ *
+ * @see RateLimitConfigBuilder
+ */
+public final class RateLimitConfig extends Base {
+    @Nullable
+    private final Double projectRequestsPerSecond;
+    private final Map<String, Double> endpointRequestsPerSecond;
+    private final Duration burstDuration;
+    private final int queueCapacity;
+    private final Function<SphereRequest<?>, String> endpointClassifier;
+    private final Function<SphereRequest<?>, RequestPriority> priorityClassifier;
+
+    RateLimitConfig(@Nullable final Double projectRequestsPerSecond, final Map<String, Double> endpointRequestsPerSecond,
+                    final Duration burstDuration, final int queueCapacity,
+                    final Function<SphereRequest<?>, String> endpointClassifier,
+                    final Function<SphereRequest<?>, RequestPriority> priorityClassifier) {
+        this.projectRequestsPerSecond = projectRequestsPerSecond;
+        this.endpointRequestsPerSecond = endpointRequestsPerSecond;
+        this.burstDuration = burstDuration;
+        this.queueCapacity = queueCapacity;
+        this.endpointClassifier = endpointClassifier;
+        this.priorityClassifier = priorityClassifier;
+    }
+
+    /**
+     * Budget for all requests of the client, every request needs to pass it in addition to the budget of its endpoint.
+     * @return requests per second or null if only the endpoints are limited
+     */
+    @Nullable
+    public Double getProjectRequestsPerSecond() {
+        return projectRequestsPerSecond;
+    }
+
+    /**
+     * Budgets for single endpoints, requests to other endpoints are only limited by the project budget.
+     * @return unmodifiable map from endpoint name to requests per second
+     */
+    public Map<String, Double> getEndpointRequestsPerSecond() {
+        return endpointRequestsPerSecond;
+    }
+
+    /**
+     * How long an idle budget saves up permits for bursts, the bucket size is the rate multiplied with this duration but at least one.
+     * @return the duration
+     */
+    public Duration getBurstDuration() {
+        return burstDuration;
+    }
+
+    /**
+     * Maximum amount of requests waiting for one budget, further requests are rejected.
+     * @return the capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public Function<SphereRequest<?>, String> getEndpointClassifier() {
+        return endpointClassifier;
+    }
+
+    public Function<SphereRequest<?>, RequestPriority> getPriorityClassifier() {
+        return priorityClassifier;
+    }
+
+    public static RateLimitConfig of(final double projectRequestsPerSecond) {
+        return RateLimitConfigBuilder.of(projectRequestsPerSecond).build();
+    }
+}
@@ -0,0 +1,127 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Builder;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Builds {@link RateLimitConfig} instances using the Builder pattern.
+ *
+ * {@include.example io.sphere.sdk.client.RateLimitingSphereClientDecoratorTest#highPriorityRequestsOvertakeWaitingLowPriorityRequests()}
+ */
+public final class RateLimitConfigBuilder extends Base implements Builder<RateLimitConfig> {
+    @Nullable
+    private final Double projectRequestsPerSecond;
+    private final Map<String, Double> endpointRequestsPerSecond = new HashMap<>();
+    private Duration burstDuration = Duration.ofSeconds(1);
+    private int queueCapacity = ConcurrencyLimitConfigBuilder.DEFAULT_QUEUE_CAPACITY;
+    private Function<SphereRequest<?>, String> endpointClassifier = SphereRequestUtils::endpointOf;
+    private Function<SphereRequest<?>, RequestPriority> priorityClassifier = request -> RequestPriority.NORMAL;
+
+    RateLimitConfigBuilder(@Nullable final Double projectRequestsPerSecond) {
+        this.projectRequestsPerSecond = projectRequestsPerSecond == null ? null : requirePositive(projectRequestsPerSecond, "projectRequestsPerSecond");
+    }
+
+    /**
+     * Limits the requests to an endpoint.
+     *
+     * @param endpoint the endpoint name as produced by the endpoint classifier, for example {@code product-projections/search} or {@code carts}
+     * @param requestsPerSecond positive rate
+     * @return the builder instance
+     * @see SphereRequestUtils#endpointOf(SphereRequest)
+     */
+    public RateLimitConfigBuilder endpointLimit(final String endpoint, final double requestsPerSecond) {
+        endpointRequestsPerSecond.put(Objects.requireNonNull(endpoint, "endpoint"), requirePositive(requestsPerSecond, "requestsPerSecond"));
+        return this;
+    }
+
+    /**
+     * Sets how long an idle budget saves up permits for bursts.
+     *
+     * @param burstDuration positive or zero duration, by default one second
+     * @return the builder instance
+     */
+    public RateLimitConfigBuilder burstDuration(final Duration burstDuration) {
+        Objects.requireNonNull(burstDuration, "burstDuration");
+        if (burstDuration.isNegative()) {
+            throw new IllegalArgumentException(String.format("burstDuration must not be negative but was %s", burstDuration));
+        }
+        this.burstDuration = burstDuration;
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of requests which wait for one budget.
+     *
+     * @param queueCapacity positive capacity, by default {@value ConcurrencyLimitConfigBuilder#DEFAULT_QUEUE_CAPACITY}
+     * @return the builder instance
+     */
+    public RateLimitConfigBuilder queueCapacity(final int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException(String.format("queueCapacity needs to be positive but was %d", queueCapacity));
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * Sets the function to map a request to the endpoint name, by default {@link SphereRequestUtils#endpointOf(SphereRequest)}.
+     *
+     * @param endpointClassifier the classifier
+     * @return the builder instance
+     */
+    public RateLimitConfigBuilder endpointClassifier(final Function<SphereRequest<?>, String> endpointClassifier) {
+        this.endpointClassifier = Objects.requireNonNull(endpointClassifier, "endpointClassifier");
+        return this;
+    }
+
+    /**
+     * Sets the function to determine the priority of a request, by default all requests have {@link RequestPriority#NORMAL}.
+     *
+     * @param priorityClassifier the classifier
+     * @return the builder instance
+     */
+    public RateLimitConfigBuilder priorityClassifier(final Function<SphereRequest<?>, RequestPriority> priorityClassifier) {
+        this.priorityClassifier = Objects.requireNonNull(priorityClassifier, "priorityClassifier");
+        return this;
+    }
+
+    /**
+     * Creates a builder with a budget for all requests of the client.
+     *
+     * @param projectRequestsPerSecond positive rate
+     * @return the builder instance
+     */
+    public static RateLimitConfigBuilder of(final double projectRequestsPerSecond) {
+        return new RateLimitConfigBuilder(projectRequestsPerSecond);
+    }
+
+    /**
+     * Creates a builder which limits only the endpoints configured with {@link #endpointLimit(String, double)}.
+     *
+     * @return the builder instance
+     */
+    public static RateLimitConfigBuilder ofEndpointLimitsOnly() {
+        return new RateLimitConfigBuilder(null);
+    }
+
+    @Override
+    public RateLimitConfig build() {
+        return new RateLimitConfig(projectRequestsPerSecond, Collections.unmodifiableMap(new HashMap<>(endpointRequestsPerSecond)),
+                burstDuration, queueCapacity, endpointClassifier, priorityClassifier);
+    }
+
+    private static double requirePositive(final double value, final String name) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException(String.format("%s needs to be positive but was %s", name, value));
+        }
+        return value;
+    }
+}
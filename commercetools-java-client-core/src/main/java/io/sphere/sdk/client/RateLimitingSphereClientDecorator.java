@@ -0,0 +1,152 @@
+package io.sphere.sdk.client;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorates a {@link SphereClient} to limit the requests per second, for example to prevent that an import
+ * sharing the client with interactive traffic uses up the whole API budget.
+ *
+ * <p>There is a budget for all requests of the client and optional budgets per endpoint, each implemented as token bucket.
+ * A request needs a permit of the budget of its endpoint and then of the project budget.
+ * If there is no permit left the request waits without blocking a thread, requests of a higher {@link RequestPriority} get the permits first.
+ * The waiting requests are woken up by tasks on the {@link HashedWheelTimer#shared() shared timer} and are sent from the
+ * {@link SdkRuntime#getCpuPool() CPU pool} to keep the timer thread free.</p>
+ *
+ * {@include.example io.sphere.sdk.client.RateLimitingSphereClientDecoratorTest#highPriorityRequestsOvertakeWaitingLowPriorityRequests()}
+ *
+ * @see RateLimitConfigBuilder
+ */
+public final class RateLimitingSphereClientDecorator extends SphereClientDecorator implements SphereClient {
+    private final RateLimitConfig config;
+    private final boolean closeUnderlyingClient;
+    @Nullable
+    private final TokenBucket projectBucket;
+    private final Map<String, TokenBucket> endpointBuckets;
+    private final Executor executor;
+
+    private RateLimitingSphereClientDecorator(final SphereClient delegate, final RateLimitConfig config,
+                                              final boolean closeUnderlyingClient, final SdkRuntime runtime) {
+        super(delegate);
+        this.config = config;
+        this.closeUnderlyingClient = closeUnderlyingClient;
+        this.executor = runtime.getCpuPool();
+        final HashedWheelTimer timer = runtime.getTimer();
+        this.projectBucket = config.getProjectRequestsPerSecond() == null
+                ? null
+                : createBucket("project", config.getProjectRequestsPerSecond(), timer);
+        final Map<String, TokenBucket> buckets = new HashMap<>();
+        config.getEndpointRequestsPerSecond().forEach((endpoint, rate) -> buckets.put(endpoint, createBucket(endpoint, rate, timer)));
+        this.endpointBuckets = buckets;
+    }
+
+    private TokenBucket createBucket(final String name, final double requestsPerSecond, final HashedWheelTimer timer) {
+        final double burst = Math.max(1, requestsPerSecond * config.getBurstDuration().toNanos() / TimeUnit.SECONDS.toNanos(1));
+        return new TokenBucket(name, requestsPerSecond, burst, config.getQueueCapacity(), timer);
+    }
+
+    @Override
+    public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+        final RequestPriority priority = config.getPriorityClassifier().apply(sphereRequest);
+        final TokenBucket endpointBucket = endpointBuckets.isEmpty()
+                ? null
+                : endpointBuckets.get(config.getEndpointClassifier().apply(sphereRequest));
+        final CompletableFuture<Void> endpointPermit = endpointBucket == null
+                ? CompletableFuture.completedFuture(null)
+                : endpointBucket.acquire(priority);
+        final CompletableFuture<Void> permit = projectBucket == null
+                ? endpointPermit
+                : projectPermitAfter(endpointPermit, endpointBucket, priority);
+        if (permit.isDone()) {
+            return permit.thenCompose(x -> super.execute(sphereRequest));
+        }
+        final CompletableFuture<T> result = permit.thenComposeAsync(x -> super.execute(sphereRequest), executor);
+        //a caller which gives up while waiting releases its place in the queues
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                permit.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Takes a permit of the project budget after the permit of the endpoint budget. If the project permit is not
+     * granted or the request is cancelled in between, the taken tokens are given back.
+     */
+    private CompletableFuture<Void> projectPermitAfter(final CompletableFuture<Void> endpointPermit, @Nullable final TokenBucket endpointBucket,
+                                                       final RequestPriority priority) {
+        final CompletableFuture<Void> permit = new CompletableFuture<>();
+        permit.whenComplete((x, throwable) -> {
+            if (permit.isCancelled()) {
+                endpointPermit.cancel(false);
+            }
+        });
+        endpointPermit.whenComplete((x, endpointError) -> {
+            if (endpointError != null) {
+                permit.completeExceptionally(endpointError);
+                return;
+            }
+            final CompletableFuture<Void> projectPermit = projectBucket.acquire(priority);
+            permit.whenComplete((y, throwable) -> {
+                if (permit.isCancelled()) {
+                    projectPermit.cancel(false);
+                }
+            });
+            projectPermit.whenComplete((y, projectError) -> {
+                if (projectError == null && permit.complete(null)) {
+                    return;
+                }
+                if (projectError == null) {
+                    projectBucket.giveBack();
+                } else {
+                    permit.completeExceptionally(projectError);
+                }
+                if (endpointBucket != null) {
+                    endpointBucket.giveBack();
+                }
+            });
+        });
+        return permit;
+    }
+
+    /**
+     * Gets the amount of requests waiting for a permit of an endpoint budget.
+     *
+     * @param endpoint the endpoint name or null for the project budget
+     * @return the amount of waiting requests, 0 if there is no such budget
+     */
+    public int getWaitingCount(@Nullable final String endpoint) {
+        final TokenBucket bucket = endpoint == null ? projectBucket : endpointBuckets.get(endpoint);
+        return bucket == null ? 0 : bucket.getWaitingCount();
+    }
+
+    @Override
+    public void close() {
+        if (closeUnderlyingClient) {
+            super.close();
+        }
+    }
+
+    public static RateLimitingSphereClientDecorator of(final SphereClient delegate, final RateLimitConfig config, final boolean closeUnderlyingClient) {
+        return of(delegate, config, closeUnderlyingClient, SdkRuntime.shared());
+    }
+
+    public static RateLimitingSphereClientDecorator of(final SphereClient delegate, final RateLimitConfig config, final boolean closeUnderlyingClient,
+                                                       final SdkRuntime runtime) {
+        return new RateLimitingSphereClientDecorator(delegate, config, closeUnderlyingClient, runtime);
+    }
+
+    public static RateLimitingSphereClientDecorator of(final SphereClient delegate, final RateLimitConfig config) {
+        return of(delegate, config, true);
+    }
+
+    public static RateLimitingSphereClientDecorator of(final SphereClient delegate, final double requestsPerSecond) {
+        return of(delegate, RateLimitConfig.of(requestsPerSecond));
+    }
+}
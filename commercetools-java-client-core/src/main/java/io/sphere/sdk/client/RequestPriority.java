@@ -0,0 +1,19 @@
+package io.sphere.sdk.client;
+
+/**
+ * Priority class of a request for {@link RateLimitingSphereClientDecorator}.
+ * If requests wait for their budget, the ones with a higher priority get the next permits.
+ *
+ * @see RateLimitConfigBuilder#priorityClassifier(java.util.function.Function)
+ */
+public enum RequestPriority {
+    /**
+     * For example requests of a customer waiting for the response.
+     */
+    HIGH,
+    NORMAL,
+    /**
+     * For example batch jobs like imports.
+     */
+    LOW
+}
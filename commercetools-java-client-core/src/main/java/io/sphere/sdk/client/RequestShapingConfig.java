@@ -0,0 +1,38 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+
+/**
+ * Configuration for {@link RequestShapingSphereClientDecorator}.
+ *
+ * @see RequestShapingConfigBuilder
+ */
+public final class RequestShapingConfig extends Base {
+    private final int maxIsInValues;
+    private final int maxUpdateActions;
+
+    RequestShapingConfig(final int maxIsInValues, final int maxUpdateActions) {
+        this.maxIsInValues = maxIsInValues;
+        this.maxUpdateActions = maxUpdateActions;
+    }
+
+    /**
+     * Maximum amount of values in an {@code in (...)} predicate of a query before the query is split.
+     * @return amount of values
+     */
+    public int getMaxIsInValues() {
+        return maxIsInValues;
+    }
+
+    /**
+     * Maximum amount of update actions in one update command before the command is split.
+     * @return amount of update actions
+     */
+    public int getMaxUpdateActions() {
+        return maxUpdateActions;
+    }
+
+    public static RequestShapingConfig of() {
+        return RequestShapingConfigBuilder.of().build();
+    }
+}
@@ -0,0 +1,56 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Builder;
+
+/**
+ * Builds {@link RequestShapingConfig} instances using the Builder pattern.
+ */
+public final class RequestShapingConfigBuilder extends Base implements Builder<RequestShapingConfig> {
+    public static final int DEFAULT_MAX_IS_IN_VALUES = 100;
+    public static final int DEFAULT_MAX_UPDATE_ACTIONS = 500;
+
+    private int maxIsInValues = DEFAULT_MAX_IS_IN_VALUES;
+    private int maxUpdateActions = DEFAULT_MAX_UPDATE_ACTIONS;
+
+    private RequestShapingConfigBuilder() {
+    }
+
+    /**
+     * Sets the maximum amount of values in an {@code in (...)} predicate of a query before the query is split.
+     *
+     * @param maxIsInValues positive amount, by default {@value #DEFAULT_MAX_IS_IN_VALUES}
+     * @return the builder instance
+     */
+    public RequestShapingConfigBuilder maxIsInValues(final int maxIsInValues) {
+        this.maxIsInValues = requirePositive(maxIsInValues, "maxIsInValues");
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of update actions in one update command before the command is split.
+     *
+     * @param maxUpdateActions positive amount, by default {@value #DEFAULT_MAX_UPDATE_ACTIONS}
+     * @return the builder instance
+     */
+    public RequestShapingConfigBuilder maxUpdateActions(final int maxUpdateActions) {
+        this.maxUpdateActions = requirePositive(maxUpdateActions, "maxUpdateActions");
+        return this;
+    }
+
+    public static RequestShapingConfigBuilder of() {
+        return new RequestShapingConfigBuilder();
+    }
+
+    @Override
+    public RequestShapingConfig build() {
+        return new RequestShapingConfig(maxIsInValues, maxUpdateActions);
+    }
+
+    private static int requirePositive(final int value, final String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(String.format("%s needs to be positive but was %d", name, value));
+        }
+        return value;
+    }
+}
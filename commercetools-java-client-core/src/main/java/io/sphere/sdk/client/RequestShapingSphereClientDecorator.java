@@ -0,0 +1,118 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.commands.UpdateCommandDsl;
+import io.sphere.sdk.models.Versioned;
+import io.sphere.sdk.queries.MetaModelQueryDsl;
+import io.sphere.sdk.queries.PagedQueryResult;
+import io.sphere.sdk.queries.QuerySplitUtils;
+import io.sphere.sdk.utils.CompletableFutureUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Decorates a {@link SphereClient} to split requests which exceed the size limits of the platform.
+ *
+ * <ul>
+ *     <li>Queries with an {@code in (...)} predicate with more than {@link RequestShapingConfig#getMaxIsInValues()} values
+ *     are sent as multiple queries in parallel and their results are merged, see {@link QuerySplitUtils}.
+ *     The merged result contains at most as many elements as the limit of the query.</li>
+ *     <li>Update commands with more than {@link RequestShapingConfig#getMaxUpdateActions()} update actions are sent as
+ *     multiple commands one after another, each with the version returned by the previous command.
+ *     The splitted update is not atomic: if a later command fails, the actions of the earlier commands stay applied.</li>
+ * </ul>
+ *
+ * <p>All other requests are passed to the underlying client unchanged.</p>
+ *
+ * @see RequestShapingConfigBuilder
+ */
+public final class RequestShapingSphereClientDecorator extends SphereClientDecorator implements SphereClient {
+    private final RequestShapingConfig config;
+    private final LongAdder splitQueries = new LongAdder();
+    private final LongAdder splitUpdateCommands = new LongAdder();
+
+    private RequestShapingSphereClientDecorator(final SphereClient delegate, final RequestShapingConfig config) {
+        super(delegate);
+        this.config = config;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+        if (sphereRequest instanceof MetaModelQueryDsl) {
+            final Optional<List<MetaModelQueryDsl>> parts = QuerySplitUtils.splitLargeIsInPredicate((MetaModelQueryDsl) sphereRequest, config.getMaxIsInValues());
+            if (parts.isPresent()) {
+                splitQueries.increment();
+                return (CompletionStage<T>) executeInParallel((List) parts.get());
+            }
+        } else if (sphereRequest instanceof UpdateCommandDsl) {
+            final UpdateCommandDsl command = (UpdateCommandDsl) sphereRequest;
+            if (command.getUpdateActions().size() > config.getMaxUpdateActions()) {
+                splitUpdateCommands.increment();
+                return executeSequentially(command, Deadline.current());
+            }
+        }
+        return super.execute(sphereRequest);
+    }
+
+    /**
+     * Gets the amount of queries which have been split into multiple queries.
+     *
+     * @return amount of queries
+     */
+    public long getSplitQueryCount() {
+        return splitQueries.sum();
+    }
+
+    /**
+     * Gets the amount of update commands which have been split into multiple commands.
+     *
+     * @return amount of update commands
+     */
+    public long getSplitUpdateCommandCount() {
+        return splitUpdateCommands.sum();
+    }
+
+    private <T> CompletionStage<PagedQueryResult<T>> executeInParallel(final List<? extends SphereRequest<PagedQueryResult<T>>> parts) {
+        final List<CompletionStage<PagedQueryResult<T>>> results = new ArrayList<>(parts.size());
+        parts.forEach(part -> results.add(super.execute(part)));
+        return CompletableFutureUtils.listOfFuturesToFutureOfList(results)
+                .thenApply(QuerySplitUtils::mergeResults);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletionStage<T> executeSequentially(final UpdateCommandDsl command, final Optional<Deadline> deadline) {
+        final List<? extends UpdateAction<?>> updateActions = command.getUpdateActions();
+        final int chunkSize = config.getMaxUpdateActions();
+        CompletionStage<Object> result = super.execute(command.withUpdateActions(updateActions.subList(0, chunkSize)));
+        for (int start = chunkSize; start < updateActions.size(); start += chunkSize) {
+            final List<? extends UpdateAction<?>> chunk = updateActions.subList(start, Math.min(start + chunkSize, updateActions.size()));
+            result = result.thenCompose(resource -> {
+                if (!(resource instanceof Versioned)) {
+                    return CompletableFutureUtils.failed(new IllegalStateException("cannot continue a split update command without the version of " + resource));
+                }
+                final UpdateCommandDsl nextCommand = (UpdateCommandDsl) command.withUpdateActions(chunk).withVersion(((Versioned<?>) resource).getVersion());
+                //the following chunks are sent from the thread completing the previous one
+                return withDeadline(deadline, () -> super.execute(nextCommand));
+            });
+        }
+        return (CompletionStage<T>) result;
+    }
+
+    private static <T> CompletionStage<T> withDeadline(final Optional<Deadline> deadline, final Supplier<CompletionStage<T>> execution) {
+        return deadline.map(d -> d.callWithin(execution)).orElseGet(execution);
+    }
+
+    public static RequestShapingSphereClientDecorator of(final SphereClient delegate, final RequestShapingConfig config) {
+        return new RequestShapingSphereClientDecorator(delegate, config);
+    }
+
+    public static RequestShapingSphereClientDecorator of(final SphereClient delegate) {
+        return of(delegate, RequestShapingConfig.of());
+    }
+}
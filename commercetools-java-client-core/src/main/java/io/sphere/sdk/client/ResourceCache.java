@@ -0,0 +1,228 @@
+package io.sphere.sdk.client;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Size bounded store of {@link CachingSphereClientDecorator}.
+ *
+ * <p>With {@link CacheEvictionPolicy#W_TINY_LFU} new entries go to a window of about 1% of the capacity.
+ * An entry leaving the window replaces the least recently used entry of the main area only if it has been accessed
+ * more often according to the {@link FrequencySketch}. With {@link CacheEvictionPolicy#LRU} the window spans the whole capacity.</p>
+ *
+ * <p>Entries are indexed by the id of the cached resource, so all entries of a resource can be invalidated,
+ * for example the one fetched by id and the one fetched by key.</p>
+ */
+final class ResourceCache {
+    private final int windowCapacity;
+    private final int mainCapacity;
+    @Nullable
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<String, Entry> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Entry> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<String>> keysById = new HashMap<>();
+    private long generation = 0;
+
+    ResourceCache(final int maxEntries, final CacheEvictionPolicy evictionPolicy) {
+        if (evictionPolicy == CacheEvictionPolicy.W_TINY_LFU) {
+            this.windowCapacity = Math.max(1, maxEntries / 100);
+            this.mainCapacity = maxEntries - windowCapacity;
+            this.sketch = new FrequencySketch(maxEntries);
+        } else {
+            this.windowCapacity = maxEntries;
+            this.mainCapacity = 0;
+            this.sketch = null;
+        }
+    }
+
+    /**
+     * Finds a valid entry and records the access. Expired entries are removed.
+     *
+     * @return the entry or null
+     */
+    @Nullable
+    synchronized Entry get(final String key, final long nowNanos) {
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+        final Entry windowEntry = window.get(key);
+        final Entry entry = windowEntry != null ? windowEntry : main.get(key);
+        if (entry != null && entry.expiresAtNanos - nowNanos <= 0) {
+            remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * The generation changes with each invalidation, a value fetched before an invalidation is not stored.
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Stores an entry unless an invalidation happened since the value has been requested.
+     *
+     * @return the amount of evicted entries
+     */
+    synchronized int put(final Entry entry, final long requestGeneration) {
+        if (requestGeneration != generation) {
+            return 0;
+        }
+        remove(entry.key);
+        window.put(entry.key, entry);
+        if (entry.id != null) {
+            keysById.computeIfAbsent(entry.id, id -> new HashSet<>()).add(entry.key);
+        }
+        if (window.size() <= windowCapacity) {
+            return 0;
+        }
+        final Entry candidate = removeEldest(window);
+        if (sketch == null || mainCapacity == 0) {
+            unindex(candidate);
+        } else if (main.size() < mainCapacity) {
+            main.put(candidate.key, candidate);
+            return 0;
+        } else {
+            final Entry victim = main.entrySet().iterator().next().getValue();
+            if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                main.remove(victim.key);
+                unindex(victim);
+                main.put(candidate.key, candidate);
+            } else {
+                unindex(candidate);
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Extends the lifetime of an entry if it still has the given version.
+     */
+    synchronized void renew(final String key, @Nullable final Long version, final long expiresAtNanos) {
+        final Entry windowEntry = window.get(key);
+        final Entry entry = windowEntry != null ? windowEntry : main.get(key);
+        if (entry != null && entry.version != null && entry.version.equals(version)) {
+            entry.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    /**
+     * Removes the entries of a resource.
+     *
+     * @param id the id of the resource
+     * @param version entries with a lower version are removed, null to remove all entries of the resource
+     * @return the amount of removed entries
+     */
+    synchronized int invalidate(final String id, @Nullable final Long version) {
+        generation++;
+        final Set<String> keys = keysById.get(id);
+        if (keys == null) {
+            return 0;
+        }
+        int removed = 0;
+        for (final String key : new ArrayList<>(keys)) {
+            final Entry windowEntry = window.get(key);
+            final Entry entry = windowEntry != null ? windowEntry : main.get(key);
+            if (entry != null && (version == null || entry.version == null || entry.version < version)) {
+                remove(key);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    synchronized int invalidateAll() {
+        generation++;
+        final int size = size();
+        window.clear();
+        main.clear();
+        keysById.clear();
+        return size;
+    }
+
+    synchronized List<Entry> entries() {
+        final List<Entry> entries = new ArrayList<>(window.values());
+        entries.addAll(main.values());
+        return entries;
+    }
+
+    synchronized int size() {
+        return window.size() + main.size();
+    }
+
+    private void remove(final String key) {
+        final Entry windowEntry = window.remove(key);
+        final Entry entry = windowEntry != null ? windowEntry : main.remove(key);
+        if (entry != null) {
+            unindex(entry);
+        }
+    }
+
+    private void unindex(final Entry entry) {
+        if (entry.id != null) {
+            final Set<String> keys = keysById.get(entry.id);
+            if (keys != null && keys.remove(entry.key) && keys.isEmpty()) {
+                keysById.remove(entry.id);
+            }
+        }
+    }
+
+    private static Entry removeEldest(final LinkedHashMap<String, Entry> map) {
+        final Iterator<Entry> iterator = map.values().iterator();
+        final Entry eldest = iterator.next();
+        iterator.remove();
+        return eldest;
+    }
+
+    static final class Entry {
+        private final String key;
+        private final String endpoint;
+        private final Object value;
+        @Nullable
+        private final String id;
+        @Nullable
+        private final Long version;
+        private long expiresAtNanos;
+
+        Entry(final String key, final String endpoint, final Object value, @Nullable final String id,
+              @Nullable final Long version, final long expiresAtNanos) {
+            this.key = key;
+            this.endpoint = endpoint;
+            this.value = value;
+            this.id = id;
+            this.version = version;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        String getEndpoint() {
+            return endpoint;
+        }
+
+        Object getValue() {
+            return value;
+        }
+
+        @Nullable
+        String getId() {
+            return id;
+        }
+
+        @Nullable
+        Long getVersion() {
+            return version;
+        }
+    }
+}
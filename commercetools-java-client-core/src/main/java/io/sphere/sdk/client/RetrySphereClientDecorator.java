@@ -15,6 +15,10 @@ import java.util.List;
  */
 public interface RetrySphereClientDecorator extends SphereClient {
     static SphereClient of(final SphereClient delegate, final List<RetryRule> retryRules) {
-        return new RetrySphereClientImpl(delegate, retryRules);
+        return of(delegate, retryRules, SdkRuntime.shared());
+    }
+
+    static SphereClient of(final SphereClient delegate, final List<RetryRule> retryRules, final SdkRuntime runtime) {
+        return new RetrySphereClientImpl(delegate, retryRules, runtime);
     }
 }
@@ -9,9 +9,9 @@ import java.util.concurrent.CompletionStage;
 final class RetrySphereClientImpl extends SphereClientDecorator {
     private final AsyncRetrySupervisor supervisor;
 
-    RetrySphereClientImpl(final SphereClient delegate, final List<RetryRule> retryRules) {
+    RetrySphereClientImpl(final SphereClient delegate, final List<RetryRule> retryRules, final SdkRuntime runtime) {
         super(delegate);
-        this.supervisor = AsyncRetrySupervisor.of(retryRules);
+        this.supervisor = AsyncRetrySupervisor.of(retryRules, runtime);
     }
 
     @Override
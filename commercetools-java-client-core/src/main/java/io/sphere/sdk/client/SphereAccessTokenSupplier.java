@@ -29,6 +29,31 @@ public interface SphereAccessTokenSupplier extends AutoCloseable, Supplier<Compl
         return AutoRefreshSphereAccessTokenSupplierImpl.createAndBeginRefreshInBackground(config, httpClient, closeHttpClient);
     }
 
+    /**
+     * Provides a token generator which tries to always provide a valid token and uses the threads of the given runtime.
+     *
+     * @param config the configuration to fetch a token
+     * @param httpClient used http client
+     * @param closeHttpClient set to true, if the httpClient should be closed with the created SphereAccessTokenSupplier
+     * @param runtime the runtime for retries and continuations
+     * @return token service
+     */
+    static SphereAccessTokenSupplier ofAutoRefresh(final SphereAuthConfig config, final HttpClient httpClient,
+                                                   final boolean closeHttpClient, final SdkRuntime runtime) {
+        return AutoRefreshSphereAccessTokenSupplierImpl.createAndBeginRefreshInBackground(config, httpClient, closeHttpClient, runtime);
+    }
+
+    /**
+     * Provides a token generator which tries to always provide a valid token from the given tokens supplier,
+     * for example a {@link CachingTokensSupplier} to share the tokens with other clients.
+     *
+     * @param tokensSupplier the supplier to fetch tokens, closed with the created SphereAccessTokenSupplier
+     * @return token service
+     */
+    static SphereAccessTokenSupplier ofAutoRefresh(final TokensSupplier tokensSupplier) {
+        return AutoRefreshSphereAccessTokenSupplierImpl.createAndBeginRefreshInBackground(tokensSupplier);
+    }
+
     /**
      * Provides a token generator which just returns a fixed token, so the client is only usable
      * for the live time of this token.
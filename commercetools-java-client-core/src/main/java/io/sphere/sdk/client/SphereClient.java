@@ -46,6 +46,20 @@ public interface SphereClient extends AutoCloseable {
         return SphereClientImpl.of(config, httpClient, tokenSupplier, CorrelationIdGenerator.of(config.getProjectKey()));
     }
 
+    /**
+     * Raw client creation with the threads of a runtime, see {@link SdkRuntime}.
+     *
+     * @param config platform project and location
+     * @param httpClient client to execute requests
+     * @param tokenSupplier delivery of access tokens
+     * @param runtime the runtime for continuations, for example with {@link SdkRuntimeBuilder#inlineContinuations(boolean) inline continuations}
+     * @return sphere client
+     */
+    static SphereClient of(final SphereApiConfig config, final HttpClient httpClient, final SphereAccessTokenSupplier tokenSupplier,
+                           final SdkRuntime runtime) {
+        return SphereClientImpl.of(config, httpClient, tokenSupplier, CorrelationIdGenerator.of(config.getProjectKey()), runtime);
+    }
+
     /**
      * Getter for the SphereApiConfig used for this client
      * @return the configuration used for this client
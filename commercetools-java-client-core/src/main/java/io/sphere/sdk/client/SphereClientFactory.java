@@ -32,6 +32,19 @@ public interface SphereClientFactory {
         return SphereClient.of(config, httpClient, tokenSupplier);
     }
 
+    /**
+     * Creates a standard client which uses the threads of a runtime, so many clients share one pool and one timer.
+     *
+     * @param config configuration for the client
+     * @param runtime the runtime for token refreshes and continuations
+     * @return client
+     */
+    default SphereClient createClient(SphereClientConfig config, SdkRuntime runtime) {
+        final HttpClient httpClient = createHttpClient();
+        final SphereAccessTokenSupplier tokenSupplier = SphereAccessTokenSupplier.ofAutoRefresh(config, httpClient, false, runtime);
+        return SphereClient.of(config, httpClient, tokenSupplier, runtime);
+    }
+
     /**
      * Creates a client with a custom service to provide access tokens.
      * @param config the configuration to use the API
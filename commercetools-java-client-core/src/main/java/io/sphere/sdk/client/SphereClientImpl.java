@@ -10,11 +10,14 @@ import io.sphere.sdk.utils.SphereInternalLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.List;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 import static io.sphere.sdk.client.HttpResponseBodyUtils.bytesToString;
 import static io.sphere.sdk.utils.SphereInternalLogger.getLogger;
@@ -27,14 +30,17 @@ final class SphereClientImpl extends AutoCloseableService implements SphereClien
     private final SphereAccessTokenSupplier tokenSupplier;
     private final String userAgent;
     private final CorrelationIdGenerator correlationIdGenerator;
+    private final Executor continuationExecutor;
 
     private SphereClientImpl(final SphereApiConfig config, final SphereAccessTokenSupplier tokenSupplier,
-                             final HttpClient httpClient, final CorrelationIdGenerator correlationIdGenerator) {
+                             final HttpClient httpClient, final CorrelationIdGenerator correlationIdGenerator,
+                             final SdkRuntime runtime) {
         this.httpClient = httpClient;
         this.config = config;
         this.tokenSupplier = tokenSupplier;
         userAgent = UserAgentUtils.obtainUserAgent(httpClient);
         this.correlationIdGenerator = correlationIdGenerator;
+        this.continuationExecutor = runtime.getContinuationExecutor();
     }
 
     @Override
@@ -42,13 +48,28 @@ final class SphereClientImpl extends AutoCloseableService implements SphereClien
         rejectExcutionIfClosed("Client is already closed.");
         try {
             final int ttl = 1;
-            return tokenSupplier.get().thenComposeAsync(token -> execute(sphereRequest, token, ttl));
+            final CompletableFuture<T> result = new CompletableFuture<>();
+            tokenSupplier.get().whenCompleteAsync((token, tokenError) -> executeWithToken(sphereRequest, token, tokenError, ttl, result), continuationExecutor);
+            return result;
         } catch (final Throwable throwable) {
             return CompletableFutureUtils.failed(throwable);
         }
     }
 
-    private <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest, final String token, final int ttl) {
+    private <T> void executeWithToken(final SphereRequest<T> sphereRequest, @Nullable final String token, @Nullable final Throwable tokenError,
+                                      final int ttl, final CompletableFuture<T> result) {
+        if (tokenError != null) {
+            result.completeExceptionally(tokenError instanceof CompletionException ? tokenError : new CompletionException(tokenError));
+        } else if (!result.isDone()) {//the caller may have given up already
+            try {
+                execute(sphereRequest, token, ttl, result);
+            } catch (final Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+        }
+    }
+
+    private <T> void execute(final SphereRequest<T> sphereRequest, final String token, final int ttl, final CompletableFuture<T> result) {
         final HttpRequest httpRequest = createHttpRequest(sphereRequest, token);
         final SphereInternalLogger logger = getLogger(httpRequest);
         logger.debug(() -> sphereRequest);
@@ -76,25 +97,27 @@ final class SphereClientImpl extends AutoCloseableService implements SphereClien
             }
             return output;
         });
-        return executeWithRecover(sphereRequest, httpRequest, ttl);
+        executeWithRecover(sphereRequest, httpRequest, ttl, result);
     }
 
-    private <T> CompletableFuture<T> executeWithRecover(final SphereRequest<T> sphereRequest, final HttpRequest httpRequest, final int ttl) {
-        final CompletionStage<T> intermediateResult = httpClient.execute(httpRequest).thenApplyAsync(httpResponse -> {
+    private <T> void executeWithRecover(final SphereRequest<T> sphereRequest, final HttpRequest httpRequest, final int ttl, final CompletableFuture<T> result) {
+        final CompletionStage<HttpResponse> httpResponseStage = httpClient.execute(httpRequest);
+        //releases the connection if the caller cancels the result or a timeout completes it
+        CompletableFutureUtils.cancelWhenCompleted(result, httpResponseStage);
+        final CompletionStage<T> intermediateResult = httpResponseStage.thenApplyAsync(httpResponse -> {
             try {
                 return processHttpResponse(sphereRequest, objectMapper, config, httpResponse, httpRequest);
             } catch (final SphereException e) {
                 fillExceptionWithData(sphereRequest, httpResponse, e, config, httpRequest);
                 throw e;
             }
-        });
-        final CompletableFuture<T> result = new CompletableFuture<T>();
-        intermediateResult.whenCompleteAsync((value, throwable) -> {
+        }, continuationExecutor);
+        //the result is completed in the same thread as the parsing, the caller decides where its continuations run
+        intermediateResult.whenComplete((value, throwable) -> {
             if (throwable != null) {
                 if (throwable.getCause() instanceof InvalidTokenException && ttl > 0 && tokenSupplier instanceof RefreshableSphereAccessTokenSupplier) {
                     final RefreshableSphereAccessTokenSupplier supplier = (RefreshableSphereAccessTokenSupplier) tokenSupplier;
-                    final CompletionStage<T> nextAttemptCompletionStage = supplier.getNewToken().thenComposeAsync(token -> execute(sphereRequest, token, ttl - 1));
-                    CompletableFutureUtils.transferResult(nextAttemptCompletionStage, result);
+                    supplier.getNewToken().whenCompleteAsync((token, tokenError) -> executeWithToken(sphereRequest, token, tokenError, ttl - 1, result), continuationExecutor);
                 } else {
                     result.completeExceptionally(throwable);
                 }
@@ -102,7 +125,6 @@ final class SphereClientImpl extends AutoCloseableService implements SphereClien
                 result.complete(value);
             }
         });
-        return result;
     }
 
     private <T> HttpRequest createHttpRequest(final SphereRequest<T> sphereRequest, final String token) {
@@ -138,7 +160,7 @@ final class SphereClientImpl extends AutoCloseableService implements SphereClien
                 result = sphereRequest.deserialize(httpResponse);
             } catch (final JsonException e) {
                 final byte[] bytes = httpResponse.getResponseBody();
-                e.addNote("Cannot parse " + bytesToString(bytes));
+                e.addNote(bytes != null ? "Cannot parse " + bytesToString(bytes) : "Cannot parse streamed response body");
                 throw e;
             }
         }
@@ -166,12 +188,17 @@ final class SphereClientImpl extends AutoCloseableService implements SphereClien
 
     public static SphereClient of(final SphereApiConfig config, final HttpClient httpClient,
                                   final SphereAccessTokenSupplier tokenSupplier) {
-        return new SphereClientImpl(config, tokenSupplier, httpClient, CorrelationIdGenerator.of(config.getProjectKey()));
+        return of(config, httpClient, tokenSupplier, CorrelationIdGenerator.of(config.getProjectKey()));
     }
 
     public static SphereClient of(final SphereApiConfig config, final HttpClient httpClient,
                                   final SphereAccessTokenSupplier tokenSupplier, final CorrelationIdGenerator correlationIdGenerator) {
-        return new SphereClientImpl(config, tokenSupplier, httpClient, correlationIdGenerator);
+        return of(config, httpClient, tokenSupplier, correlationIdGenerator, SdkRuntime.shared());
+    }
+
+    public static SphereClient of(final SphereApiConfig config, final HttpClient httpClient, final SphereAccessTokenSupplier tokenSupplier,
+                                  final CorrelationIdGenerator correlationIdGenerator, final SdkRuntime runtime) {
+        return new SphereClientImpl(config, tokenSupplier, httpClient, correlationIdGenerator, runtime);
     }
 
     @Override
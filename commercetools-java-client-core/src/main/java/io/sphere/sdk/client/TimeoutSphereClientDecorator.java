@@ -3,28 +3,42 @@ package io.sphere.sdk.client;
 import io.sphere.sdk.utils.CompletableFutureUtils;
 
 import java.time.Duration;
-import java.time.temporal.ChronoUnit;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Wraps a {@link SphereClient} to add timeouts.
  * There are no guarantees that the timeout will be after the exact duration.
- * The underlying HTTP client most likely will have a timeout and you may consider to implement it there.
  * If the timeout occurs a {@link SphereTimeoutException} will be thrown.
+ *
+ * <p>The timeouts run on the {@link HashedWheelTimer#shared() shared timer} and are cancelled as soon as the result arrives.
+ * On timeout the request is cancelled, which aborts the request in the underlying HTTP client and releases its connection,
+ * then the result is completed in the {@link SdkRuntime#getCpuPool() CPU pool}.</p>
+ *
+ * <p>The decorated client is called within the {@link Deadline} of the request, so retries of a {@link RetrySphereClientDecorator}
+ * inside of this decorator stop before the timeout. If this decorator is nested in another timeout,
+ * the earlier deadline wins. The request itself is passed on unchanged.</p>
  */
 public final class TimeoutSphereClientDecorator extends SphereClientDecorator implements SphereClient {
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private final HashedWheelTimer timer;
+    private final Executor executor;
     private final long delay;
     private final TimeUnit timeUnit;
 
-    private TimeoutSphereClientDecorator(final SphereClient delegate, final long delay, final TimeUnit timeUnit) {
+    private TimeoutSphereClientDecorator(final SphereClient delegate, final long delay, final TimeUnit timeUnit, final SdkRuntime runtime) {
         super(delegate);
         this.delay = delay;
         this.timeUnit = timeUnit;
+        this.timer = runtime.getTimer();
+        this.executor = runtime.getCpuPool();
     }
 
     public static SphereClient of(final SphereClient delegate, final long delay, final TimeUnit timeUnit) {
-        return new TimeoutSphereClientDecorator(delegate, delay, timeUnit);
+        return of(delegate, delay, timeUnit, SdkRuntime.shared());
+    }
+
+    public static SphereClient of(final SphereClient delegate, final long delay, final TimeUnit timeUnit, final SdkRuntime runtime) {
+        return new TimeoutSphereClientDecorator(delegate, delay, timeUnit, runtime);
     }
 
     public static SphereClient of(final SphereClient delegate, final Duration duration) {
@@ -33,16 +47,35 @@ public final class TimeoutSphereClientDecorator extends SphereClientDecorator im
 
     @Override
     public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+        final Deadline ownDeadline = Deadline.after(delay, timeUnit);
+        final Deadline deadline = Deadline.current().filter(current -> current.isBefore(ownDeadline)).orElse(ownDeadline);
         final CompletableFuture<T> result = new CompletableFuture<>();
-        final CompletionStage<T> prevResult = super.execute(sphereRequest);
-        CompletableFutureUtils.transferResult(prevResult, result);
-        scheduler.schedule(() -> result.completeExceptionally(new SphereTimeoutException(new TimeoutException())), delay, timeUnit);
+        final AtomicBoolean timedOut = new AtomicBoolean();
+        final CompletionStage<T> prevResult = deadline.callWithin(() -> super.execute(sphereRequest));
+        //the timer thread only hands the timeout over, the callbacks of the caller run in the CPU pool
+        final HashedWheelTimer.Timeout timeout = timer.schedule(() -> executor.execute(() -> {
+            if (!result.isDone()) {
+                //the request is aborted before the caller learns about the timeout
+                timedOut.set(true);
+                try {
+                    prevResult.toCompletableFuture().cancel(true);
+                } catch (final UnsupportedOperationException e) {
+                    //stage cannot be cancelled
+                }
+                result.completeExceptionally(new SphereTimeoutException(new TimeoutException()));
+            }
+        }), deadline.timeRemaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        result.whenComplete((value, throwable) -> timeout.cancel());
+        CompletableFutureUtils.cancelWhenCompleted(result, prevResult);
+        prevResult.whenComplete((value, throwable) -> {
+            if (timedOut.get()) {
+                result.completeExceptionally(new SphereTimeoutException(new TimeoutException()));
+            } else if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+        });
         return result;
     }
-
-    @Override
-    public void close() {
-        scheduler.shutdown();
-        super.close();
-    }
 }
@@ -0,0 +1,144 @@
+package io.sphere.sdk.client;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A token bucket which hands out permits asynchronously. Requests which cannot get a token immediately wait in one queue
+ * per {@link RequestPriority} and are served by a task on a {@link HashedWheelTimer} as soon as the next token is available,
+ * so no thread is parked while waiting.
+ */
+final class TokenBucket {
+    private static final RequestPriority[] PRIORITIES = RequestPriority.values();
+
+    private final String name;
+    private final double tokensPerNano;
+    private final double capacity;
+    private final int queueCapacity;
+    private final HashedWheelTimer timer;
+    private final Queue<CompletableFuture<Void>>[] waiting;
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private double tokens;
+    private long lastRefill;
+
+    @SuppressWarnings("unchecked")
+    TokenBucket(final String name, final double requestsPerSecond, final double capacity, final int queueCapacity, final HashedWheelTimer timer) {
+        this.name = name;
+        this.tokensPerNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.queueCapacity = queueCapacity;
+        this.timer = timer;
+        this.waiting = new Queue[PRIORITIES.length];
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            waiting[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes a token. Cancelling the returned future while it waits releases its place in the queue.
+     *
+     * @param priority the priority of the request
+     * @return stage which is completed as soon as the request may be sent
+     */
+    CompletableFuture<Void> acquire(final RequestPriority priority) {
+        final CompletableFuture<Void> permit = new CompletableFuture<>();
+        if (waitingCount.get() == 0 && tryTake()) {
+            permit.complete(null);
+        } else if (waitingCount.incrementAndGet() > queueCapacity) {
+            waitingCount.decrementAndGet();
+            permit.completeExceptionally(new RejectedExecutionException(
+                    String.format("Too many requests are waiting for the rate limit %s (capacity %d).", name, queueCapacity)));
+        } else {
+            final Queue<CompletableFuture<Void>> queue = waiting[priority.ordinal()];
+            queue.add(permit);
+            permit.whenComplete((x, throwable) -> {
+                if (permit.isCancelled() && queue.remove(permit)) {
+                    waitingCount.decrementAndGet();
+                }
+            });
+            drain();
+        }
+        return permit;
+    }
+
+    int getWaitingCount() {
+        return waitingCount.get();
+    }
+
+    private void drain() {
+        CompletableFuture<Void> next;
+        while ((next = peekNext()) != null && tryTake()) {
+            final CompletableFuture<Void> polled = pollNext();
+            if (polled != null) {
+                waitingCount.decrementAndGet();
+                if (!polled.complete(null)) {
+                    //cancelled after it was taken from the queue
+                    giveBack();
+                }
+            } else {
+                giveBack();
+            }
+        }
+        if (next != null && drainScheduled.compareAndSet(false, true)) {
+            timer.schedule(() -> {
+                drainScheduled.set(false);
+                drain();
+            }, nanosUntilNextToken(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private CompletableFuture<Void> peekNext() {
+        for (final Queue<CompletableFuture<Void>> queue : waiting) {
+            final CompletableFuture<Void> head = queue.peek();
+            if (head != null) {
+                return head;
+            }
+        }
+        return null;
+    }
+
+    private CompletableFuture<Void> pollNext() {
+        for (final Queue<CompletableFuture<Void>> queue : waiting) {
+            final CompletableFuture<Void> head = queue.poll();
+            if (head != null) {
+                return head;
+            }
+        }
+        return null;
+    }
+
+    private synchronized boolean tryTake() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a token which has been taken but not used.
+     */
+    synchronized void giveBack() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    private synchronized long nanosUntilNextToken() {
+        refill();
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    private void refill() {
+        final long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,68 @@
+package io.sphere.sdk.client;
+
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Stores OAuth tokens so that many clients with the same credentials and scopes share one token
+ * instead of fetching their own, see {@link CachingTokensSupplier}.
+ *
+ * <p>Implementations coordinate the refresh: if several clients need new tokens at the same time,
+ * only one of them fetches the tokens and the others receive the same tokens.</p>
+ */
+public interface TokenCache {
+    /**
+     * Gets the stored tokens, which may be expired.
+     *
+     * @param key the cache key, see {@link #keyOf(SphereAuthConfig)}
+     * @return the tokens or empty if there are none
+     */
+    Optional<CachedTokens> get(String key);
+
+    /**
+     * Replaces the tokens of a key. If the stored tokens are usable and differ from the rejected ones, another client
+     * has already refreshed them and they are returned without fetching new tokens.
+     *
+     * @param key the cache key
+     * @param rejectedAccessToken the access token the caller can not use anymore, null if the caller has none
+     * @param fetcher fetches new tokens from the authorization server
+     * @return stage of the usable tokens
+     */
+    CompletionStage<CachedTokens> refresh(String key, @Nullable String rejectedAccessToken, Supplier<CompletionStage<CachedTokens>> fetcher);
+
+    /**
+     * Gets the cache key for the tokens of a configuration, which consists of the authorization server, the client id and the scopes.
+     *
+     * @param config the configuration to fetch tokens
+     * @return the key
+     */
+    static String keyOf(final SphereAuthConfig config) {
+        return config.getAuthUrl() + " " + config.getClientId() + " " + config.getRawScopes().stream().sorted().collect(joining(" "));
+    }
+
+    /**
+     * Gets the cache which is shared by all clients of the JVM.
+     *
+     * @return in memory cache
+     */
+    static TokenCache ofInMemory() {
+        return InMemoryTokenCache.SHARED;
+    }
+
+    /**
+     * Creates a cache which stores the tokens in files, so they can be used by other processes of the same host
+     * and after a restart. The refresh is coordinated across processes with file locks.
+     * The files contain the access tokens, so the directory must only be readable by the processes which use the client.
+     *
+     * @param directory the directory for the token files, it is created if it does not exist
+     * @return file based cache
+     */
+    static TokenCache ofDirectory(final Path directory) {
+        return FileTokenCache.of(directory);
+    }
+}
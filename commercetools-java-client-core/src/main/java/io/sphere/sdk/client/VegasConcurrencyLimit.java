@@ -0,0 +1,146 @@
+package io.sphere.sdk.client;
+
+import java.util.Random;
+
+/**
+ * Estimates a concurrency limit from round trip times in the style of TCP Vegas.
+ *
+ * <p>The round trip time without load is the minimum observed one. The samples are aggregated in windows of about one
+ * round trip, that means as many samples as the current limit. At the end of a window the average round trip time estimates how many requests
+ * are queued at the server with {@code limit * (1 - noLoadRtt / rtt)}. If the estimated queue is small the limit grows,
+ * if it is large the limit shrinks, both logarithmically to the current limit. Responses signaling an overloaded platform shrink the limit
+ * multiplicative, at most once per window since a burst of such responses is caused by the same overload.
+ * Since the latency without load can change but cannot be observed while requests are queued at the server, the limit is lowered
+ * to a quarter for about one round trip from time to time to measure it again (probing).</p>
+ *
+ * <p>Instances are thread-safe, samples are processed one at a time.</p>
+ */
+final class VegasConcurrencyLimit {
+    private static final int PROBE_MULTIPLIER = 30;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final Random random;
+    private double estimatedLimit;
+    private long noLoadRttNanos = 0;
+    private long probeCount = 0;
+    private double probeJitter;
+    private boolean probing = false;
+    private double limitBeforeProbe;
+    private int probeSamples;
+    private long probeMinRttNanos;
+    private int windowSamples = 0;
+    private long windowRttSumNanos = 0;
+    private int windowMaxInFlight = 0;
+    private boolean windowBackedOff = false;
+
+    VegasConcurrencyLimit(final int initialLimit, final int minLimit, final int maxLimit, final double backoffRatio, final Random random) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.random = random;
+        this.estimatedLimit = initialLimit;
+        resetProbeJitter();
+    }
+
+    /**
+     * Updates the limit with the outcome of one request.
+     *
+     * @param rttNanos the round trip time of the request
+     * @param inFlight the requests in flight when the request started, including itself
+     * @param overloaded true if the platform signaled overload, for example with a 503 response
+     * @return the new limit
+     */
+    synchronized int onSample(final long rttNanos, final int inFlight, final boolean overloaded) {
+        if (overloaded) {
+            if (!windowBackedOff) {
+                estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+                resetWindow();
+                windowBackedOff = true;
+            }
+        } else if (probing) {
+            onProbeSample(rttNanos);
+        } else if (rttNanos > 0) {
+            probeCount++;
+            if (probeJitter * PROBE_MULTIPLIER * estimatedLimit <= probeCount) {
+                startProbe();
+                return getLimit();
+            }
+            if (noLoadRttNanos == 0 || rttNanos < noLoadRttNanos) {
+                noLoadRttNanos = rttNanos;
+            }
+            windowSamples++;
+            windowRttSumNanos += rttNanos;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+            if (windowSamples >= Math.max(MIN_WINDOW_SAMPLES, estimatedLimit)) {
+                //an application which does not use the limit gives no information about it
+                if (windowMaxInFlight * 2 >= estimatedLimit) {
+                    updateEstimatedLimit(windowRttSumNanos / windowSamples);
+                }
+                resetWindow();
+                windowBackedOff = false;
+            }
+        }
+        return getLimit();
+    }
+
+    synchronized int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    private void startProbe() {
+        resetProbeJitter();
+        probeCount = 0;
+        probing = true;
+        limitBeforeProbe = estimatedLimit;
+        probeSamples = 0;
+        probeMinRttNanos = Long.MAX_VALUE;
+        estimatedLimit = Math.max(minLimit, estimatedLimit / 4);
+    }
+
+    /**
+     * The requests started before the probe arrive first, the probe ends after one more round trip with the lowered limit.
+     */
+    private void onProbeSample(final long rttNanos) {
+        probeSamples++;
+        if (probeSamples > limitBeforeProbe && rttNanos > 0) {
+            probeMinRttNanos = Math.min(probeMinRttNanos, rttNanos);
+        }
+        if (probeSamples >= limitBeforeProbe + Math.max(MIN_WINDOW_SAMPLES, estimatedLimit)) {
+            if (probeMinRttNanos != Long.MAX_VALUE) {
+                noLoadRttNanos = probeMinRttNanos;
+            }
+            estimatedLimit = limitBeforeProbe;
+            probing = false;
+            resetWindow();
+        }
+    }
+
+    private void resetWindow() {
+        windowSamples = 0;
+        windowRttSumNanos = 0;
+        windowMaxInFlight = 0;
+    }
+
+    private void updateEstimatedLimit(final long rttNanos) {
+        final double log = Math.max(1, Math.log10(estimatedLimit));
+        final double queueSize = Math.ceil(estimatedLimit * (1 - (double) noLoadRttNanos / rttNanos));
+        final double newLimit;
+        if (queueSize <= log) {
+            newLimit = estimatedLimit + 6 * log;
+        } else if (queueSize < 3 * log) {
+            newLimit = estimatedLimit + log;
+        } else if (queueSize > 6 * log) {
+            newLimit = estimatedLimit - log;
+        } else {
+            newLimit = estimatedLimit;
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    private void resetProbeJitter() {
+        probeJitter = 0.5 + random.nextDouble() / 2;
+    }
+}
@@ -0,0 +1,144 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencySphereClientDecoratorTest {
+
+    @Test
+    public void overloadReducesTheLimit() throws Exception {
+        final Simulation simulation = new Simulation(10, 100);
+        final AdaptiveConcurrencySphereClientDecorator client = simulation.decorate(AdaptiveConcurrencyConfigBuilder.of().initialLimit(100).build());
+        simulation.serviceUnavailable = true;
+        final CompletableFuture<String> future = client.execute(DummySphereRequest.of()).toCompletableFuture();
+        simulation.runUntil(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(future).isCompletedExceptionally();
+        assertThat(client.getLimit()).isEqualTo(90);
+        assertThat(client.getMetrics().getLimit()).isEqualTo(90);
+    }
+
+    /**
+     * Simulates 500 clients which send requests without pause against a platform which can process 50 requests in parallel,
+     * further requests increase the latency and with more than 200 parallel requests it responds with 503.
+     */
+    @Test
+    public void convergesToTheCapacityOfThePlatform() throws Exception {
+        final int capacity = 50;
+        final Simulation simulation = new Simulation(capacity, 500);
+        final AdaptiveConcurrencySphereClientDecorator client = simulation.decorate(AdaptiveConcurrencyConfig.of());
+        simulation.startClients(client);
+
+        final List<Integer> limits = new ArrayList<>();
+        for (int second = 1; second <= 120; second++) {
+            simulation.runUntil(TimeUnit.SECONDS.toNanos(second));
+            limits.add(client.getLimit());
+        }
+        final List<Integer> lastMinute = limits.subList(60, limits.size());
+        final double averageLimit = lastMinute.stream().mapToInt(i -> i).average().getAsDouble();
+        assertThat(averageLimit).isBetween(capacity * 1.0, capacity * 1.5);
+        assertThat(lastMinute).allMatch(limit -> limit < capacity * 2);
+    }
+
+    private static class Simulation extends Base {
+        private static final long BASE_LATENCY = TimeUnit.MILLISECONDS.toNanos(20);
+        private final int capacity;
+        private final int clients;
+        private final PriorityQueue<Event> events = new PriorityQueue<>();
+        private long now = 0;
+        private long sequence = 0;
+        private int serverInFlight = 0;
+        private boolean serviceUnavailable = false;
+
+        private Simulation(final int capacity, final int clients) {
+            this.capacity = capacity;
+            this.clients = clients;
+        }
+
+        AdaptiveConcurrencySphereClientDecorator decorate(final AdaptiveConcurrencyConfig config) {
+            return new AdaptiveConcurrencySphereClientDecorator(new LatencyInjectingSphereClient(), config, true, () -> now, new Random(0));
+        }
+
+        void startClients(final SphereClient client) {
+            for (int i = 0; i < clients; i++) {
+                schedule(0, () -> sendLoop(client));
+            }
+        }
+
+        private void sendLoop(final SphereClient client) {
+            client.execute(DummySphereRequest.of()).whenComplete((result, throwable) -> schedule(0, () -> sendLoop(client)));
+        }
+
+        void runUntil(final long time) {
+            while (!events.isEmpty() && events.peek().time <= time) {
+                final Event event = events.poll();
+                now = event.time;
+                event.action.run();
+            }
+            now = time;
+        }
+
+        private void schedule(final long delay, final Runnable action) {
+            events.add(new Event(now + delay, sequence++, action));
+        }
+
+        private class LatencyInjectingSphereClient extends Base implements SphereClient {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+                final CompletableFuture<T> future = new CompletableFuture<>();
+                serverInFlight++;
+                if (serviceUnavailable || serverInFlight > capacity * 4) {
+                    schedule(TimeUnit.MILLISECONDS.toNanos(1), () -> {
+                        serverInFlight--;
+                        future.completeExceptionally(new ServiceUnavailableException());
+                    });
+                } else {
+                    final long latency = BASE_LATENCY * Math.max(capacity, serverInFlight) / capacity;
+                    schedule(latency, () -> {
+                        serverInFlight--;
+                        future.complete((T) "done");
+                    });
+                }
+                return future;
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public SphereApiConfig getConfig() {
+                return null;
+            }
+        }
+    }
+
+    private static class Event implements Comparable<Event> {
+        private final long time;
+        private final long sequence;
+        private final Runnable action;
+
+        private Event(final long time, final long sequence, final Runnable action) {
+            this.time = time;
+            this.sequence = sequence;
+            this.action = action;
+        }
+
+        @Override
+        public int compareTo(final Event o) {
+            final int byTime = Long.compare(time, o.time);
+            return byTime != 0 ? byTime : Long.compare(sequence, o.sequence);
+        }
+    }
+}
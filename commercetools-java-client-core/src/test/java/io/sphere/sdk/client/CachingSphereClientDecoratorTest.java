@@ -0,0 +1,258 @@
+package io.sphere.sdk.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.http.HttpResponse;
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Versioned;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CachingSphereClientDecoratorTest {
+    private long now = 0;
+
+    @Test
+    public void repeatedReadsAreAnsweredFromTheCache() throws Exception {
+        final VersionedSphereClient delegate = new VersionedSphereClient();
+        delegate.store("product-types", "pt-1", 1);
+        final CachingSphereClientDecorator client = CachingSphereClientDecorator.of(delegate);
+
+        final Versioned<Object> first = client.execute(ResourceGet.of("/product-types/pt-1")).toCompletableFuture().join();
+        final Versioned<Object> second = client.execute(ResourceGet.of("/product-types/pt-1")).toCompletableFuture().join();
+
+        assertThat(second).isSameAs(first);
+        assertThat(delegate.paths).containsExactly("/product-types/pt-1");
+        final CacheMetrics metrics = client.getMetrics();
+        assertThat(metrics.getHitCount()).isEqualTo(1);
+        assertThat(metrics.getMissCount()).isEqualTo(1);
+        assertThat(metrics.getHitRatio()).isEqualTo(0.5);
+        assertThat(metrics.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void onlySingleResourcesOfConfiguredEndpointsAreCached() throws Exception {
+        final VersionedSphereClient delegate = new VersionedSphereClient();
+        delegate.store("products", "p-1", 1);
+        delegate.store("product-types", "pt-1", 1);
+        final CachingSphereClientDecorator client = CachingSphereClientDecorator.of(delegate);
+
+        for (int i = 0; i < 2; i++) {
+            client.execute(ResourceGet.of("/products/p-1")).toCompletableFuture().join();
+            client.execute(ResourceGet.of("/product-types?limit=500")).toCompletableFuture().join();
+            client.execute(ResourceGet.of("/product-types/pt-1?expand=attributes")).toCompletableFuture().join();
+        }
+
+        assertThat(delegate.paths).containsExactly(
+                "/products/p-1", "/product-types?limit=500", "/product-types/pt-1?expand=attributes",
+                "/products/p-1", "/product-types?limit=500");
+    }
+
+    @Test
+    public void timeToLivePerEndpoint() throws Exception {
+        final VersionedSphereClient delegate = new VersionedSphereClient();
+        delegate.store("channels", "c-1", 1);
+        delegate.store("zones", "z-1", 1);
+        final CachingConfig config = CachingConfigBuilder.of()
+                .defaultTimeToLive(Duration.ofHours(1))
+                .timeToLive("channels", Duration.ofMinutes(1))
+                .build();
+        final CachingSphereClientDecorator client = new CachingSphereClientDecorator(delegate, config, () -> now);
+
+        client.execute(ResourceGet.of("/channels/c-1")).toCompletableFuture().join();
+        client.execute(ResourceGet.of("/zones/z-1")).toCompletableFuture().join();
+        now += TimeUnit.MINUTES.toNanos(2);
+        client.execute(ResourceGet.of("/channels/c-1")).toCompletableFuture().join();
+        client.execute(ResourceGet.of("/zones/z-1")).toCompletableFuture().join();
+
+        assertThat(delegate.paths).containsExactly("/channels/c-1", "/zones/z-1", "/channels/c-1");
+        assertThatThrownBy(() -> CachingConfigBuilder.of().timeToLive("zones", Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void updatesThroughTheClientInvalidateAllEntriesOfTheResource() throws Exception {
+        final VersionedSphereClient delegate = new VersionedSphereClient();
+        delegate.store("tax-categories", "tc-1", 1);
+        final CachingSphereClientDecorator client = CachingSphereClientDecorator.of(delegate);
+
+        client.execute(ResourceGet.of("/tax-categories/tc-1")).toCompletableFuture().join();
+        client.execute(ResourceGet.of("/tax-categories/key=standard")).toCompletableFuture().join();
+        assertThat(client.getMetrics().getSize()).isEqualTo(2);
+
+        delegate.store("tax-categories", "tc-1", 2);
+        client.execute(ResourceGet.of(HttpMethod.POST, "/tax-categories/key=standard")).toCompletableFuture().join();
+
+        assertThat(client.getMetrics().getSize()).isZero();
+        assertThat(client.execute(ResourceGet.of("/tax-categories/tc-1")).toCompletableFuture().join().getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    public void messagesInvalidateOlderVersions() throws Exception {
+        final VersionedSphereClient delegate = new VersionedSphereClient();
+        delegate.store("types", "t-1", 3);
+        final CachingSphereClientDecorator client = CachingSphereClientDecorator.of(delegate);
+        client.execute(ResourceGet.of("/types/t-1")).toCompletableFuture().join();
+
+        client.invalidate("t-1", 3);
+        assertThat(client.getMetrics().getSize()).isEqualTo(1);
+
+        client.invalidate("t-1", 4);
+        assertThat(client.getMetrics().getSize()).isZero();
+        assertThat(client.getMetrics().getInvalidationCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void revalidationComparesVersions() throws Exception {
+        final VersionedSphereClient delegate = new VersionedSphereClient();
+        delegate.store("channels", "unchanged", 1);
+        delegate.store("channels", "changed", 1);
+        delegate.store("channels", "deleted", 1);
+        final CachingSphereClientDecorator client = new CachingSphereClientDecorator(delegate, CachingConfig.of(), () -> now);
+        client.execute(ResourceGet.of("/channels/unchanged")).toCompletableFuture().join();
+        client.execute(ResourceGet.of("/channels/changed")).toCompletableFuture().join();
+        client.execute(ResourceGet.of("/channels/deleted")).toCompletableFuture().join();
+
+        now += TimeUnit.MINUTES.toNanos(4);
+        delegate.store("channels", "changed", 2);
+        delegate.resources.remove("/channels/deleted");
+        final int removed = client.revalidate().toCompletableFuture().get(1, TimeUnit.SECONDS);
+
+        assertThat(removed).isEqualTo(2);
+        assertThat(delegate.paths).filteredOn(path -> path.contains("where=")).hasSize(1);
+        now += TimeUnit.MINUTES.toNanos(4);
+        delegate.paths.clear();
+        client.execute(ResourceGet.of("/channels/unchanged")).toCompletableFuture().join();
+        assertThat(delegate.paths).isEmpty();
+    }
+
+    @Test
+    public void tinyLfuKeepsFrequentlyUsedEntries() throws Exception {
+        final VersionedSphereClient delegate = new VersionedSphereClient();
+        for (int i = 0; i < 400; i++) {
+            delegate.store("zones", "z-" + i, 1);
+        }
+        final CachingConfig config = CachingConfigBuilder.of().maxEntries(100).build();
+        final CachingSphereClientDecorator client = CachingSphereClientDecorator.of(delegate, config);
+
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                client.execute(ResourceGet.of("/zones/z-" + i)).toCompletableFuture().join();
+            }
+        }
+        for (int i = 50; i < 400; i++) {
+            client.execute(ResourceGet.of("/zones/z-" + i)).toCompletableFuture().join();
+        }
+        delegate.paths.clear();
+        for (int i = 0; i < 50; i++) {
+            client.execute(ResourceGet.of("/zones/z-" + i)).toCompletableFuture().join();
+        }
+
+        assertThat(delegate.paths).isEmpty();
+        assertThat(client.getMetrics().getSize()).isEqualTo(100);
+        assertThat(client.getMetrics().getEvictionCount()).isEqualTo(300);
+    }
+
+    @Test
+    public void lruEvictsTheLeastRecentlyUsedEntry() throws Exception {
+        final VersionedSphereClient delegate = new VersionedSphereClient();
+        delegate.store("zones", "a", 1);
+        delegate.store("zones", "b", 1);
+        delegate.store("zones", "c", 1);
+        final CachingConfig config = CachingConfigBuilder.of().maxEntries(2).evictionPolicy(CacheEvictionPolicy.LRU).build();
+        final CachingSphereClientDecorator client = CachingSphereClientDecorator.of(delegate, config);
+
+        client.execute(ResourceGet.of("/zones/a")).toCompletableFuture().join();
+        client.execute(ResourceGet.of("/zones/b")).toCompletableFuture().join();
+        client.execute(ResourceGet.of("/zones/a")).toCompletableFuture().join();
+        client.execute(ResourceGet.of("/zones/c")).toCompletableFuture().join();
+        delegate.paths.clear();
+        client.execute(ResourceGet.of("/zones/a")).toCompletableFuture().join();
+        client.execute(ResourceGet.of("/zones/b")).toCompletableFuture().join();
+
+        assertThat(delegate.paths).containsExactly("/zones/b");
+    }
+
+    private static class ResourceGet extends Base implements SphereRequest<Versioned<Object>> {
+        private final HttpMethod httpMethod;
+        private final String path;
+
+        private ResourceGet(final HttpMethod httpMethod, final String path) {
+            this.httpMethod = httpMethod;
+            this.path = path;
+        }
+
+        @Override
+        public Versioned<Object> deserialize(final HttpResponse httpResponse) {
+            return null;
+        }
+
+        @Override
+        public HttpRequestIntent httpRequestIntent() {
+            return HttpRequestIntent.of(httpMethod, path);
+        }
+
+        private static ResourceGet of(final HttpMethod httpMethod, final String path) {
+            return new ResourceGet(httpMethod, path);
+        }
+
+        private static ResourceGet of(final String path) {
+            return of(HttpMethod.GET, path);
+        }
+    }
+
+    private static class VersionedSphereClient extends Base implements SphereClient {
+        private final Map<String, Versioned<Object>> resources = new ConcurrentHashMap<>();
+        private final List<String> paths = new CopyOnWriteArrayList<>();
+
+        private void store(final String endpoint, final String id, final long version) {
+            resources.put("/" + endpoint + "/" + id, Versioned.of(id, version));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+            final String path = sphereRequest.httpRequestIntent().getPath();
+            paths.add(path);
+            if (sphereRequest instanceof JsonNodeSphereRequest) {
+                return CompletableFuture.completedFuture((T) versionsOf(path.substring(0, path.indexOf('?'))));
+            }
+            final String pathWithoutQuery = path.contains("?") ? path.substring(0, path.indexOf('?')) : path;
+            final String resourcePath = pathWithoutQuery.replace("key=standard", "tc-1");
+            return CompletableFuture.completedFuture((T) resources.get(resourcePath));
+        }
+
+        private JsonNode versionsOf(final String endpointPath) {
+            final ObjectNode result = JsonNodeFactory.instance.objectNode();
+            final ArrayNode results = result.putArray("results");
+            resources.forEach((path, versioned) -> {
+                if (path.startsWith(endpointPath + "/")) {
+                    results.addObject().put("id", versioned.getId()).put("version", versioned.getVersion());
+                }
+            });
+            return result;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public SphereApiConfig getConfig() {
+            return null;
+        }
+    }
+}
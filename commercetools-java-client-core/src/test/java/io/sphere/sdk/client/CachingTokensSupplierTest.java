@@ -0,0 +1,197 @@
+package io.sphere.sdk.client;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nullable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.attribute.PosixFilePermission.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class CachingTokensSupplierTest {
+    private static final String KEY = TokenCache.keyOf(SphereAuthConfig.of("project-key", "client-id", "client-secret"));
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void clientsShareCachedTokens() throws Exception {
+        final TokenCache cache = new InMemoryTokenCache();
+        final CountingTokensSupplier firstDelegate = new CountingTokensSupplier();
+        final CountingTokensSupplier secondDelegate = new CountingTokensSupplier();
+        final CachingTokensSupplier first = CachingTokensSupplier.of(firstDelegate, cache, KEY);
+        final CachingTokensSupplier second = CachingTokensSupplier.of(secondDelegate, cache, KEY);
+
+        assertThat(first.get().toCompletableFuture().join().getAccessToken()).isEqualTo("token-1");
+        assertThat(second.get().toCompletableFuture().join().getAccessToken()).isEqualTo("token-1");
+
+        assertThat(firstDelegate.calls.get()).isEqualTo(1);
+        assertThat(secondDelegate.calls.get()).isZero();
+        assertThat(second.getHitCount()).isEqualTo(1);
+        assertThat(second.getTimeToFirstToken()).isPresent();
+    }
+
+    @Test
+    public void concurrentRefreshesShareOneFetch() throws Exception {
+        final TokenCache cache = new InMemoryTokenCache();
+        final CompletableFuture<Tokens> pendingTokens = new CompletableFuture<>();
+        final CountingTokensSupplier delegate = new CountingTokensSupplier(pendingTokens);
+        final CachingTokensSupplier first = CachingTokensSupplier.of(delegate, cache, KEY);
+        final CachingTokensSupplier second = CachingTokensSupplier.of(delegate, cache, KEY);
+
+        final CompletableFuture<Tokens> firstTokens = first.get().toCompletableFuture();
+        final CompletableFuture<Tokens> secondTokens = second.get().toCompletableFuture();
+        assertThat(first.getTimeToFirstToken()).isEmpty();
+        pendingTokens.complete(Tokens.of("shared-token", null, 3600L));
+
+        assertThat(firstTokens.join().getAccessToken()).isEqualTo("shared-token");
+        assertThat(secondTokens.join().getAccessToken()).isEqualTo("shared-token");
+        assertThat(delegate.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void rejectedTokensAreReplacedOnlyOnce() throws Exception {
+        final TokenCache cache = new InMemoryTokenCache();
+        final CountingTokensSupplier delegate = new CountingTokensSupplier();
+        final CachingTokensSupplier first = CachingTokensSupplier.of(delegate, cache, KEY);
+        final CachingTokensSupplier second = CachingTokensSupplier.of(delegate, cache, KEY);
+        first.get().toCompletableFuture().join();
+
+        assertThat(first.refresh("token-1").toCompletableFuture().join().getAccessToken()).isEqualTo("token-2");
+        assertThat(second.refresh("token-1").toCompletableFuture().join().getAccessToken()).isEqualTo("token-2");
+        assertThat(delegate.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void tokensWhichExpireSoonAreRefreshed() throws Exception {
+        final InMemoryTokenCache cache = new InMemoryTokenCache();
+        cache.put(KEY, CachedTokens.of("expiring-token", ZonedDateTime.now().plusSeconds(30)));
+        final CountingTokensSupplier delegate = new CountingTokensSupplier();
+        final CachingTokensSupplier tokensSupplier = CachingTokensSupplier.of(delegate, cache, KEY);
+
+        assertThat(tokensSupplier.get().toCompletableFuture().join().getAccessToken()).isEqualTo("token-1");
+        assertThat(tokensSupplier.getRefreshCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void fileCacheSharesTokensAcrossProcesses() throws Exception {
+        final Path directory = temporaryFolder.getRoot().toPath().resolve("tokens");
+        final CountingTokensSupplier firstDelegate = new CountingTokensSupplier("first-token-");
+        final CountingTokensSupplier secondDelegate = new CountingTokensSupplier("second-token-");
+        final CachingTokensSupplier first = CachingTokensSupplier.of(firstDelegate, TokenCache.ofDirectory(directory), KEY);
+        //a separate instance has its own memory like another process
+        final CachingTokensSupplier second = CachingTokensSupplier.of(secondDelegate, new FileTokenCache(directory), KEY);
+
+        assertThat(first.get().toCompletableFuture().get(5, TimeUnit.SECONDS).getAccessToken()).isEqualTo("first-token-1");
+        final Tokens secondTokens = second.get().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(secondTokens.getAccessToken()).isEqualTo("first-token-1");
+        assertThat(secondTokens.getExpiresIn()).isBetween(3500L, 3600L);
+        assertThat(secondDelegate.calls.get()).isZero();
+
+        assertThat(second.refresh("first-token-1").toCompletableFuture().get(5, TimeUnit.SECONDS).getAccessToken()).isEqualTo("second-token-1");
+        assertThat(first.refresh("first-token-1").toCompletableFuture().get(5, TimeUnit.SECONDS).getAccessToken()).isEqualTo("second-token-1");
+        assertThat(firstDelegate.calls.get()).isEqualTo(1);
+        assertThat(secondDelegate.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void fileCacheWaitsForTheLockOfAnotherInstance() throws Exception {
+        final Path directory = temporaryFolder.getRoot().toPath().resolve("tokens");
+        final CompletableFuture<Tokens> pendingTokens = new CompletableFuture<>();
+        final CountingTokensSupplier firstDelegate = new CountingTokensSupplier(pendingTokens);
+        final CountingTokensSupplier secondDelegate = new CountingTokensSupplier("second-token-");
+        final CachingTokensSupplier first = CachingTokensSupplier.of(firstDelegate, TokenCache.ofDirectory(directory), KEY);
+        final CachingTokensSupplier second = CachingTokensSupplier.of(secondDelegate, new FileTokenCache(directory), KEY);
+
+        final CompletableFuture<Tokens> firstTokens = first.get().toCompletableFuture();
+        while (firstDelegate.calls.get() == 0) {
+            Thread.sleep(5);
+        }
+        final CompletableFuture<Tokens> secondTokens = second.get().toCompletableFuture();
+        Thread.sleep(100);
+        assertThat(secondTokens).isNotDone();
+
+        pendingTokens.complete(Tokens.of("first-token", null, 3600L));
+
+        assertThat(firstTokens.get(5, TimeUnit.SECONDS).getAccessToken()).isEqualTo("first-token");
+        assertThat(secondTokens.get(5, TimeUnit.SECONDS).getAccessToken()).isEqualTo("first-token");
+        assertThat(secondDelegate.calls.get()).isZero();
+    }
+
+    @Test
+    public void fileCacheIsOnlyAccessibleByTheOwner() throws Exception {
+        final Path directory = temporaryFolder.getRoot().toPath().resolve("tokens");
+        assumeTrue(directory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        final CachingTokensSupplier supplier = CachingTokensSupplier.of(new CountingTokensSupplier(), TokenCache.ofDirectory(directory), KEY);
+
+        supplier.get().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(Files.getPosixFilePermissions(directory)).isSubsetOf(EnumSet.of(OWNER_READ, OWNER_WRITE, OWNER_EXECUTE));
+        final List<Path> tokenFiles;
+        try (final Stream<Path> files = Files.list(directory)) {
+            tokenFiles = files.filter(file -> file.toString().endsWith(".json")).collect(Collectors.toList());
+        }
+        assertThat(tokenFiles).hasSize(1);
+        assertThat(Files.getPosixFilePermissions(tokenFiles.get(0))).isSubsetOf(EnumSet.of(OWNER_READ, OWNER_WRITE));
+    }
+
+    @Test
+    public void autoRefreshingSupplierStartsWithCachedToken() throws Exception {
+        final InMemoryTokenCache cache = new InMemoryTokenCache();
+        cache.put(KEY, CachedTokens.of("cached-token", ZonedDateTime.now().plusHours(1)));
+        final CountingTokensSupplier delegate = new CountingTokensSupplier();
+
+        try (final SphereAccessTokenSupplier accessTokenSupplier = SphereAccessTokenSupplier.ofAutoRefresh(CachingTokensSupplier.of(delegate, cache, KEY))) {
+            assertThat(accessTokenSupplier.get().toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo("cached-token");
+            assertThat(delegate.calls.get()).isZero();
+        }
+    }
+
+    private static class CountingTokensSupplier implements TokensSupplier {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final String tokenPrefix;
+        @Nullable
+        private final CompletableFuture<Tokens> pendingTokens;
+
+        private CountingTokensSupplier(final String tokenPrefix, @Nullable final CompletableFuture<Tokens> pendingTokens) {
+            this.tokenPrefix = tokenPrefix;
+            this.pendingTokens = pendingTokens;
+        }
+
+        private CountingTokensSupplier(final CompletableFuture<Tokens> pendingTokens) {
+            this("token-", pendingTokens);
+        }
+
+        private CountingTokensSupplier(final String tokenPrefix) {
+            this(tokenPrefix, null);
+        }
+
+        private CountingTokensSupplier() {
+            this("token-");
+        }
+
+        @Override
+        public CompletionStage<Tokens> get() {
+            final int call = calls.incrementAndGet();
+            return pendingTokens != null ? pendingTokens : CompletableFuture.completedFuture(Tokens.of(tokenPrefix + call, null, 3600L));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.models.Base;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CoalescingSphereClientDecoratorTest {
+    private static final PathSphereRequest CATEGORIES = PathSphereRequest.of("/categories?limit=500");
+    private static final PathSphereRequest PRODUCT = PathSphereRequest.of("/product-projections/key=shoe");
+    private static final PathSphereRequest SEARCH = PathSphereRequest.of(HttpMethod.POST, "/product-projections/search");
+
+    @Test
+    public void concurrentIdenticalRequestsShareOneRequest() throws Exception {
+        final PendingSphereClient delegate = new PendingSphereClient();
+        final CoalescingSphereClientDecorator client = CoalescingSphereClientDecorator.of(delegate);
+
+        final List<CompletableFuture<String>> results = IntStream.range(0, 10)
+                .mapToObj(i -> client.execute(CATEGORIES).toCompletableFuture())
+                .collect(Collectors.toList());
+        delegate.answerAll("categories");
+
+        assertThat(delegate.requests).containsExactly(CATEGORIES);
+        assertThat(results).extracting(CompletableFuture::join).containsOnly("categories");
+        assertThat(client.getRequestCount()).isEqualTo(10);
+        assertThat(client.getCoalescedRequestCount()).isEqualTo(9);
+        assertThat(client.getCollapseRatio()).isEqualTo(0.9);
+    }
+
+    @Test
+    public void requestsAfterCompletionAreSentAgain() throws Exception {
+        final PendingSphereClient delegate = new PendingSphereClient();
+        final CoalescingSphereClientDecorator client = CoalescingSphereClientDecorator.of(delegate);
+
+        final CompletableFuture<String> first = client.execute(CATEGORIES).toCompletableFuture();
+        delegate.answerAll("old");
+        final CompletableFuture<String> second = client.execute(CATEGORIES).toCompletableFuture();
+        delegate.answerAll("new");
+
+        assertThat(first.join()).isEqualTo("old");
+        assertThat(second.join()).isEqualTo("new");
+        assertThat(delegate.requests).hasSize(2);
+        assertThat(client.getCoalescedRequestCount()).isZero();
+    }
+
+    @Test
+    public void differentRequestsAreNotCoalesced() throws Exception {
+        final PendingSphereClient delegate = new PendingSphereClient();
+        final CoalescingSphereClientDecorator client = CoalescingSphereClientDecorator.of(delegate);
+
+        client.execute(CATEGORIES);
+        client.execute(PRODUCT);
+        client.execute(SEARCH);
+        client.execute(SEARCH);
+
+        assertThat(delegate.requests).containsExactly(CATEGORIES, PRODUCT, SEARCH, SEARCH);
+        assertThat(client.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void requestTypesCanBeIncludedAndExcluded() throws Exception {
+        final PendingSphereClient delegate = new PendingSphereClient();
+        final CoalescingConfig config = CoalescingConfigBuilder.of()
+                .exclude(PathSphereRequest.class)
+                .include(PathSphereRequest.class)
+                .build();
+        final CoalescingSphereClientDecorator client = CoalescingSphereClientDecorator.of(delegate, config);
+
+        client.execute(SEARCH);
+        client.execute(SEARCH);
+
+        assertThat(delegate.requests).containsExactly(SEARCH);
+
+        final CoalescingSphereClientDecorator excludingClient = CoalescingSphereClientDecorator.of(delegate,
+                CoalescingConfigBuilder.of().exclude(PathSphereRequest.class).build());
+        excludingClient.execute(CATEGORIES);
+        excludingClient.execute(CATEGORIES);
+
+        assertThat(delegate.requests).containsExactly(SEARCH, CATEGORIES, CATEGORIES);
+    }
+
+    @Test
+    public void cancelledCallerDoesNotAffectTheOthers() throws Exception {
+        final PendingSphereClient delegate = new PendingSphereClient();
+        final CoalescingSphereClientDecorator client = CoalescingSphereClientDecorator.of(delegate);
+
+        final CompletableFuture<String> cancelled = client.execute(CATEGORIES).toCompletableFuture();
+        final CompletableFuture<String> waiting = client.execute(CATEGORIES).toCompletableFuture();
+        cancelled.cancel(true);
+        delegate.answerAll("categories");
+
+        assertThat(waiting.get(1, TimeUnit.SECONDS)).isEqualTo("categories");
+        assertThat(delegate.results).allMatch(result -> !result.isCancelled());
+    }
+
+    @Test
+    public void sharedRequestIsCancelledIfAllCallersGiveUp() throws Exception {
+        final PendingSphereClient delegate = new PendingSphereClient();
+        final CoalescingSphereClientDecorator client = CoalescingSphereClientDecorator.of(delegate);
+
+        final CompletableFuture<String> first = client.execute(CATEGORIES).toCompletableFuture();
+        final CompletableFuture<String> second = client.execute(CATEGORIES).toCompletableFuture();
+        first.cancel(true);
+        second.cancel(true);
+
+        assertThat(delegate.results).hasSize(1).allMatch(CompletableFuture::isCancelled);
+
+        final CompletableFuture<String> third = client.execute(CATEGORIES).toCompletableFuture();
+        delegate.answerAll("categories");
+        assertThat(third.get(1, TimeUnit.SECONDS)).isEqualTo("categories");
+        assertThat(delegate.requests).hasSize(2);
+    }
+
+    @Test
+    public void deadlinesDoNotPreventCoalescing() throws Exception {
+        final PendingSphereClient delegate = new PendingSphereClient();
+        final CoalescingSphereClientDecorator client = CoalescingSphereClientDecorator.of(delegate);
+
+        Deadline.after(1, TimeUnit.MINUTES).callWithin(() -> client.execute(CATEGORIES));
+        Deadline.after(2, TimeUnit.MINUTES).callWithin(() -> client.execute(CATEGORIES));
+
+        assertThat(delegate.requests).containsExactly(CATEGORIES);
+        assertThat(delegate.deadlines).as("the shared request is sent without the deadline of the first caller").isEmpty();
+    }
+
+    private static class PendingSphereClient extends Base implements SphereClient {
+        private final List<SphereRequest<?>> requests = new CopyOnWriteArrayList<>();
+        private final List<CompletableFuture<Object>> results = new CopyOnWriteArrayList<>();
+        private final List<Deadline> deadlines = new CopyOnWriteArrayList<>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+            requests.add(sphereRequest);
+            Deadline.current().ifPresent(deadlines::add);
+            final CompletableFuture<Object> result = new CompletableFuture<>();
+            results.add(result);
+            return (CompletionStage<T>) result;
+        }
+
+        private void answerAll(final String value) {
+            results.forEach(result -> result.complete(value));
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public SphereApiConfig getConfig() {
+            return null;
+        }
+    }
+}
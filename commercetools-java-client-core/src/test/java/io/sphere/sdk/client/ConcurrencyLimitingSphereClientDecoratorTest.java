@@ -0,0 +1,188 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrencyLimitingSphereClientDecoratorTest {
+    private static final PathSphereRequest SEARCH_REQUEST = PathSphereRequest.of("/product-projections/search?text.en=shoe");
+    private static final PathSphereRequest CART_UPDATE_REQUEST = PathSphereRequest.of("/carts/cart-id");
+
+    @Test
+    public void requestsOverTheLimitAreQueuedAndStartedOnCompletion() throws Exception {
+        final ControllableSphereClient delegate = new ControllableSphereClient();
+        final ConcurrencyLimitingSphereClientDecorator client = ConcurrencyLimitingSphereClientDecorator.of(delegate, 2);
+        final List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(client.execute(CART_UPDATE_REQUEST).toCompletableFuture());
+        }
+        assertThat(delegate.started()).isEqualTo(2);
+        assertThat(client.getMetrics().get(ConcurrencyLimitingSphereClientDecorator.DEFAULT_BUDGET))
+                .matches(metrics -> metrics.getInFlight() == 2 && metrics.getQueueDepth() == 3 && metrics.getQueuedTotal() == 3);
+
+        delegate.completeNext();
+        assertThat(delegate.started()).isEqualTo(3);
+        assertThat(results.get(0)).isCompletedWithValue("done");
+
+        delegate.completeAll();
+        assertThat(results.stream().map(CompletableFuture::join).collect(toList())).containsOnly("done");
+        final ConcurrencyLimitMetrics metrics = client.getMetrics().get(ConcurrencyLimitingSphereClientDecorator.DEFAULT_BUDGET);
+        assertThat(metrics.getInFlight()).isZero();
+        assertThat(metrics.getQueueDepth()).isZero();
+        assertThat(metrics.getMaxQueueWaitTime()).isGreaterThan(Duration.ZERO);
+    }
+
+    @Test
+    public void rejectsIfTheQueueIsFull() throws Exception {
+        final ControllableSphereClient delegate = new ControllableSphereClient();
+        final ConcurrencyLimitConfig config = ConcurrencyLimitConfigBuilder.of(1).queueCapacity(1).build();
+        final ConcurrencyLimitingSphereClientDecorator client = ConcurrencyLimitingSphereClientDecorator.of(delegate, config);
+        client.execute(CART_UPDATE_REQUEST);
+        client.execute(CART_UPDATE_REQUEST);
+        final CompletionStage<String> rejected = client.execute(CART_UPDATE_REQUEST);
+
+        assertThatThrownBy(() -> rejected.toCompletableFuture().join()).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(delegate.started()).isEqualTo(1);
+        assertThat(client.getMetrics().get(ConcurrencyLimitingSphereClientDecorator.DEFAULT_BUDGET).getRejectedTotal()).isEqualTo(1);
+    }
+
+    @Test
+    public void callerRunsExceedsTheLimitIfTheQueueIsFull() throws Exception {
+        final ControllableSphereClient delegate = new ControllableSphereClient();
+        final ConcurrencyLimitConfig config = ConcurrencyLimitConfigBuilder.of(1)
+                .queueCapacity(1)
+                .overflowPolicy(QueueOverflowPolicy.CALLER_RUNS)
+                .build();
+        final ConcurrencyLimitingSphereClientDecorator client = ConcurrencyLimitingSphereClientDecorator.of(delegate, config);
+        client.execute(CART_UPDATE_REQUEST);
+        client.execute(CART_UPDATE_REQUEST);
+        client.execute(CART_UPDATE_REQUEST);
+
+        assertThat(delegate.started()).isEqualTo(2);
+        delegate.completeAll();
+        assertThat(delegate.started()).isEqualTo(3);
+    }
+
+    @Test
+    public void queuedRequestsTimeOut() throws Exception {
+        final ControllableSphereClient delegate = new ControllableSphereClient();
+        final ConcurrencyLimitConfig config = ConcurrencyLimitConfigBuilder.of(1)
+                .maxQueueWaitTime(Duration.ofMillis(50))
+                .build();
+        final ConcurrencyLimitingSphereClientDecorator client = ConcurrencyLimitingSphereClientDecorator.of(delegate, config);
+        final CompletionStage<String> running = client.execute(CART_UPDATE_REQUEST);
+        final CompletionStage<String> queued = client.execute(CART_UPDATE_REQUEST);
+
+        assertThatThrownBy(() -> queued.toCompletableFuture().join()).hasCauseInstanceOf(SphereTimeoutException.class);
+        delegate.completeAll();
+        assertThat(running.toCompletableFuture().join()).isEqualTo("done");
+        assertThat(delegate.started()).isEqualTo(1);
+        final ConcurrencyLimitMetrics metrics = client.getMetrics().get(ConcurrencyLimitingSphereClientDecorator.DEFAULT_BUDGET);
+        assertThat(metrics.getTimedOutTotal()).isEqualTo(1);
+        assertThat(metrics.getQueueDepth()).isZero();
+        client.close();
+    }
+
+    @Test
+    public void queueTimeoutsAreCompletedInTheCpuPool() throws Exception {
+        try (final SdkRuntime runtime = SdkRuntimeBuilder.of().parallelism(1).build()) {
+            final ControllableSphereClient delegate = new ControllableSphereClient();
+            final ConcurrencyLimitConfig config = ConcurrencyLimitConfigBuilder.of(1)
+                    .maxQueueWaitTime(Duration.ofMillis(50))
+                    .build();
+            final ConcurrencyLimitingSphereClientDecorator client = ConcurrencyLimitingSphereClientDecorator.of(delegate, config, false, runtime);
+            client.execute(CART_UPDATE_REQUEST);
+            final CompletableFuture<String> timeoutThread = new CompletableFuture<>();
+            client.execute(CART_UPDATE_REQUEST).whenComplete((value, throwable) -> timeoutThread.complete(Thread.currentThread().getName()));
+
+            assertThat(timeoutThread.get(5, TimeUnit.SECONDS)).startsWith("commercetools-sdk-").contains("-worker-");
+            delegate.completeAll();
+        }
+    }
+
+    @Test
+    public void endpointsHaveSeparateBudgets() throws Exception {
+        final ControllableSphereClient delegate = new ControllableSphereClient();
+        final ConcurrencyLimitConfig config = ConcurrencyLimitConfigBuilder.of(10)
+                .endpointLimit("product-projections/search", 1)
+                .build();
+        final ConcurrencyLimitingSphereClientDecorator client = ConcurrencyLimitingSphereClientDecorator.of(delegate, config);
+        client.execute(SEARCH_REQUEST);
+        client.execute(SEARCH_REQUEST);//waits for the first search
+        client.execute(CART_UPDATE_REQUEST);//is not blocked by the searches
+
+        assertThat(delegate.started()).isEqualTo(2);
+        assertThat(client.getMetrics().get("product-projections/search").getQueueDepth()).isEqualTo(1);
+        assertThat(client.getMetrics().get(ConcurrencyLimitingSphereClientDecorator.DEFAULT_BUDGET).getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    public void synchronouslyCompletingRequestsDoNotOverflowTheStack() throws Exception {
+        final ControllableSphereClient delegate = new ControllableSphereClient();
+        final ConcurrencyLimitConfig config = ConcurrencyLimitConfigBuilder.of(1).queueCapacity(100000).build();
+        final ConcurrencyLimitingSphereClientDecorator client = ConcurrencyLimitingSphereClientDecorator.of(delegate, config);
+        final List<CompletionStage<String>> results = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            results.add(client.execute(CART_UPDATE_REQUEST));
+        }
+        delegate.completeImmediately = true;
+        delegate.completeAll();
+        assertThat(results).allMatch(stage -> stage.toCompletableFuture().isDone());
+    }
+
+    private static class ControllableSphereClient extends Base implements SphereClient {
+        private final Queue<CompletableFuture<Object>> running = new ConcurrentLinkedQueue<>();
+        private int started = 0;
+        private volatile boolean completeImmediately = false;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+            started++;
+            final CompletableFuture<Object> future = new CompletableFuture<>();
+            if (completeImmediately) {
+                future.complete("done");
+            } else {
+                running.add(future);
+            }
+            return (CompletionStage<T>) future;
+        }
+
+        int started() {
+            return started;
+        }
+
+        void completeNext() {
+            running.poll().complete("done");
+        }
+
+        void completeAll() {
+            CompletableFuture<Object> future;
+            while ((future = running.poll()) != null) {
+                future.complete("done");
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public SphereApiConfig getConfig() {
+            return null;
+        }
+    }
+}
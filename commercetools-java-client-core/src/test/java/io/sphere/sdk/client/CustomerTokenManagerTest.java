@@ -0,0 +1,194 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.http.FormUrlEncodedHttpRequestBody;
+import io.sphere.sdk.http.HttpClient;
+import io.sphere.sdk.http.HttpRequest;
+import io.sphere.sdk.http.HttpResponse;
+import io.sphere.sdk.http.NameValuePair;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CustomerTokenManagerTest {
+    private static final SphereAuthConfig AUTH_CONFIG = SphereAuthConfig.of("project-key", "client-id", "client-secret");
+    private static final String PASSWORD = "secret";
+
+    private final AtomicLong clock = new AtomicLong();
+    private final FakeAuthServer authServer = new FakeAuthServer();
+
+    @Test
+    public void sessionsOfACustomerShareOneToken() throws Exception {
+        final CustomerTokenManager tokenManager = createManager(CustomerTokenManagerConfig.of());
+        final SphereAccessTokenSupplier firstSession = tokenManager.accessTokenSupplierOf("alice@example.com", PASSWORD);
+        final SphereAccessTokenSupplier secondSession = tokenManager.accessTokenSupplierOf("alice@example.com", PASSWORD);
+
+        assertThat(accessTokenOf(firstSession)).isEqualTo("alice@example.com-1");
+        assertThat(accessTokenOf(secondSession)).isEqualTo("alice@example.com-1");
+        assertThat(authServer.usernames).containsExactly("alice@example.com");
+    }
+
+    @Test
+    public void tokenIsNotSharedWithAWrongPassword() throws Exception {
+        final CustomerTokenManager tokenManager = createManager(CustomerTokenManagerConfig.of());
+        final SphereAccessTokenSupplier alice = tokenManager.accessTokenSupplierOf("alice@example.com", PASSWORD);
+        accessTokenOf(alice);
+
+        final SphereAccessTokenSupplier attacker = tokenManager.accessTokenSupplierOf("alice@example.com", "guessed");
+
+        assertThatThrownBy(() -> accessTokenOf(attacker)).isInstanceOf(UnauthorizedException.class);
+        assertThat(authServer.usernames).hasSize(2);
+        assertThat(tokenManager.size()).as("a wrong password does not drop the valid token").isEqualTo(1);
+        assertThat(accessTokenOf(alice)).isEqualTo("alice@example.com-1");
+        assertThat(authServer.usernames).hasSize(2);
+    }
+
+    @Test
+    public void tokenIsReplacedAfterAPasswordChange() throws Exception {
+        final CustomerTokenManager tokenManager = createManager(CustomerTokenManagerConfig.of());
+        authServer.nextResponse = CompletableFuture.completedFuture(HttpResponse.of(200, "{\"access_token\": \"old-token\", \"expires_in\": 3600}"));
+        final SphereAccessTokenSupplier oldSession = tokenManager.accessTokenSupplierOf("alice@example.com", "old-password");
+        accessTokenOf(oldSession);
+
+        assertThat(accessTokenOf(tokenManager.accessTokenSupplierOf("alice@example.com", PASSWORD))).isEqualTo("alice@example.com-2");
+
+        assertThatThrownBy(() -> accessTokenOf(oldSession)).isInstanceOf(UnauthorizedException.class);
+        assertThat(accessTokenOf(tokenManager.accessTokenSupplierOf("alice@example.com", PASSWORD))).isEqualTo("alice@example.com-2");
+        assertThat(tokenManager.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void leastRecentlyActiveCustomersAreDropped() throws Exception {
+        final CustomerTokenManager tokenManager = createManager(CustomerTokenManagerConfigBuilder.of().maxCustomers(2).build());
+        final SphereAccessTokenSupplier alice = tokenManager.accessTokenSupplierOf("alice@example.com", PASSWORD);
+        final SphereAccessTokenSupplier bob = tokenManager.accessTokenSupplierOf("bob@example.com", PASSWORD);
+        final SphereAccessTokenSupplier carol = tokenManager.accessTokenSupplierOf("carol@example.com", PASSWORD);
+        accessTokenOf(alice);
+        accessTokenOf(bob);
+        accessTokenOf(alice);
+
+        accessTokenOf(carol);
+
+        assertThat(tokenManager.size()).isEqualTo(2);
+        assertThat(accessTokenOf(alice)).isEqualTo("alice@example.com-1");
+        assertThat(accessTokenOf(bob)).isEqualTo("bob@example.com-4");
+    }
+
+    @Test
+    public void idleCustomersExpire() throws Exception {
+        final CustomerTokenManager tokenManager = createManager(CustomerTokenManagerConfigBuilder.of().expireAfterAccess(Duration.ofMinutes(10)).build());
+        final SphereAccessTokenSupplier alice = tokenManager.accessTokenSupplierOf("alice@example.com", PASSWORD);
+        final SphereAccessTokenSupplier bob = tokenManager.accessTokenSupplierOf("bob@example.com", PASSWORD);
+        accessTokenOf(alice);
+        clock.addAndGet(Duration.ofMinutes(9).toNanos());
+        accessTokenOf(bob);
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        assertThat(accessTokenOf(bob)).isEqualTo("bob@example.com-2");
+        assertThat(tokenManager.size()).isEqualTo(1);
+        assertThat(accessTokenOf(alice)).isEqualTo("alice@example.com-3");
+    }
+
+    @Test
+    public void tokenIsReplacedBeforeItExpires() throws Exception {
+        final CustomerTokenManager tokenManager = createManager(CustomerTokenManagerConfigBuilder.of()
+                .expireAfterAccess(Duration.ofHours(2))
+                .refreshBeforeExpiry(Duration.ofMinutes(5))
+                .build());
+        final SphereAccessTokenSupplier alice = tokenManager.accessTokenSupplierOf("alice@example.com", PASSWORD);
+        accessTokenOf(alice);
+        final CompletableFuture<HttpResponse> pendingResponse = new CompletableFuture<>();
+        authServer.nextResponse = pendingResponse;
+        clock.addAndGet(Duration.ofMinutes(56).toNanos());
+
+        assertThat(accessTokenOf(alice)).as("old token is used while the new one is fetched").isEqualTo("alice@example.com-1");
+        assertThat(accessTokenOf(alice)).isEqualTo("alice@example.com-1");
+        pendingResponse.complete(HttpResponse.of(200, "{\"access_token\": \"new-token\", \"expires_in\": 3600}"));
+
+        assertThat(accessTokenOf(alice)).isEqualTo("new-token");
+        assertThat(authServer.usernames).hasSize(2);
+    }
+
+    @Test
+    public void expiredTokenIsNotUsed() throws Exception {
+        final CustomerTokenManager tokenManager = createManager(CustomerTokenManagerConfigBuilder.of().expireAfterAccess(Duration.ofHours(2)).build());
+        final SphereAccessTokenSupplier alice = tokenManager.accessTokenSupplierOf("alice@example.com", PASSWORD);
+        accessTokenOf(alice);
+        clock.addAndGet(Duration.ofMinutes(30).toNanos());
+        accessTokenOf(alice);
+        clock.addAndGet(Duration.ofMinutes(30).toNanos());
+
+        assertThat(accessTokenOf(alice)).isEqualTo("alice@example.com-2");
+    }
+
+    @Test
+    public void rejectedTokenIsReplaced() throws Exception {
+        final CustomerTokenManager tokenManager = createManager(CustomerTokenManagerConfig.of());
+        final SphereAccessTokenSupplier alice = tokenManager.accessTokenSupplierOf("alice@example.com", PASSWORD);
+        accessTokenOf(alice);
+
+        final String newToken = ((RefreshableSphereAccessTokenSupplier) alice).getNewToken().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(newToken).isEqualTo("alice@example.com-2");
+        assertThat(accessTokenOf(tokenManager.accessTokenSupplierOf("alice@example.com", PASSWORD))).isEqualTo("alice@example.com-2");
+    }
+
+    @Test
+    public void failedFetchesAreRetried() throws Exception {
+        final CustomerTokenManager tokenManager = createManager(CustomerTokenManagerConfig.of());
+        authServer.nextResponse = CompletableFuture.completedFuture(HttpResponse.of(503, "unavailable"));
+
+        assertThat(accessTokenOf(tokenManager.accessTokenSupplierOf("alice@example.com", PASSWORD))).isEqualTo("alice@example.com-2");
+    }
+
+    private CustomerTokenManager createManager(final CustomerTokenManagerConfig config) {
+        return new CustomerTokenManager(AUTH_CONFIG, authServer, false, config, HashedWheelTimer.shared(), clock::get);
+    }
+
+    private static String accessTokenOf(final SphereAccessTokenSupplier tokenSupplier) throws Exception {
+        try {
+            return tokenSupplier.get().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        } catch (final ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    private static class FakeAuthServer implements HttpClient {
+        private final List<String> usernames = new CopyOnWriteArrayList<>();
+        private volatile CompletableFuture<HttpResponse> nextResponse;
+
+        @Override
+        public CompletionStage<HttpResponse> execute(final HttpRequest httpRequest) {
+            final List<NameValuePair> parameters = ((FormUrlEncodedHttpRequestBody) httpRequest.getBody()).getParameters();
+            final String username = valueOf(parameters, "username");
+            usernames.add(username);
+            final CompletableFuture<HttpResponse> response = nextResponse;
+            if (response != null) {
+                nextResponse = null;
+                return response;
+            }
+            if (!PASSWORD.equals(valueOf(parameters, "password"))) {
+                return CompletableFuture.completedFuture(HttpResponse.of(400, "{\"error\": \"invalid_customer_account_credentials\"}"));
+            }
+            final String body = String.format("{\"access_token\": \"%s-%d\", \"expires_in\": 3600}", username, usernames.size());
+            return CompletableFuture.completedFuture(HttpResponse.of(200, body));
+        }
+
+        private static String valueOf(final List<NameValuePair> parameters, final String name) {
+            return parameters.stream().filter(pair -> pair.getName().equals(name)).map(NameValuePair::getValue).findFirst().orElse(null);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.sphere.sdk.client;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HashedWheelTimerTest {
+
+    @Test
+    public void runsTasksAfterTheirDelay() throws Exception {
+        final HashedWheelTimer timer = new HashedWheelTimer("test-timer", 1, TimeUnit.MILLISECONDS, 8);
+        final CountDownLatch latch = new CountDownLatch(2);
+        final long start = System.nanoTime();
+        timer.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+        final HashedWheelTimer.Timeout timeout = timer.schedule(latch::countDown, 30, TimeUnit.MILLISECONDS);//more than one round
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(30));
+        assertThat(timeout.isExpired()).isTrue();
+        timer.stop();
+    }
+
+    @Test
+    public void cancelledTasksDoNotRun() throws Exception {
+        final HashedWheelTimer timer = new HashedWheelTimer("test-timer", 1, TimeUnit.MILLISECONDS, 8);
+        final AtomicBoolean run = new AtomicBoolean();
+        final CountDownLatch later = new CountDownLatch(1);
+        final HashedWheelTimer.Timeout timeout = timer.schedule(() -> run.set(true), 10, TimeUnit.MILLISECONDS);
+        timer.schedule(later::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(later.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(run.get()).isFalse();
+        assertThat(timeout.cancel()).isFalse();
+        timer.stop();
+    }
+}
@@ -0,0 +1,164 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.models.Base;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HedgingSphereClientDecoratorTest {
+    private static final PathSphereRequest FAST_REQUEST = PathSphereRequest.of("/product-projections/fast-id");
+    private static final PathSphereRequest SLOW_SEARCH = PathSphereRequest.of(HttpMethod.POST, "/product-projections/search");
+    private static final PathSphereRequest SLOW_UPDATE = PathSphereRequest.of(HttpMethod.POST, "/carts/cart-id");
+
+    private static final HedgingConfig CONFIG = HedgingConfigBuilder.of()
+            .sampleSize(16)
+            .percentile(0.5)
+            .minDelay(Duration.ofMillis(5))
+            .build();
+
+    @Test
+    public void slowReadsAreAnsweredByTheSecondRequest() throws Exception {
+        final SlowOnFirstAttemptSphereClient delegate = new SlowOnFirstAttemptSphereClient();
+        final HedgingSphereClientDecorator client = HedgingSphereClientDecorator.of(delegate, CONFIG);
+        warmUp(client);
+
+        final String result = client.execute(SLOW_SEARCH).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(result).isEqualTo("done");
+        assertThat(client.getHedgedRequestCount()).isEqualTo(1);
+        assertThat(client.getHedgeWinCount()).isEqualTo(1);
+        assertThat(delegate.getSlowAttempts()).hasSize(1).allMatch(CompletableFuture::isCancelled);
+    }
+
+    @Test
+    public void commandsAreNotHedged() throws Exception {
+        final SlowOnFirstAttemptSphereClient delegate = new SlowOnFirstAttemptSphereClient();
+        final HedgingSphereClientDecorator client = HedgingSphereClientDecorator.of(delegate, CONFIG);
+        warmUp(client);
+
+        final CompletableFuture<String> result = client.execute(SLOW_UPDATE).toCompletableFuture();
+        Thread.sleep(100);
+
+        assertThat(result).isNotDone();
+        assertThat(client.getHedgedRequestCount()).isZero();
+    }
+
+    @Test
+    public void extraLoadIsCapped() throws Exception {
+        final SlowOnFirstAttemptSphereClient delegate = new SlowOnFirstAttemptSphereClient();
+        final HedgingSphereClientDecorator client = HedgingSphereClientDecorator.of(delegate, CONFIG);
+        warmUp(client);//20 requests at 5% allow 1 hedge
+
+        client.execute(SLOW_SEARCH).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        final CompletableFuture<String> notHedged = client.execute(PathSphereRequest.of(HttpMethod.POST, "/products/search")).toCompletableFuture();
+        Thread.sleep(100);
+
+        assertThat(notHedged).isNotDone();
+        assertThat(client.getHedgedRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void cancellingTheResultCancelsBothRequests() throws Exception {
+        final SlowOnFirstAttemptSphereClient delegate = new SlowOnFirstAttemptSphereClient() {
+            @Override
+            public synchronized <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+                if (sphereRequest.equals(FAST_REQUEST)) {
+                    return super.execute(sphereRequest);
+                }
+                final CompletableFuture<T> neverAnswered = new CompletableFuture<>();
+                getSlowAttempts().add(neverAnswered);
+                return neverAnswered;
+            }
+        };
+        final HedgingSphereClientDecorator client = HedgingSphereClientDecorator.of(delegate, CONFIG);
+        warmUp(client);
+
+        final CompletableFuture<String> result = client.execute(SLOW_SEARCH).toCompletableFuture();
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (delegate.getSlowAttempts().size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        result.cancel(false);
+
+        assertThat(delegate.getSlowAttempts()).hasSize(2).allMatch(CompletableFuture::isCancelled);
+    }
+
+    @Test
+    public void hedgeIsCancelledIfThePrimaryWinsWhileItIsSent() throws Exception {
+        final SlowOnFirstAttemptSphereClient delegate = new SlowOnFirstAttemptSphereClient() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public synchronized <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+                if (sphereRequest.equals(FAST_REQUEST)) {
+                    return super.execute(sphereRequest);
+                }
+                final CompletableFuture<T> neverAnswered = new CompletableFuture<>();
+                getSlowAttempts().add(neverAnswered);
+                if (getSlowAttempts().size() == 2) {
+                    //the primary answers after the hedge passed its check but before it is registered
+                    ((CompletableFuture<T>) getSlowAttempts().get(0)).complete((T) "primary");
+                }
+                return neverAnswered;
+            }
+        };
+        final HedgingSphereClientDecorator client = HedgingSphereClientDecorator.of(delegate, CONFIG);
+        warmUp(client);
+
+        final String result = client.execute(SLOW_SEARCH).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(result).isEqualTo("primary");
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!delegate.getSlowAttempts().get(1).isDone() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(delegate.getSlowAttempts()).hasSize(2);
+        assertThat(delegate.getSlowAttempts().get(1)).isCancelled();
+    }
+
+    private static void warmUp(final SphereClient client) {
+        for (int i = 0; i < 20; i++) {
+            client.execute(FAST_REQUEST).toCompletableFuture().join();
+        }
+    }
+
+    /**
+     * Answers the first attempt of every request except {@link #FAST_REQUEST} never and all further attempts immediately.
+     */
+    private static class SlowOnFirstAttemptSphereClient extends Base implements SphereClient {
+        private final List<SphereRequest<?>> seen = new CopyOnWriteArrayList<>();
+        private final List<CompletableFuture<?>> slowAttempts = new CopyOnWriteArrayList<>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+            if (!sphereRequest.equals(FAST_REQUEST) && !seen.contains(sphereRequest)) {
+                seen.add(sphereRequest);
+                final CompletableFuture<T> neverAnswered = new CompletableFuture<>();
+                slowAttempts.add(neverAnswered);
+                return neverAnswered;
+            }
+            return CompletableFuture.completedFuture((T) "done");
+        }
+
+        List<CompletableFuture<?>> getSlowAttempts() {
+            return slowAttempts;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public SphereApiConfig getConfig() {
+            return null;
+        }
+    }
+}
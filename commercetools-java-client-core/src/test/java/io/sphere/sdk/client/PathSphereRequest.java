@@ -0,0 +1,37 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.http.HttpResponse;
+import io.sphere.sdk.models.Base;
+
+public class PathSphereRequest extends Base implements SphereRequest<String> {
+    private final HttpMethod httpMethod;
+    private final String path;
+
+    private PathSphereRequest(final HttpMethod httpMethod, final String path) {
+        this.httpMethod = httpMethod;
+        this.path = path;
+    }
+
+    @Override
+    public String deserialize(final HttpResponse httpResponse) {
+        return null;
+    }
+
+    @Override
+    public HttpRequestIntent httpRequestIntent() {
+        return HttpRequestIntent.of(httpMethod, path);
+    }
+
+    public static PathSphereRequest of(final HttpMethod httpMethod, final String path) {
+        return new PathSphereRequest(httpMethod, path);
+    }
+
+    public static PathSphereRequest of(final String path) {
+        return of(HttpMethod.GET, path);
+    }
+
+    public String getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,167 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.utils.CompletableFutureUtils;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RateLimitingSphereClientDecoratorTest {
+    private static final PathSphereRequest SEARCH_REQUEST = PathSphereRequest.of("/product-projections/search");
+    private static final PathSphereRequest IMPORT_REQUEST = PathSphereRequest.of("/products");
+    private static final PathSphereRequest CART_REQUEST = PathSphereRequest.of("/carts/cart-id");
+
+    @Test
+    public void requestsOverTheBudgetWait() throws Exception {
+        final RecordingSphereClient delegate = new RecordingSphereClient();
+        final SphereClient client = RateLimitingSphereClientDecorator.of(delegate, 20);
+        final List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            results.add(client.execute(CART_REQUEST).toCompletableFuture());
+        }
+        assertThat(delegate.getExecuted()).hasSize(20);
+        assertThat(results.get(20)).isNotDone();
+
+        assertThat(results.get(20).join()).isEqualTo("done");
+        assertThat(delegate.getExecuted()).hasSize(21);
+    }
+
+    @Test
+    public void highPriorityRequestsOvertakeWaitingLowPriorityRequests() throws Exception {
+        final RecordingSphereClient delegate = new RecordingSphereClient();
+        final RateLimitConfig config = RateLimitConfigBuilder.of(20)
+                .burstDuration(Duration.ZERO)
+                .priorityClassifier(request -> request.equals(IMPORT_REQUEST) ? RequestPriority.LOW : RequestPriority.HIGH)
+                .build();
+        final SphereClient client = RateLimitingSphereClientDecorator.of(delegate, config);
+        final List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(client.execute(IMPORT_REQUEST).toCompletableFuture());
+        }
+        final CompletableFuture<String> interactive = client.execute(SEARCH_REQUEST).toCompletableFuture();
+        results.add(interactive);
+
+        interactive.join();
+        assertThat(delegate.getExecuted()).containsExactly(IMPORT_REQUEST, SEARCH_REQUEST);
+        results.forEach(CompletableFuture::join);
+    }
+
+    @Test
+    public void endpointBudgetsDoNotSlowDownOtherEndpoints() throws Exception {
+        final RecordingSphereClient delegate = new RecordingSphereClient();
+        final RateLimitConfig config = RateLimitConfigBuilder.ofEndpointLimitsOnly()
+                .endpointLimit("product-projections/search", 1)
+                .build();
+        final RateLimitingSphereClientDecorator client = RateLimitingSphereClientDecorator.of(delegate, config);
+        client.execute(SEARCH_REQUEST);
+        client.execute(SEARCH_REQUEST);
+        client.execute(CART_REQUEST);
+
+        assertThat(delegate.getExecuted()).containsExactly(SEARCH_REQUEST, CART_REQUEST);
+        assertThat(client.getWaitingCount("product-projections/search")).isEqualTo(1);
+    }
+
+    @Test
+    public void rejectsIfTooManyRequestsWait() throws Exception {
+        final RecordingSphereClient delegate = new RecordingSphereClient();
+        final RateLimitConfig config = RateLimitConfigBuilder.of(1).queueCapacity(1).build();
+        final SphereClient client = RateLimitingSphereClientDecorator.of(delegate, config);
+        client.execute(CART_REQUEST);
+        client.execute(CART_REQUEST);
+        final CompletionStage<String> rejected = client.execute(CART_REQUEST);
+
+        assertThatThrownBy(() -> rejected.toCompletableFuture().join()).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    public void cancelledWaitingRequestsReleaseTheirPlaceInTheQueue() throws Exception {
+        final RecordingSphereClient delegate = new RecordingSphereClient();
+        final RateLimitConfig config = RateLimitConfigBuilder.of(20).burstDuration(Duration.ZERO).queueCapacity(1).build();
+        final RateLimitingSphereClientDecorator client = RateLimitingSphereClientDecorator.of(delegate, config);
+        client.execute(CART_REQUEST);
+        final CompletableFuture<String> cancelled = client.execute(CART_REQUEST).toCompletableFuture();
+
+        cancelled.cancel(false);
+
+        assertThat(client.getWaitingCount(null)).isZero();
+        assertThat(client.execute(CART_REQUEST).toCompletableFuture().join()).isEqualTo("done");
+        assertThat(delegate.getExecuted()).hasSize(2);
+    }
+
+    @Test
+    public void endpointTokenIsGivenBackIfTheProjectBudgetRejects() throws Exception {
+        final RecordingSphereClient delegate = new RecordingSphereClient();
+        final RateLimitConfig config = RateLimitConfigBuilder.of(1)
+                .burstDuration(Duration.ZERO)
+                .queueCapacity(1)
+                .endpointLimit("carts", 1)
+                .build();
+        final RateLimitingSphereClientDecorator client = RateLimitingSphereClientDecorator.of(delegate, config);
+        client.execute(SEARCH_REQUEST);
+        client.execute(SEARCH_REQUEST);
+
+        final CompletionStage<String> firstRejected = client.execute(CART_REQUEST);
+        final CompletionStage<String> secondRejected = client.execute(CART_REQUEST);
+
+        assertThatThrownBy(() -> firstRejected.toCompletableFuture().join()).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(() -> secondRejected.toCompletableFuture().join())
+                .as("the endpoint token of the first rejected request is available again")
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(client.getWaitingCount("carts")).isZero();
+    }
+
+    @Test
+    public void waitingRequestsAreSentFromTheCpuPool() throws Exception {
+        try (final SdkRuntime runtime = SdkRuntimeBuilder.of().parallelism(1).build()) {
+            final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+            final RecordingSphereClient delegate = new RecordingSphereClient() {
+                @Override
+                public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+                    threads.add(Thread.currentThread().getName());
+                    return super.execute(sphereRequest);
+                }
+            };
+            final RateLimitConfig config = RateLimitConfigBuilder.of(20).burstDuration(Duration.ZERO).build();
+            final SphereClient client = RateLimitingSphereClientDecorator.of(delegate, config, false, runtime);
+            client.execute(CART_REQUEST);
+            client.execute(CART_REQUEST).toCompletableFuture().join();
+
+            assertThat(threads).hasSize(2);
+            assertThat(threads.get(0)).isEqualTo(Thread.currentThread().getName());
+            assertThat(threads.get(1)).startsWith("commercetools-sdk-").contains("-worker-");
+        }
+    }
+
+    private static class RecordingSphereClient extends Base implements SphereClient {
+        private final List<SphereRequest<?>> executed = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+            executed.add(sphereRequest);
+            return CompletableFutureUtils.successful((T) "done");
+        }
+
+        List<SphereRequest<?>> getExecuted() {
+            return new ArrayList<>(executed);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public SphereApiConfig getConfig() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package io.sphere.sdk.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.sphere.sdk.commands.UpdateAction;
+import io.sphere.sdk.commands.UpdateActionImpl;
+import io.sphere.sdk.commands.UpdateCommandDsl;
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.http.HttpResponse;
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.ResourceView;
+import io.sphere.sdk.models.Versioned;
+import io.sphere.sdk.queries.MetaModelQueryDsl;
+import io.sphere.sdk.queries.MetaModelQueryDslBuilder;
+import io.sphere.sdk.queries.MetaModelQueryDslImpl;
+import io.sphere.sdk.queries.PagedQueryResult;
+import io.sphere.sdk.queries.QueryModelImpl;
+import io.sphere.sdk.queries.QueryPredicate;
+import io.sphere.sdk.queries.StringQuerySortingModel;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestShapingSphereClientDecoratorTest {
+    private static final RequestShapingConfig CONFIG = RequestShapingConfigBuilder.of()
+            .maxIsInValues(2)
+            .maxUpdateActions(2)
+            .build();
+
+    @Test
+    public void largeIsInPredicateIsSplitIntoParallelQueries() throws Exception {
+        final RecordingSphereClient delegate = new RecordingSphereClient(request ->
+                PagedQueryResult.of(0L, 20L, 2L, ((FooQuery) request).predicates().stream().map(QueryPredicate::toSphereQuery).collect(toList())));
+        final RequestShapingSphereClientDecorator client = RequestShapingSphereClientDecorator.of(delegate, CONFIG);
+
+        final PagedQueryResult<String> result = client.execute(FooQuery.of().withPredicates(m -> m.id().isIn(ids(5))))
+                .toCompletableFuture().join();
+
+        assertThat(delegate.requests).hasSize(3);
+        assertThat(result.getResults()).containsExactly("id in (\"id0\", \"id1\")", "id in (\"id2\", \"id3\")", "id in (\"id4\")");
+        assertThat(result.getTotal()).isEqualTo(6L);
+        assertThat(client.getSplitQueryCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void smallIsInPredicateIsNotSplit() throws Exception {
+        final RecordingSphereClient delegate = new RecordingSphereClient(request -> PagedQueryResult.of("foo"));
+        final RequestShapingSphereClientDecorator client = RequestShapingSphereClientDecorator.of(delegate, CONFIG);
+        final FooQuery query = FooQuery.of().withPredicates(m -> m.id().isIn(ids(2)));
+
+        client.execute(query).toCompletableFuture().join();
+
+        assertThat(delegate.requests).containsExactly(query);
+        assertThat(client.getSplitQueryCount()).isZero();
+    }
+
+    @Test
+    public void largeIsNotInPredicateIsNotSplit() throws Exception {
+        final RecordingSphereClient delegate = new RecordingSphereClient(request -> PagedQueryResult.of("foo"));
+        final RequestShapingSphereClientDecorator client = RequestShapingSphereClientDecorator.of(delegate, CONFIG);
+        final FooQuery query = FooQuery.of().withPredicates(m -> m.id().isNotIn(ids(5)));
+
+        client.execute(query).toCompletableFuture().join();
+
+        assertThat(delegate.requests).containsExactly(query);
+        assertThat(client.getSplitQueryCount()).isZero();
+    }
+
+    @Test
+    public void queriesWithOffsetAreNotSplit() throws Exception {
+        final RecordingSphereClient delegate = new RecordingSphereClient(request -> PagedQueryResult.of("foo"));
+        final RequestShapingSphereClientDecorator client = RequestShapingSphereClientDecorator.of(delegate, CONFIG);
+        final FooQuery query = FooQuery.of().withPredicates(m -> m.id().isIn(ids(5))).withOffset(20L);
+
+        client.execute(query).toCompletableFuture().join();
+
+        assertThat(delegate.requests).containsExactly(query);
+    }
+
+    @Test
+    public void deadlineIsPassedToAllParts() throws Exception {
+        final RecordingSphereClient delegate = new RecordingSphereClient(request -> PagedQueryResult.of("foo"));
+        final RequestShapingSphereClientDecorator client = RequestShapingSphereClientDecorator.of(delegate, CONFIG);
+        final Deadline deadline = Deadline.after(Duration.ofMinutes(1));
+
+        deadline.callWithin(() -> client.execute(FooQuery.of().withPredicates(m -> m.id().isIn(ids(3))))).toCompletableFuture().join();
+
+        assertThat(delegate.deadlines).hasSize(2).containsOnly(deadline);
+    }
+
+    @Test
+    public void largeUpdateCommandIsSplitIntoSequentialCommands() throws Exception {
+        final RecordingSphereClient delegate = new RecordingSphereClient(request -> {
+            final FooUpdateCommand command = (FooUpdateCommand) request;
+            return new Foo(command.version + 1);
+        });
+        final RequestShapingSphereClientDecorator client = RequestShapingSphereClientDecorator.of(delegate, CONFIG);
+
+        final Foo foo = client.execute(new FooUpdateCommand(3L, actions(5))).toCompletableFuture().join();
+
+        assertThat(foo.getVersion()).isEqualTo(6L);
+        assertThat(delegate.requests).extracting(request -> ((FooUpdateCommand) request).version).containsExactly(3L, 4L, 5L);
+        assertThat(delegate.requests).extracting(request -> ((FooUpdateCommand) request).getUpdateActions().size()).containsExactly(2, 2, 1);
+        assertThat(client.getSplitUpdateCommandCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void failedChunkStopsTheUpdate() throws Exception {
+        final RecordingSphereClient delegate = new RecordingSphereClient(request -> {
+            throw new ConcurrentModificationException();
+        });
+        final RequestShapingSphereClientDecorator client = RequestShapingSphereClientDecorator.of(delegate, CONFIG);
+
+        final CompletableFuture<Foo> result = client.execute(new FooUpdateCommand(3L, actions(5))).toCompletableFuture();
+
+        assertThat(result).isCompletedExceptionally();
+        assertThat(delegate.requests).hasSize(1);
+    }
+
+    private static List<String> ids(final int count) {
+        return IntStream.range(0, count).mapToObj(i -> "id" + i).collect(Collectors.toList());
+    }
+
+    private static List<UpdateAction<Foo>> actions(final int count) {
+        return IntStream.range(0, count).mapToObj(i -> new FooUpdateAction()).collect(Collectors.toList());
+    }
+
+    private static final class RecordingSphereClient extends Base implements SphereClient {
+        private final List<SphereRequest<?>> requests = new CopyOnWriteArrayList<>();
+        private final List<Deadline> deadlines = new CopyOnWriteArrayList<>();
+        private final Function<SphereRequest<?>, Object> answer;
+
+        private RecordingSphereClient(final Function<SphereRequest<?>, Object> answer) {
+            this.answer = answer;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+            Deadline.current().ifPresent(deadlines::add);
+            final SphereRequest<T> request = sphereRequest;
+            requests.add(request);
+            final CompletableFuture<T> result = new CompletableFuture<>();
+            try {
+                result.complete((T) answer.apply(request));
+            } catch (final RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public SphereApiConfig getConfig() {
+            return SphereApiConfig.of("test");
+        }
+    }
+
+    private static final class FooQueryModel extends QueryModelImpl<String> {
+        private FooQueryModel() {
+            super(null, null);
+        }
+
+        StringQuerySortingModel<String> id() {
+            return stringQuerySortingModel("id");
+        }
+    }
+
+    private interface FooQuery extends MetaModelQueryDsl<String, FooQuery, FooQueryModel, String> {
+        static FooQuery of() {
+            return new FooQueryImpl();
+        }
+    }
+
+    private static final class FooQueryImpl extends MetaModelQueryDslImpl<String, FooQuery, FooQueryModel, String> implements FooQuery {
+        private FooQueryImpl() {
+            super("/foos", new TypeReference<PagedQueryResult<String>>() {
+            }, new FooQueryModel(), "expansion", FooQueryImpl::new);
+        }
+
+        private FooQueryImpl(final MetaModelQueryDslBuilder<String, FooQuery, FooQueryModel, String> builder) {
+            super(builder);
+        }
+    }
+
+    private static final class Foo extends Base implements ResourceView<Foo, Foo> {
+        private final Long version;
+
+        private Foo(final Long version) {
+            this.version = version;
+        }
+
+        @Override
+        public String getId() {
+            return "foo";
+        }
+
+        @Override
+        public Long getVersion() {
+            return version;
+        }
+
+        @Override
+        public ZonedDateTime getCreatedAt() {
+            return null;
+        }
+
+        @Override
+        public ZonedDateTime getLastModifiedAt() {
+            return null;
+        }
+    }
+
+    private static final class FooUpdateAction extends UpdateActionImpl<Foo> {
+        private FooUpdateAction() {
+            super("foo");
+        }
+    }
+
+    private static final class FooUpdateCommand extends Base implements UpdateCommandDsl<Foo, FooUpdateCommand> {
+        private final Long version;
+        private final List<UpdateAction<Foo>> updateActions;
+
+        private FooUpdateCommand(final Long version, final List<? extends UpdateAction<Foo>> updateActions) {
+            this.version = version;
+            this.updateActions = new ArrayList<>(updateActions);
+        }
+
+        @Override
+        public FooUpdateCommand withVersion(final Versioned<Foo> versioned) {
+            return withVersion(versioned.getVersion());
+        }
+
+        @Override
+        public FooUpdateCommand withVersion(final Long version) {
+            return new FooUpdateCommand(version, updateActions);
+        }
+
+        @Override
+        public FooUpdateCommand plusUpdateActions(final List<? extends UpdateAction<Foo>> updateActions) {
+            final List<UpdateAction<Foo>> actions = new ArrayList<>(this.updateActions);
+            actions.addAll(updateActions);
+            return withUpdateActions(actions);
+        }
+
+        @Override
+        public FooUpdateCommand withUpdateActions(final List<? extends UpdateAction<Foo>> updateActions) {
+            return new FooUpdateCommand(version, updateActions);
+        }
+
+        @Override
+        public List<? extends UpdateAction<Foo>> getUpdateActions() {
+            return updateActions;
+        }
+
+        @Override
+        public Foo deserialize(final HttpResponse httpResponse) {
+            return null;
+        }
+
+        @Override
+        public HttpRequestIntent httpRequestIntent() {
+            return HttpRequestIntent.of(HttpMethod.POST, "/foos/foo");
+        }
+    }
+}
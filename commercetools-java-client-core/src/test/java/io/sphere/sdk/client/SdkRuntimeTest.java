@@ -0,0 +1,143 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.http.HttpClient;
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.http.HttpRequest;
+import io.sphere.sdk.http.HttpResponse;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SdkRuntimeTest {
+    private static final SphereApiConfig API_CONFIG = SphereApiConfig.of("test");
+
+    @Test
+    public void inlineContinuationsRunInTheCompletingThread() throws Exception {
+        final SdkRuntime runtime = SdkRuntimeBuilder.of().inlineContinuations(true).build();
+        final CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+        final SphereClient client = SphereClient.of(API_CONFIG, httpClientOf(response), SphereAccessTokenSupplier.ofConstantToken("token"), runtime);
+
+        final CompletableFuture<String> result = client.execute(new ThreadRecordingRequest()).toCompletableFuture();
+        final Thread ioThread = new Thread(() -> response.complete(HttpResponse.of(200, "{}")), "fake-io-thread");
+        ioThread.start();
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("fake-io-thread");
+    }
+
+    @Test
+    public void continuationsRunInTheCpuPool() throws Exception {
+        try (final SdkRuntime runtime = SdkRuntimeBuilder.of().parallelism(1).build()) {
+            final CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+            final SphereClient client = SphereClient.of(API_CONFIG, httpClientOf(response), SphereAccessTokenSupplier.ofConstantToken("token"), runtime);
+
+            final CompletableFuture<String> result = client.execute(new ThreadRecordingRequest()).toCompletableFuture();
+            response.complete(HttpResponse.of(200, "{}"));
+
+            assertThat(result.get(5, TimeUnit.SECONDS)).startsWith("commercetools-sdk-").contains("-worker-");
+        }
+    }
+
+    @Test
+    public void tokenSuppliersShareTheThreadsOfTheRuntime() throws Exception {
+        final AtomicInteger createdThreads = new AtomicInteger();
+        final ForkJoinPool cpuPool = new ForkJoinPool(2, pool -> {
+            createdThreads.incrementAndGet();
+            return ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        }, null, false);
+        final SdkRuntime runtime = SdkRuntimeBuilder.of().cpuPool(cpuPool).build();
+        final HttpClient httpClient = httpClientOf(CompletableFuture.completedFuture(HttpResponse.of(200, "{\"access_token\": \"token\", \"expires_in\": 3600}")));
+        final int threadsBefore = Thread.activeCount();
+        final List<SphereAccessTokenSupplier> tokenSuppliers = new ArrayList<>();
+        try {
+            for (int i = 0; i < 50; i++) {
+                tokenSuppliers.add(SphereAccessTokenSupplier.ofAutoRefresh(SphereAuthConfig.of("test", "id", "secret"), httpClient, false, runtime));
+            }
+            for (final SphereAccessTokenSupplier tokenSupplier : tokenSuppliers) {
+                assertThat(tokenSupplier.get().toCompletableFuture().get(5, TimeUnit.SECONDS)).isEqualTo("token");
+            }
+
+            assertThat(createdThreads.get()).isLessThanOrEqualTo(2);
+            assertThat(Thread.activeCount() - threadsBefore).isLessThan(10);
+        } finally {
+            tokenSuppliers.forEach(SphereAccessTokenSupplier::close);
+            cpuPool.shutdown();
+        }
+    }
+
+    @Test
+    public void actorProcessesMessagesInOrder() throws Exception {
+        final List<Integer> received = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        final Actor actor = new Actor(SdkRuntime.shared()) {
+            @Override
+            protected void receive(final Object message) {
+                received.add((Integer) message);
+                if (received.size() == 1000) {
+                    done.countDown();
+                }
+            }
+        };
+        for (int i = 0; i < 1000; i++) {
+            actor.tell(i);
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(received.get(i)).isEqualTo(i);
+        }
+        actor.close();
+    }
+
+    @Test
+    public void sharedRuntimeUsesDaemonThreadsOfTheSdk() throws Exception {
+        final ForkJoinPool cpuPool = SdkRuntime.shared().getCpuPool();
+        final Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, cpuPool).get(5, TimeUnit.SECONDS);
+
+        assertThat(cpuPool).isNotSameAs(ForkJoinPool.commonPool());
+        assertThat(thread.getName()).startsWith("commercetools-sdk-shared-worker-");
+        assertThat(thread.isDaemon()).isTrue();
+        assertThat(SdkRuntimeBuilder.of().build().getCpuPool()).isSameAs(cpuPool);
+    }
+
+    @Test
+    public void parallelismNeedsToBePositive() {
+        assertThatThrownBy(() -> SdkRuntimeBuilder.of().parallelism(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("parallelism needs to be positive but was 0");
+    }
+
+    private static HttpClient httpClientOf(final CompletableFuture<HttpResponse> response) {
+        return new HttpClient() {
+            @Override
+            public CompletionStage<HttpResponse> execute(final HttpRequest httpRequest) {
+                return response;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private static class ThreadRecordingRequest implements SphereRequest<String> {
+        @Override
+        public String deserialize(final HttpResponse httpResponse) {
+            return Thread.currentThread().getName();
+        }
+
+        @Override
+        public HttpRequestIntent httpRequestIntent() {
+            return HttpRequestIntent.of(HttpMethod.GET, "/foo");
+        }
+    }
+}
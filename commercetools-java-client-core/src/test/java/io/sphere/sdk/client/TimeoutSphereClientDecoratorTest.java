@@ -1,11 +1,20 @@
 package io.sphere.sdk.client;
 
+import io.sphere.sdk.retry.RetryAction;
+import io.sphere.sdk.retry.RetryPredicate;
+import io.sphere.sdk.retry.RetryRule;
 import io.sphere.sdk.utils.CompletableFutureUtils;
 import org.junit.Test;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
+import static java.util.Collections.singletonList;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -69,4 +78,121 @@ public class TimeoutSphereClientDecoratorTest {
         assertThatThrownBy(() -> decoratedClient.execute(DummySphereRequest.of()).toCompletableFuture().join())
                 .hasCause(t);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void cancelsRequestOnTimeout() throws Exception {
+        final RecordingSphereClient sphereClient = new RecordingSphereClient(false);
+
+        final SphereClient decoratedClient = TimeoutSphereClientDecorator.of(sphereClient, DELAY, TimeUnit.MILLISECONDS);
+        assertThatThrownBy(() -> decoratedClient.execute(DummySphereRequest.of()).toCompletableFuture().join())
+                .hasCauseInstanceOf(SphereTimeoutException.class);
+        assertThat(sphereClient.results).hasSize(1).allMatch(CompletableFuture::isCancelled);
+    }
+
+    @Test
+    public void passesDeadlineToTheDecoratedClient() throws Exception {
+        final RecordingSphereClient sphereClient = new RecordingSphereClient(true);
+
+        final SphereClient decoratedClient = TimeoutSphereClientDecorator.of(sphereClient, 10, TimeUnit.SECONDS);
+        final DummySphereRequest request = DummySphereRequest.of();
+        decoratedClient.execute(request).toCompletableFuture().join();
+
+        assertThat(sphereClient.requests).hasSize(1);
+        assertThat(sphereClient.requests.get(0)).as("the request is passed on unchanged").isSameAs(request);
+        final Deadline deadline = sphereClient.deadlines.get(0);
+        assertThat(deadline.timeRemaining(TimeUnit.SECONDS)).isBetween(1L, 10L);
+    }
+
+    @Test
+    public void nestedTimeoutUsesTheEarlierDeadline() throws Exception {
+        final RecordingSphereClient sphereClient = new RecordingSphereClient(false);
+
+        final SphereClient innerClient = TimeoutSphereClientDecorator.of(sphereClient, 1, TimeUnit.HOURS);
+        final SphereClient decoratedClient = TimeoutSphereClientDecorator.of(innerClient, DELAY, TimeUnit.MILLISECONDS);
+        final CompletableFuture<String> result = decoratedClient.execute(DummySphereRequest.of()).toCompletableFuture();
+
+        final Deadline deadline = sphereClient.deadlines.get(0);
+        assertThat(deadline.timeRemaining(TimeUnit.MILLISECONDS)).isLessThanOrEqualTo(DELAY);
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(SphereTimeoutException.class);
+        assertThat(sphereClient.results).allMatch(CompletableFuture::isCancelled);
+    }
+
+    @Test
+    public void completesTimeoutsInTheCpuPool() throws Exception {
+        try (final SdkRuntime runtime = SdkRuntimeBuilder.of().parallelism(1).build()) {
+            final SphereClient decoratedClient = TimeoutSphereClientDecorator.of(new NotAnsweringSphereClient(), DELAY, TimeUnit.MILLISECONDS, runtime);
+            final CompletableFuture<String> timeoutThread = new CompletableFuture<>();
+
+            decoratedClient.execute(DummySphereRequest.of()).whenComplete((value, throwable) -> timeoutThread.complete(Thread.currentThread().getName()));
+
+            assertThat(timeoutThread.get(5, TimeUnit.SECONDS)).startsWith("commercetools-sdk-").contains("-worker-");
+        }
+    }
+
+    @Test
+    public void retriesDoNotOutliveTheDeadline() throws Exception {
+        final Throwable error = new ServiceUnavailableException("maintenance");
+        final List<SphereRequest<?>> requests = new CopyOnWriteArrayList<>();
+        final List<Deadline> deadlines = new CopyOnWriteArrayList<>();
+        final SphereClient failingClient = new SphereClient() {
+            @Override
+            public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+                requests.add(sphereRequest);
+                Deadline.current().ifPresent(deadlines::add);
+                return CompletableFutureUtils.failed(error);
+            }
+
+            @Override
+            public void close() {
+
+            }
+
+            @Override
+            public SphereApiConfig getConfig() {
+                return null;
+            }
+        };
+        final List<RetryRule> retryRules = singletonList(RetryRule.of(RetryPredicate.ofMatchingErrors(ServiceUnavailableException.class),
+                RetryAction.ofScheduledRetry(5, context -> Duration.ofMillis(context.getAttempt() == 1 ? 10 : 1000))));
+        final SphereClient retryClient = RetrySphereClientDecorator.of(failingClient, retryRules);
+        final SphereClient decoratedClient = TimeoutSphereClientDecorator.of(retryClient, 500, TimeUnit.MILLISECONDS);
+
+        assertThatThrownBy(() -> decoratedClient.execute(DummySphereRequest.of()).toCompletableFuture().get(5, TimeUnit.SECONDS))
+                .hasCause(error);
+        assertThat(requests).hasSize(2);
+        assertThat(deadlines).as("the retry is sent within the deadline").hasSize(2);
+    }
+
+    private static class RecordingSphereClient implements SphereClient {
+        private final boolean answering;
+        private final List<SphereRequest<?>> requests = new CopyOnWriteArrayList<>();
+        private final List<Deadline> deadlines = new CopyOnWriteArrayList<>();
+        private final List<CompletableFuture<?>> results = new CopyOnWriteArrayList<>();
+
+        private RecordingSphereClient(final boolean answering) {
+            this.answering = answering;
+        }
+
+        @Override
+        public <T> CompletionStage<T> execute(final SphereRequest<T> sphereRequest) {
+            requests.add(sphereRequest);
+            Deadline.current().ifPresent(deadlines::add);
+            final CompletableFuture<T> result = new CompletableFuture<>();
+            results.add(result);
+            if (answering) {
+                result.complete(null);
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+
+        }
+
+        @Override
+        public SphereApiConfig getConfig() {
+            return null;
+        }
+    }
+}
@@ -138,6 +138,37 @@ public interface CategoryTree {
      */
     List<Category> getSubtreeRoots();
 
+    /**
+     * Checks if a category is a child, grandchild and so on of another category.
+     * The trees created by {@link #of(List)} answer this in constant time.
+     *
+     * @param category the category which is possibly a descendant
+     * @param ancestor the category which is possibly an ancestor
+     * @return true if both categories are in this tree and category is a descendant of ancestor, otherwise false
+     */
+    default boolean isDescendant(final Identifiable<Category> category, final Identifiable<Category> ancestor) {
+        return findById(ancestor.getId()).isPresent() && findById(category.getId())
+                .map(theCategory -> theCategory.getAncestors().stream().anyMatch(reference -> reference.getId().equals(ancestor.getId())))
+                .orElse(false);
+    }
+
+    /**
+     * Finds the children, grandchildren and so on of a category in depth-first order, excluding the category itself.
+     * If the category is not in this {@link CategoryTree} then the list is empty.
+     * The trees created by {@link #of(List)} return a view on a precomputed list without copying.
+     *
+     * @param category the category which should be the ancestor of the categories of the result list
+     * @return list of descendants or empty list
+     */
+    default List<Category> findDescendants(final Identifiable<Category> category) {
+        final List<Category> descendants = new ArrayList<>();
+        findChildren(category).forEach(child -> {
+            descendants.add(child);
+            descendants.addAll(findDescendants(child));
+        });
+        return descendants;
+    }
+
     /**
      * Creates a category tree from a flat list of categories.
      *
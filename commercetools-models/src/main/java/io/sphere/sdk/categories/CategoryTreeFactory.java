@@ -30,8 +30,37 @@ final class CategoryTreeFactory {
         final Map<LocalizedStringEntry, Category> categoriesByLocaleAndSlug = getLocalizedStringEntryCategoryMap(allCategoriesAsFlatList);
         final Map<String, Category> categoriesById = allCategoriesAsFlatList.stream().collect(toMap(Category::getId, Function.<Category>identity()));
         final Map<String, Category> categoriesByKey = allCategoriesAsFlatList.stream().filter(category -> category.getKey() != null).collect(toMap(Category::getKey, Function.<Category>identity()));
+        final Map<String, Category> categoriesByExternalId = getCategoriesByExternalIdMap(allCategoriesAsFlatList);
         final Map<String, List<Category>> childrenByParentId = getChildrenByParentIdMap(allCategoriesAsFlatList);
-        return new CategoryTreeImpl(roots, allAsFlatList, categoriesByLocaleAndSlug, categoriesById, categoriesByKey ,childrenByParentId, subtreeRoots);
+        final List<Category> preorder = new ArrayList<>(allCategoriesAsFlatList.size());
+        final Map<String, Integer> preorderIndexById = new HashMap<>();
+        final Map<String, Integer> subtreeEndById = new HashMap<>();
+        allCategoriesAsFlatList.stream()
+                .filter(category -> category.getParent() == null || !categoriesById.containsKey(category.getParent().getId()))
+                .forEach(top -> addInPreorder(top, childrenByParentId, preorder, preorderIndexById, subtreeEndById));
+        return new CategoryTreeImpl(roots, allAsFlatList, categoriesByLocaleAndSlug, categoriesById, categoriesByKey, categoriesByExternalId,
+                childrenByParentId, subtreeRoots, preorder, preorderIndexById, subtreeEndById);
+    }
+
+    /**
+     * Adds a category and its descendants depth-first, so each subtree is a contiguous range in the list
+     * which starts at the index of its root and ends before its subtree end index.
+     */
+    private void addInPreorder(final Category category, final Map<String, List<Category>> childrenByParentId, final List<Category> preorder,
+                               final Map<String, Integer> preorderIndexById, final Map<String, Integer> subtreeEndById) {
+        preorderIndexById.put(category.getId(), preorder.size());
+        preorder.add(category);
+        childrenByParentId.getOrDefault(category.getId(), Collections.emptyList())
+                .forEach(child -> addInPreorder(child, childrenByParentId, preorder, preorderIndexById, subtreeEndById));
+        subtreeEndById.put(category.getId(), preorder.size());
+    }
+
+    private Map<String, Category> getCategoriesByExternalIdMap(final List<Category> allCategoriesAsFlatList) {
+        final Map<String, Category> categoriesByExternalId = new HashMap<>();
+        allCategoriesAsFlatList.stream()
+                .filter(category -> category.getExternalId() != null)
+                .forEach(category -> categoriesByExternalId.putIfAbsent(category.getExternalId(), category));
+        return categoriesByExternalId;
     }
 
     private Map<String, List<Category>> getChildrenByParentIdMap(final List<Category> allCategoriesAsFlatList) {
@@ -17,14 +17,22 @@ class CategoryTreeImpl extends Base implements CategoryTree {
     private final Map<LocalizedStringEntry, Category> categoriesByLocaleAndSlug;
     private final Map<String, Category> categoriesById;
     private final Map<String, Category> categoriesByKey;
+    private final Map<String, Category> categoriesByExternalId;
     private final Map<String, List<Category>> childrenByParentId;
+    private final List<Category> preorder;
+    private final Map<String, Integer> preorderIndexById;
+    private final Map<String, Integer> subtreeEndById;
 
     CategoryTreeImpl(final List<Category> roots,
                      final List<Category> allAsFlatList,
                      final Map<LocalizedStringEntry, Category> categoriesByLocaleAndSlug,
                      final Map<String, Category> categoriesById,
                      final Map<String, Category> categoriesByKey,
-                     final Map<String, List<Category>> childrenByParentId, final List<Category> subtreeRoots) {
+                     final Map<String, Category> categoriesByExternalId,
+                     final Map<String, List<Category>> childrenByParentId, final List<Category> subtreeRoots,
+                     final List<Category> preorder,
+                     final Map<String, Integer> preorderIndexById,
+                     final Map<String, Integer> subtreeEndById) {
         this.childrenByParentId = childrenByParentId;
         this.roots = immutableCopyOf(roots);
         this.subtreeRoots = roots == subtreeRoots ? this.roots : immutableCopyOf(subtreeRoots);
@@ -32,6 +40,10 @@ class CategoryTreeImpl extends Base implements CategoryTree {
         this.categoriesByLocaleAndSlug = immutableCopyOf(categoriesByLocaleAndSlug);
         this.categoriesById = immutableCopyOf(categoriesById);
         this.categoriesByKey = immutableCopyOf(categoriesByKey);
+        this.categoriesByExternalId = immutableCopyOf(categoriesByExternalId);
+        this.preorder = immutableCopyOf(preorder);
+        this.preorderIndexById = immutableCopyOf(preorderIndexById);
+        this.subtreeEndById = immutableCopyOf(subtreeEndById);
     }
 
     @Override
@@ -46,9 +58,7 @@ class CategoryTreeImpl extends Base implements CategoryTree {
 
     @Override
     public Optional<Category> findByExternalId(final String externalId) {
-        return getAllAsFlatList().parallelStream()
-                .filter(cat -> Optional.ofNullable(cat.getExternalId()).map(extIdElement -> extIdElement.equals(externalId)).orElse(false))
-                .findAny();//should be okay, since the externalId should be unique
+        return Optional.ofNullable(categoriesByExternalId.get(externalId));
     }
 
     @Override
@@ -107,4 +117,18 @@ class CategoryTreeImpl extends Base implements CategoryTree {
     public List<Category> getSubtreeRoots() {
         return subtreeRoots;
     }
+
+    @Override
+    public boolean isDescendant(final Identifiable<Category> category, final Identifiable<Category> ancestor) {
+        final Integer index = preorderIndexById.get(category.getId());
+        final Integer ancestorIndex = preorderIndexById.get(ancestor.getId());
+        return index != null && ancestorIndex != null
+                && ancestorIndex < index && index < subtreeEndById.get(ancestor.getId());
+    }
+
+    @Override
+    public List<Category> findDescendants(final Identifiable<Category> category) {
+        final Integer index = preorderIndexById.get(category.getId());
+        return index != null ? preorder.subList(index + 1, subtreeEndById.get(category.getId())) : Collections.emptyList();
+    }
 }
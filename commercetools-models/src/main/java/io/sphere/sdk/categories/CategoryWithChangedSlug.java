@@ -0,0 +1,27 @@
+package io.sphere.sdk.categories;
+
+import io.sphere.sdk.models.LocalizedString;
+
+/**
+ * A category with the slug and version of a {@link io.sphere.sdk.categories.messages.CategorySlugChangedMessage}.
+ */
+final class CategoryWithChangedSlug extends CategoryWrapper {
+    private final LocalizedString slug;
+    private final Long version;
+
+    CategoryWithChangedSlug(final Category delegate, final LocalizedString slug, final Long version) {
+        super(delegate);
+        this.slug = slug;
+        this.version = version;
+    }
+
+    @Override
+    public LocalizedString getSlug() {
+        return slug;
+    }
+
+    @Override
+    public Long getVersion() {
+        return version;
+    }
+}
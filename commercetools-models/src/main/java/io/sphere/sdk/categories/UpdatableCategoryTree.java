@@ -0,0 +1,213 @@
+package io.sphere.sdk.categories;
+
+import io.sphere.sdk.categories.messages.CategoryCreatedMessage;
+import io.sphere.sdk.categories.messages.CategorySlugChangedMessage;
+import io.sphere.sdk.messages.Message;
+import io.sphere.sdk.models.Identifiable;
+
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A {@link CategoryTree} which can be kept up to date without fetching all categories again.
+ *
+ * <p>Changes are applied to a copy of the current tree which is published after it is complete,
+ * so reading never blocks and never sees a partially applied change. Each read method uses the
+ * tree at the time of the call, use {@link #getSnapshot()} to run several reads on the same state.</p>
+ *
+ * <pre>{@code
+ * final UpdatableCategoryTree tree = UpdatableCategoryTree.of(allCategories);
+ * client.execute(CategoryUpdateCommand.of(category, ChangeParent.of(newParent))).thenAccept(tree::upsert);
+ * messages.forEach(tree::apply);
+ * }</pre>
+ *
+ * <p>Changes are ignored if the tree already contains the category in the same or a newer version,
+ * so messages and command results can be applied in any order. The ids of removed categories are kept
+ * together with their version, so an outdated change arriving after the removal does not add the category again.
+ * If a category is moved, the ancestors
+ * of its descendants are not updated, {@link #isDescendant(Identifiable, Identifiable)} and
+ * {@link #findDescendants(Identifiable)} only use the parent references and reflect the move.</p>
+ */
+public final class UpdatableCategoryTree implements CategoryTree {
+    private volatile CategoryTree snapshot;
+    private final Map<String, Long> removedVersions = new HashMap<>();
+
+    private UpdatableCategoryTree(final CategoryTree snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Gets the current state of the tree which is not affected by further changes.
+     *
+     * @return immutable category tree
+     */
+    public CategoryTree getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Adds a created category or replaces an updated category.
+     *
+     * @param category the category in the new version
+     * @return true if the tree changed, false if the tree already contains the category in the same or a newer version
+     * or the category has been removed in the same or a newer version
+     */
+    public synchronized boolean upsert(final Category category) {
+        requireNonNull(category);
+        final Long removedVersion = removedVersions.get(category.getId());
+        if (removedVersion != null) {
+            if (category.getVersion() == null || category.getVersion() <= removedVersion) {
+                return false;
+            }
+            removedVersions.remove(category.getId());
+        }
+        final CategoryTree current = snapshot;
+        final Optional<Category> existing = current.findById(category.getId());
+        if (existing.isPresent() && !isNewer(category, existing.get())) {
+            return false;
+        }
+        final List<Category> categories = current.getAllAsFlatList().stream()
+                .map(c -> c.getId().equals(category.getId()) ? category : c)
+                .collect(toCollection(ArrayList::new));
+        if (!existing.isPresent()) {
+            categories.add(category);
+        }
+        snapshot = CategoryTree.of(categories);
+        return true;
+    }
+
+    /**
+     * Removes a deleted category together with its descendants. Later changes of these categories are only applied
+     * if they are newer than the removed version, the removed version of a category given by id only is unknown,
+     * so no later change is applied.
+     *
+     * @param category the deleted category
+     * @return true if the tree changed, false if the category is not part of the tree
+     */
+    public synchronized boolean remove(final Identifiable<Category> category) {
+        requireNonNull(category);
+        final Long version = category instanceof Category ? ((Category) category).getVersion() : null;
+        removedVersions.put(category.getId(), version != null ? version : Long.MAX_VALUE);
+        final CategoryTree current = snapshot;
+        if (!current.findById(category.getId()).isPresent()) {
+            return false;
+        }
+        final Set<String> removedIds = new HashSet<>();
+        removedIds.add(category.getId());
+        current.findDescendants(category).forEach(descendant -> {
+            removedIds.add(descendant.getId());
+            removedVersions.put(descendant.getId(), descendant.getVersion() != null ? descendant.getVersion() : Long.MAX_VALUE);
+        });
+        final List<Category> categories = current.getAllAsFlatList().stream()
+                .filter(c -> !removedIds.contains(c.getId()))
+                .collect(toList());
+        snapshot = CategoryTree.of(categories);
+        return true;
+    }
+
+    /**
+     * Applies a {@link CategoryCreatedMessage} or a {@link CategorySlugChangedMessage}, other messages are ignored.
+     *
+     * @param message the message
+     * @return true if the tree changed
+     */
+    public synchronized boolean apply(final Message message) {
+        requireNonNull(message);
+        if (CategoryCreatedMessage.MESSAGE_TYPE.equals(message.getType())) {
+            return upsert(as(message, CategoryCreatedMessage.class).getCategory());
+        } else if (CategorySlugChangedMessage.MESSAGE_TYPE.equals(message.getType())) {
+            final CategorySlugChangedMessage slugChangedMessage = as(message, CategorySlugChangedMessage.class);
+            return snapshot.findById(slugChangedMessage.getResource().getId())
+                    .map(category -> upsert(new CategoryWithChangedSlug(category, slugChangedMessage.getSlug(), slugChangedMessage.getResourceVersion())))
+                    .orElse(false);
+        }
+        return false;
+    }
+
+    private static <M extends Message> M as(final Message message, final Class<M> messageClass) {
+        return messageClass.isInstance(message) ? messageClass.cast(message) : message.as(messageClass);
+    }
+
+    private static boolean isNewer(final Category category, final Category existing) {
+        return category.getVersion() == null || existing.getVersion() == null || category.getVersion() > existing.getVersion();
+    }
+
+    @Override
+    public List<Category> getRoots() {
+        return snapshot.getRoots();
+    }
+
+    @Override
+    public Optional<Category> findById(final String id) {
+        return snapshot.findById(id);
+    }
+
+    @Override
+    public Optional<Category> findByExternalId(final String externalId) {
+        return snapshot.findByExternalId(externalId);
+    }
+
+    @Override
+    public Optional<Category> findBySlug(final Locale locale, final String slug) {
+        return snapshot.findBySlug(locale, slug);
+    }
+
+    @Override
+    public Optional<Category> findByKey(final String key) {
+        return snapshot.findByKey(key);
+    }
+
+    @Override
+    public List<Category> getAllAsFlatList() {
+        return snapshot.getAllAsFlatList();
+    }
+
+    @Override
+    public List<Category> findChildren(final Identifiable<Category> category) {
+        return snapshot.findChildren(category);
+    }
+
+    @Override
+    public List<Category> findSiblings(final Collection<? extends Identifiable<Category>> categoryIds) {
+        return snapshot.findSiblings(categoryIds);
+    }
+
+    @Override
+    public CategoryTree getSubtree(final Collection<? extends Identifiable<Category>> parentCategories) {
+        return snapshot.getSubtree(parentCategories);
+    }
+
+    @Override
+    public Category getRootAncestor(final Identifiable<Category> category) {
+        return snapshot.getRootAncestor(category);
+    }
+
+    @Override
+    public List<Category> getSubtreeRoots() {
+        return snapshot.getSubtreeRoots();
+    }
+
+    @Override
+    public boolean isDescendant(final Identifiable<Category> category, final Identifiable<Category> ancestor) {
+        return snapshot.isDescendant(category, ancestor);
+    }
+
+    @Override
+    public List<Category> findDescendants(final Identifiable<Category> category) {
+        return snapshot.findDescendants(category);
+    }
+
+    /**
+     * Creates an updatable category tree from a flat list of categories.
+     *
+     * @param allCategoriesAsFlatList all categories as flat list
+     * @return the created category tree
+     */
+    public static UpdatableCategoryTree of(final List<Category> allCategoriesAsFlatList) {
+        requireNonNull(allCategoriesAsFlatList);
+        return new UpdatableCategoryTree(CategoryTree.of(allCategoriesAsFlatList));
+    }
+}
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import io.sphere.sdk.json.SphereJsonUtils;
@@ -45,11 +44,10 @@ public abstract class GenericMessageImpl<R> extends ResourceImpl<Message> implem
         final TypeFactory typeFactory = TypeFactory.defaultInstance();
         this.referenceJavaType = typeFactory.constructParametrizedType(Reference.class, Reference.class, javaType);
 
-        final ObjectMapper objectMapper = SphereJsonUtils.newObjectMapper();
         JsonNode node = null;
         
         if(resourceUserProvidedIdentifiers != null) {
-            node = objectMapper.createObjectNode()
+            node = SphereJsonUtils.newObjectNode()
                     .put("key", resourceUserProvidedIdentifiers.getKey())
                     .put("externalId", resourceUserProvidedIdentifiers.getExternalId())
                     .put("orderNumber", resourceUserProvidedIdentifiers.getOrderNumber())
@@ -92,17 +90,14 @@ public abstract class GenericMessageImpl<R> extends ResourceImpl<Message> implem
 
     @Override
     public JsonNode getPayload() {
-        final ObjectMapper objectMapper = SphereJsonUtils.newObjectMapper();
-        final ObjectNode jsonNode = objectMapper.createObjectNode();
+        final ObjectNode jsonNode = SphereJsonUtils.newObjectNode();
         furtherFields.entrySet().forEach(entry -> jsonNode.replace(entry.getKey(), entry.getValue()));
         return jsonNode;
     }
 
     @Override
     public <T> T as(final Class<T> messageClass) {
-        final ObjectMapper objectMapper = SphereJsonUtils.newObjectMapper();
-        
-        final ObjectNode jsonNode = objectMapper.createObjectNode()
+        final ObjectNode jsonNode = SphereJsonUtils.newObjectNode()
                 .put("id", getId())
                 .put("version", getVersion())
                 .put("createdAt", getCreatedAt().toString())
@@ -1,34 +1,77 @@
 package io.sphere.sdk.products;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.sphere.sdk.json.JsonException;
 import io.sphere.sdk.models.Base;
 import io.sphere.sdk.products.attributes.Attribute;
 import io.sphere.sdk.products.attributes.AttributeMapper;
 import io.sphere.sdk.products.attributes.NamedAttributeAccess;
 
-import java.util.Objects;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
 
 abstract class AttributeContainerBase extends Base implements AttributeContainer {
+    /**
+     * Index of the attributes by name, built on the first lookup. If names occur more than once the first attribute is used like in a linear search.
+     */
+    @JsonIgnore
+    @Nullable
+    private transient volatile Map<String, Attribute> attributesByName;
 
     @Override
     public <T> Optional<T> findAttribute(final NamedAttributeAccess<T> accessor) {
         final String attributeName = accessor.getName();
-        final Optional<Attribute> attributeOption = getAttributes().stream()
-                .filter(a -> Objects.equals(attributeName, a.getName()))
-                .findFirst();
-
-        return attributeOption.map(attribute -> {
+        final Attribute attribute = getAttributesByName().get(attributeName);
+        if (attribute == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(attribute.getValue(accessor));
+        } catch (final JsonException e) {
             final AttributeMapper<T> mapper = accessor.attributeMapper();
+            throw transformError(e, attributeName, mapper);
+        }
+    }
+
+    @Nullable
+    @Override
+    public Attribute getAttribute(final String attributeName) {
+        requireNonNull(attributeName);
+        return getAttributesByName().get(attributeName);
+    }
+
+    @Override
+    public boolean hasAttribute(final String attributeName) {
+        return getAttributesByName().containsKey(attributeName);
+    }
+
+    @Override
+    public boolean hasAttribute(final NamedAttributeAccess<?> namedAccess) {
+        return hasAttribute(namedAccess.getName());
+    }
 
-            try {
-                return attribute.getValue(accessor);
-            } catch (final JsonException e) {
-                throw transformError(e, attributeName, mapper);
+    private Map<String, Attribute> getAttributesByName() {
+        Map<String, Attribute> index = attributesByName;
+        if (index == null) {
+            final List<Attribute> attributes = getAttributes();
+            if (attributes == null || attributes.isEmpty()) {
+                index = Collections.emptyMap();
+            } else {
+                index = new HashMap<>(attributes.size() * 2);
+                for (final Attribute attribute : attributes) {
+                    index.putIfAbsent(attribute.getName(), attribute);
+                }
             }
-        });
+            attributesByName = index;
+        }
+        return index;
     }
 
     protected JsonException transformError(JsonException e, String attributeName, AttributeMapper<?> mapper) {
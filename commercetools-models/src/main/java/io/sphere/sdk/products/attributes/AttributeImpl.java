@@ -1,10 +1,27 @@
 package io.sphere.sdk.products.attributes;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.sphere.sdk.json.JsonException;
 import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.EnumValue;
+import io.sphere.sdk.models.LocalizedEnumValue;
+import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.models.Reference;
+
+import javax.annotation.Nullable;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static java.lang.String.format;
 
@@ -14,6 +31,14 @@ final class AttributeImpl extends Base implements Attribute {
     @JsonSerialize
     private final JsonNode value;
 
+    /**
+     * The last deserialized value, so reading an attribute repeatedly with the same kind of mapper does not parse the JSON again.
+     * Only immutable values and collections of them are memoized, collections are copied for every caller.
+     */
+    @JsonIgnore
+    @Nullable
+    private transient volatile MemoizedValue memoizedValue;
+
     @JsonCreator
     public AttributeImpl(final String name, final JsonNode value) {
         this.name = name;
@@ -25,11 +50,87 @@ final class AttributeImpl extends Base implements Attribute {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T getValue(final AttributeAccess<T> access) {
+        final AttributeMapper<T> mapper = access.attributeMapper();
+        final MemoizedValue memoized = memoizedValue;
+        if (memoized != null && memoized.isFor(mapper)) {
+            return (T) copyForCaller(memoized.value);
+        }
+        final T result;
         try {
-            return access.attributeMapper().deserialize(value);
+            result = mapper.deserialize(value);
         } catch (final JsonException e) {
             throw new JsonException(format("Cannot parse attribute %s with mapper %s.", getName(), access.attributeMapper()), e.getCause());
         }
+        return memoize(mapper, result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T memoize(final AttributeMapper<T> mapper, final T result) {
+        if (!(mapper instanceof AttributeMapperImpl)) {
+            return result;//custom mappers have no stable key
+        }
+        final Object snapshot;
+        if (result instanceof Set && ((Set<?>) result).stream().allMatch(AttributeImpl::isImmutable)) {
+            snapshot = Collections.unmodifiableSet(new HashSet<>((Set<?>) result));
+        } else if (result instanceof List && ((List<?>) result).stream().allMatch(AttributeImpl::isImmutable)) {
+            snapshot = Collections.unmodifiableList(new ArrayList<>((List<?>) result));
+        } else if (isImmutable(result)) {
+            snapshot = result;
+        } else {
+            return result;//mutable values like JSON nodes or POJOs must not be shared between callers
+        }
+        memoizedValue = new MemoizedValue(mapper, ((AttributeMapperImpl<?>) mapper).memoizationKey(), snapshot);
+        return result;
+    }
+
+    /**
+     * Creates the value for a caller from the memoized value, collections are copied since callers may modify them.
+     */
+    @Nullable
+    private static Object copyForCaller(@Nullable final Object memoized) {
+        if (memoized instanceof Set) {
+            return new HashSet<>((Set<?>) memoized);
+        } else if (memoized instanceof List) {
+            return new ArrayList<>((List<?>) memoized);
+        }
+        return memoized;
+    }
+
+    private static boolean isImmutable(@Nullable final Object value) {
+        return value == null
+                || value instanceof String
+                || value instanceof Boolean
+                || value instanceof Integer
+                || value instanceof Long
+                || value instanceof Double
+                || value instanceof BigDecimal
+                || value instanceof LocalDate
+                || value instanceof LocalTime
+                || value instanceof ZonedDateTime
+                || value instanceof LocalizedString
+                || value instanceof EnumValue
+                || value instanceof LocalizedEnumValue
+                || value instanceof MonetaryAmount
+                || value instanceof Reference && ((Reference<?>) value).getObj() == null;
+    }
+
+    private static final class MemoizedValue {
+        private final AttributeMapper<?> mapper;
+        private final Object key;
+        @Nullable
+        private final Object value;
+
+        private MemoizedValue(final AttributeMapper<?> mapper, final Object key, @Nullable final Object value) {
+            this.mapper = mapper;
+            this.key = key;
+            this.value = value;
+        }
+
+        private boolean isFor(final AttributeMapper<?> otherMapper) {
+            return mapper == otherMapper
+                    || otherMapper instanceof AttributeMapperImpl && key.equals(((AttributeMapperImpl<?>) otherMapper).memoizationKey());
+        }
     }
 }
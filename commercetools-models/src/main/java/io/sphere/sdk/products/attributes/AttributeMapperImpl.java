@@ -3,24 +3,31 @@ package io.sphere.sdk.products.attributes;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.sphere.sdk.json.JsonException;
 import io.sphere.sdk.models.Base;
 import io.sphere.sdk.json.SphereJsonUtils;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Objects;
 
 class AttributeMapperImpl<T> extends Base implements AttributeMapper<T> {
     private static final ObjectMapper mapper = SphereJsonUtils.newObjectMapper();
     private final TypeReference<T> typeReference;
+    private final transient ObjectReader reader;
+    private final transient MemoizationKey memoizationKey;
 
     AttributeMapperImpl(final TypeReference<T> typeReference) {
         this.typeReference = typeReference;
+        this.reader = mapper.readerFor(typeReference);
+        this.memoizationKey = new MemoizationKey(getClass(), typeReference.getType());
     }
 
     @Override
     public T deserialize(final JsonNode value) {
         try {
-            return  mapper.readerFor(typeReference).readValue(value);
+            return reader.readValue(value);
         } catch (final IOException e) {
             throw new JsonException(e);
         }
@@ -34,4 +41,41 @@ class AttributeMapperImpl<T> extends Base implements AttributeMapper<T> {
     protected final ObjectMapper mapper() {
         return mapper;
     }
+
+    /**
+     * Mappers are usually created for each access, like with {@link AttributeAccess#ofString()}, so the memoized attribute values
+     * are keyed by mapper class and target type which determine the result of {@link #deserialize(JsonNode)}.
+     *
+     * @return key which is equal for all mappers producing the same values
+     */
+    final Object memoizationKey() {
+        return memoizationKey;
+    }
+
+    private static final class MemoizationKey {
+        private final Class<?> mapperClass;
+        private final Type type;
+
+        private MemoizationKey(final Class<?> mapperClass, final Type type) {
+            this.mapperClass = mapperClass;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MemoizationKey)) {
+                return false;
+            }
+            final MemoizationKey that = (MemoizationKey) o;
+            return mapperClass == that.mapperClass && type.equals(that.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(mapperClass, type);
+        }
+    }
 }
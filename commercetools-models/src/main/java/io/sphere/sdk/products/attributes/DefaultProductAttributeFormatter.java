@@ -74,10 +74,14 @@ public class DefaultProductAttributeFormatter extends ProductAttributeConverterB
      * @return a list of pairs where the key corresponds to a translated label and the value to the formatted value
      */
     public List<Map.Entry<String, String>> createAttributeEntryList(final ProductVariant variant, final Reference<ProductType> productType, final List<String> attrNamesToShow) {
+        final Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < attrNamesToShow.size(); i++) {
+            positions.putIfAbsent(attrNamesToShow.get(i), i);
+        }
         return variant.getAttributes().stream()
-                .filter(a -> attrNamesToShow.contains(a.getName()))//remove attributes not in whitelist
+                .filter(a -> positions.containsKey(a.getName()))//remove attributes not in whitelist
                 //sort so that the order is like in attrNamesToShow
-                .sorted(Comparator.comparingInt(a -> attrNamesToShow.indexOf(a.getName())))
+                .sorted(Comparator.comparingInt(a -> positions.get(a.getName())))
                 .map(attribute -> createAttributeEntry(attribute, productType))
                 .collect(toList());
     }
@@ -94,9 +98,8 @@ public class DefaultProductAttributeFormatter extends ProductAttributeConverterB
         return findProductType(productTypeRef)
                 .map(productType -> {
                     final String translatedValue = convertWithProductType(attribute, productType);
-                    final String translatedLabel = productType.findAttribute(attribute.getName())
-                            .map(ptA -> ptA.getLabel().get(locales))
-                            .orElse(null);
+                    final AttributeDefinition attributeDefinition = findAttributeDefinition(attribute.getName(), productType);
+                    final String translatedLabel = attributeDefinition != null ? attributeDefinition.getLabel().get(locales) : null;
                     return new StringStringMapEntry(translatedLabel, translatedValue);
                 })
                 .orElse(null);
@@ -12,15 +12,18 @@ import javax.money.MonetaryAmount;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiPredicate;
 
 import static io.sphere.sdk.products.attributes.AttributeAccess.*;
 
 public abstract class ProductAttributeConverterBase<T> extends Base implements ProductAttributeConverter<T> {
     private final ProductTypeLocalRepository productTypes;
+    private final transient ConcurrentMap<String, CompiledProductType<T>> compiledProductTypes = new ConcurrentHashMap<>();
+    @Nullable
+    private transient volatile List<ConversionStep<T, ?>> conversionSteps;
 
     protected ProductAttributeConverterBase(final ProductTypeLocalRepository productTypes) {
         this.productTypes = productTypes;
@@ -43,47 +46,179 @@ public abstract class ProductAttributeConverterBase<T> extends Base implements P
         return productTypes.findById(productTypeId);
     }
 
+    /**
+     * Converts an attribute with the help of its product type.
+     *
+     * <p>The attribute definitions of a product type are compiled once into a table from attribute name to the conversions
+     * which can handle the attribute type, so converting an attribute is a hash lookup instead of trying all attribute types.
+     * The table is rebuilt if the product type instance for the same id changes.</p>
+     *
+     * @param attribute the attribute to convert
+     * @param productType the product type containing the definition of the attribute
+     * @return the converted value or null
+     */
+    @Nullable
     protected T convertWithProductType(final Attribute attribute, final ProductType productType) {
-        return AttributeExtraction.<T>of(productType, attribute)
-                .ifIs(ofBoolean(), v -> convertBoolean(v, attribute, productType))
-                .ifIs(ofBooleanSet(), v -> convertBooleanSet(v, attribute, productType))
-                .ifIs(ofCategoryReference(), v -> convertCategoryReference(v, attribute, productType))
-                .ifIs(ofCategoryReferenceSet(), v -> convertCategoryReferenceSet(v, attribute, productType))
-                .ifIs(ofChannelReference(), v -> convertChannelReference(v, attribute, productType))
-                .ifIs(ofChannelReferenceSet(), v -> convertChannelReferenceSet(v, attribute, productType))
-                .ifIs(ofDate(), v -> convertDate(v, attribute, productType))
-                .ifIs(ofDateSet(), v -> convertDateSet(v, attribute, productType))
-                .ifIs(ofDateTime(), v -> convertDateTime(v, attribute, productType))
-                .ifIs(ofDateTimeSet(), v -> convertDateTimeSet(v, attribute, productType))
-                .ifIs(ofEnumValue(), v -> convertEnumValue(v, attribute, productType))
-                .ifIs(ofEnumValueSet(), v -> convertEnumValueSet(v, attribute, productType))
-                .ifIs(ofInteger(), v -> convertInteger(v, attribute, productType), value -> isInteger(attribute, productType))
-                .ifIs(ofIntegerSet(), v -> convertIntegerSet(v, attribute, productType), value -> isIntegerSet(attribute, productType))
-                .ifIs(ofLocalizedEnumValue(), v -> convertLocalizedEnumValue(v, attribute, productType))
-                .ifIs(ofLocalizedEnumValueSet(), v -> convertLocalizedEnumValueSet(v, attribute, productType))
-                .ifIs(ofLocalizedString(), v -> convertLocalizedString(v, attribute, productType))
-                .ifIs(ofLocalizedStringSet(), v -> convertLocalizedStringSet(v, attribute, productType))
-                .ifIs(ofLocalTime(), v -> convertTime(v, attribute, productType))
-                .ifIs(ofLocalTimeSet(), v -> convertTimeSet(v, attribute, productType))
-                .ifIs(ofLong(), v -> convertLong(v, attribute, productType), value -> isLong(attribute, productType))
-                .ifIs(ofLongSet(), v -> convertLongSet(v, attribute, productType), value -> isLongSet(attribute, productType))
-                .ifIs(ofMoney(), v -> convertMoney(v, attribute, productType))
-                .ifIs(ofMoneySet(), v -> convertMoneySet(v, attribute, productType))
-                .ifIs(ofProductReference(), v -> convertProductReference(v, attribute, productType))
-                .ifIs(ofProductReferenceSet(), v -> convertProductReferenceSet(v, attribute, productType))
-                .ifIs(ofProductTypeReference(), v -> convertProductTypeReference(v, attribute, productType))
-                .ifIs(ofProductTypeReferenceSet(), v -> convertProductTypeReferenceSet(v, attribute, productType))
-                .ifIs(ofString(), v -> convertString(v, attribute, productType))
-                .ifIs(ofStringSet(), v -> convertStringSet(v, attribute, productType))
-                .ifIs(ofTime(), v -> convertTime(v, attribute, productType))
-                .ifIs(ofTimeSet(), v -> convertTimeSet(v, attribute, productType))
-
-                //double is fallback if not int or long are used
-                .ifIs(ofDouble(), v -> convertDouble(v, attribute, productType))
-                .ifIs(ofDoubleSet(), v -> convertDoubleSet(v, attribute, productType))
-
-                .findValue()
-                .orElse(null);
+        final CompiledAttribute<T> compiledAttribute = compile(productType).get(attribute.getName());
+        if (compiledAttribute != null) {
+            for (final ConversionStep<T, ?> step : compiledAttribute.steps) {
+                final T value = step.convert(attribute, productType);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the definition of an attribute in the compiled table of the product type.
+     *
+     * @param attributeName the name of the attribute
+     * @param productType the product type containing the definition of the attribute
+     * @return the attribute definition or null if the product type does not define the attribute
+     */
+    @Nullable
+    protected AttributeDefinition findAttributeDefinition(final String attributeName, final ProductType productType) {
+        final CompiledAttribute<T> compiledAttribute = compile(productType).get(attributeName);
+        return compiledAttribute != null ? compiledAttribute.attributeDefinition : null;
+    }
+
+    private Map<String, CompiledAttribute<T>> compile(final ProductType productType) {
+        final String productTypeId = productType.getId();
+        if (productTypeId == null) {
+            return compileAttributes(productType);
+        }
+        final CompiledProductType<T> cached = compiledProductTypes.get(productTypeId);
+        if (cached != null && cached.productType == productType) {
+            return cached.attributes;
+        }
+        final CompiledProductType<T> compiled = new CompiledProductType<>(productType, compileAttributes(productType));
+        compiledProductTypes.put(productTypeId, compiled);
+        return compiled.attributes;
+    }
+
+    private Map<String, CompiledAttribute<T>> compileAttributes(final ProductType productType) {
+        final List<ConversionStep<T, ?>> steps = conversionSteps();
+        final Map<String, CompiledAttribute<T>> attributes = new HashMap<>();
+        for (final AttributeDefinition attributeDefinition : productType.getAttributes()) {
+            final List<ConversionStep<T, ?>> matchingSteps = new ArrayList<>(2);
+            for (final ConversionStep<T, ?> step : steps) {
+                if (step.access.canHandle(attributeDefinition)) {
+                    matchingSteps.add(step);
+                }
+            }
+            attributes.putIfAbsent(attributeDefinition.getName(), new CompiledAttribute<>(attributeDefinition, matchingSteps));
+        }
+        return attributes;
+    }
+
+    private List<ConversionStep<T, ?>> conversionSteps() {
+        List<ConversionStep<T, ?>> steps = conversionSteps;
+        if (steps == null) {
+            steps = createConversionSteps();
+            conversionSteps = steps;
+        }
+        return steps;
+    }
+
+    private List<ConversionStep<T, ?>> createConversionSteps() {
+        final List<ConversionStep<T, ?>> steps = new ArrayList<>();
+        steps.add(step(ofBoolean(), this::convertBoolean));
+        steps.add(step(ofBooleanSet(), this::convertBooleanSet));
+        steps.add(step(ofCategoryReference(), this::convertCategoryReference));
+        steps.add(step(ofCategoryReferenceSet(), this::convertCategoryReferenceSet));
+        steps.add(step(ofChannelReference(), this::convertChannelReference));
+        steps.add(step(ofChannelReferenceSet(), this::convertChannelReferenceSet));
+        steps.add(step(ofDate(), this::convertDate));
+        steps.add(step(ofDateSet(), this::convertDateSet));
+        steps.add(step(ofDateTime(), this::convertDateTime));
+        steps.add(step(ofDateTimeSet(), this::convertDateTimeSet));
+        steps.add(step(ofEnumValue(), this::convertEnumValue));
+        steps.add(step(ofEnumValueSet(), this::convertEnumValueSet));
+        steps.add(guardedStep(ofInteger(), this::convertInteger, this::isInteger));
+        steps.add(guardedStep(ofIntegerSet(), this::convertIntegerSet, this::isIntegerSet));
+        steps.add(step(ofLocalizedEnumValue(), this::convertLocalizedEnumValue));
+        steps.add(step(ofLocalizedEnumValueSet(), this::convertLocalizedEnumValueSet));
+        steps.add(step(ofLocalizedString(), this::convertLocalizedString));
+        steps.add(step(ofLocalizedStringSet(), this::convertLocalizedStringSet));
+        steps.add(step(ofLocalTime(), this::convertTime));
+        steps.add(step(ofLocalTimeSet(), this::convertTimeSet));
+        steps.add(guardedStep(ofLong(), this::convertLong, this::isLong));
+        steps.add(guardedStep(ofLongSet(), this::convertLongSet, this::isLongSet));
+        steps.add(step(ofMoney(), this::convertMoney));
+        steps.add(step(ofMoneySet(), this::convertMoneySet));
+        steps.add(step(ofProductReference(), this::convertProductReference));
+        steps.add(step(ofProductReferenceSet(), this::convertProductReferenceSet));
+        steps.add(step(ofProductTypeReference(), this::convertProductTypeReference));
+        steps.add(step(ofProductTypeReferenceSet(), this::convertProductTypeReferenceSet));
+        steps.add(step(ofString(), this::convertString));
+        steps.add(step(ofStringSet(), this::convertStringSet));
+        steps.add(step(ofTime(), this::convertTime));
+        steps.add(step(ofTimeSet(), this::convertTimeSet));
+
+        //double is fallback if not int or long are used
+        steps.add(step(ofDouble(), this::convertDouble));
+        steps.add(step(ofDoubleSet(), this::convertDoubleSet));
+        return Collections.unmodifiableList(steps);
+    }
+
+    private static <T, A> ConversionStep<T, A> step(final AttributeAccess<A> access, final Converter<A, T> converter) {
+        return new ConversionStep<>(access, converter, null);
+    }
+
+    private static <T, A> ConversionStep<T, A> guardedStep(final AttributeAccess<A> access, final Converter<A, T> converter,
+                                                         final BiPredicate<Attribute, ProductType> guard) {
+        return new ConversionStep<>(access, converter, guard);
+    }
+
+    @FunctionalInterface
+    private interface Converter<A, T> {
+        @Nullable
+        T convert(A value, Attribute attribute, ProductType productType);
+    }
+
+    private static final class ConversionStep<T, A> {
+        private final AttributeAccess<A> access;
+        private final Converter<A, T> converter;
+        @Nullable
+        private final BiPredicate<Attribute, ProductType> guard;
+
+        private ConversionStep(final AttributeAccess<A> access, final Converter<A, T> converter,
+                               @Nullable final BiPredicate<Attribute, ProductType> guard) {
+            this.access = access;
+            this.converter = converter;
+            this.guard = guard;
+        }
+
+        @Nullable
+        private T convert(final Attribute attribute, final ProductType productType) {
+            if (guard != null && !guard.test(attribute, productType)) {
+                return null;
+            }
+            final A value = attribute.getValue(access);
+            return value != null ? converter.convert(value, attribute, productType) : null;
+        }
+    }
+
+    private static final class CompiledAttribute<T> {
+        private final AttributeDefinition attributeDefinition;
+        private final List<ConversionStep<T, ?>> steps;
+
+        private CompiledAttribute(final AttributeDefinition attributeDefinition, final List<ConversionStep<T, ?>> steps) {
+            this.attributeDefinition = attributeDefinition;
+            this.steps = steps;
+        }
+    }
+
+    private static final class CompiledProductType<T> {
+        private final ProductType productType;
+        private final Map<String, CompiledAttribute<T>> attributes;
+
+        private CompiledProductType(final ProductType productType, final Map<String, CompiledAttribute<T>> attributes) {
+            this.productType = productType;
+            this.attributes = attributes;
+        }
     }
 
     @Nullable
@@ -220,6 +220,47 @@ public class CategoryTreeTest {
         assertThat(optional).isPresent().contains(category);
     }
 
+    @Test
+    public void isDescendant() {
+        final CategoryTree tree = createAbcCategoryTree();
+        final Category a = tree.findById("A").get();
+        final Category a2 = tree.findById("A-2").get();
+        final Category a23 = tree.findById("A-2-3").get();
+        final Category b1 = tree.findById("B-1").get();
+        assertThat(tree.isDescendant(a23, a)).isTrue();
+        assertThat(tree.isDescendant(a23, a2)).isTrue();
+        assertThat(tree.isDescendant(a2, a)).isTrue();
+        assertThat(tree.isDescendant(a, a23)).as("ancestors are not descendants").isFalse();
+        assertThat(tree.isDescendant(a, a)).as("categories are not their own descendants").isFalse();
+        assertThat(tree.isDescendant(b1, a)).isFalse();
+        assertThat(tree.isDescendant(newOrphanCategory("unknown"), a)).isFalse();
+    }
+
+    @Test
+    public void findDescendants() {
+        final CategoryTree tree = createAbcCategoryTree();
+        assertThat(tree.findDescendants(tree.findById("B").get())).extracting(Resource::getId)
+                .containsOnly("B-1", "B-2", "B-3",
+                        "B-1-1", "B-1-2", "B-1-3",
+                        "B-2-1", "B-2-2", "B-2-3",
+                        "B-3-1", "B-3-2", "B-3-3");
+        assertThat(tree.findDescendants(tree.findById("C-2").get())).extracting(Resource::getId)
+                .containsExactly("C-2-1", "C-2-2", "C-2-3");
+        assertThat(tree.findDescendants(tree.findById("C-2-2").get())).as("leaf nodes produce empty lists").isEmpty();
+        assertThat(tree.findDescendants(newOrphanCategory("unknown"))).isEmpty();
+    }
+
+    @Test
+    public void findDescendantsInSubtree() {
+        final CategoryTree tree = createAbcCategoryTree();
+        final CategoryTree subtree = tree.getSubtree(asList(tree.findById("A").get(), tree.findById("C-2").get()));
+        assertThat(subtree.findDescendants(tree.findById("C-2").get())).extracting(Resource::getId)
+                .containsExactly("C-2-1", "C-2-2", "C-2-3");
+        assertThat(subtree.isDescendant(tree.findById("C-2-1").get(), tree.findById("C-2").get())).isTrue();
+        assertThat(subtree.isDescendant(tree.findById("C-2-1").get(), tree.findById("C").get()))
+                .as("C is not included in the subtree").isFalse();
+    }
+
     @Test
     public void demoFindByIdFound() {
         final CategoryTree tree = createAbcCategoryTree();
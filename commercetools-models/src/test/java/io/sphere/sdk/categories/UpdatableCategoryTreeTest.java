@@ -0,0 +1,133 @@
+package io.sphere.sdk.categories;
+
+import io.sphere.sdk.categories.messages.CategoryCreatedMessage;
+import io.sphere.sdk.categories.messages.CategorySlugChangedMessage;
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.models.LocalizedString;
+import io.sphere.sdk.models.Resource;
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UpdatableCategoryTreeTest {
+    private static final String MESSAGE_JSON = "{\"id\":\"message-id\",\"version\":1,\"createdAt\":\"2016-01-01T00:00:00.000Z\"," +
+            "\"lastModifiedAt\":\"2016-01-01T00:00:00.000Z\",\"sequenceNumber\":1,\"resourceVersion\":%d," +
+            "\"resource\":{\"typeId\":\"category\",\"id\":\"%s\"},\"type\":\"%s\",%s}";
+
+    private final Category a = category("A", null, 1L);
+    private final Category a1 = category("A-1", a, 1L);
+    private final Category a11 = category("A-1-1", a1, 1L);
+    private final Category b = category("B", null, 1L);
+
+    @Test
+    public void upsertCreatedCategory() throws Exception {
+        final UpdatableCategoryTree tree = UpdatableCategoryTree.of(asList(a, a1, b));
+        final CategoryTree snapshotBefore = tree.getSnapshot();
+
+        assertThat(tree.upsert(a11)).isTrue();
+
+        assertThat(tree.findById("A-1-1")).contains(a11);
+        assertThat(tree.findByExternalId("external-id-A-1-1")).contains(a11);
+        assertThat(tree.findChildren(a1)).containsExactly(a11);
+        assertThat(tree.isDescendant(a11, a)).isTrue();
+        assertThat(snapshotBefore.findById("A-1-1")).as("snapshots are not changed").isEmpty();
+    }
+
+    @Test
+    public void upsertMovedCategory() throws Exception {
+        final UpdatableCategoryTree tree = UpdatableCategoryTree.of(asList(a, a1, a11, b));
+        final Category movedA1 = category("A-1", b, 2L);
+
+        assertThat(tree.upsert(movedA1)).isTrue();
+
+        assertThat(tree.findChildren(a)).isEmpty();
+        assertThat(tree.findChildren(b)).containsExactly(movedA1);
+        assertThat(tree.isDescendant(a11, b)).isTrue();
+        assertThat(tree.isDescendant(a11, a)).isFalse();
+        assertThat(tree.findDescendants(b)).extracting(Resource::getId).containsExactly("A-1", "A-1-1");
+    }
+
+    @Test
+    public void upsertIgnoresOutdatedVersions() throws Exception {
+        final Category a1Version3 = category("A-1", b, 3L);
+        final UpdatableCategoryTree tree = UpdatableCategoryTree.of(asList(a, a1Version3, b));
+
+        assertThat(tree.upsert(category("A-1", a, 2L))).isFalse();
+
+        assertThat(tree.findById("A-1")).contains(a1Version3);
+    }
+
+    @Test
+    public void removeCategoryWithDescendants() throws Exception {
+        final UpdatableCategoryTree tree = UpdatableCategoryTree.of(asList(a, a1, a11, b));
+
+        assertThat(tree.remove(a1)).isTrue();
+        assertThat(tree.remove(a1)).isFalse();
+
+        assertThat(tree.getAllAsFlatList()).containsOnly(a, b);
+        assertThat(tree.findByExternalId("external-id-A-1-1")).isEmpty();
+    }
+
+    @Test
+    public void outdatedUpsertAfterRemoveIsIgnored() throws Exception {
+        final UpdatableCategoryTree tree = UpdatableCategoryTree.of(asList(a, a1, a11, b));
+        final Category a1Version2 = category("A-1", a, 2L);
+
+        assertThat(tree.remove(a1Version2)).isTrue();
+
+        assertThat(tree.upsert(a1)).as("outdated category").isFalse();
+        assertThat(tree.upsert(a11)).as("outdated descendant").isFalse();
+        assertThat(tree.findById("A-1")).isEmpty();
+        assertThat(tree.findById("A-1-1")).isEmpty();
+        final Category a11Version2 = category("A-1-1", b, 2L);
+        assertThat(tree.upsert(a11Version2)).as("descendant changed after the removal").isTrue();
+        assertThat(tree.findChildren(b)).containsExactly(a11Version2);
+    }
+
+    @Test
+    public void upsertAfterRemoveOfUnknownCategoryIsIgnored() throws Exception {
+        final UpdatableCategoryTree tree = UpdatableCategoryTree.of(asList(a, b));
+
+        assertThat(tree.remove(Category.referenceOfId("A-1"))).isFalse();
+
+        assertThat(tree.upsert(a1)).isFalse();
+        assertThat(tree.findById("A-1")).isEmpty();
+    }
+
+    @Test
+    public void applyMessages() throws Exception {
+        final UpdatableCategoryTree tree = UpdatableCategoryTree.of(asList(a, b));
+        final String categoryJson = "{\"id\":\"A-1\",\"version\":1,\"name\":{\"en\":\"name A-1\"},\"slug\":{\"en\":\"slug-A-1\"}," +
+                "\"parent\":{\"typeId\":\"category\",\"id\":\"A\"},\"ancestors\":[{\"typeId\":\"category\",\"id\":\"A\"}]}";
+        final CategoryCreatedMessage createdMessage = SphereJsonUtils.readObject(
+                String.format(MESSAGE_JSON, 1, "A-1", CategoryCreatedMessage.MESSAGE_TYPE, "\"category\":" + categoryJson), CategoryCreatedMessage.class);
+        final CategorySlugChangedMessage slugChangedMessage = SphereJsonUtils.readObject(
+                String.format(MESSAGE_JSON, 2, "A-1", CategorySlugChangedMessage.MESSAGE_TYPE, "\"slug\":{\"en\":\"new-slug\"}"), CategorySlugChangedMessage.class);
+
+        assertThat(tree.apply(createdMessage)).isTrue();
+        assertThat(tree.apply(slugChangedMessage)).isTrue();
+        assertThat(tree.apply(createdMessage)).as("outdated message").isFalse();
+
+        final Category a1 = tree.findById("A-1").get();
+        assertThat(a1.getSlug()).isEqualTo(en("new-slug"));
+        assertThat(a1.getVersion()).isEqualTo(2L);
+        assertThat(tree.findBySlug(Locale.ENGLISH, "new-slug")).contains(a1);
+        assertThat(tree.findBySlug(Locale.ENGLISH, "slug-A-1")).isEmpty();
+        assertThat(tree.findChildren(a)).containsExactly(a1);
+    }
+
+    private static Category category(final String id, final Category parent, final Long version) {
+        return CategoryBuilder.of(id, en("name " + id), en("slug-" + id))
+                .parent(parent)
+                .externalId("external-id-" + id)
+                .version(version)
+                .build();
+    }
+
+    private static LocalizedString en(final String value) {
+        return LocalizedString.of(Locale.ENGLISH, value);
+    }
+}
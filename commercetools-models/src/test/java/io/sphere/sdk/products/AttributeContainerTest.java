@@ -0,0 +1,32 @@
+package io.sphere.sdk.products;
+
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.products.attributes.Attribute;
+import io.sphere.sdk.products.attributes.AttributeAccess;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AttributeContainerTest {
+    private final AttributeContainer container = AttributeContainer.of(Arrays.asList(
+            Attribute.of("color", SphereJsonUtils.toJsonNode("red")),
+            Attribute.of("size", SphereJsonUtils.toJsonNode(42)),
+            Attribute.of("color", SphereJsonUtils.toJsonNode("blue"))));
+
+    @Test
+    public void findsAttributesByName() throws Exception {
+        assertThat(container.findAttribute("size", AttributeAccess.ofInteger())).contains(42);
+        assertThat(container.findAttribute("weight", AttributeAccess.ofInteger())).isEmpty();
+        assertThat(container.hasAttribute("size")).isTrue();
+        assertThat(container.hasAttribute(AttributeAccess.ofString().ofName("weight"))).isFalse();
+        assertThat(container.getAttribute("weight")).isNull();
+    }
+
+    @Test
+    public void firstAttributeWinsForDuplicateNames() throws Exception {
+        assertThat(container.findAttribute("color", AttributeAccess.ofString())).contains("red");
+        assertThat(container.getAttribute("color").getValueAsString()).isEqualTo("red");
+    }
+}
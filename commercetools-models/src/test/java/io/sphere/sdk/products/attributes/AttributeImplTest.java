@@ -0,0 +1,71 @@
+package io.sphere.sdk.products.attributes;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.models.LocalizedString;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Locale.ENGLISH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AttributeImplTest {
+
+    @Test
+    public void valuesAreMemoizedForEqualMappers() throws Exception {
+        final Attribute attribute = Attribute.of("name", SphereJsonUtils.toJsonNode(LocalizedString.of(ENGLISH, "foo")));
+
+        final LocalizedString first = attribute.getValue(AttributeAccess.ofLocalizedString());
+        final LocalizedString second = attribute.getValueAsLocalizedString();
+
+        assertThat(first).isEqualTo(LocalizedString.of(ENGLISH, "foo"));
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void otherMappersParseAgain() throws Exception {
+        final Attribute attribute = Attribute.of("color", JsonNodeFactory.instance.objectNode().put("key", "red").put("label", "Red"));
+
+        assertThat(attribute.getValueAsEnumValue().getKey()).isEqualTo("red");
+        assertThat(attribute.getValueAsJsonNode().get("label").asText()).isEqualTo("Red");
+        assertThat(attribute.getValueAsEnumValue().getLabel()).isEqualTo("Red");
+    }
+
+    @Test
+    public void setsAreCopiedForEveryCaller() throws Exception {
+        final Attribute attribute = Attribute.of("sizes", SphereJsonUtils.toJsonNode(new String[]{"S", "M"}));
+
+        final Set<String> sizes = attribute.getValueAsStringSet();
+        sizes.add("L");
+
+        final Set<String> secondRead = attribute.getValueAsStringSet();
+        assertThat(secondRead).containsOnly("S", "M").isNotSameAs(sizes);
+        secondRead.add("XL");
+        assertThat(attribute.getValueAsStringSet()).containsOnly("S", "M");
+    }
+
+    @Test
+    public void mutableValuesAreNotShared() throws Exception {
+        final Attribute attribute = Attribute.of("dimensions", JsonNodeFactory.instance.objectNode().put("width", 2));
+        final AttributeAccess<Map<String, Integer>> access = AttributeAccessImpl.ofPrimitive(new TypeReference<Map<String, Integer>>() {
+        }, StringAttributeType.class);
+
+        final Map<String, Integer> first = attribute.getValue(access);
+        first.put("height", 3);
+
+        assertThat(attribute.getValue(access)).containsOnlyKeys("width").isNotSameAs(first);
+    }
+
+    @Test
+    public void memoizationDoesNotAffectEquality() throws Exception {
+        final Attribute read = Attribute.of("name", SphereJsonUtils.toJsonNode("foo"));
+        read.getValueAsString();
+
+        assertThat(read).isEqualTo(Attribute.of("name", SphereJsonUtils.toJsonNode("foo")));
+        assertThat(read.hashCode()).isEqualTo(Attribute.of("name", SphereJsonUtils.toJsonNode("foo")).hashCode());
+        assertThat(SphereJsonUtils.toJsonString(read)).isEqualTo(SphereJsonUtils.toJsonString(Attribute.of("name", SphereJsonUtils.toJsonNode("foo"))));
+    }
+}
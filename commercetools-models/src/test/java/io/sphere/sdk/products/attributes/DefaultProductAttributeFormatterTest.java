@@ -0,0 +1,102 @@
+package io.sphere.sdk.products.attributes;
+
+import io.sphere.sdk.json.SphereJsonUtils;
+import io.sphere.sdk.models.Reference;
+import io.sphere.sdk.products.ProductVariant;
+import io.sphere.sdk.producttypes.ProductType;
+import org.junit.Test;
+
+import java.util.*;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefaultProductAttributeFormatterTest {
+    private static final ProductType PRODUCT_TYPE = productType("product-type-id",
+            attributeDefinitionJson("color", "Color", "{\"name\":\"text\"}"),
+            attributeDefinitionJson("available", "Available", "{\"name\":\"boolean\"}"),
+            attributeDefinitionJson("weight", "Weight", "{\"name\":\"number\"}"),
+            attributeDefinitionJson("pieces", "Pieces", "{\"name\":\"number\"}"),
+            attributeDefinitionJson("tags", "Tags", "{\"name\":\"set\",\"elementType\":{\"name\":\"text\"}}"),
+            attributeDefinitionJson("size", "Size", "{\"name\":\"lenum\",\"values\":[{\"key\":\"m\",\"label\":{\"en\":\"medium\"}}]}"));
+    private static final ProductVariant VARIANT = SphereJsonUtils.readObject("{\"id\":1,\"attributes\":["
+            + "{\"name\":\"size\",\"value\":{\"key\":\"m\",\"label\":{\"en\":\"medium\"}}},"
+            + "{\"name\":\"unknown\",\"value\":\"x\"},"
+            + "{\"name\":\"color\",\"value\":\"red\"},"
+            + "{\"name\":\"available\",\"value\":true},"
+            + "{\"name\":\"weight\",\"value\":1.5},"
+            + "{\"name\":\"pieces\",\"value\":3},"
+            + "{\"name\":\"tags\",\"value\":[\"b\",\"a\"]}"
+            + "]}", ProductVariant.class);
+
+    @Test
+    public void convertsByAttributeType() {
+        final DefaultProductAttributeFormatter formatter = formatter(PRODUCT_TYPE);
+        final Reference<ProductType> productTypeRef = PRODUCT_TYPE.toReference();
+
+        assertThat(formatter.convert(VARIANT.getAttribute("color"), productTypeRef)).isEqualTo("red");
+        assertThat(formatter.convert(VARIANT.getAttribute("available"), productTypeRef)).isEqualTo("true");
+        assertThat(formatter.convert(VARIANT.getAttribute("weight"), productTypeRef)).isEqualTo("1.5");
+        assertThat(formatter.convert(VARIANT.getAttribute("pieces"), productTypeRef))
+                .as("numbers without integer or long guard fall back to double")
+                .isEqualTo("3.0");
+        assertThat(formatter.convert(VARIANT.getAttribute("tags"), productTypeRef)).isEqualTo("a, b");
+        assertThat(formatter.convert(VARIANT.getAttribute("size"), productTypeRef)).isEqualTo("medium");
+        assertThat(formatter.convert(VARIANT.getAttribute("unknown"), productTypeRef)).isNull();
+    }
+
+    @Test
+    public void guardsSelectIntegerConversion() {
+        final DefaultProductAttributeFormatter formatter = new DefaultProductAttributeFormatter(singletonList(PRODUCT_TYPE), singletonList(Locale.ENGLISH)) {
+            @Override
+            protected Collection<String> integerAttributes() {
+                return singletonList("pieces");
+            }
+        };
+
+        assertThat(formatter.convert(VARIANT.getAttribute("pieces"), PRODUCT_TYPE.toReference())).isEqualTo("3");
+        assertThat(formatter.convert(VARIANT.getAttribute("weight"), PRODUCT_TYPE.toReference())).isEqualTo("1.5");
+    }
+
+    @Test
+    public void createAttributeEntryList() {
+        final DefaultProductAttributeFormatter formatter = formatter(PRODUCT_TYPE);
+
+        final List<Map.Entry<String, String>> entries =
+                formatter.createAttributeEntryList(VARIANT, PRODUCT_TYPE.toReference(), asList("tags", "color", "missing", "size"));
+
+        assertThat(entries).extracting(Map.Entry::getKey).containsExactly("Tags", "Color", "Size");
+        assertThat(entries).extracting(Map.Entry::getValue).containsExactly("a, b", "red", "medium");
+    }
+
+    @Test
+    public void recompilesForChangedProductType() {
+        final DefaultProductAttributeFormatter formatter = formatter(PRODUCT_TYPE);
+        final Attribute attribute = Attribute.of("new", AttributeAccess.ofBoolean(), true);
+        assertThat(formatter.convertWithProductType(attribute, PRODUCT_TYPE)).isNull();
+
+        final ProductType changedProductType = productType("product-type-id",
+                attributeDefinitionJson("new", "New", "{\"name\":\"boolean\"}"));
+
+        assertThat(formatter.convertWithProductType(attribute, changedProductType)).isEqualTo("true");
+        assertThat(formatter.findAttributeDefinition("new", changedProductType).getAttributeType())
+                .isInstanceOf(BooleanAttributeType.class);
+    }
+
+    private static DefaultProductAttributeFormatter formatter(final ProductType productType) {
+        return new DefaultProductAttributeFormatter(singletonList(productType), singletonList(Locale.ENGLISH));
+    }
+
+    private static ProductType productType(final String id, final String ... attributeDefinitionJsons) {
+        final String json = "{\"id\":\"" + id + "\",\"version\":1,\"name\":\"test\",\"description\":\"test\","
+                + "\"createdAt\":\"2016-01-01T00:00:00.000Z\",\"lastModifiedAt\":\"2016-01-01T00:00:00.000Z\","
+                + "\"attributes\":[" + String.join(",", attributeDefinitionJsons) + "]}";
+        return SphereJsonUtils.readObject(json, ProductType.class);
+    }
+
+    private static String attributeDefinitionJson(final String name, final String label, final String typeJson) {
+        return "{\"name\":\"" + name + "\",\"label\":{\"en\":\"" + label + "\"},\"type\":" + typeJson + ","
+                + "\"isRequired\":false,\"attributeConstraint\":\"None\",\"isSearchable\":true,\"inputHint\":\"SingleLine\"}";
+    }
+}
@@ -0,0 +1,127 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Point in time until which the caller waits for the result of a {@link SphereRequest}.
+ *
+ * <p>A deadline is passed through decorating clients next to the request instead of changing the request: while
+ * {@link #callWithin(Supplier)} runs, the deadline is the {@link #current() current deadline} of the calling thread.
+ * So nested timeouts and retries can use the time which is left instead of starting with a fresh timeout,
+ * while the decorated clients still see the original request object. Clients which continue the execution
+ * in another thread, like retries, need to capture the current deadline and call {@link #callWithin(Supplier)} again.</p>
+ *
+ * <p>Deadlines are based on {@link System#nanoTime()} and are only meaningful within the same JVM.</p>
+ */
+public final class Deadline extends Base {
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private Deadline(final long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Creates a deadline which expires after the given duration from now.
+     *
+     * @param timeout the time span until the deadline
+     * @return deadline
+     */
+    public static Deadline after(final Duration timeout) {
+        return after(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a deadline which expires after the given delay from now.
+     *
+     * @param delay the amount of time until the deadline
+     * @param unit the unit of delay
+     * @return deadline
+     */
+    public static Deadline after(final long delay, final TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(delay));
+    }
+
+    /**
+     * Gets the deadline of the request which the calling thread currently passes to a {@link SphereClient}.
+     *
+     * @return the deadline or empty if the request has no deadline
+     */
+    public static Optional<Deadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Gets the remaining time until this deadline.
+     *
+     * @param unit the unit of the result
+     * @return the remaining time, zero or negative if the deadline has been reached
+     */
+    public long timeRemaining(final TimeUnit unit) {
+        return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the remaining time until this deadline.
+     *
+     * @return the remaining time, zero or negative if the deadline has been reached
+     */
+    public Duration timeRemaining() {
+        return Duration.ofNanos(timeRemaining(TimeUnit.NANOSECONDS));
+    }
+
+    public boolean isExpired() {
+        return timeRemaining(TimeUnit.NANOSECONDS) <= 0;
+    }
+
+    /**
+     * Checks if this deadline is reached before the other one.
+     *
+     * @param other the deadline to compare with
+     * @return true if this deadline is reached first
+     */
+    public boolean isBefore(final Deadline other) {
+        return deadlineNanos - other.deadlineNanos < 0;
+    }
+
+    /**
+     * Calls the execution with this deadline as {@link #current() current deadline}.
+     * If the calling thread already has an earlier deadline, that one stays the current deadline.
+     *
+     * @param execution the execution, for example of a request by a decorated client
+     * @param <T> the type of the result of the execution
+     * @return the result of the execution
+     */
+    public <T> T callWithin(final Supplier<T> execution) {
+        final Deadline current = CURRENT.get();
+        return callWith(current != null && current.isBefore(this) ? current : this, execution);
+    }
+
+    /**
+     * Calls the execution without a current deadline, for example to send a request which is shared by multiple callers.
+     */
+    static <T> T callWithoutDeadline(final Supplier<T> execution) {
+        return callWith(null, execution);
+    }
+
+    private static <T> T callWith(@Nullable final Deadline deadline, final Supplier<T> execution) {
+        final Deadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        try {
+            return execution.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
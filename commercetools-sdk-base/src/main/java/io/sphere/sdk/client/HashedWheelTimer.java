@@ -0,0 +1,200 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.utils.SphereInternalLogger;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A timer for a large amount of short tasks which are mostly cancelled before they are due, like request timeouts or rate limit waits.
+ *
+ * <p>Scheduling and cancelling are lock-free and do not wake up the timer thread. The due tasks are found by a single daemon thread
+ * which advances a wheel of buckets every tick, so tasks are run with a delay up to one tick later than requested.
+ * Tasks run in the timer thread and need to be short and non-blocking, for example completing a {@link java.util.concurrent.CompletableFuture}.</p>
+ *
+ * <p>Cancelled tasks are dropped when the wheel passes their bucket and release their {@link Runnable} immediately.</p>
+ */
+public final class HashedWheelTimer {
+    private static final long DEFAULT_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+    private final String threadName;
+    private final long tickNanos;
+    private final Queue<Timeout>[] wheel;
+    private final int mask;
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean stopped = false;
+    private final long startTime = System.nanoTime();
+    private long tick = 0;
+
+    @SuppressWarnings("unchecked")
+    HashedWheelTimer(final String threadName, final long tickDuration, final TimeUnit unit, final int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException(String.format("wheelSize needs to be a power of 2 but was %d", wheelSize));
+        }
+        this.threadName = threadName;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.mask = wheelSize - 1;
+    }
+
+    /**
+     * Gets the timer shared by all components of the SDK, see {@link SdkRuntime#getTimer()}. Its thread is a daemon and never stopped.
+     *
+     * @return the timer
+     */
+    public static HashedWheelTimer shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param task the task to run in the timer thread
+     * @param delay the delay
+     * @param unit unit of the delay
+     * @return handle to cancel the task
+     */
+    public Timeout schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        if (stopped) {
+            throw new IllegalStateException("The timer " + threadName + " is stopped.");
+        }
+        startIfNecessary();
+        final long deadline = System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+        final Timeout timeout = new Timeout(task, deadline);
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    void stop() {
+        stopped = true;
+    }
+
+    private void startIfNecessary() {
+        if (!started.get() && started.compareAndSet(false, true)) {
+            final Thread worker = new Thread(this::work, threadName);
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    private void work() {
+        while (!stopped) {
+            waitForNextTick();
+            transferNewTimeouts();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void waitForNextTick() {
+        final long tickDeadline = tickNanos * (tick + 1);
+        long sleepNanos;
+        while ((sleepNanos = tickDeadline - (System.nanoTime() - startTime)) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (final InterruptedException e) {
+                if (stopped) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void transferNewTimeouts() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            final Timeout timeout = newTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (!timeout.isCancelled()) {
+                final long dueTick = timeout.deadline / tickNanos;
+                timeout.remainingRounds = (dueTick - tick) / wheel.length;
+                wheel[(int) (Math.max(dueTick, tick) & mask)].add(timeout);
+            }
+        }
+    }
+
+    private void expire(final Queue<Timeout> bucket) {
+        for (int i = bucket.size(); i > 0; i--) {
+            final Timeout timeout = bucket.poll();
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            if (timeout.remainingRounds <= 0) {
+                timeout.expire();
+            } else {
+                timeout.remainingRounds--;
+                bucket.add(timeout);
+            }
+        }
+    }
+
+    /**
+     * Handle for a task scheduled with {@link HashedWheelTimer#schedule(Runnable, long, TimeUnit)}.
+     */
+    public static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        @Nullable
+        private volatile Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long remainingRounds;
+
+        private Timeout(final Runnable task, final long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task if it did not run yet.
+         *
+         * @return true if the task will not run because of this call
+         */
+        public boolean cancel() {
+            final boolean cancelled = state.compareAndSet(PENDING, CANCELLED);
+            if (cancelled) {
+                task = null;
+            }
+            return cancelled;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            final Runnable runnable = task;
+            if (state.compareAndSet(PENDING, EXPIRED) && runnable != null) {
+                task = null;
+                try {
+                    runnable.run();
+                } catch (final Throwable t) {
+                    SphereInternalLogger.getLogger(HashedWheelTimer.class).error(() -> "Error in timer task.", t);
+                }
+            }
+        }
+    }
+
+    private static final class SharedHolder {
+        private static final HashedWheelTimer INSTANCE =
+                new HashedWheelTimer("commercetools-sdk-timer", DEFAULT_TICK_NANOS, TimeUnit.NANOSECONDS, DEFAULT_WHEEL_SIZE);
+    }
+}
@@ -0,0 +1,95 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The threads the SDK components use for asynchronous work: one {@link HashedWheelTimer timer wheel} for delays and timeouts
+ * and one pool for CPU work like parsing responses.
+ *
+ * <p>Components which are created without a runtime use {@link #shared()}, which consists of a pool with daemon threads
+ * owned by the SDK and the {@link HashedWheelTimer#shared() shared timer}.
+ * So the amount of threads does not grow with the amount of clients, token suppliers and decorators, and parallel streams
+ * or other work of the application in the {@link ForkJoinPool#commonPool() common pool} do not delay the token refresh.
+ * A separate pool can be configured with {@link SdkRuntimeBuilder}, for example to isolate clients from each other
+ * or to use the common pool with {@code SdkRuntimeBuilder.of().cpuPool(ForkJoinPool.commonPool())}:</p>
+ *
+ * <pre>{@code
+ * final SdkRuntime runtime = SdkRuntimeBuilder.of().parallelism(4).build();
+ * final SphereAccessTokenSupplier tokenSupplier = SphereAccessTokenSupplier.ofAutoRefresh(config, httpClient, false, runtime);
+ * final SphereClient client = SphereClient.of(config, httpClient, tokenSupplier, runtime);
+ * }</pre>
+ *
+ * <p>With {@link SdkRuntimeBuilder#inlineContinuations(boolean) inline continuations} the next step of a request, like parsing
+ * the response, runs in the thread which completed the previous step, for example the I/O thread of the HTTP client, instead of
+ * being handed over to the pool. This saves a context switch per step, but slow continuations of the caller block that thread.</p>
+ */
+public final class SdkRuntime extends Base implements AutoCloseable {
+    private static final Executor INLINE = Runnable::run;
+    private static final SdkRuntime SHARED = new SdkRuntime(SdkRuntimeBuilder.createPool("shared", Runtime.getRuntime().availableProcessors()), false, false);
+
+    private final ForkJoinPool cpuPool;
+    private final boolean inlineContinuations;
+    private final boolean closeCpuPool;
+
+    SdkRuntime(final ForkJoinPool cpuPool, final boolean inlineContinuations, final boolean closeCpuPool) {
+        this.cpuPool = cpuPool;
+        this.inlineContinuations = inlineContinuations;
+        this.closeCpuPool = closeCpuPool;
+    }
+
+    /**
+     * The pool for CPU work and for scheduled tasks which are too long for the timer thread.
+     * @return pool
+     */
+    public ForkJoinPool getCpuPool() {
+        return cpuPool;
+    }
+
+    /**
+     * The timer for delays and timeouts, it is the {@link HashedWheelTimer#shared() shared timer} for all runtimes.
+     * @return timer
+     */
+    public HashedWheelTimer getTimer() {
+        return HashedWheelTimer.shared();
+    }
+
+    /**
+     * Checks if the continuations of requests run in the thread which completed the previous step.
+     * @return true if continuations run inline
+     */
+    public boolean isInlineContinuations() {
+        return inlineContinuations;
+    }
+
+    /**
+     * Gets the executor for the continuations of requests, which runs the tasks inline or in the {@link #getCpuPool() CPU pool}.
+     * @return executor
+     */
+    public Executor getContinuationExecutor() {
+        return inlineContinuations ? INLINE : cpuPool;
+    }
+
+    /**
+     * Shuts the CPU pool down if it has been created by {@link SdkRuntimeBuilder#parallelism(int)}.
+     * The shared runtime and pools provided by the application are not affected.
+     */
+    @Override
+    public void close() {
+        if (closeCpuPool) {
+            cpuPool.shutdown();
+        }
+    }
+
+    /**
+     * Gets the runtime which is used by all components created without a runtime.
+     * Its pool has one daemon thread per processor and is never shut down.
+     *
+     * @return the shared runtime
+     */
+    public static SdkRuntime shared() {
+        return SHARED;
+    }
+}
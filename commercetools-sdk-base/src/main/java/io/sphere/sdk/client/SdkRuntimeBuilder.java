@@ -0,0 +1,87 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Builder;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds {@link SdkRuntime} instances using the Builder pattern.
+ */
+public final class SdkRuntimeBuilder extends Base implements Builder<SdkRuntime> {
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    @Nullable
+    private ForkJoinPool cpuPool;
+    private int parallelism = 0;
+    private boolean inlineContinuations = false;
+
+    SdkRuntimeBuilder() {
+    }
+
+    /**
+     * Uses a pool of the application for CPU work, for example the {@link ForkJoinPool#commonPool() common pool}.
+     * By default the pool of the {@link SdkRuntime#shared() shared runtime} is used. The pool is not shut down with the runtime.
+     *
+     * @param cpuPool the pool
+     * @return the builder instance
+     */
+    public SdkRuntimeBuilder cpuPool(final ForkJoinPool cpuPool) {
+        this.cpuPool = Objects.requireNonNull(cpuPool, "cpuPool");
+        this.parallelism = 0;
+        return this;
+    }
+
+    /**
+     * Creates a separate pool with daemon threads for CPU work, which is shut down with the runtime.
+     *
+     * @param parallelism positive amount of threads
+     * @return the builder instance
+     */
+    public SdkRuntimeBuilder parallelism(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(String.format("parallelism needs to be positive but was %d", parallelism));
+        }
+        this.parallelism = parallelism;
+        this.cpuPool = null;
+        return this;
+    }
+
+    /**
+     * Sets if the continuations of requests run in the thread which completed the previous step, by default false.
+     *
+     * @param inlineContinuations true to skip the hand over to the CPU pool
+     * @return the builder instance
+     * @see SdkRuntime#isInlineContinuations()
+     */
+    public SdkRuntimeBuilder inlineContinuations(final boolean inlineContinuations) {
+        this.inlineContinuations = inlineContinuations;
+        return this;
+    }
+
+    public static SdkRuntimeBuilder of() {
+        return new SdkRuntimeBuilder();
+    }
+
+    @Override
+    public SdkRuntime build() {
+        if (parallelism > 0) {
+            return new SdkRuntime(createPool(String.valueOf(POOL_COUNT.incrementAndGet()), parallelism), inlineContinuations, true);
+        }
+        return new SdkRuntime(cpuPool != null ? cpuPool : SdkRuntime.shared().getCpuPool(), inlineContinuations, false);
+    }
+
+    static ForkJoinPool createPool(final String name, final int parallelism) {
+        final String prefix = "commercetools-sdk-" + name + "-worker-";
+        return new ForkJoinPool(parallelism, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(prefix + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+}
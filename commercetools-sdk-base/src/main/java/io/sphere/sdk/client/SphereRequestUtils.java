@@ -2,6 +2,7 @@ package io.sphere.sdk.client;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
+import io.sphere.sdk.http.HttpMethod;
 import io.sphere.sdk.http.HttpResponse;
 import io.sphere.sdk.json.JsonException;
 import io.sphere.sdk.json.SphereJsonUtils;
@@ -20,17 +21,71 @@ public final class SphereRequestUtils {
     }
 
     public static <T> T deserialize(final HttpResponse httpResponse, final TypeReference<T> typeReference) {
-        return SphereJsonUtils.readObject(Optional.ofNullable(httpResponse.getResponseBody()).orElseThrow(() -> new JsonException(httpResponse)), typeReference);
+        return SphereJsonUtils.readObject(Optional.ofNullable(httpResponse.getResponseBodyAsStream()).orElseThrow(() -> new JsonException(httpResponse)), typeReference);
     }
 
     public static <T> T deserialize(final HttpResponse httpResponse, final JavaType javaType) {
-        return SphereJsonUtils.readObject(Optional.ofNullable(httpResponse.getResponseBody()).orElseThrow(() -> new JsonException(httpResponse)), javaType);
+        return SphereJsonUtils.readObject(Optional.ofNullable(httpResponse.getResponseBodyAsStream()).orElseThrow(() -> new JsonException(httpResponse)), javaType);
     }
 
     public static String getBodyAsString(final HttpResponse httpResponse) {
         return new String(httpResponse.getResponseBody(), StandardCharsets.UTF_8);
     }
 
+    /**
+     * Classifies a request by the API endpoint it targets, for example to apply separate budgets for searches and updates.
+     * The endpoint is the first segment of the request path, followed by the second segment for {@code /me} requests
+     * and for the {@code search} and {@code suggest} sub resources,
+     * so {@code /product-projections/search?text.en=foo} becomes {@code product-projections/search} and {@code /carts/<id>} becomes {@code carts}.
+     *
+     * @param sphereRequest the request to classify
+     * @return the endpoint name without leading slash, empty for the project root
+     */
+    public static String endpointOf(final SphereRequest<?> sphereRequest) {
+        return endpointOf(sphereRequest.httpRequestIntent());
+    }
+
+    /**
+     * Classifies an already created http request intent by the API endpoint it targets.
+     *
+     * @param httpRequestIntent the http request intent to classify
+     * @return the endpoint name without leading slash, empty for the project root
+     * @see #endpointOf(SphereRequest)
+     */
+    public static String endpointOf(final HttpRequestIntent httpRequestIntent) {
+        final String fullPath = httpRequestIntent.getPath();
+        final int queryStart = fullPath.indexOf('?');
+        final String path = queryStart < 0 ? fullPath : fullPath.substring(0, queryStart);
+        final int start = path.startsWith("/") ? 1 : 0;
+        final int firstEnd = indexOfOrEnd(path, '/', start);
+        final String first = path.substring(start, firstEnd);
+        if (firstEnd < path.length()) {
+            final String second = path.substring(firstEnd + 1, indexOfOrEnd(path, '/', firstEnd + 1));
+            if ("me".equals(first) || "search".equals(second) || "suggest".equals(second)) {
+                return first + "/" + second;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Checks if a request only reads data so that sending it more than once has no side effects.
+     * These are GET requests and the POST requests of the search endpoints, which use the body only for the query parameters.
+     *
+     * @param sphereRequest the request to check
+     * @return true if the request is an idempotent read
+     */
+    public static boolean isIdempotentRead(final SphereRequest<?> sphereRequest) {
+        final HttpMethod httpMethod = sphereRequest.httpRequestIntent().getHttpMethod();
+        return httpMethod == HttpMethod.GET
+                || httpMethod == HttpMethod.POST && endpointOf(sphereRequest).endsWith("/search");
+    }
+
+    private static int indexOfOrEnd(final String s, final char c, final int fromIndex) {
+        final int index = s.indexOf(c, fromIndex);
+        return index < 0 ? s.length() : index;
+    }
+
     /**
      * Encodes urls with UTF-8.
      * @param s String which should be URL encoded
@@ -260,6 +260,23 @@ public final class SphereJsonUtils {
         return executing(() -> objectMapper.readValue(jsonAsBytes, javaType));
     }
 
+    /**
+     * Reads a Java object from a stream of JSON data encoded as UTF-8 with the streaming parser, so the data does not need to be buffered as a whole.
+     * The stream will be closed afterwards.
+     *
+     * @param jsonAsStream  the JSON data which represents sth. of type {@code <T>}
+     * @param typeReference the full generic type information about the object to create
+     * @param <T>           the type of the result
+     * @return the created objected
+     */
+    public static <T> T readObject(final InputStream jsonAsStream, final TypeReference<T> typeReference) {
+        return executing(() -> objectMapper.readValue(jsonAsStream, typeReference));
+    }
+
+    public static <T> T readObject(final InputStream jsonAsStream, final JavaType javaType) {
+        return executing(() -> objectMapper.readValue(jsonAsStream, javaType));
+    }
+
     /**
      * Creates a new {@link ObjectNode} created by the commercetools platform object mapper.
      * <p>
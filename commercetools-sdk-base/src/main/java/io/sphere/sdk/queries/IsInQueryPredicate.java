@@ -1,7 +1,11 @@
 package io.sphere.sdk.queries;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.StringJoiner;
 
+import static java.util.Collections.singletonList;
+
 import static io.sphere.sdk.utils.SphereInternalUtils.requireNonEmpty;
 
 class IsInQueryPredicate<T, V, M> extends QueryModelQueryPredicate<M> {
@@ -25,4 +29,35 @@ class IsInQueryPredicate<T, V, M> extends QueryModelQueryPredicate<M> {
         values.forEach(x -> joiner.add(x.toString()));
         return " in (" + joiner.toString() + ")";
     }
+
+    /**
+     * Splits this predicate into predicates with at most maxValues values, the same predicate if it is small enough
+     * or cannot be split.
+     * @param maxValues the maximum amount of values per predicate
+     * @return predicates which together match the same as this predicate
+     */
+    List<QueryPredicate<M>> split(final int maxValues) {
+        if (!isSplittable()) {
+            return singletonList(this);
+        }
+        final List<QueryPredicate<M>> predicates = new ArrayList<>();
+        List<V> chunk = new ArrayList<>(maxValues);
+        for (final V value : values) {
+            if (chunk.size() == maxValues) {
+                predicates.add(new IsInQueryPredicate<>(getQueryModel(), chunk));
+                chunk = new ArrayList<>(maxValues);
+            }
+            chunk.add(value);
+        }
+        predicates.add(predicates.isEmpty() ? this : new IsInQueryPredicate<>(getQueryModel(), chunk));
+        return predicates;
+    }
+
+    /**
+     * Determines if the results of the parts of this predicate can be combined as union, which is not the case for subclasses like {@code not in}.
+     * @return true if {@link #split(int)} can split this predicate
+     */
+    boolean isSplittable() {
+        return true;
+    }
 }
@@ -9,4 +9,10 @@ class IsNotInQueryPredicate<T, V, M> extends IsInQueryPredicate<T, V, M> {
     protected String render() {
         return " not" + super.render();
     }
+
+    @Override
+    boolean isSplittable() {
+        //the parts would need to match all at once, separate queries would return the excluded resources
+        return false;
+    }
 }
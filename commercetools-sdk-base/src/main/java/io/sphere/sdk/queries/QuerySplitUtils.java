@@ -0,0 +1,91 @@
+package io.sphere.sdk.queries;
+
+import io.sphere.sdk.models.Identifiable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Splits queries which are too large for one request, for example queries with thousands of ids in an {@code in (...)} predicate,
+ * which exceed the maximum URL length of the platform.
+ */
+public final class QuerySplitUtils {
+    private QuerySplitUtils() {
+    }
+
+    /**
+     * Splits a query whose predicates contain an {@code in (...)} predicate with more than maxValues values
+     * into queries with at most maxValues values each. Only the first large predicate is split.
+     *
+     * <p>Queries with sort expressions or an offset are not split since the results of the parts cannot be merged
+     * into the requested page.</p>
+     *
+     * @param query the query to split
+     * @param maxValues the maximum amount of values in one {@code in (...)} predicate
+     * @param <T> type of the query results
+     * @param <C> type of the query
+     * @return the parts of the query or empty if the query does not need to or cannot be split
+     */
+    public static <T, C extends MetaModelQueryDsl<T, C, ?, ?>> Optional<List<C>> splitLargeIsInPredicate(final MetaModelQueryDsl<T, C, ?, ?> query, final int maxValues) {
+        if (maxValues < 1) {
+            throw new IllegalArgumentException(String.format("maxValues needs to be positive but was %d", maxValues));
+        }
+        final boolean hasOffset = query.offset() != null && query.offset() > 0;
+        if (hasOffset || !query.sort().isEmpty()) {
+            return Optional.empty();
+        }
+        final List<QueryPredicate<T>> predicates = query.predicates();
+        for (int i = 0; i < predicates.size(); i++) {
+            final QueryPredicate<T> predicate = predicates.get(i);
+            if (predicate instanceof IsInQueryPredicate) {
+                final List<QueryPredicate<T>> parts = ((IsInQueryPredicate<?, ?, T>) predicate).split(maxValues);
+                if (parts.size() > 1) {
+                    final List<C> queries = new ArrayList<>(parts.size());
+                    for (final QueryPredicate<T> part : parts) {
+                        final List<QueryPredicate<T>> partPredicates = new ArrayList<>(predicates);
+                        partPredicates.set(i, part);
+                        queries.add(query.withPredicates(partPredicates));
+                    }
+                    return Optional.of(queries);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Merges the results of the parts of a split query into one page.
+     * Resources which are contained in more than one part are only contained once,
+     * for example a product matching SKUs of different parts.
+     *
+     * <p>The total is the sum of the totals of the parts minus the duplicates found in the returned results of the parts.
+     * So it is exact if every part returned all its matches, otherwise it is an upper bound since duplicates beyond the
+     * limit of a part cannot be detected. The total is null if a part has no total.</p>
+     *
+     * @param parts the results of the parts in the order of the parts
+     * @param <T> type of the query results
+     * @return merged result which contains at most as many results as the limit of the parts
+     */
+    public static <T> PagedQueryResult<T> mergeResults(final List<? extends PagedQueryResult<T>> parts) {
+        final Long limit = parts.isEmpty() ? null : parts.get(0).getLimit();
+        final List<T> results = new ArrayList<>();
+        final Set<String> ids = new HashSet<>();
+        Long total = 0L;
+        long duplicates = 0;
+        for (final PagedQueryResult<T> part : parts) {
+            total = total == null || part.getTotal() == null ? null : total + part.getTotal();
+            for (final T result : part.getResults()) {
+                final boolean duplicate = result instanceof Identifiable && !ids.add(((Identifiable<?>) result).getId());
+                if (duplicate) {
+                    duplicates++;
+                } else if (limit == null || results.size() < limit) {
+                    results.add(result);
+                }
+            }
+        }
+        return new PagedQueryResultDsl<>(0L, limit, total == null ? null : total - duplicates, results, (long) results.size());
+    }
+}
@@ -1,5 +1,7 @@
 package io.sphere.sdk.retry;
 
+import io.sphere.sdk.client.SdkRuntime;
+
 import javax.annotation.Nullable;
 import java.util.List;
 import java.util.concurrent.CompletionStage;
@@ -19,6 +21,17 @@ public interface AsyncRetrySupervisor extends AutoCloseable {
     void close();
 
     static AsyncRetrySupervisor of(final List<RetryRule> retryRules) {
-        return new AsyncRetrySupervisorImpl(retryRules);
+        return of(retryRules, SdkRuntime.shared());
+    }
+
+    /**
+     * Creates a supervisor which schedules the retries on the timer of the runtime instead of an own thread.
+     *
+     * @param retryRules the rules which decide about retries
+     * @param runtime the runtime for scheduled retries and continuations
+     * @return supervisor
+     */
+    static AsyncRetrySupervisor of(final List<RetryRule> retryRules, final SdkRuntime runtime) {
+        return new AsyncRetrySupervisorImpl(retryRules, runtime);
     }
 }
@@ -1,5 +1,7 @@
 package io.sphere.sdk.retry;
 
+import io.sphere.sdk.client.Deadline;
+import io.sphere.sdk.client.SdkRuntime;
 import io.sphere.sdk.models.Base;
 import io.sphere.sdk.retry.RetryStrategy.StrategyType;
 import org.slf4j.Logger;
@@ -13,13 +15,19 @@ import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.function.Function;
 
+import static io.sphere.sdk.utils.CompletableFutureUtils.cancelWhenCompleted;
+
 final class AsyncRetrySupervisorImpl extends Base implements AsyncRetrySupervisor {
     private static final Logger logger = LoggerFactory.getLogger(AsyncRetrySupervisor.class);
     private final List<RetryRule> retryRules;
-    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+    private final SdkRuntime runtime;
+    private final Executor executor;
+    private volatile boolean closed = false;
 
-    AsyncRetrySupervisorImpl(final List<RetryRule> retryRules) {
+    AsyncRetrySupervisorImpl(final List<RetryRule> retryRules, final SdkRuntime runtime) {
         this.retryRules = retryRules;
+        this.runtime = runtime;
+        this.executor = runtime.getContinuationExecutor();
     }
 
     @Override
@@ -27,13 +35,19 @@ final class AsyncRetrySupervisorImpl extends Base implements AsyncRetrySuperviso
                                                final Function<P, CompletionStage<R>> f,
                                                @Nullable final P parameterObject) {
         final CompletableFuture<R> result = new CompletableFuture<>();
+        //retries run in other threads, so they need to be called within the deadline of the caller again
+        final Optional<Deadline> deadline = Deadline.current();
+        final Function<P, CompletionStage<R>> retryFunction = deadline
+                .<Function<P, CompletionStage<R>>>map(d -> parameter -> d.callWithin(() -> f.apply(parameter)))
+                .orElse(f);
         try {
             final CompletionStage<R> initialCompletionStage = f.apply(parameterObject);
+            cancelWhenCompleted(result, initialCompletionStage);
             initialCompletionStage.whenCompleteAsync((res, firstError) -> {
                 final boolean isErrorCase = firstError != null;
                 if (isErrorCase) {
-                    final RetryContextImpl<P, R> retryOperationContext = createFirstRetryOperationContext(firstError, result, f, parameterObject, service);
-                    handle(retryOperationContext);
+                    final RetryContextImpl<P, R> retryOperationContext = createFirstRetryOperationContext(firstError, result, retryFunction, parameterObject, service);
+                    handle(retryOperationContext, deadline);
                 } else {
                     result.complete(res);
                 }
@@ -46,7 +60,7 @@ final class AsyncRetrySupervisorImpl extends Base implements AsyncRetrySuperviso
 
     @Override
     public void close() {
-        executor.shutdownNow();
+        closed = true;
     }
 
     private <P, R> RetryContextImpl<P, R> createFirstRetryOperationContext(final Throwable throwable, final CompletableFuture<R> result, final Function<P, CompletionStage<R>> f, final P parameterObject, final AutoCloseable service) {
@@ -56,10 +70,11 @@ final class AsyncRetrySupervisorImpl extends Base implements AsyncRetrySuperviso
     }
 
     private void schedule(final Runnable r, final Duration d) {
-        executor.schedule(r, d.toMillis(), TimeUnit.MILLISECONDS);
+        //the timer thread only hands the retry over, the retry itself may prepare a request
+        runtime.getTimer().schedule(() -> runtime.getCpuPool().execute(r), d.toMillis(), TimeUnit.MILLISECONDS);
     }
 
-    private <P, R> void handle(final RetryContextImpl<P, R> retryContext) {
+    private <P, R> void handle(final RetryContextImpl<P, R> retryContext, final Optional<Deadline> deadline) {
         final RetryStrategy retryStrategy = applyContext(retryContext);
         final StrategyType strategyType = retryStrategy.getStrategyType();
         if (strategyType == StrategyType.RESUME || strategyType == StrategyType.STOP) {
@@ -70,20 +85,37 @@ final class AsyncRetrySupervisorImpl extends Base implements AsyncRetrySuperviso
         } else {
             final Function<P, CompletionStage<R>> function = retryContext.getFunction();
             final Object parameter = retryStrategy.getParameter();
-            if (strategyType == StrategyType.RETRY_IMMEDIATELY) {
-                retry(retryContext, function, parameter);
+            final Duration delay = strategyType == StrategyType.RETRY_SCHEDULED ? retryStrategy.getDuration() : Duration.ZERO;
+            if (retryContext.getResult().isDone()) {
+                logger.debug("Skipping retry since the result has already been completed, for example by a timeout.");
+            } else if (closed) {
+                retryContext.getResult().completeExceptionally(retryContext.getLatestError());
+            } else if (deadline.isPresent() && deadline.get().timeRemaining().compareTo(delay) <= 0) {
+                //a retry would outlive the caller
+                retryContext.getResult().completeExceptionally(retryContext.getLatestError());
+            } else if (strategyType == StrategyType.RETRY_IMMEDIATELY) {
+                retry(retryContext, function, parameter, deadline);
             } else if (strategyType == StrategyType.RETRY_SCHEDULED) {
-                final Duration duration = retryStrategy.getDuration();
-                retryContext.schedule(() -> retry(retryContext, function, parameter), duration);
+                retryContext.schedule(() -> retry(retryContext, function, parameter, deadline), delay);
             } else {
                 throw new IllegalStateException("illegal state for " + retryStrategy);
             }
         }
     }
 
-    private <P, R> void retry(final RetryContextImpl<P, R> retryContext, final Function<P, CompletionStage<R>> function, final Object parameter) {
+    private <P, R> void retry(final RetryContextImpl<P, R> retryContext, final Function<P, CompletionStage<R>> function, final Object parameter,
+                              final Optional<Deadline> deadline) {
+        if (retryContext.getResult().isDone()) {
+            return;
+        }
+        if (closed) {
+            //closed while the retry was scheduled
+            retryContext.getResult().completeExceptionally(retryContext.getLatestError());
+            return;
+        }
         final CompletionStage<R> completionStage = forceApply(function, parameter);
-        handleResultAndEnqueueErrorHandlingAgain(completionStage, parameter, retryContext);
+        cancelWhenCompleted(retryContext.getResult(), completionStage);
+        handleResultAndEnqueueErrorHandlingAgain(completionStage, parameter, retryContext, deadline);
     }
 
     private <P, R> void closeService(final RetryContextImpl<P, R> retryContext) {
@@ -99,12 +131,13 @@ final class AsyncRetrySupervisorImpl extends Base implements AsyncRetrySuperviso
         return function.apply((P) parameter);
     }
 
-    private <P, R> void handleResultAndEnqueueErrorHandlingAgain(final CompletionStage<R> completionStage, final Object parameter, final RetryContextImpl<P, R> retryOperationContext) {
+    private <P, R> void handleResultAndEnqueueErrorHandlingAgain(final CompletionStage<R> completionStage, final Object parameter, final RetryContextImpl<P, R> retryOperationContext,
+                                                                  final Optional<Deadline> deadline) {
         completionStage.whenCompleteAsync((res, error) -> {
             final boolean isErrorCase = error != null;
             if (isErrorCase) {
                 final RetryContextImpl<P, R> nextContext = retryOperationContext.withNewFailedAttempt(error, parameter);
-                handle(nextContext);
+                handle(nextContext, deadline);
             } else {
                 retryOperationContext.getResult().complete(res);
             }
@@ -88,6 +88,25 @@ public final class CompletableFutureUtils {
         });
     }
 
+    /**
+     * Internal JVM SDK util.
+     *
+     * Cancels {@code stage} as soon as {@code trigger} completes, which only has an effect if {@code stage} is still running,
+     * for example if {@code trigger} has been completed by a timeout or cancelled by the caller.
+     *
+     * @param trigger the future which is handed out to the caller
+     * @param stage the stage which produces the value of trigger
+     */
+    public static void cancelWhenCompleted(final CompletionStage<?> trigger, final CompletionStage<?> stage) {
+        trigger.whenComplete((result, throwable) -> {
+            try {
+                stage.toCompletableFuture().cancel(true);
+            } catch (final UnsupportedOperationException e) {
+                //stage cannot be cancelled
+            }
+        });
+    }
+
     /**
      * Executes a side-effect when the future completes exceptionally.
      *
@@ -0,0 +1,47 @@
+package io.sphere.sdk.client;
+
+import io.sphere.sdk.http.HttpMethod;
+import io.sphere.sdk.http.HttpResponse;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SphereRequestUtilsTest {
+
+    @Test
+    public void endpointOf() throws Exception {
+        assertThat(endpointOfPath("/carts/cart-id")).isEqualTo("carts");
+        assertThat(endpointOfPath("/carts?where=x")).isEqualTo("carts");
+        assertThat(endpointOfPath("/product-projections/search?text.en=shoe")).isEqualTo("product-projections/search");
+        assertThat(endpointOfPath("/product-projections/suggest")).isEqualTo("product-projections/suggest");
+        assertThat(endpointOfPath("/me/carts/cart-id")).isEqualTo("me/carts");
+        assertThat(endpointOfPath("/custom-objects/container/key")).isEqualTo("custom-objects");
+        assertThat(endpointOfPath("")).isEqualTo("");
+    }
+
+    @Test
+    public void isIdempotentRead() throws Exception {
+        assertThat(SphereRequestUtils.isIdempotentRead(request(HttpMethod.GET, "/carts/cart-id"))).isTrue();
+        assertThat(SphereRequestUtils.isIdempotentRead(request(HttpMethod.POST, "/product-projections/search"))).isTrue();
+        assertThat(SphereRequestUtils.isIdempotentRead(request(HttpMethod.POST, "/carts/cart-id"))).isFalse();
+        assertThat(SphereRequestUtils.isIdempotentRead(request(HttpMethod.DELETE, "/carts/cart-id?version=1"))).isFalse();
+    }
+
+    private static String endpointOfPath(final String path) {
+        return SphereRequestUtils.endpointOf(request(HttpMethod.GET, path));
+    }
+
+    private static SphereRequest<Void> request(final HttpMethod httpMethod, final String path) {
+        return new SphereRequest<Void>() {
+            @Override
+            public Void deserialize(final HttpResponse httpResponse) {
+                return null;
+            }
+
+            @Override
+            public HttpRequestIntent httpRequestIntent() {
+                return HttpRequestIntent.of(httpMethod, path);
+            }
+        };
+    }
+}
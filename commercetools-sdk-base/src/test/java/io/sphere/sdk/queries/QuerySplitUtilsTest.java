@@ -0,0 +1,85 @@
+package io.sphere.sdk.queries;
+
+import io.sphere.sdk.models.Base;
+import io.sphere.sdk.models.Identifiable;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static io.sphere.sdk.queries.Fixtures.emptyQueryModel;
+
+public class QuerySplitUtilsTest {
+
+    @Test
+    public void splitIsInPredicate() throws Exception {
+        final IsInQueryPredicate<String, String, String> predicate = isIn("a", "b", "c", "d", "e");
+
+        final List<QueryPredicate<String>> parts = predicate.split(2);
+
+        assertThat(parts).extracting(QueryPredicate::toSphereQuery)
+                .containsExactly(" in (\"a\", \"b\")", " in (\"c\", \"d\")", " in (\"e\")");
+    }
+
+    @Test
+    public void smallIsInPredicateIsNotSplit() throws Exception {
+        final IsInQueryPredicate<String, String, String> predicate = isIn("a", "b");
+
+        assertThat(predicate.split(2)).containsExactly(predicate);
+    }
+
+    @Test
+    public void isNotInPredicateIsNotSplit() throws Exception {
+        final IsNotInQueryPredicate<String, String, String> predicate = new IsNotInQueryPredicate<>(emptyQueryModel, asList("\"a\"", "\"b\"", "\"c\""));
+
+        assertThat(predicate.split(2)).containsExactly(predicate);
+    }
+
+    @Test
+    public void mergeResultsRemovesDuplicatesAndKeepsTheLimit() throws Exception {
+        final PagedQueryResult<Foo> first = PagedQueryResult.of(0L, 3L, 2L, foos("a", "b"));
+        final PagedQueryResult<Foo> second = PagedQueryResult.of(0L, 3L, 3L, foos("b", "c", "d"));
+
+        final PagedQueryResult<Foo> merged = QuerySplitUtils.mergeResults(asList(first, second));
+
+        assertThat(merged.getResults()).extracting(Foo::getId).containsExactly("a", "b", "c");
+        assertThat(merged.getLimit()).isEqualTo(3L);
+        assertThat(merged.getTotal()).isEqualTo(4L);
+        assertThat(merged.getCount()).isEqualTo(3L);
+        assertThat(merged.getOffset()).isZero();
+    }
+
+    @Test
+    public void mergeResultsWithoutTotal() throws Exception {
+        final PagedQueryResult<Foo> first = PagedQueryResult.of(0L, 20L, 1L, foos("a"));
+        final PagedQueryResult<Foo> second = PagedQueryResult.of(0L, 20L, null, foos("b"));
+
+        assertThat(QuerySplitUtils.mergeResults(asList(first, second)).getTotal()).isNull();
+    }
+
+    private static IsInQueryPredicate<String, String, String> isIn(final String ... values) {
+        return new IsInQueryPredicate<>(emptyQueryModel, Arrays.stream(values)
+                .map(StringQuerySortingModel::normalize)
+                .collect(toList()));
+    }
+
+    private static List<Foo> foos(final String ... ids) {
+        return Arrays.stream(ids).map(Foo::new).collect(toList());
+    }
+
+    private static final class Foo extends Base implements Identifiable<Foo> {
+        private final String id;
+
+        private Foo(final String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+    }
+}
@@ -101,6 +101,22 @@ public class AsyncRetrySupervisorTest {
         }
     }
 
+    @Test
+    public void scheduledRetryIsNotExecutedAfterClose() throws Exception {
+        try (final Failing2TimesServiceImpl service = new Failing2TimesServiceImpl()) {
+            final RetryAction op = RetryAction.ofScheduledRetry(3, o -> Duration.ofMillis(200));
+            final List<RetryRule> retryRules = singletonList(RetryRule.of(RetryPredicate.ofAlwaysTrue(), op));
+            final AsyncRetrySupervisor supervisor = AsyncRetrySupervisor.of(retryRules);
+            final CompletionStage<Integer> bar = supervisor.supervise(service, service::apply, "bar");
+            Thread.sleep(50);
+            supervisor.close();
+
+            final Throwable throwable = catchThrowable(() -> waitAndGet(bar));
+            assertThat(throwable.getCause()).hasMessage(Failing2TimesServiceImpl.ERROR_MESSAGE);
+            assertThat(service.counter.get()).isEqualTo(1);
+        }
+    }
+
     private Integer waitAndGet(final CompletionStage<Integer> bar) {
         return bar.toCompletableFuture().join();
     }
@@ -2,20 +2,16 @@ package io.sphere.sdk.http;
 
 import com.ning.http.client.*;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.input.AutoCloseInputStream;
 
 import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
-import java.util.zip.GZIPInputStream;
 
 final class AsyncHttpClientAdapterImpl extends HttpClientAdapterBase {
     private final AsyncHttpClient asyncHttpClient;
@@ -30,8 +26,9 @@ final class AsyncHttpClientAdapterImpl extends HttpClientAdapterBase {
     protected CompletionStage<HttpResponse> executeDelegate(final HttpRequest httpRequest) {
         final Request request = asAhcRequest(httpRequest);
         try {
-            final CompletionStage<Response> future = wrap(asyncHttpClient.executeRequest(request));
-            return future.thenApplyAsync(response -> convert(httpRequest, response), threadPool());
+            final ListenableFuture<Response> inFlightRequest = asyncHttpClient.executeRequest(request);
+            final CompletionStage<Response> future = wrap(inFlightRequest);
+            return abortOnCancellation(future.thenApplyAsync(response -> convert(httpRequest, response), threadPool()), inFlightRequest);
         } catch (final IOException e) {
             final CompletableFuture<HttpResponse> future = new CompletableFuture<>();
             future.completeExceptionally(new HttpException(e));
@@ -40,27 +37,20 @@ final class AsyncHttpClientAdapterImpl extends HttpClientAdapterBase {
     }
 
     private HttpResponse convert(final HttpRequest httpRequest, final Response response) {
-        final byte[] responseBodyAsBytes = getResponseBodyAsBytes(response);
-        return HttpResponse.of(response.getStatusCode(), responseBodyAsBytes, httpRequest, HttpHeaders.of(response.getHeaders()));
+        final HttpHeaders headers = HttpHeaders.of(response.getHeaders());
+        final byte[] responseBodyAsBytes = getResponseBodyAsBytes(response, headers);
+        return HttpResponse.of(response.getStatusCode(), responseBodyAsBytes, httpRequest, headers);
     }
 
-    private byte[] getResponseBodyAsBytes(final Response response) {
+    private byte[] getResponseBodyAsBytes(final Response response, final HttpHeaders headers) {
         try {
-            final boolean gzipEncoded =
-                    Optional.ofNullable(response.getHeader(HttpHeaders.CONTENT_ENCODING))
-                            .map(v -> v.equalsIgnoreCase("gzip"))
-                            .orElse(false);
-            return gzipEncoded ? unzip(response) : response.getResponseBodyAsBytes();
+            final boolean gzipEncoded = HttpResponseBodies.isGzipEncoded(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+            return gzipEncoded ? HttpResponseBodies.decodeFully(response.getResponseBodyAsStream(), headers) : response.getResponseBodyAsBytes();
         } catch (IOException e) {
             throw new HttpException(e);
         }
     }
 
-    private byte[] unzip(final Response response) throws IOException {
-        final InputStream autoCloseInputStream = new AutoCloseInputStream(new GZIPInputStream(response.getResponseBodyAsStream()));
-        return IOUtils.toByteArray(autoCloseInputStream);
-    }
-
     /* package scope for testing */
     Request asAhcRequest(final HttpRequest request) {
         final RequestBuilder builder = new RequestBuilder()
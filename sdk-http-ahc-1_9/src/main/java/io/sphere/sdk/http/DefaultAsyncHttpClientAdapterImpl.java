@@ -9,12 +9,10 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ForkJoinPool;
 
 final class DefaultAsyncHttpClientAdapterImpl extends HttpClientAdapterBase {
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpClient.class);
     private final AsyncHttpClient asyncHttpClient;
-    private final ForkJoinPool threadPool = new ForkJoinPool();
     private String userAgent;
 
     DefaultAsyncHttpClientAdapterImpl(final AsyncHttpClient asyncHttpClient) {
@@ -31,7 +29,7 @@ final class DefaultAsyncHttpClientAdapterImpl extends HttpClientAdapterBase {
         }
         final Request request = asAhcRequest(httpRequest);
         final CompletableFuture<Response> future = new CompletableFuture<>();
-        asyncHttpClient.executeRequest(request, new AsyncCompletionHandler<Response>() {
+        final ListenableFuture<Response> inFlightRequest = asyncHttpClient.executeRequest(request, new AsyncCompletionHandler<Response>() {
             @Override
             public Response onCompleted(final Response response) throws Exception {
                     future.complete(response);
@@ -41,7 +39,7 @@ final class DefaultAsyncHttpClientAdapterImpl extends HttpClientAdapterBase {
             @Override
             public void onThrowable(final Throwable t) {
                 //nginx does not send status code so this http client explodes
-                final boolean maybeUriTooLongErrorFromNgingx = t.getMessage().contains("invalid version format: <HTML>");
+                final boolean maybeUriTooLongErrorFromNgingx = t.getMessage() != null && t.getMessage().contains("invalid version format: <HTML>");
                 final String message = maybeUriTooLongErrorFromNgingx
                         ? "There is a problem, maybe the request URI was too long due to an inefficient query."
                         : "The underlying HTTP client detected a problem.";
@@ -50,14 +48,16 @@ final class DefaultAsyncHttpClientAdapterImpl extends HttpClientAdapterBase {
 
             }
         });
-        return future.thenApplyAsync(response -> {
+        final CompletableFuture<HttpResponse> result = future.thenApplyAsync(response -> {
             final byte[] responseBodyAsBytes = getResponseBodyAsBytes(response);
             final HttpResponse httpResponse = HttpResponse.of(response.getStatusCode(), responseBodyAsBytes, httpRequest, HttpHeaders.of(response.getHeaders()));
             if (LOGGER.isTraceEnabled()) {
                 LOGGER.debug("response " + httpResponse);
             }
             return httpResponse;
-        }, threadPool);
+        }, threadPool());
+        abortOnCancellation(result, inFlightRequest);
+        return result;
     }
 
     private byte[] getResponseBodyAsBytes(final Response response) {
@@ -20,8 +20,8 @@ final class DefaultAsyncHttpClient2_0AdapterImpl extends HttpClientAdapterBase {
     protected CompletionStage<HttpResponse> executeDelegate(final HttpRequest httpRequest) {
         final Request request = asAhcRequest(httpRequest);
         final CompletableFuture<Response> future = new CompletableFuture<>();
-        asyncHttpClient.executeRequest(request, new ResponseAsyncCompletionHandler(future));
-        return future.thenApplyAsync(response -> convert(httpRequest, response), threadPool());
+        final ListenableFuture<Response> inFlightRequest = asyncHttpClient.executeRequest(request, new ResponseAsyncCompletionHandler(future));
+        return abortOnCancellation(future.thenApplyAsync(response -> convert(httpRequest, response), threadPool()), inFlightRequest);
     }
 
     private HttpResponse convert(final HttpRequest httpRequest, final Response response) {
@@ -10,4 +10,15 @@ public interface AsyncHttpClientAdapter extends HttpClient {
     static HttpClient of(final AsyncHttpClient asyncHttpClient) {
         return new DefaultAsyncHttpClient2_5AdapterImpl(asyncHttpClient);
     }
+
+    /**
+     * Creates an adapter which keeps the received body chunks and provides them as stream with {@link HttpResponse#getResponseBodyAsStream()}
+     * instead of concatenating them into one byte array.
+     *
+     * @param asyncHttpClient the AsyncHttpClient
+     * @return http client
+     */
+    static HttpClient ofStreaming(final AsyncHttpClient asyncHttpClient) {
+        return new DefaultAsyncHttpClient2_5AdapterImpl(asyncHttpClient, true);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package io.sphere.sdk.http;
+
+import org.asynchttpclient.AsyncCompletionHandler;
+import org.asynchttpclient.HttpResponseBodyPart;
+import org.asynchttpclient.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps the received body parts separately instead of letting the {@link Response} concatenate them,
+ * so the body can be read as stream over the original chunks.
+ */
+final class BodyPartsAsyncCompletionHandler extends AsyncCompletionHandler<Response> {
+    private final CompletableFuture<Response> future;
+    private final List<InputStream> bodyParts = new ArrayList<>();
+
+    BodyPartsAsyncCompletionHandler(final CompletableFuture<Response> future) {
+        this.future = future;
+    }
+
+    @Override
+    public State onBodyPartReceived(final HttpResponseBodyPart content) throws Exception {
+        if (content.length() > 0) {
+            bodyParts.add(new ByteArrayInputStream(content.getBodyPartBytes()));
+        }
+        return State.CONTINUE;
+    }
+
+    @Override
+    public Response onCompleted(final Response response) throws Exception {
+        future.complete(response);
+        return response;
+    }
+
+    @Override
+    public void onThrowable(final Throwable t) {
+        future.completeExceptionally(t);
+        super.onThrowable(t);
+    }
+
+    InputStream getBodyAsStream() {
+        return new SequenceInputStream(Collections.enumeration(bodyParts));
+    }
+
+    boolean hasBody() {
+        return !bodyParts.isEmpty();
+    }
+}
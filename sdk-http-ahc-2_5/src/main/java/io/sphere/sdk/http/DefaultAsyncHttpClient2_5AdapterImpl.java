@@ -3,6 +3,7 @@ package io.sphere.sdk.http;
 import org.asynchttpclient.*;
 
 import javax.annotation.Nullable;
+import java.io.InputStream;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -10,9 +11,15 @@ import java.util.concurrent.CompletionStage;
 final class DefaultAsyncHttpClient2_5AdapterImpl extends HttpClientAdapterBase {
     private final AsyncHttpClient asyncHttpClient;
     private final String userAgent;
+    private final boolean streaming;
 
     DefaultAsyncHttpClient2_5AdapterImpl(final AsyncHttpClient asyncHttpClient) {
+        this(asyncHttpClient, false);
+    }
+
+    DefaultAsyncHttpClient2_5AdapterImpl(final AsyncHttpClient asyncHttpClient, final boolean streaming) {
         this.asyncHttpClient = asyncHttpClient;
+        this.streaming = streaming;
         userAgent = new DefaultAsyncHttpClientConfig.Builder().build().getUserAgent();
     }
 
@@ -20,8 +27,19 @@ final class DefaultAsyncHttpClient2_5AdapterImpl extends HttpClientAdapterBase {
     protected CompletionStage<HttpResponse> executeDelegate(final HttpRequest httpRequest) {
         final Request request = asAhcRequest(httpRequest);
         final CompletableFuture<Response> future = new CompletableFuture<>();
-        asyncHttpClient.executeRequest(request, new ResponseAsyncCompletionHandler(future));
-        return future.thenApplyAsync(response -> convert(httpRequest, response), threadPool());
+        if (streaming) {
+            final BodyPartsAsyncCompletionHandler handler = new BodyPartsAsyncCompletionHandler(future);
+            final ListenableFuture<Response> inFlightRequest = asyncHttpClient.executeRequest(request, handler);
+            return abortOnCancellation(future.thenApply(response -> convertStreaming(httpRequest, response, handler)), inFlightRequest);
+        }
+        final ListenableFuture<Response> inFlightRequest = asyncHttpClient.executeRequest(request, new ResponseAsyncCompletionHandler(future));
+        return abortOnCancellation(future.thenApplyAsync(response -> convert(httpRequest, response), threadPool()), inFlightRequest);
+    }
+
+    private HttpResponse convertStreaming(final HttpRequest httpRequest, final Response response, final BodyPartsAsyncCompletionHandler handler) {
+        final InputStream body = handler.hasBody() ? handler.getBodyAsStream() : null;
+        final HttpHeaders headers = HttpHeaders.ofMapEntryList(response.getHeaders().entries());
+        return HttpResponse.ofStreamingBody(response.getStatusCode(), body, httpRequest, headers);
     }
 
     private HttpResponse convert(final HttpRequest httpRequest, final Response response) {
@@ -12,4 +12,15 @@ public interface ApacheHttpClientAdapter extends HttpClient {
     static HttpClient of(final CloseableHttpAsyncClient client) {
         return ApacheHttpClientAdapterImpl.of(client);
     }
+
+    /**
+     * Creates an adapter which does not copy the decompressed response body into a byte array
+     * but provides it as stream with {@link HttpResponse#getResponseBodyAsStream()}, so it can be parsed while it is decompressed.
+     *
+     * @param client the Apache HTTP client
+     * @return http client
+     */
+    static HttpClient ofStreaming(final CloseableHttpAsyncClient client) {
+        return ApacheHttpClientAdapterImpl.ofStreaming(client);
+    }
 }
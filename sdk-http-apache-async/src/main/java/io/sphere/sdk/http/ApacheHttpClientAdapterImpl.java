@@ -1,6 +1,5 @@
 package io.sphere.sdk.http;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.AutoCloseInputStream;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
@@ -24,24 +23,30 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.zip.GZIPInputStream;
 
 import static java.util.Arrays.asList;
 
 final class ApacheHttpClientAdapterImpl extends HttpClientAdapterBase {
     private final CloseableHttpAsyncClient apacheHttpClient;
+    private final boolean streaming;
 
-    private ApacheHttpClientAdapterImpl(final CloseableHttpAsyncClient apacheHttpClient) {
+    private ApacheHttpClientAdapterImpl(final CloseableHttpAsyncClient apacheHttpClient, final boolean streaming) {
         this.apacheHttpClient = apacheHttpClient;
+        this.streaming = streaming;
         if (!apacheHttpClient.isRunning()) {
             apacheHttpClient.start();
         }
     }
 
     public static HttpClient of(final CloseableHttpAsyncClient client) {
-        return new ApacheHttpClientAdapterImpl(client);
+        return new ApacheHttpClientAdapterImpl(client, false);
+    }
+
+    public static HttpClient ofStreaming(final CloseableHttpAsyncClient client) {
+        return new ApacheHttpClientAdapterImpl(client, true);
     }
 
     @Override
@@ -53,27 +58,11 @@ final class ApacheHttpClientAdapterImpl extends HttpClientAdapterBase {
     protected CompletionStage<HttpResponse> executeDelegate(final HttpRequest httpRequest) throws Throwable {
         final HttpUriRequest realHttpRequest = toApacheRequest(httpRequest);
         final CompletableFuture<org.apache.http.HttpResponse> apacheResponseFuture = new CompletableFuture<>();
-        apacheHttpClient.execute(realHttpRequest, new CompletableFutureCallbackAdapter<>(apacheResponseFuture));
-        return apacheResponseFuture.thenApply(apacheResponse -> convertApacheToSphereResponse(apacheResponse, httpRequest));
+        final Future<org.apache.http.HttpResponse> inFlightRequest = apacheHttpClient.execute(realHttpRequest, new CompletableFutureCallbackAdapter<>(apacheResponseFuture));
+        return abortOnCancellation(apacheResponseFuture.thenApply(apacheResponse -> convertApacheToSphereResponse(apacheResponse, httpRequest)), inFlightRequest);
     }
 
     private HttpResponse convertApacheToSphereResponse(final org.apache.http.HttpResponse apacheResponse, final HttpRequest httpRequest) {
-        final byte[] bodyNullable = Optional.ofNullable(apacheResponse.getEntity())
-                .map((HttpEntity entity) -> {
-                    try {
-                        final boolean gzipEncoded =
-                                Optional.ofNullable(apacheResponse.getFirstHeader(HttpHeaders.CONTENT_ENCODING))
-                                .map(Header::getValue)
-                                .map(v -> v.equalsIgnoreCase("gzip"))
-                                .orElse(false);
-                        final InputStream content = gzipEncoded ? new GZIPInputStream(entity.getContent()): entity.getContent();
-                        final AutoCloseInputStream autoCloseInputStream = new AutoCloseInputStream(content);
-                        final byte[] bytes = IOUtils.toByteArray(autoCloseInputStream);
-                        return bytes;
-                    } catch (final IOException e) {
-                        throw new HttpException(e);
-                    }
-                }).orElse(null);
         final Integer statusCode = apacheResponse.getStatusLine().getStatusCode();
         final Map<String, List<Header>> apacheHeaders = asList(apacheResponse.getAllHeaders()).stream()
                 .collect(Collectors.groupingBy(Header::getName));
@@ -84,8 +73,32 @@ final class ApacheHttpClientAdapterImpl extends HttpClientAdapterBase {
                         e -> e.getValue().stream().map(Header::getValue).collect(Collectors.toList())
                         )
                 );
+        final HttpHeaders httpHeaders = HttpHeaders.of(headers);
+        final HttpEntity entity = apacheResponse.getEntity();
+        final InputStream rawBodyStreamNullable;
+        try {
+            rawBodyStreamNullable = entity != null ? entity.getContent() : null;
+        } catch (final IOException e) {
+            throw new HttpException(e);
+        }
 
-        return HttpResponse.of(statusCode, bodyNullable, httpRequest, HttpHeaders.of(headers));
+        if (streaming) {
+            final InputStream bodyStreamNullable = Optional.ofNullable(rawBodyStreamNullable)
+                    .map(rawBody -> new AutoCloseInputStream(HttpResponseBodies.decode(rawBody, contentEncodingOf(apacheResponse))))
+                    .orElse(null);
+            return HttpResponse.ofStreamingBody(statusCode, bodyStreamNullable, httpRequest, httpHeaders);
+        }
+        final byte[] bodyNullable = Optional.ofNullable(rawBodyStreamNullable)
+                .map(rawBody -> HttpResponseBodies.decodeFully(rawBody, httpHeaders))
+                .orElse(null);
+        return HttpResponse.of(statusCode, bodyNullable, httpRequest, httpHeaders);
+    }
+
+    @Nullable
+    private static String contentEncodingOf(final org.apache.http.HttpResponse apacheResponse) {
+        return Optional.ofNullable(apacheResponse.getFirstHeader(HttpHeaders.CONTENT_ENCODING))
+                .map(Header::getValue)
+                .orElse(null);
     }
 
     private HttpUriRequest toApacheRequest(final HttpRequest httpRequest) throws UnsupportedEncodingException {
@@ -0,0 +1,199 @@
+package io.sphere.sdk.http;
+
+import javax.annotation.Nullable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decodes a gzip stream like {@link java.util.zip.GZIPInputStream} but borrows its {@link Inflater} from the {@link InflaterPool}
+ * and returns it as soon as the end of the data is reached or the stream is closed.
+ * Concatenated gzip members are decoded as one stream.
+ */
+final class GzipInflatingInputStream extends InputStream {
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int DEFLATED = 8;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final int INPUT_BUFFER_SIZE = 8192;
+
+    private final InputStream in;
+    private final byte[] inputBuffer = new byte[INPUT_BUFFER_SIZE];
+    private final CRC32 crc = new CRC32();
+    private final byte[] singleByte = new byte[1];
+    @Nullable
+    private Inflater inflater;
+    private int position = 0;
+    private int limit = 0;
+    private boolean endOfData = false;
+    private boolean closed = false;
+
+    GzipInflatingInputStream(final InputStream in) throws IOException {
+        this.in = in;
+        this.inflater = InflaterPool.acquire();
+        try {
+            readHeader();
+        } catch (final IOException | RuntimeException e) {
+            releaseInflater();
+            throw e;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(singleByte, 0, 1) == -1 ? -1 : singleByte[0] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        } else if (endOfData) {
+            return -1;
+        } else if (len == 0) {
+            return 0;
+        }
+        while (true) {
+            final int inflated = inflate(b, off, len);
+            if (inflated > 0) {
+                crc.update(b, off, inflated);
+                return inflated;
+            } else if (inflater.finished()) {
+                position = limit - inflater.getRemaining();
+                readTrailer();
+                if (!startNextMember()) {
+                    endOfData = true;
+                    releaseInflater();
+                    return -1;
+                }
+            } else if (inflater.needsDictionary()) {
+                throw new ZipException("Unsupported preset dictionary in gzip data");
+            } else if (inflater.needsInput()) {
+                if (!fill()) {
+                    throw new EOFException("Unexpected end of gzip input stream");
+                }
+                feedInflater();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            releaseInflater();
+            in.close();
+        }
+    }
+
+    private int inflate(final byte[] b, final int off, final int len) throws ZipException {
+        try {
+            return inflater.inflate(b, off, len);
+        } catch (final DataFormatException e) {
+            throw new ZipException(e.getMessage() != null ? e.getMessage() : "Invalid gzip data format");
+        }
+    }
+
+    private void readHeader() throws IOException {
+        if (readUnsignedShort() != GZIP_MAGIC) {
+            throw new ZipException("Not in GZIP format");
+        }
+        if (readUnsignedByte() != DEFLATED) {
+            throw new ZipException("Unsupported compression method");
+        }
+        final int flags = readUnsignedByte();
+        skipBytes(6);
+        if ((flags & FEXTRA) == FEXTRA) {
+            skipBytes(readUnsignedShort());
+        }
+        if ((flags & FNAME) == FNAME) {
+            skipZeroTerminated();
+        }
+        if ((flags & FCOMMENT) == FCOMMENT) {
+            skipZeroTerminated();
+        }
+        if ((flags & FHCRC) == FHCRC) {
+            skipBytes(2);
+        }
+        crc.reset();
+        feedInflater();
+    }
+
+    private void readTrailer() throws IOException {
+        final long expectedCrc = readUnsignedInt();
+        final long expectedSize = readUnsignedInt();
+        if (expectedCrc != crc.getValue() || expectedSize != (inflater.getBytesWritten() & 0xffffffffL)) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+    }
+
+    private boolean startNextMember() throws IOException {
+        if (position == limit && !fill()) {
+            return false;
+        }
+        if ((inputBuffer[position] & 0xff) != (GZIP_MAGIC & 0xff)) {
+            //trailing garbage is ignored like in GZIPInputStream
+            return false;
+        }
+        inflater.reset();
+        readHeader();
+        return true;
+    }
+
+    private void feedInflater() {
+        if (position < limit) {
+            inflater.setInput(inputBuffer, position, limit - position);
+            position = limit;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = in.read(inputBuffer, 0, inputBuffer.length);
+        } while (read == 0);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    private int readUnsignedByte() throws IOException {
+        if (position == limit && !fill()) {
+            throw new EOFException("Unexpected end of gzip input stream");
+        }
+        return inputBuffer[position++] & 0xff;
+    }
+
+    private int readUnsignedShort() throws IOException {
+        return readUnsignedByte() | (readUnsignedByte() << 8);
+    }
+
+    private long readUnsignedInt() throws IOException {
+        return ((long) readUnsignedShort()) | ((long) readUnsignedShort() << 16);
+    }
+
+    private void skipBytes(final int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            readUnsignedByte();
+        }
+    }
+
+    private void skipZeroTerminated() throws IOException {
+        while (readUnsignedByte() != 0) {
+            //skip
+        }
+    }
+
+    private void releaseInflater() {
+        if (inflater != null) {
+            InflaterPool.release(inflater);
+            inflater = null;
+        }
+    }
+}
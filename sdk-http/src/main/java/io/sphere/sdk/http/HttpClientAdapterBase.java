@@ -4,23 +4,40 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Base class for implementing {@link HttpClient}s.
  *
+ * <p>Adapters which convert responses asynchronously use {@link #threadPool()}. By default it is the
+ * {@link ForkJoinPool#commonPool() common pool}, so adapters don't create threads besides those of the underlying client.</p>
  */
 public abstract class HttpClientAdapterBase extends Base implements HttpClient {
     protected static final Logger logger = LoggerFactory.getLogger(HttpClient.class);
-    private final ForkJoinPool threadPool = new ForkJoinPool();
+    private final ForkJoinPool threadPool;
+
+    protected HttpClientAdapterBase() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an adapter which converts responses in the given pool, for example the CPU pool of the SDK runtime.
+     * The pool is not shut down with the adapter.
+     *
+     * @param threadPool the pool for response conversion
+     */
+    protected HttpClientAdapterBase(final ForkJoinPool threadPool) {
+        this.threadPool = threadPool;
+    }
 
     @Override
     public final void close() {
         try {
-            threadPool.shutdown();
             closeDelegate();
         } catch (final Throwable e) {
             throw new HttpException(e);
@@ -36,7 +53,14 @@ public abstract class HttpClientAdapterBase extends Base implements HttpClient {
                 logger.debug("{} {}", httpRequest.getHttpMethod(), httpRequest.getUrl());
             }
             final CompletableFuture<HttpResponse> result = new CompletableFuture<>();
-            executeDelegate(httpRequest)
+            final CompletionStage<HttpResponse> delegateStage = executeDelegate(httpRequest);
+            result.whenComplete((httpResponse, throwable) -> {
+                //the caller cancelled the result or timed out before the response arrived
+                if (result.isCancelled()) {
+                    cancel(delegateStage);
+                }
+            });
+            delegateStage
                     .thenApply(httpResponse -> {
                         if (logger.isTraceEnabled()) {
                             logger.debug("response " + httpResponse);
@@ -45,7 +69,7 @@ public abstract class HttpClientAdapterBase extends Base implements HttpClient {
                     }).whenComplete((nullableHttpResponse, nullableThrowable) -> {
                 if (nullableThrowable != null) {
                     //nginx does not send status code so this http client explodes
-                    final boolean maybeUriTooLongErrorFromNgingx = nullableThrowable.getMessage().contains("invalid version format: <HTML>");
+                    final boolean maybeUriTooLongErrorFromNgingx = nullableThrowable.getMessage() != null && nullableThrowable.getMessage().contains("invalid version format: <HTML>");
                     final String message = maybeUriTooLongErrorFromNgingx
                             ? "There is a problem, maybe the request URI was too long due to an inefficient query."
                             : "The underlying HTTP client detected a problem.";
@@ -69,6 +93,32 @@ public abstract class HttpClientAdapterBase extends Base implements HttpClient {
 
     protected abstract CompletionStage<HttpResponse> executeDelegate(final HttpRequest httpRequest) throws Throwable;
 
+    /**
+     * Aborts the request in flight in the underlying client as soon as the stage returned by {@link #executeDelegate(HttpRequest)}
+     * gets cancelled, so the connection is released instead of waiting for a response nobody reads.
+     *
+     * @param stage the stage of the response of the underlying client
+     * @param inFlightRequest the future of the underlying client which aborts the request on cancellation
+     * @param <T> type of the response of the underlying client
+     * @return stage
+     */
+    protected static <T> CompletionStage<T> abortOnCancellation(final CompletionStage<T> stage, final Future<?> inFlightRequest) {
+        stage.whenComplete((value, throwable) -> {
+            if (throwable instanceof CancellationException) {
+                inFlightRequest.cancel(true);
+            }
+        });
+        return stage;
+    }
+
+    private static void cancel(final CompletionStage<?> stage) {
+        try {
+            stage.toCompletableFuture().cancel(true);
+        } catch (final UnsupportedOperationException e) {
+            logger.debug("cannot cancel {}", stage);
+        }
+    }
+
     protected abstract void closeDelegate() throws Throwable;
 
     protected final ForkJoinPool threadPool() {
@@ -1,6 +1,8 @@
 package io.sphere.sdk.http;
 
 import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
@@ -15,6 +17,28 @@ public interface HttpResponse {
     @Nullable
     byte[] getResponseBody();
 
+    /**
+     * Provides the response body as {@link InputStream} so it can be parsed without copying it into a byte array first.
+     * For responses created with {@link #ofStreamingBody(Integer, InputStream, HttpRequest, HttpHeaders)} the stream can only be consumed once,
+     * afterwards {@link #getResponseBody()} returns null.
+     *
+     * @return the response body as stream or null if the response has no body
+     */
+    @Nullable
+    default InputStream getResponseBodyAsStream() {
+        final byte[] responseBody = getResponseBody();
+        return responseBody != null ? new ByteArrayInputStream(responseBody) : null;
+    }
+
+    /**
+     * Checks if this response has a body without consuming a streamed body.
+     *
+     * @return true if a body is present
+     */
+    default boolean hasResponseBody() {
+        return getResponseBody() != null;
+    }
+
     @Nullable
     HttpRequest getAssociatedRequest();
 
@@ -70,6 +94,20 @@ public interface HttpResponse {
         return new HttpResponseImpl(status, body, associatedRequest, Optional.ofNullable(headers).orElseGet(() -> HttpHeaders.of()));
     }
 
+    /**
+     * Creates a response whose body is read lazily from {@code body}, for example directly from a decompressing stream of the underlying HTTP client.
+     * {@link #getResponseBody()} buffers the stream on first access as long as it has not been consumed by {@link #getResponseBodyAsStream()}.
+     *
+     * @param status the HTTP status code
+     * @param body the response body stream which will be closed after it has been consumed
+     * @param associatedRequest the request which caused this response
+     * @param headers the HTTP response headers
+     * @return response
+     */
+    static HttpResponse ofStreamingBody(@Nullable final Integer status, @Nullable final InputStream body, @Nullable final HttpRequest associatedRequest, @Nullable final HttpHeaders headers) {
+        return new StreamingHttpResponseImpl(status, body, associatedRequest, Optional.ofNullable(headers).orElseGet(() -> HttpHeaders.of()));
+    }
+
     default HttpResponse withoutRequest() {
         return HttpResponse.of(getStatusCode(), getResponseBody(), null, getHeaders());
     }
@@ -0,0 +1,147 @@
+package io.sphere.sdk.http;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decoding pipeline for HTTP response bodies shared by the {@link HttpClient} adapters.
+ *
+ * <p>Gzip encoded bodies are decoded with pooled inflaters and bodies are buffered into arrays sized
+ * from the {@code Content-Length} header, so reading a response body causes at most one copy of the decoded data.</p>
+ */
+public final class HttpResponseBodies {
+    private static final int MIN_CHUNK_SIZE = 1024;
+    private static final int MAX_CHUNK_SIZE = 1024 * 1024;
+    private static final int DEFAULT_CHUNK_SIZE = 8192;
+    private static final int EXPECTED_GZIP_RATIO = 4;
+
+    private HttpResponseBodies() {
+    }
+
+    /**
+     * Checks if a response body is gzip encoded.
+     *
+     * @param contentEncoding the value of the {@code Content-Encoding} header or null
+     * @return true if the body needs to be decoded with gzip
+     */
+    public static boolean isGzipEncoded(@Nullable final String contentEncoding) {
+        return contentEncoding != null && contentEncoding.trim().equalsIgnoreCase("gzip");
+    }
+
+    /**
+     * Wraps a raw response body stream so it provides the decoded body.
+     * The stream returned for gzip encoded bodies releases its inflater on the end of the data or on {@link InputStream#close()}.
+     *
+     * @param rawBody the body as received from the server
+     * @param contentEncoding the value of the {@code Content-Encoding} header or null
+     * @return the decoded body stream
+     */
+    public static InputStream decode(final InputStream rawBody, @Nullable final String contentEncoding) {
+        if (isGzipEncoded(contentEncoding)) {
+            try {
+                return new GzipInflatingInputStream(rawBody);
+            } catch (final IOException e) {
+                throw new HttpException(e);
+            }
+        }
+        return rawBody;
+    }
+
+    /**
+     * Decodes and reads a raw response body completely and closes the stream.
+     *
+     * @param rawBody the body as received from the server
+     * @param headers the response headers which provide {@code Content-Encoding} and {@code Content-Length}
+     * @return the decoded body
+     */
+    public static byte[] decodeFully(final InputStream rawBody, final HttpHeaders headers) {
+        final String contentEncoding = headers.findFlatHeader(HttpHeaders.CONTENT_ENCODING).orElse(null);
+        return readFully(decode(rawBody, contentEncoding), decodedSizeHint(headers));
+    }
+
+    /**
+     * Reads a stream completely into an array and closes it.
+     * With an exact size hint up to 1 MiB the data is read into the result array directly,
+     * otherwise it is read into growing chunks which are copied once into the result.
+     *
+     * @param inputStream the stream to read
+     * @param sizeHint the expected number of bytes or a negative value if unknown
+     * @return the content of the stream
+     */
+    public static byte[] readFully(final InputStream inputStream, final long sizeHint) {
+        try (final InputStream in = inputStream) {
+            final List<byte[]> chunks = new ArrayList<>(1);
+            byte[] chunk = new byte[initialChunkSize(sizeHint)];
+            int filled = 0;
+            int total = 0;
+            while (true) {
+                if (filled == chunk.length) {
+                    //probe before allocating the next chunk so an exact size hint needs no copy
+                    final int next = in.read();
+                    if (next < 0) {
+                        break;
+                    }
+                    chunks.add(chunk);
+                    chunk = new byte[Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, total))];
+                    chunk[0] = (byte) next;
+                    filled = 1;
+                    total++;
+                }
+                final int read = in.read(chunk, filled, chunk.length - filled);
+                if (read < 0) {
+                    break;
+                }
+                filled += read;
+                total += read;
+            }
+            if (chunks.isEmpty() && filled == chunk.length) {
+                return chunk;
+            }
+            final byte[] result = new byte[total];
+            int offset = 0;
+            for (final byte[] fullChunk : chunks) {
+                System.arraycopy(fullChunk, 0, result, offset, fullChunk.length);
+                offset += fullChunk.length;
+            }
+            System.arraycopy(chunk, 0, result, offset, filled);
+            return result;
+        } catch (final IOException e) {
+            throw new HttpException(e);
+        }
+    }
+
+    /**
+     * Estimates the size of the decoded body from the response headers.
+     *
+     * @param headers the response headers
+     * @return the exact size for unencoded bodies with {@code Content-Length}, an estimation for gzip encoded bodies or -1 if unknown
+     */
+    public static long decodedSizeHint(final HttpHeaders headers) {
+        final long contentLength = headers.findFlatHeader(HttpHeaders.CONTENT_LENGTH)
+                .map(HttpResponseBodies::parseContentLength)
+                .orElse(-1L);
+        if (contentLength >= 0 && isGzipEncoded(headers.findFlatHeader(HttpHeaders.CONTENT_ENCODING).orElse(null))) {
+            return Math.min(MAX_CHUNK_SIZE, contentLength * EXPECTED_GZIP_RATIO);
+        }
+        return contentLength;
+    }
+
+    private static long parseContentLength(final String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (final NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private static int initialChunkSize(final long sizeHint) {
+        if (sizeHint < 0) {
+            return DEFAULT_CHUNK_SIZE;
+        }
+        //the hint comes from the server, so larger bodies grow chunk by chunk instead of being allocated before they arrive
+        return (int) Math.min(MAX_CHUNK_SIZE, sizeHint);
+    }
+}
@@ -0,0 +1,43 @@
+package io.sphere.sdk.http;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Inflater;
+
+/**
+ * Bounded pool of raw (no zlib header) {@link Inflater}s so that each gzip encoded response
+ * does not allocate and finalize its own native inflater.
+ */
+final class InflaterPool {
+    private static final int MAX_POOLED = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    private static final Queue<Inflater> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private InflaterPool() {
+    }
+
+    static Inflater acquire() {
+        final Inflater inflater = POOL.poll();
+        if (inflater != null) {
+            POOLED.decrementAndGet();
+            return inflater;
+        }
+        return new Inflater(true);
+    }
+
+    static void release(final Inflater inflater) {
+        inflater.reset();
+        if (POOLED.incrementAndGet() <= MAX_POOLED) {
+            POOL.offer(inflater);
+        } else {
+            POOLED.decrementAndGet();
+            inflater.end();
+        }
+    }
+
+    /* package scope for testing */
+    static int pooledCount() {
+        return POOLED.get();
+    }
+}
@@ -0,0 +1,99 @@
+package io.sphere.sdk.http;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Response which hands out the body stream of the underlying HTTP client instead of a copied byte array.
+ * The body can be consumed either once as stream or as buffered byte array.
+ */
+final class StreamingHttpResponseImpl extends Base implements HttpResponse {
+    @Nullable
+    private final Integer statusCode;
+    private final HttpHeaders headers;
+    @Nullable
+    private final HttpRequest associatedRequest;
+    @Nullable
+    private InputStream bodyStream;
+    @Nullable
+    private byte[] bufferedBody;
+    private boolean streamConsumed = false;
+
+    StreamingHttpResponseImpl(@Nullable final Integer statusCode, @Nullable final InputStream bodyStream, @Nullable final HttpRequest associatedRequest, final HttpHeaders headers) {
+        this.statusCode = statusCode;
+        this.bodyStream = bodyStream;
+        this.associatedRequest = associatedRequest;
+        this.headers = headers;
+    }
+
+    @Nullable
+    @Override
+    public Integer getStatusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Nullable
+    @Override
+    public synchronized byte[] getResponseBody() {
+        if (bufferedBody == null && bodyStream != null && !streamConsumed) {
+            bufferedBody = HttpResponseBodies.readFully(bodyStream, HttpResponseBodies.decodedSizeHint(headers));
+            bodyStream = null;
+        }
+        return bufferedBody;
+    }
+
+    @Nullable
+    @Override
+    public synchronized InputStream getResponseBodyAsStream() {
+        if (bufferedBody != null) {
+            return new ByteArrayInputStream(bufferedBody);
+        } else if (streamConsumed) {
+            throw new IllegalStateException("The response body stream has already been consumed.");
+        } else {
+            final InputStream stream = bodyStream;
+            bodyStream = null;
+            streamConsumed = stream != null;
+            return stream;
+        }
+    }
+
+    @Override
+    public synchronized boolean hasResponseBody() {
+        return bufferedBody != null || bodyStream != null || streamConsumed;
+    }
+
+    @Nullable
+    @Override
+    public HttpRequest getAssociatedRequest() {
+        return associatedRequest;
+    }
+
+    @Override
+    public synchronized String toString() {
+        String textInterpretedBody;
+        if (bufferedBody != null) {
+            try {
+                textInterpretedBody = StringHttpRequestBody.tryToFilter(new String(bufferedBody, StandardCharsets.UTF_8));
+            } catch (final Exception e) {
+                textInterpretedBody = "not parseable: " + e;
+            }
+        } else {
+            textInterpretedBody = streamConsumed ? "consumed stream" : (bodyStream != null ? "unread stream" : "empty body");
+        }
+        return new ToStringBuilder(this)
+                .append("statusCode", statusCode)
+                .append("headers", headers)
+                .append("associatedRequest", associatedRequest)
+                .append("textInterpretedBody", textInterpretedBody)
+                .toString();
+    }
+}
@@ -0,0 +1,57 @@
+package io.sphere.sdk.http;
+
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpClientAdapterBaseTest {
+    private static final HttpRequest REQUEST = HttpRequest.of(HttpMethod.GET, "https://api.example.com/project/products");
+
+    @Test
+    public void cancellationAbortsTheRequestInFlight() throws Exception {
+        final PendingHttpClient httpClient = new PendingHttpClient();
+
+        final CompletionStage<HttpResponse> result = httpClient.execute(REQUEST);
+        result.toCompletableFuture().cancel(true);
+
+        assertThat(httpClient.inFlightRequest).isCancelled();
+        httpClient.close();
+    }
+
+    @Test
+    public void responseDoesNotAbortTheRequest() throws Exception {
+        final PendingHttpClient httpClient = new PendingHttpClient();
+
+        final CompletionStage<HttpResponse> result = httpClient.execute(REQUEST);
+        httpClient.response.complete(HttpResponse.of(200, "{}", REQUEST));
+
+        assertThat(result.toCompletableFuture().join().getStatusCode()).isEqualTo(200);
+        result.toCompletableFuture().cancel(true);
+        assertThat(httpClient.inFlightRequest).isNotCancelled();
+        httpClient.close();
+    }
+
+    private static class PendingHttpClient extends HttpClientAdapterBase {
+        private final CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+        private final CompletableFuture<Void> inFlightRequest = new CompletableFuture<>();
+
+        @Override
+        protected CompletionStage<HttpResponse> executeDelegate(final HttpRequest httpRequest) {
+            return abortOnCancellation(response.thenApply(httpResponse -> httpResponse), inFlightRequest);
+        }
+
+        @Override
+        protected void closeDelegate() {
+        }
+
+        @Nullable
+        @Override
+        public String getUserAgent() {
+            return null;
+        }
+    }
+}
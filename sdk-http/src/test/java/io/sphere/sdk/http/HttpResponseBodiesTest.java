@@ -0,0 +1,137 @@
+package io.sphere.sdk.http;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HttpResponseBodiesTest {
+    @Test
+    public void decodesGzipBody() throws Exception {
+        final byte[] body = jsonBody(100_000);
+        final HttpHeaders headers = HttpHeaders.of(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        assertThat(HttpResponseBodies.decodeFully(new ByteArrayInputStream(gzip(body)), headers)).isEqualTo(body);
+    }
+
+    @Test
+    public void decodesGzipBodyReadInSmallPieces() throws Exception {
+        final byte[] body = jsonBody(20_000);
+        final InputStream trickling = new FilterInputStream(new ByteArrayInputStream(gzip(body))) {
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+
+        assertThat(HttpResponseBodies.readFully(HttpResponseBodies.decode(trickling, "gzip"), -1)).isEqualTo(body);
+    }
+
+    @Test
+    public void decodesGzipBodyWithManyEmptyReads() throws Exception {
+        final byte[] body = jsonBody(1000);
+        final InputStream stalling = new FilterInputStream(new ByteArrayInputStream(gzip(body))) {
+            private int emptyReads = 0;
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                return emptyReads++ < 1_000_000 ? 0 : super.read(b, off, len);
+            }
+        };
+
+        assertThat(HttpResponseBodies.readFully(HttpResponseBodies.decode(stalling, "gzip"), -1)).isEqualTo(body);
+    }
+
+    @Test
+    public void decodesConcatenatedGzipMembers() throws Exception {
+        final byte[] first = jsonBody(1000);
+        final byte[] second = jsonBody(2000);
+        final ByteArrayOutputStream concatenated = new ByteArrayOutputStream();
+        concatenated.write(gzip(first));
+        concatenated.write(gzip(second));
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(first);
+        expected.write(second);
+
+        final InputStream decoded = HttpResponseBodies.decode(new ByteArrayInputStream(concatenated.toByteArray()), "GZIP");
+
+        assertThat(HttpResponseBodies.readFully(decoded, -1)).isEqualTo(expected.toByteArray());
+    }
+
+    @Test
+    public void detectsCorruptTrailer() throws Exception {
+        final byte[] gzipped = gzip(jsonBody(1000));
+        gzipped[gzipped.length - 5] ^= 0xff;
+
+        assertThatThrownBy(() -> HttpResponseBodies.readFully(HttpResponseBodies.decode(new ByteArrayInputStream(gzipped), "gzip"), -1))
+                .isInstanceOf(HttpException.class)
+                .hasCauseInstanceOf(ZipException.class);
+    }
+
+    @Test
+    public void returnsInflaterToPool() throws Exception {
+        final byte[] gzipped = gzip(jsonBody(1000));
+        HttpResponseBodies.readFully(HttpResponseBodies.decode(new ByteArrayInputStream(gzipped), "gzip"), -1);
+        final int pooled = InflaterPool.pooledCount();
+        assertThat(pooled).isGreaterThan(0);
+
+        final InputStream unread = HttpResponseBodies.decode(new ByteArrayInputStream(gzipped), "gzip");
+        assertThat(InflaterPool.pooledCount()).isEqualTo(pooled - 1);
+        unread.close();
+        assertThat(InflaterPool.pooledCount()).isEqualTo(pooled);
+    }
+
+    @Test
+    public void exactSizeHintIsUsedAsResult() {
+        final byte[] body = jsonBody(5000);
+
+        assertThat(HttpResponseBodies.readFully(new ByteArrayInputStream(body), body.length)).isEqualTo(body);
+        assertThat(HttpResponseBodies.readFully(new ByteArrayInputStream(body), 10)).isEqualTo(body);
+        assertThat(HttpResponseBodies.readFully(new ByteArrayInputStream(body), 100_000)).isEqualTo(body);
+        assertThat(HttpResponseBodies.readFully(new ByteArrayInputStream(new byte[0]), 0)).isEmpty();
+        assertThat(HttpResponseBodies.readFully(new ByteArrayInputStream(body), Long.MAX_VALUE)).isEqualTo(body);
+    }
+
+    @Test
+    public void decodedSizeHint() {
+        assertThat(HttpResponseBodies.decodedSizeHint(HttpHeaders.of())).isEqualTo(-1);
+        assertThat(HttpResponseBodies.decodedSizeHint(HttpHeaders.of(HttpHeaders.CONTENT_LENGTH, "123"))).isEqualTo(123);
+        assertThat(HttpResponseBodies.decodedSizeHint(HttpHeaders.of(HttpHeaders.CONTENT_LENGTH, "invalid"))).isEqualTo(-1);
+        assertThat(HttpResponseBodies.decodedSizeHint(HttpHeaders.of(HttpHeaders.CONTENT_LENGTH, "100").plus(HttpHeaders.CONTENT_ENCODING, "gzip")))
+                .isEqualTo(400);
+    }
+
+    @Test
+    public void unencodedBodyIsNotWrapped() {
+        final InputStream body = new ByteArrayInputStream(new byte[0]);
+
+        assertThat(HttpResponseBodies.decode(body, null)).isSameAs(body);
+        assertThat(HttpResponseBodies.decode(body, "identity")).isSameAs(body);
+    }
+
+    private static byte[] jsonBody(final int size) {
+        final Random random = new Random(size);
+        final StringBuilder builder = new StringBuilder(size);
+        while (builder.length() < size) {
+            builder.append("{\"id\":\"").append(random.nextInt(1000)).append("\"},");
+        }
+        return builder.substring(0, size).getBytes();
+    }
+
+    private static byte[] gzip(final byte[] data) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (final GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(data);
+        }
+        return outputStream.toByteArray();
+    }
+}
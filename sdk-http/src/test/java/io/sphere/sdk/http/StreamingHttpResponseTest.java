@@ -0,0 +1,72 @@
+package io.sphere.sdk.http;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link HttpResponse#ofStreamingBody(Integer, InputStream, HttpRequest, HttpHeaders)}.
+ */
+public class StreamingHttpResponseTest {
+    private static final String BODY = "{\"foo\":\"bar\"}";
+
+    @Test
+    public void streamCanBeConsumedOnce() throws Exception {
+        final HttpResponse response = streamingResponse();
+
+        assertThat(response.hasResponseBody()).isTrue();
+        assertThat(readString(response.getResponseBodyAsStream())).isEqualTo(BODY);
+        assertThat(response.hasResponseBody()).isTrue();
+        assertThat(response.getResponseBody()).isNull();
+        assertThatThrownBy(response::getResponseBodyAsStream).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void bufferedBodyCanBeReadMultipleTimes() throws Exception {
+        final HttpResponse response = streamingResponse();
+
+        assertThat(response.getResponseBody()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8));
+        assertThat(response.getResponseBody()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8));
+        assertThat(readString(response.getResponseBodyAsStream())).isEqualTo(BODY);
+        assertThat(readString(response.getResponseBodyAsStream())).isEqualTo(BODY);
+    }
+
+    @Test
+    public void emptyBody() {
+        final HttpResponse response = HttpResponse.ofStreamingBody(204, null, null, null);
+
+        assertThat(response.hasResponseBody()).isFalse();
+        assertThat(response.getResponseBody()).isNull();
+        assertThat(response.getResponseBodyAsStream()).isNull();
+    }
+
+    @Test
+    public void byteArrayResponseProvidesStream() throws Exception {
+        final HttpResponse response = HttpResponse.of(200, BODY);
+
+        assertThat(readString(response.getResponseBodyAsStream())).isEqualTo(BODY);
+        assertThat(response.getResponseBody()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static HttpResponse streamingResponse() {
+        final InputStream body = new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8));
+        return HttpResponse.ofStreamingBody(200, body, null, HttpHeaders.of());
+    }
+
+    private static String readString(final InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+}